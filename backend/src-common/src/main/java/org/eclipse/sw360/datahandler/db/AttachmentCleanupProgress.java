@@ -0,0 +1,72 @@
+/*
+ * Copyright Siemens AG, 2020. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.db;
+
+import org.ektorp.support.CouchDbDocument;
+
+/**
+ * Progress of a running cleanup of the attachments database: the id of the last checked document and the counts so
+ * far. There is at most one, stored in the attachments database under a fixed id.
+ */
+public class AttachmentCleanupProgress extends CouchDbDocument {
+
+    public static final String ID = "attachmentCleanupProgress";
+    public static final String TYPE = "attachmentCleanupProgress";
+
+    private String type = TYPE;
+    private String lastCheckedId;
+    private int checkedElements;
+    private int unusedElements;
+    private int failedElements;
+
+    public AttachmentCleanupProgress() {
+        setId(ID);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getLastCheckedId() {
+        return lastCheckedId;
+    }
+
+    public void setLastCheckedId(String lastCheckedId) {
+        this.lastCheckedId = lastCheckedId;
+    }
+
+    public int getCheckedElements() {
+        return checkedElements;
+    }
+
+    public void setCheckedElements(int checkedElements) {
+        this.checkedElements = checkedElements;
+    }
+
+    public int getUnusedElements() {
+        return unusedElements;
+    }
+
+    public void setUnusedElements(int unusedElements) {
+        this.unusedElements = unusedElements;
+    }
+
+    public int getFailedElements() {
+        return failedElements;
+    }
+
+    public void setFailedElements(int failedElements) {
+        this.failedElements = failedElements;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright Siemens AG, 2020. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.db;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.eclipse.sw360.datahandler.common.Duration;
+import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
+import org.eclipse.sw360.datahandler.thrift.RequestStatus;
+import org.eclipse.sw360.datahandler.thrift.RequestSummary;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.ektorp.BulkDeleteDocument;
+import org.ektorp.ViewQuery;
+import org.ektorp.ViewResult;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes the attachment contents which are not referenced by an attachment of any project, component or release.
+ * The attachments database is read in batches in the order of the ids, and only the references to the ids of the
+ * current batch are looked up, so the memory needed does not depend on the size of the databases. The position is
+ * stored after each batch, so an interrupted cleanup continues where it stopped. Contents created within the grace
+ * period are kept, as they are uploaded before the document referencing them is saved.
+ */
+public class AttachmentContentCleanup {
+
+    private static final Logger log = LogManager.getLogger(AttachmentContentCleanup.class);
+
+    private static final String ATTACHMENT_CONTENT_TYPE = "attachment";
+
+    private final DatabaseConnector attachmentDb;
+    private final AttachmentRepository attachmentRepository;
+    private final int batchSize;
+    private final Duration gracePeriod;
+    private final Clock clock;
+
+    public AttachmentContentCleanup(DatabaseConnector attachmentDb, AttachmentRepository attachmentRepository,
+                                    int batchSize, Duration gracePeriod, Clock clock) {
+        this.attachmentDb = attachmentDb;
+        this.attachmentRepository = attachmentRepository;
+        this.batchSize = Math.max(batchSize, 1);
+        this.gracePeriod = gracePeriod;
+        this.clock = clock;
+    }
+
+    /**
+     * In a dry run the unused contents are only counted and logged, and the cleanup starts from the beginning without
+     * touching the progress of an interrupted one.
+     */
+    public RequestSummary run(boolean dryRun) {
+        AttachmentCleanupProgress progress = dryRun ? new AttachmentCleanupProgress() : loadProgress();
+        Instant createdBefore = Instant.ofEpochMilli(clock.millis() - gracePeriod.toMillis());
+
+        List<ViewResult.Row> rows = readBatch(progress.getLastCheckedId());
+        while (!rows.isEmpty()) {
+            checkBatch(rows, createdBefore, dryRun, progress);
+            progress.setLastCheckedId(rows.get(rows.size() - 1).getId());
+            if (!dryRun) {
+                saveProgress(progress);
+            }
+            rows = readBatch(progress.getLastCheckedId());
+        }
+        if (!dryRun && !progress.isNew()) {
+            attachmentDb.deleteById(AttachmentCleanupProgress.ID);
+        }
+
+        log.info((dryRun ? "Dry run of the cleanup" : "Cleanup") + " of the attachments database finished: "
+                + progress.getUnusedElements() + " of " + progress.getCheckedElements()
+                + " attachment contents are unused, " + progress.getFailedElements() + " could not be deleted");
+        return new RequestSummary()
+                .setRequestStatus(progress.getFailedElements() == 0 ? RequestStatus.SUCCESS : RequestStatus.FAILURE)
+                .setTotalElements(progress.getCheckedElements())
+                .setTotalAffectedElements(progress.getUnusedElements() - progress.getFailedElements())
+                .setMessage(dryRun ? progress.getUnusedElements() + " unused attachment contents would be deleted" : null);
+    }
+
+    private AttachmentCleanupProgress loadProgress() {
+        AttachmentCleanupProgress progress = attachmentDb.get(AttachmentCleanupProgress.class, AttachmentCleanupProgress.ID);
+        if (progress == null) {
+            return new AttachmentCleanupProgress();
+        }
+        log.info("Continuing the interrupted cleanup of the attachments database after id " + progress.getLastCheckedId());
+        return progress;
+    }
+
+    private void saveProgress(AttachmentCleanupProgress progress) {
+        if (progress.isNew()) {
+            attachmentDb.add(progress);
+        } else {
+            attachmentDb.update(progress);
+        }
+    }
+
+    /**
+     * Reads the documents following the given id, _all_docs has no exclusive start key so the given id is skipped
+     */
+    private List<ViewResult.Row> readBatch(String lastCheckedId) {
+        ViewQuery query = new ViewQuery().allDocs().includeDocs(true).limit(batchSize);
+        if (lastCheckedId != null) {
+            query.startKey(lastCheckedId).limit(batchSize + 1);
+        }
+        return attachmentDb.queryView(query).getRows().stream()
+                .filter(row -> !row.getId().equals(lastCheckedId))
+                .collect(Collectors.toList());
+    }
+
+    private void checkBatch(List<ViewResult.Row> rows, Instant createdBefore, boolean dryRun,
+                            AttachmentCleanupProgress progress) {
+        Map<String, String> revisionsById = new LinkedHashMap<>();
+        for (ViewResult.Row row : rows) {
+            JsonNode doc = row.getDocAsNode();
+            if (doc == null || !ATTACHMENT_CONTENT_TYPE.equals(doc.path("type").asText())) {
+                // design documents and the progress itself
+                continue;
+            }
+            progress.setCheckedElements(progress.getCheckedElements() + 1);
+            if (!isCreatedBefore(doc, createdBefore)) {
+                continue;
+            }
+            revisionsById.put(row.getId(), doc.path("_rev").asText());
+        }
+        if (revisionsById.isEmpty()) {
+            return;
+        }
+
+        revisionsById.keySet().removeAll(attachmentRepository.getUsedAttachmentContentIds(revisionsById.keySet()));
+        progress.setUnusedElements(progress.getUnusedElements() + revisionsById.size());
+        if (revisionsById.isEmpty()) {
+            return;
+        }
+        if (dryRun) {
+            log.info("Unused attachment contents: " + revisionsById.keySet());
+            return;
+        }
+        List<BulkDeleteDocument> deletions = revisionsById.entrySet().stream()
+                .map(idAndRevision -> new BulkDeleteDocument(idAndRevision.getKey(), idAndRevision.getValue()))
+                .collect(Collectors.toList());
+        int failed = attachmentDb.executeBulk(deletions).size();
+        if (failed > 0) {
+            log.error("Could not delete " + failed + " of " + deletions.size() + " unused attachment contents");
+            progress.setFailedElements(progress.getFailedElements() + failed);
+        }
+    }
+
+    /**
+     * Contents without creation time have been uploaded before it was stored, so they are old enough
+     */
+    private static boolean isCreatedBefore(JsonNode doc, Instant createdBefore) {
+        String createdOn = doc.path("createdOn").asText(null);
+        if (createdOn == null) {
+            return true;
+        }
+        try {
+            return Instant.parse(createdOn).isBefore(createdBefore);
+        } catch (DateTimeParseException e) {
+            log.warn("Attachment content " + doc.path("_id").asText() + " has an invalid creation time " + createdOn);
+            return false;
+        }
+    }
+}
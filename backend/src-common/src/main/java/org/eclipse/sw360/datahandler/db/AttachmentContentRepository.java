@@ -35,7 +35,8 @@ import java.util.stream.Collectors;
  */
 @Views({
         @View(name = "all", map = "function(doc) { if (doc.type == 'attachment') emit(null, doc._id) }"),
-        @View(name = "onlyRemotes", map = "function(doc) { if(doc.type == 'attachment' && doc.onlyRemote) { emit(null, doc) } }")
+        @View(name = "onlyRemotes", map = "function(doc) { if(doc.type == 'attachment' && doc.onlyRemote) { emit(null, doc) } }"),
+        @View(name = "withoutHashes", map = "function(doc) { if(doc.type == 'attachment' && !doc.onlyRemote && !doc.sha1) { emit(null, doc._id) } }")
 })
 public class AttachmentContentRepository extends DatabaseRepository<AttachmentContent> {
 
@@ -51,6 +52,10 @@ public class AttachmentContentRepository extends DatabaseRepository<AttachmentCo
         return queryView(query);
     }
 
+    public Set<String> getIdsWithoutHashes() {
+        return queryForIds(createQuery("withoutHashes"));
+    }
+
     public RequestSummary vacuumAttachmentDB(User user, final Set<String> usedIds) {
         final RequestSummary requestSummary = new RequestSummary();
         if (!PermissionUtils.isAdmin(user))
@@ -15,8 +15,10 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 
 import org.eclipse.sw360.datahandler.common.CommonUtils;
+import org.eclipse.sw360.datahandler.common.Duration;
 import org.eclipse.sw360.datahandler.couchdb.AttachmentConnector;
 import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
+import org.eclipse.sw360.datahandler.permissions.PermissionUtils;
 import org.eclipse.sw360.datahandler.thrift.*;
 import org.eclipse.sw360.datahandler.thrift.attachments.*;
 import org.eclipse.sw360.datahandler.thrift.users.User;
@@ -25,10 +27,14 @@ import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.thrift.TException;
 import org.ektorp.BulkDeleteDocument;
+import org.ektorp.DbAccessException;
 import org.ektorp.DocumentOperationResult;
 import org.ektorp.http.HttpClient;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
+import java.time.Clock;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -52,6 +58,10 @@ public class AttachmentDatabaseHandler {
     private final AttachmentUsageRepository attachmentUsageRepository;
     private final AttachmentRepository attachmentRepository;
     private final AttachmentOwnerRepository attachmentOwnerRepository;
+    private final AttachmentContentCleanup attachmentContentCleanup;
+
+    private static final int CLEANUP_BATCH_SIZE = 1000;
+    private static final Duration CLEANUP_GRACE_PERIOD = durationOf(1, TimeUnit.DAYS);
 
 
     private static final Logger log = LogManager.getLogger(AttachmentDatabaseHandler.class);
@@ -63,6 +73,8 @@ public class AttachmentDatabaseHandler {
         attachmentUsageRepository = new AttachmentUsageRepository(new DatabaseConnector(httpClient, dbName));
         attachmentRepository = new AttachmentRepository(new DatabaseConnector(httpClient, dbName));
         attachmentOwnerRepository = new AttachmentOwnerRepository(new DatabaseConnector(httpClient, dbName));
+        attachmentContentCleanup = new AttachmentContentCleanup(db, attachmentRepository, CLEANUP_BATCH_SIZE,
+                CLEANUP_GRACE_PERIOD, Clock.systemUTC());
     }
 
     public AttachmentConnector getAttachmentConnector(){
@@ -70,10 +82,12 @@ public class AttachmentDatabaseHandler {
     }
 
     public AttachmentContent add(AttachmentContent attachmentContent){
+        setCreatedOn(attachmentContent);
         attachmentContentRepository.add(attachmentContent);
         return attachmentContent;
     }
     public List<AttachmentContent> makeAttachmentContents(List<AttachmentContent> attachmentContents) throws TException {
+        attachmentContents.forEach(AttachmentDatabaseHandler::setCreatedOn);
         final List<DocumentOperationResult> documentOperationResults = attachmentContentRepository.executeBulk(attachmentContents);
         if (!documentOperationResults.isEmpty())
             log.error("Failed Attachment store results " + documentOperationResults);
@@ -102,10 +116,42 @@ public class AttachmentDatabaseHandler {
     public RequestSummary vacuumAttachmentDB(User user, Set<String> usedIds) throws TException {
         return attachmentContentRepository.vacuumAttachmentDB(user, usedIds);
     }
+
+    public RequestSummary cleanUpAttachmentContents(User user, boolean dryRun) {
+        if (!PermissionUtils.isAdmin(user)) {
+            return new RequestSummary(RequestStatus.FAILURE);
+        }
+        return attachmentContentCleanup.run(dryRun);
+    }
+
+    private static void setCreatedOn(AttachmentContent attachmentContent) {
+        if (!attachmentContent.isSetCreatedOn()) {
+            attachmentContent.setCreatedOn(Instant.now().toString());
+        }
+    }
     public String getSha1FromAttachmentContentId(String attachmentContentId){
         return attachmentConnector.getSha1FromAttachmentContentId(attachmentContentId);
     }
 
+    /**
+     * Computes the checksums of all attachment contents which have been uploaded before they were computed on upload
+     * or as multiple parts. Each content is read once, failures are logged and retried on the next run.
+     */
+    public RequestStatus updateAttachmentContentHashes() {
+        Set<String> ids = attachmentContentRepository.getIdsWithoutHashes();
+        int failed = 0;
+        for (String id : ids) {
+            try {
+                attachmentConnector.computeAndStoreHashes(attachmentConnector.getAttachmentContent(id));
+            } catch (SW360Exception | IOException | DbAccessException e) {
+                log.error("Could not compute the checksums of attachment content " + id, e);
+                failed++;
+            }
+        }
+        log.info("Computed the checksums of " + (ids.size() - failed) + " of " + ids.size() + " attachment contents");
+        return failed == 0 ? RequestStatus.SUCCESS : RequestStatus.FAILURE;
+    }
+
     public void deleteUsagesBy(Source usedBy) throws SW360Exception {
         List<AttachmentUsage> existingUsages = attachmentUsageRepository.getUsedAttachments(usedBy.getFieldValue().toString());
         if (!existingUsages.isEmpty()) {
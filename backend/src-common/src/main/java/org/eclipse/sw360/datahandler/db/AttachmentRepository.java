@@ -13,11 +13,15 @@ import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
 import org.eclipse.sw360.datahandler.couchdb.DatabaseRepository;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
 import org.ektorp.ViewQuery;
+import org.ektorp.ViewResult;
 import org.ektorp.support.View;
 import org.ektorp.support.Views;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Views({
         @View(name = "byid",
@@ -42,6 +46,19 @@ public class AttachmentRepository extends DatabaseRepository<Attachment> {
         return queryView(viewQuery);
     }
 
+    /**
+     * Returns those of the given attachment content ids which are referenced by an attachment
+     */
+    public Set<String> getUsedAttachmentContentIds(Collection<String> attachmentContentIds) {
+        if (attachmentContentIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        ViewQuery viewQuery = createQuery("byid").includeDocs(false).keys(attachmentContentIds);
+        return getConnector().queryView(viewQuery).getRows().stream()
+                .map(ViewResult.Row::getKey)
+                .collect(Collectors.toSet());
+    }
+
     public List<Attachment> getAttachmentsBySha1s(Set<String> sha1s) {
         ViewQuery viewQuery = createQuery("bysha1").includeDocs(false).keys(sha1s);
         return queryView(viewQuery);
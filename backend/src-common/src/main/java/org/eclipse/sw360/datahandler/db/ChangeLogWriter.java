@@ -0,0 +1,255 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.db;
+
+import com.google.common.collect.Lists;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.common.CommonUtils;
+import org.eclipse.sw360.datahandler.thrift.changelogs.ChangeLogs;
+import org.ektorp.DocumentOperationResult;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Writes change logs in the background. The change logs are computed and written by a few worker threads, which
+ * collect them into bulk writes of up to the batch size or of all documents computed within the maximum delay. The
+ * queue of pending change logs is bounded: if it is full, the caller waits up to the offer timeout and the change
+ * logs are dropped afterwards. A batch whose bulk request fails is retried once. The counters of written, failed and
+ * dropped change logs are logged at most once per statistics interval. Pending change logs are written when the
+ * service is stopped.
+ */
+public class ChangeLogWriter {
+
+    private static final Logger log = LogManager.getLogger(ChangeLogWriter.class);
+
+    private static final String PROPERTIES_FILE_PATH = "/sw360.properties";
+    private static final int QUEUE_CAPACITY;
+    private static final int BATCH_SIZE;
+    private static final long MAX_DELAY_MILLIS;
+    private static final long OFFER_TIMEOUT_MILLIS;
+    private static final int WORKER_THREADS;
+    private static final long STATS_INTERVAL_MILLIS;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30000;
+
+    static {
+        Properties props = CommonUtils.loadProperties(ChangeLogWriter.class, PROPERTIES_FILE_PATH);
+        QUEUE_CAPACITY = Integer.parseInt(props.getProperty("changelog.writer.queue.capacity", "10000"));
+        BATCH_SIZE = Integer.parseInt(props.getProperty("changelog.writer.batch.size", "200"));
+        MAX_DELAY_MILLIS = Long.parseLong(props.getProperty("changelog.writer.max.delay.ms", "1000"));
+        OFFER_TIMEOUT_MILLIS = Long.parseLong(props.getProperty("changelog.writer.offer.timeout.ms", "5000"));
+        WORKER_THREADS = Integer.parseInt(props.getProperty("changelog.writer.threads", "1"));
+        STATS_INTERVAL_MILLIS = Long.parseLong(props.getProperty("changelog.writer.stats.interval.ms", "600000"));
+    }
+
+    private final ChangeLogsRepository repository;
+    private final BlockingQueue<Supplier<List<ChangeLogs>>> queue;
+    private final int batchSize;
+    private final long maxDelayMillis;
+    private final long offerTimeoutMillis;
+    private final long statsIntervalMillis;
+    private final List<Thread> workers = Lists.newArrayList();
+    private volatile boolean running = true;
+    // submit holds the read lock while queueing, so nothing is queued after shutdown has stopped the workers
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong lastStatsLogged = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * Creates a writer with the settings from sw360.properties
+     */
+    static ChangeLogWriter create(ChangeLogsRepository repository) {
+        return new ChangeLogWriter(repository, QUEUE_CAPACITY, BATCH_SIZE, MAX_DELAY_MILLIS, OFFER_TIMEOUT_MILLIS,
+                WORKER_THREADS, STATS_INTERVAL_MILLIS);
+    }
+
+    ChangeLogWriter(ChangeLogsRepository repository, int queueCapacity, int batchSize, long maxDelayMillis,
+                    long offerTimeoutMillis, int workerThreads, long statsIntervalMillis) {
+        this.repository = repository;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxDelayMillis = maxDelayMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.statsIntervalMillis = statsIntervalMillis;
+        for (int i = 0; i < workerThreads; i++) {
+            Thread worker = new Thread(this::work, "changelog-writer-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Queues the computation of change logs. The supplier is called by a worker thread and returns the change logs to
+     * write, in the order they have to be written.
+     */
+    public void submit(Supplier<List<ChangeLogs>> changeLogs) {
+        Lock lock = runningLock.readLock();
+        lock.lock();
+        try {
+            if (running) {
+                enqueue(changeLogs);
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        // the workers are draining the queue, nothing may be added anymore
+        write(prepare(changeLogs));
+    }
+
+    private void enqueue(Supplier<List<ChangeLogs>> changeLogs) {
+        try {
+            if (!queue.offer(changeLogs, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                dropped.incrementAndGet();
+                log.error("Change log queue is full, dropping change logs. Dropped so far: " + dropped.get());
+                logStatsIfDue();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.incrementAndGet();
+            log.error("Interrupted while queueing change logs, dropping them", e);
+        }
+    }
+
+    private void work() {
+        List<ChangeLogs> batch = Lists.newArrayList();
+        long batchStarted = 0;
+        while (running || !queue.isEmpty()) {
+            try {
+                long remaining = batch.isEmpty() ? maxDelayMillis : batchStarted + maxDelayMillis - System.currentTimeMillis();
+                Supplier<List<ChangeLogs>> next = queue.poll(Math.max(remaining, 0), TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    if (batch.isEmpty()) {
+                        batchStarted = System.currentTimeMillis();
+                    }
+                    batch.addAll(prepare(next));
+                }
+                if (batch.size() >= batchSize
+                        || (!batch.isEmpty() && (next == null || System.currentTimeMillis() - batchStarted >= maxDelayMillis))) {
+                    write(batch);
+                    batch = Lists.newArrayList();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        write(batch);
+    }
+
+    private List<ChangeLogs> prepare(Supplier<List<ChangeLogs>> changeLogs) {
+        try {
+            return changeLogs.get();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.error("Error occured while creating Change Logs", e);
+            return Lists.newArrayList();
+        }
+    }
+
+    private void write(List<ChangeLogs> changeLogs) {
+        if (changeLogs.isEmpty()) {
+            return;
+        }
+        // with ids set beforehand, a retry cannot duplicate change logs which were written by a failed request
+        changeLogs.stream()
+                .filter(changeLog -> !changeLog.isSetId())
+                .forEach(changeLog -> changeLog.setId(UUID.randomUUID().toString().replace("-", "")));
+        List<DocumentOperationResult> errors = repository.executeBulk(changeLogs);
+        if (errors == null) {
+            log.warn("Could not write batch of " + changeLogs.size() + " change logs, retrying once");
+            errors = repository.executeBulk(changeLogs);
+        }
+        if (errors == null) {
+            log.error("Could not write batch of " + changeLogs.size() + " change logs, dropping them");
+            failed.addAndGet(changeLogs.size());
+        } else {
+            errors.forEach(error -> log.error("Could not write change log " + error.getId() + ": " + error.getError()
+                    + " (" + error.getReason() + ")"));
+            failed.addAndGet(errors.size());
+            written.addAndGet(changeLogs.size() - errors.size());
+        }
+        logStatsIfDue();
+    }
+
+    private void logStatsIfDue() {
+        long now = System.currentTimeMillis();
+        long last = lastStatsLogged.get();
+        if (now - last >= statsIntervalMillis && lastStatsLogged.compareAndSet(last, now)) {
+            log.info("Change log writer: " + getStats());
+        }
+    }
+
+    private String getStats() {
+        return "written " + written.get() + ", failed " + failed.get() + ", dropped " + dropped.get()
+                + ", queued " + queue.size();
+    }
+
+    /**
+     * Stops accepting change logs into the queue and waits up to the shutdown timeout until the workers have written
+     * all pending change logs
+     */
+    public void shutdown() {
+        shutdown(SHUTDOWN_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Stops accepting change logs into the queue and waits until the workers have written all pending change logs
+     */
+    void shutdown(long timeoutMillis) {
+        Lock lock = runningLock.writeLock();
+        lock.lock();
+        try {
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(deadline - System.currentTimeMillis(), 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        log.info("Change log writer stopped: " + getStats());
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+}
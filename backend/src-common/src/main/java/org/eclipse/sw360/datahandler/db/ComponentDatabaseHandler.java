@@ -192,6 +192,10 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
         return componentRepository.getComponentSummary(user);
     }
 
+    public Map<PaginationData, List<Component>> getComponentSummaryWithPagination(User user, PaginationData pageData, ComponentType componentType) {
+        return componentRepository.getComponentSummaryWithPagination(user, pageData, componentType);
+    }
+
     public List<Component> getComponentSummaryForExport() {
         return componentRepository.getSummaryForExport();
     }
@@ -1588,48 +1592,60 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
     // HELPER SERVICES //
     /////////////////////
 
-    List<ReleaseLink> getLinkedReleases(Project project, Map<String, Release> releaseMap, Deque<String> visitedIds) {
-        return getLinkedReleases(project.getReleaseIdToUsage(), releaseMap, visitedIds);
+    List<ReleaseLink> getLinkedReleases(Project project, Map<String, Release> releaseMap, Deque<String> visitedIds, ReleaseLinkContext context) {
+        return getLinkedReleases(project.getReleaseIdToUsage(), releaseMap, visitedIds, context);
     }
 
-    private List<ReleaseLink> getLinkedReleases(Map<String, ?> relations, Map<String, Release> releaseMap, Deque<String> visitedIds) {
-        return iterateReleaseRelationShips(relations, null, visitedIds, releaseMap);
+    private List<ReleaseLink> getLinkedReleases(Map<String, ?> relations, Map<String, Release> releaseMap, Deque<String> visitedIds, ReleaseLinkContext context) {
+        return iterateReleaseRelationShips(relations, null, visitedIds, releaseMap, context);
     }
 
     public List<ReleaseLink> getLinkedReleases(Map<String, ?> relations) {
         final Map<String, Release> releaseMap = ThriftUtils.getIdMap(getDetailedReleasesForExport(relations.keySet()));
-        return getLinkedReleases(relations, releaseMap, new ArrayDeque<>());
+        return getLinkedReleases(relations, releaseMap, new ArrayDeque<>(), createReleaseLinkContext(releaseMap.values()));
+    }
+
+    /**
+     * Reads the components and vendors of the given releases in bulk, to be used for all release links built from
+     * them in the current request.
+     */
+    ReleaseLinkContext createReleaseLinkContext(Collection<Release> releases) {
+        return ReleaseLinkContext.of(releases, componentRepository, vendorRepository);
     }
 
     public List<Release> getAllReleases() {
         return releaseRepository.getAll();
     }
 
+    public Map<PaginationData, List<Release>> getAllReleasesWithPagination(PaginationData pageData) {
+        return releaseRepository.getReleasesWithPagination(pageData);
+    }
+
     public Map<String, Release> getAllReleasesIdMap() {
         final List<Release> releases = getAllReleases();
         return ThriftUtils.getIdMap(releases);
     }
 
     @NotNull
-    private List<ReleaseLink> iterateReleaseRelationShips(Map<String, ?> relations, String parentNodeId, Deque<String> visitedIds, Map<String, Release> releaseMap) {
+    private List<ReleaseLink> iterateReleaseRelationShips(Map<String, ?> relations, String parentNodeId, Deque<String> visitedIds, Map<String, Release> releaseMap, ReleaseLinkContext context) {
         List<ReleaseLink> out = new ArrayList<>();
 
         for (Map.Entry<String, ?> entry : relations.entrySet()) {
             String id = entry.getKey();
-            Optional<ReleaseLink> releaseLinkOptional = getFilledReleaseLink(id, entry.getValue(), parentNodeId, visitedIds, releaseMap);
+            Optional<ReleaseLink> releaseLinkOptional = getFilledReleaseLink(id, entry.getValue(), parentNodeId, visitedIds, releaseMap, context);
             releaseLinkOptional.ifPresent(out::add);
         }
         out.sort(SW360Utils.RELEASE_LINK_COMPARATOR);
         return out;
     }
 
-    private Optional<ReleaseLink> getFilledReleaseLink(String id, Object relation, String parentNodeId, Deque<String> visitedIds, Map<String, Release> releaseMap) {
+    private Optional<ReleaseLink> getFilledReleaseLink(String id, Object relation, String parentNodeId, Deque<String> visitedIds, Map<String, Release> releaseMap, ReleaseLinkContext context) {
         ReleaseLink releaseLink = null;
         if (!visitedIds.contains(id)) {
             visitedIds.push(id);
             Release release = releaseMap.get(id);
             if (release != null) {
-                releaseLink = createReleaseLink(release);
+                releaseLink = createReleaseLink(release, context);
                 fillValueFieldInReleaseLink(releaseLink, relation);
                 releaseLink.setNodeId(generateNodeId(id));
                 releaseLink.setParentNodeId(parentNodeId);
@@ -1659,15 +1675,15 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
     }
 
     @NotNull
-    private ReleaseLink createReleaseLink(Release release) {
-        vendorRepository.fillVendor(release);
+    private ReleaseLink createReleaseLink(Release release, ReleaseLinkContext context) {
+        context.fillVendor(release);
         String vendorName = release.isSetVendor() ? release.getVendor().getShortname() : "";
         ReleaseLink releaseLink = new ReleaseLink(release.id, vendorName, release.name, release.version, SW360Utils.printFullname(release),
                  !nullToEmptyMap(release.getReleaseIdToRelationship()).isEmpty());
         releaseLink
                 .setClearingState(release.getClearingState())
                 .setComponentType(
-                        Optional.ofNullable(componentRepository.get(release.getComponentId()))
+                        Optional.ofNullable(context.getComponent(release.getComponentId()))
                                 .map(Component::getComponentType)
                                 .orElse(null));
         if (!nullToEmptySet(release.getAttachments()).isEmpty()) {
@@ -1714,6 +1730,10 @@ public class ComponentDatabaseHandler extends AttachmentAwareDatabaseHandler {
         return releaseRepository.makeSummary(SummaryType.SUMMARY, ids);
     }
 
+    public Map<String, ExternalToolProcess> getOpenExternalToolProcesses(ExternalTool externalTool) {
+        return releaseRepository.getOpenExternalToolProcesses(externalTool);
+    }
+
     public List<Release> getReleasesWithPermissions(Set<String> ids, User user) {
         return releaseRepository.makeSummaryWithPermissions(SummaryType.SUMMARY, ids, user);
     }
@@ -14,7 +14,9 @@ import org.eclipse.sw360.components.summary.SummaryType;
 import org.eclipse.sw360.datahandler.common.CommonUtils;
 import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
 import org.eclipse.sw360.datahandler.couchdb.SummaryAwareRepository;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.components.Component;
+import org.eclipse.sw360.datahandler.thrift.components.ComponentType;
 import org.eclipse.sw360.datahandler.thrift.users.User;
 
 import org.ektorp.ViewQuery;
@@ -119,7 +121,27 @@ import java.util.*;
                         "  if (doc.type == 'component') {" +
                         "       emit( doc.defaultVendorId , doc._id);" +
                         "  }" +
-                        "}")
+                        "}"),
+        @View(name = PagedViews.BY_NAME,
+                map = "function(doc) {" +
+                        "  if (doc.type == 'component') {" +
+                        "    emit(['', doc.name], null);" +
+                        "    if (doc.componentType) {" +
+                        "      emit([doc.componentType, doc.name], null);" +
+                        "    }" +
+                        "  }" +
+                        "}",
+                reduce = "_count"),
+        @View(name = PagedViews.BY_CREATED_ON,
+                map = "function(doc) {" +
+                        "  if (doc.type == 'component') {" +
+                        "    emit(['', doc.createdOn], null);" +
+                        "    if (doc.componentType) {" +
+                        "      emit([doc.componentType, doc.createdOn], null);" +
+                        "    }" +
+                        "  }" +
+                        "}",
+                reduce = "_count")
 })
 public class ComponentRepository extends SummaryAwareRepository<Component> {
 
@@ -167,6 +189,16 @@ public class ComponentRepository extends SummaryAwareRepository<Component> {
         return makeSummaryWithPermissionsFromFullDocs(SummaryType.SUMMARY, componentList, user);
     }
 
+    public Map<PaginationData, List<Component>> getComponentSummaryWithPagination(User user, PaginationData pageData, ComponentType componentType) {
+        final String viewName = PagedViews.viewName(pageData);
+        final String prefix = componentType == null ? PagedViews.NO_PREFIX : componentType.name();
+        final int totalRowCount = countByPrefix(viewName, prefix);
+        final List<Component> componentList = queryPageByPrefix(viewName, prefix, PagedViews.offset(pageData),
+                PagedViews.limit(pageData), PagedViews.descending(pageData));
+        return PagedViews.result(pageData, totalRowCount,
+                makeSummaryWithPermissionsFromFullDocs(SummaryType.SUMMARY, componentList, user));
+    }
+
     public Set<String> getComponentIdsByName(String name) {
         return queryForIdsAsValue("byname", name);
     }
@@ -82,7 +82,9 @@ public class ComponentSearchHandler {
                     "      ret.add(doc.createdOn, {\"field\": \"createdOn\", \"type\": \"date\"} );" +
                     "    }" +
                     "    return ret;" +
-                    "}");
+                    "}")
+            .forDocumentType("component")
+            .withDateFields("createdOn");
 
 
     private final LuceneAwareDatabaseConnector connector;
@@ -11,6 +11,7 @@ package org.eclipse.sw360.datahandler.db;
 
 import java.net.MalformedURLException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
@@ -22,6 +23,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
@@ -78,6 +81,7 @@ public class DatabaseHandlerUtil {
     private static final Logger log = LogManager.getLogger(DatabaseHandlerUtil.class);
     public static final String SEPARATOR = " -> ";
     private static ChangeLogsRepository changeLogRepository = getChangeLogsRepository();
+    private static ChangeLogWriter changeLogWriter;
     private static ObjectMapper mapper = initAndGetObjectMapper();
 
     private static <T, R> Object[] getCyclicLinkPresenceAndLastElementInCycle(T obj, R handler, User user,
@@ -294,6 +298,23 @@ public class DatabaseHandlerUtil {
         return changeLogRepository;
     }
 
+    public static synchronized ChangeLogWriter getChangeLogWriter() {
+        if (changeLogWriter == null) {
+            changeLogWriter = ChangeLogWriter.create(getChangeLogsRepository());
+        }
+        return changeLogWriter;
+    }
+
+    /**
+     * Writes the pending change logs when the service is stopped. Change logs submitted afterwards are written
+     * directly by the submitting thread.
+     */
+    public static synchronized void shutdownChangeLogWriter() {
+        if (changeLogWriter != null) {
+            changeLogWriter.shutdown();
+        }
+    }
+
     /**
      * Register basic informations for the Document.
      */
@@ -392,47 +413,44 @@ public class DatabaseHandlerUtil {
             return;
         }
 
-        Runnable changeLogRunnable = prepareChangeLogRunnable(newDocVersion, oldDocVersion, userEdited, operation,
-                attachmentConnector, referenceDocLogList, parentDocId, parentOperation);
-
-        Thread changeLogsThread = new Thread(changeLogRunnable);
-        changeLogsThread.start();
+        getChangeLogWriter().submit(prepareChangeLogs(newDocVersion, oldDocVersion, userEdited, operation,
+                attachmentConnector, referenceDocLogList, parentDocId, parentOperation));
     }
 
     /**
-     * Prepare ChangeLog Runnable along with all the Change data.
+     * Prepare the computation of the ChangeLogs along with all the Change data. The parent change log gets its id
+     * here already, so that it can be written together with the change logs of the referenced documents.
      */
-    private static <T extends TBase> Runnable prepareChangeLogRunnable(T newDocVersion, T oldDocVersion,
+    private static <T extends TBase> Supplier<List<ChangeLogs>> prepareChangeLogs(T newDocVersion, T oldDocVersion,
             String userEdited, Operation operation, AttachmentConnector attachmentConnector,
             List<ChangeLogs> referenceDocLogList, String parentDocId, Operation parentOperation) {
         return () -> {
-            try {
-                log.info("Generating ChangeLogs.");
-                ChangeLogs changeLogParent = initChangeLogsObj(newDocVersion, userEdited, parentDocId, operation,
+            log.info("Generating ChangeLogs.");
+            ChangeLogs changeLogParent = initChangeLogsObj(newDocVersion, userEdited, parentDocId, operation,
+                    parentOperation);
+            if (oldDocVersion == null) {
+                changeLogsForNewlyCreatedOrDeleted(newDocVersion, changeLogParent, false);
+            } else if (newDocVersion == null) {
+                changeLogParent = initChangeLogsObj(oldDocVersion, userEdited, parentDocId, operation,
                         parentOperation);
-                if (oldDocVersion == null) {
-                    changeLogsForNewlyCreatedOrDeleted(newDocVersion, changeLogParent, false);
-                } else if (newDocVersion == null) {
-                    changeLogParent = initChangeLogsObj(oldDocVersion, userEdited, parentDocId, operation,
-                            parentOperation);
-                    changeLogsForNewlyCreatedOrDeleted(oldDocVersion, changeLogParent, true);
-                } else {
-                    evaluateAndAddChanges(oldDocVersion, newDocVersion, changeLogParent);
-
-                    if (attachmentConnector != null) {
-                        referenceDocChanges(oldDocVersion, newDocVersion, userEdited, referenceDocLogList,
-                                attachmentConnector, changeLogParent);
-                    }
+                changeLogsForNewlyCreatedOrDeleted(oldDocVersion, changeLogParent, true);
+            } else {
+                evaluateAndAddChanges(oldDocVersion, newDocVersion, changeLogParent);
+
+                if (attachmentConnector != null) {
+                    referenceDocChanges(oldDocVersion, newDocVersion, userEdited, referenceDocLogList,
+                            attachmentConnector, changeLogParent);
                 }
-                changeLogRepository.add(changeLogParent);
-                String changeLogParentId = changeLogParent.getId();
-                referenceDocLogList.stream().forEach(referenceDocLog -> {
-                    referenceDocLog.setDocumentId(changeLogParentId);
-                    changeLogRepository.add(referenceDocLog);
-                });
-            } catch (Exception exp) {
-                log.error("Error occured while creating Change Logs", exp);
             }
+            String changeLogParentId = UUID.randomUUID().toString().replace("-", "");
+            changeLogParent.setId(changeLogParentId);
+            List<ChangeLogs> changeLogs = new ArrayList<>(referenceDocLogList.size() + 1);
+            changeLogs.add(changeLogParent);
+            referenceDocLogList.forEach(referenceDocLog -> {
+                referenceDocLog.setDocumentId(changeLogParentId);
+                changeLogs.add(referenceDocLog);
+            });
+            return changeLogs;
         };
     }
 
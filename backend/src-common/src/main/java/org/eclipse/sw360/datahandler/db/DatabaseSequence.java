@@ -0,0 +1,87 @@
+/*
+ * Copyright Siemens AG, 2020. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.db;
+
+import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.ektorp.UpdateConflictException;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out increasing numbers, e.g. for human readable ids, which are unique
+ * across all services sharing the database. The last number handed out is
+ * stored in a counter document, which is only incremented if it has not been
+ * changed since it was read, otherwise the increment is retried. Each instance
+ * reserves a block of numbers at once, so that most numbers are handed out
+ * without accessing the database. Numbers of a block which are not handed out
+ * before the instance is discarded are skipped.
+ */
+public class DatabaseSequence {
+
+    private static final Logger log = LogManager.getLogger(DatabaseSequence.class);
+
+    private static final String ID_PREFIX = "sequence-";
+    private static final int MAX_ATTEMPTS = 100;
+
+    private final DatabaseConnector db;
+    private final String counterId;
+    private final int blockSize;
+    private final LongSupplier initialValue;
+
+    private long next = 1;
+    private long blockEnd = 0;
+
+    /**
+     * @param name         name of the sequence, unique within the database
+     * @param blockSize    number of values reserved at once
+     * @param initialValue the last value already in use, only called once when the counter does not exist yet,
+     *                     e.g. to continue from the ids created before the sequence was introduced
+     */
+    public DatabaseSequence(DatabaseConnector db, String name, int blockSize, LongSupplier initialValue) {
+        this.db = db;
+        this.counterId = ID_PREFIX + name;
+        this.blockSize = Math.max(blockSize, 1);
+        this.initialValue = initialValue;
+    }
+
+    public synchronized long next() {
+        if (next > blockEnd) {
+            long lastReserved = reserveBlock();
+            next = lastReserved - blockSize + 1;
+            blockEnd = lastReserved;
+        }
+        return next++;
+    }
+
+    private long reserveBlock() {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            SequenceCounter counter = db.get(SequenceCounter.class, counterId);
+            if (counter == null) {
+                counter = new SequenceCounter(counterId, initialValue.getAsLong() + blockSize);
+                if (db.add(counter)) {
+                    return counter.getValue();
+                }
+                continue;
+            }
+            counter.setValue(counter.getValue() + blockSize);
+            try {
+                db.update(counter);
+                return counter.getValue();
+            } catch (UpdateConflictException e) {
+                log.debug("Counter " + counterId + " was changed concurrently, retrying");
+            }
+        }
+        throw new IllegalStateException("Could not reserve values of sequence " + counterId + " after " + MAX_ATTEMPTS
+                + " attempts");
+    }
+}
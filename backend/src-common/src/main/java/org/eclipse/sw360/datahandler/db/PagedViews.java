@@ -0,0 +1,55 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.db;
+
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Names of the views used for reading sorted pages and the interpretation of {@link PaginationData}. The views emit
+ * [prefix, sortKey] keys with a _count reduce function, see {@link org.eclipse.sw360.datahandler.couchdb.DatabaseRepository#queryPageByPrefix}.
+ */
+final class PagedViews {
+
+    static final String BY_NAME = "pagedbyname";
+    static final String BY_CREATED_ON = "pagedbycreatedon";
+
+    static final String SORT_BY_CREATED_ON = "createdOn";
+    static final String NO_PREFIX = "";
+
+    private static final int DEFAULT_ROWS_PER_PAGE = 10;
+
+    private PagedViews() {
+        // only static helpers
+    }
+
+    static String viewName(PaginationData pageData) {
+        return SORT_BY_CREATED_ON.equals(pageData.getSortColumn()) ? BY_CREATED_ON : BY_NAME;
+    }
+
+    static int limit(PaginationData pageData) {
+        return pageData.isSetRowsPerPage() && pageData.getRowsPerPage() > 0 ? pageData.getRowsPerPage() : DEFAULT_ROWS_PER_PAGE;
+    }
+
+    static int offset(PaginationData pageData) {
+        return pageData.isSetPage() && pageData.getPage() > 0 ? pageData.getPage() * limit(pageData) : 0;
+    }
+
+    static boolean descending(PaginationData pageData) {
+        return pageData.isSetAscending() && !pageData.isAscending();
+    }
+
+    static <T> Map<PaginationData, List<T>> result(PaginationData pageData, int totalRowCount, List<T> page) {
+        return Collections.singletonMap(pageData.deepCopy().setTotalRowCount(totalRowCount), page);
+    }
+}
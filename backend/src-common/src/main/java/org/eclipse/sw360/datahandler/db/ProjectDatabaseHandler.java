@@ -49,7 +49,6 @@ import org.spdx.rdfparser.InvalidSPDXAnalysisException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
-import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
@@ -92,22 +91,9 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
     private final RelationsUsageRepository relUsageRepository;
     private final ReleaseRepository releaseRepository;
     private final VendorRepository vendorRepository;
+    private final ProjectReleaseGraph projectReleaseGraph;
     private final MailUtil mailUtil = new MailUtil();
 
-    // this caching structure is only used for filling clearing state summaries and
-    // should be avoided anywhere else so that no other outdated information will be
-    // provided
-    // for the clearing state it is
-    // 1. necessary because they take a long time to get calculated which might be a
-    // good reason for service clients to query not for all projects at once, but to
-    // divide the queries in subsets of project (and we do not want to load the
-    // whole project map for each of this subset queries)
-    // 2. okay because the data normally "only moves forward", meaning that already
-    // approved clearing reports will not be revoked. So worst case of caching is
-    // that outdated data is provided, not wrong one (as it would be okay to see a
-    // cleared project that is displayed as not yet cleared - but it won't be okay
-    // to see a uncleared project that is displayed as cleared but isn't anymore)
-    private static final java.time.Duration ALL_PROJECTS_ID_MAP_CACHE_LIFETIME = java.time.Duration.ofMinutes(2);
     private static final ImmutableList<Project._Fields> listOfStringFieldsInProjToTrim = ImmutableList.of(
             Project._Fields.NAME, Project._Fields.DESCRIPTION, Project._Fields.VERSION, Project._Fields.DOMAIN,
             Project._Fields.BUSINESS_UNIT, Project._Fields.TAG, Project._Fields.PROJECT_RESPONSIBLE,
@@ -118,8 +104,6 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
             Project._Fields.SPECIAL_RISKS3RD_PARTY, Project._Fields.DELIVERY_CHANNELS,
             Project._Fields.REMARKS_ADDITIONAL_REQUIREMENTS, Project._Fields.OBLIGATIONS_TEXT,
             Project._Fields.LICENSE_INFO_HEADER_TEXT, Project._Fields.WIKI, Project._Fields.HOMEPAGE);
-    private Map<String, Project> cachedAllProjectsIdMap;
-    private Instant cachedAllProjectsIdMapLoadingInstant;
 
     public ProjectDatabaseHandler(Supplier<HttpClient> httpClient, String dbName, String attachmentDbName) throws MalformedURLException {
         this(httpClient, dbName, attachmentDbName, new ProjectModerator(),
@@ -141,6 +125,7 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
         relUsageRepository = new RelationsUsageRepository(db);
         vendorRepository = new VendorRepository(db);
         releaseRepository = new ReleaseRepository(db, vendorRepository);
+        projectReleaseGraph = ProjectReleaseGraph.forDatabase(db);
 
         // Create the moderator
         this.moderator = moderator;
@@ -167,6 +152,10 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
         return repository.getAccessibleProjectsSummary(user);
     }
 
+    public Map<PaginationData, List<Project>> getAccessibleProjectsWithPagination(User user, PaginationData pageData) {
+        return repository.getAccessibleProjectsWithPagination(user, pageData);
+    }
+
     public List<Project> searchByName(String name, User user) {
         return repository.searchByName(name, user);
     }
@@ -757,7 +746,7 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
 
         final Map<String, Project> dbProjectMap;
         if (deep){
-            dbProjectMap = ThriftUtils.getIdMap(repository.getAll());
+            dbProjectMap = preloadProjectTrees(project);
         } else {
             dbProjectMap = preloadLinkedProjects(project, user);
         }
@@ -765,12 +754,13 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
         projectMap = project.isSetId() ? dbProjectMap : ImmutableMap.<String, Project>builder().putAll(dbProjectMap).put(DUMMY_NEW_PROJECT_ID, project).build();
 
         final Map<String, Release> releaseMap = preloadLinkedReleases(projectMap);
+        final ReleaseLinkContext releaseLinkContext = componentDatabaseHandler.createReleaseLinkContext(releaseMap.values());
 
         Deque<String> visitedIds = new ArrayDeque<>();
 
         Map<String, ProjectRelationship> fakeRelations = new HashMap<>();
         fakeRelations.put(project.isSetId() ? project.getId() : DUMMY_NEW_PROJECT_ID, ProjectRelationship.UNKNOWN);
-        List<ProjectLink> out = iterateProjectRelationShips(fakeRelations, null, visitedIds, projectMap, releaseMap, deep ? -1 : 2);
+        List<ProjectLink> out = iterateProjectRelationShips(fakeRelations, null, visitedIds, projectMap, releaseMap, releaseLinkContext, deep ? -1 : 2);
         return out;
     }
 
@@ -782,6 +772,19 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
         return ThriftUtils.getIdMap(getProjectsById(projectIdsToLoad, user));
     }
 
+    private Map<String, Project> preloadProjectTrees(Project project) {
+        Set<String> rootProjectIds = new HashSet<>(nullToEmptyMap(project.getLinkedProjects()).keySet());
+        if (project.isSetId()) {
+            rootProjectIds.add(project.getId());
+        }
+        return preloadProjectTrees(rootProjectIds);
+    }
+
+    private Map<String, Project> preloadProjectTrees(Set<String> rootProjectIds) {
+        Set<String> projectIdsToLoad = projectReleaseGraph.getProjectIdsOfTrees(rootProjectIds);
+        return ThriftUtils.getIdMap(repository.get(projectIdsToLoad));
+    }
+
     private Map<String, Release> preloadLinkedReleases(Map<String, Project> projectMap) {
         Set<String> releaseIdsToLoad = projectMap
                 .values()
@@ -797,27 +800,28 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
 
     public List<ProjectLink> getLinkedProjects(Map<String, ProjectRelationship> relations) {
         List<ProjectLink> out;
-        final Map<String, Project> projectMap = ThriftUtils.getIdMap(repository.getAll());
+        final Map<String, Project> projectMap = preloadProjectTrees(relations.keySet());
         final Map<String, Release> releaseMap = preloadLinkedReleases(projectMap);
+        final ReleaseLinkContext releaseLinkContext = componentDatabaseHandler.createReleaseLinkContext(releaseMap.values());
 
         Deque<String> visitedIds = new ArrayDeque<>();
-        out = iterateProjectRelationShips(relations, null, visitedIds, projectMap, releaseMap, -1);
+        out = iterateProjectRelationShips(relations, null, visitedIds, projectMap, releaseMap, releaseLinkContext, -1);
 
         return out;
     }
 
 
-    private List<ProjectLink> iterateProjectRelationShips(Map<String, ProjectRelationship> relations, String parentNodeId, Deque<String> visitedIds, Map<String, Project> projectMap, Map<String, Release> releaseMap, int maxDepth) {
+    private List<ProjectLink> iterateProjectRelationShips(Map<String, ProjectRelationship> relations, String parentNodeId, Deque<String> visitedIds, Map<String, Project> projectMap, Map<String, Release> releaseMap, ReleaseLinkContext releaseLinkContext, int maxDepth) {
         List<ProjectLink> out = new ArrayList<>();
         for (Map.Entry<String, ProjectRelationship> entry : relations.entrySet()) {
-            Optional<ProjectLink> projectLinkOptional = createProjectLink(entry.getKey(), entry.getValue(), parentNodeId, visitedIds, projectMap, releaseMap, maxDepth);
+            Optional<ProjectLink> projectLinkOptional = createProjectLink(entry.getKey(), entry.getValue(), parentNodeId, visitedIds, projectMap, releaseMap, releaseLinkContext, maxDepth);
             projectLinkOptional.ifPresent(out::add);
         }
         out.sort(Comparator.comparing(ProjectLink::getName).thenComparing(ProjectLink::getVersion));
         return out;
     }
 
-    private Optional<ProjectLink> createProjectLink(String id, ProjectRelationship relationship, String parentNodeId, Deque<String> visitedIds, Map<String, Project> projectMap, Map<String, Release> releaseMap, int maxDepth) {
+    private Optional<ProjectLink> createProjectLink(String id, ProjectRelationship relationship, String parentNodeId, Deque<String> visitedIds, Map<String, Project> projectMap, Map<String, Release> releaseMap, ReleaseLinkContext releaseLinkContext, int maxDepth) {
         ProjectLink projectLink = null;
         if (!visitedIds.contains(id) && (maxDepth < 0 || visitedIds.size() < maxDepth)) {
             visitedIds.push(id);
@@ -825,7 +829,7 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
             if (project != null) {
                 projectLink = new ProjectLink(id, project.name);
                 if (project.isSetReleaseIdToUsage() && (maxDepth < 0 || visitedIds.size() < maxDepth)){ // ProjectLink on the last level does not get children added
-                    List<ReleaseLink> linkedReleases = componentDatabaseHandler.getLinkedReleases(project, releaseMap, visitedIds);
+                    List<ReleaseLink> linkedReleases = componentDatabaseHandler.getLinkedReleases(project, releaseMap, visitedIds, releaseLinkContext);
                     fillMainlineStates(linkedReleases, project.getReleaseIdToUsage());
                     projectLink.setLinkedReleases(nullToEmptyList(linkedReleases));
                 }
@@ -841,7 +845,7 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
                         .setTreeLevel(visitedIds.size() - 1);
                 if (project.isSetLinkedProjects()) {
                     List<ProjectLink> subprojectLinks = iterateProjectRelationShips(project.getLinkedProjects(),
-                            projectLink.getNodeId(), visitedIds, projectMap, releaseMap, maxDepth);
+                            projectLink.getNodeId(), visitedIds, projectMap, releaseMap, releaseLinkContext, maxDepth);
                     projectLink.setSubprojects(subprojectLinks);
                 }
             } else {
@@ -1036,7 +1040,23 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
     }
 
     public String getCyclicLinkedProjectPath(Project project, User user) throws TException {
-        return DatabaseHandlerUtil.getCyclicLinkedPath(project, this, user);
+        List<String> cyclicPath = projectReleaseGraph.getCyclicLinkedProjectIdPath(project);
+        if (cyclicPath.isEmpty()) {
+            return "";
+        }
+
+        // the graph is not permission aware, so the projects on the path are checked like when they were loaded
+        Set<String> linkedProjectIds = new HashSet<>(cyclicPath.subList(1, cyclicPath.size()));
+        for (Project linkedProject : repository.get(linkedProjectIds)) {
+            if (!makePermission(linkedProject, user).isActionAllowed(RequestedAction.READ)) {
+                throw fail(403, "User: %s is not allowed to view the requested project: %s", user.getEmail(), linkedProject.getId());
+            }
+        }
+
+        List<String> names = new ArrayList<>();
+        names.add(printName(project));
+        cyclicPath.subList(1, cyclicPath.size()).forEach(id -> names.add(projectReleaseGraph.getProjectName(id)));
+        return String.join(DatabaseHandlerUtil.SEPARATOR, names);
     }
 
     private void releaseIdToProjects(Project project, User user, Set<String> visitedProjectIds, Multimap<String, ProjectWithReleaseRelationTuple> releaseIdToProjects) throws SW360Exception {
@@ -1075,13 +1095,10 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
     }
 
     public List<Project> fillClearingStateSummaryIncludingSubprojects(List<Project> projects, User user) {
-        final Map<String, Project> allProjectsIdMap = getRefreshedAllProjectsIdMap();
-
         projects.stream().forEach(project -> {
-            // build project tree, get all linked release ids and fetch the releases
+            // get all linked release ids of the project tree and fetch the releases
             // current decision is to not check any permissions for subproject visibility
-            Set<String> releaseIdsOfProjectTree = getReleaseIdsOfProjectTree(project, Sets.newHashSet(),
-                    allProjectsIdMap, user, null);
+            Set<String> releaseIdsOfProjectTree = projectReleaseGraph.getReleaseIdsOfProjectTree(project.getId());
             List<Release> releasesForClearingStateSummary = componentDatabaseHandler
                     .getReleasesForClearingStateSummary(releaseIdsOfProjectTree);
             // compute the summaries
@@ -1094,73 +1111,6 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
         return projects;
     }
 
-    /**
-     * Synchronization is not really necessary, we could also remove it. Worst case
-     * would then be that the projects map would be loaded twice if one thread just
-     * loaded it but has not yet updated the loadingInstant field while another
-     * thread queries already (if we change the order and set the instant first and
-     * then load the new map, worst case would be that the other thread would get an
-     * older map as the new one is not yet set).
-     */
-    private synchronized Map<String, Project> getRefreshedAllProjectsIdMap() {
-        if (cachedAllProjectsIdMap != null && Instant.now()
-                .isBefore(cachedAllProjectsIdMapLoadingInstant.plus(ALL_PROJECTS_ID_MAP_CACHE_LIFETIME))) {
-            return cachedAllProjectsIdMap;
-        }
-
-        cachedAllProjectsIdMap = ThriftUtils.getIdMap(repository.getAll());
-        cachedAllProjectsIdMapLoadingInstant = Instant.now();
-
-        return cachedAllProjectsIdMap;
-    }
-
-    private Set<String> getReleaseIdsOfProjectTree(Project project, Set<String> visitedProjectIds,
-            Map<String, Project> allProjectsIdMap, User user, List<RequestedAction> permissionsFilter) {
-        // no need to visit a project twice
-        if (visitedProjectIds.contains(project.getId())) {
-            return Collections.emptySet();
-        }
-
-        // we are now checking this project so no need for further examination in
-        // recursion
-        visitedProjectIds.add(project.getId());
-
-        // container to aggregate results
-        Set<String> releaseIds = Sets.newHashSet();
-
-        // traverse linked projects with relation type other than "REFERRED" and
-        // "DUPLICATE" and add the result to this result
-        if (project.isSetLinkedProjects()) {
-            project.getLinkedProjects().entrySet().stream().forEach(e -> {
-                if (!ProjectRelationship.REFERRED.equals(e.getValue())
-                        && !ProjectRelationship.DUPLICATE.equals(e.getValue())) {
-                    Project childProject = allProjectsIdMap.get(e.getKey());
-                    if (childProject != null) {
-                        // since we fetched all project up front we did not yet check any permission -
-                        // so do it now
-                        if (permissionsFilter == null || permissionsFilter.isEmpty()
-                                || makePermission(childProject, user).areActionsAllowed(permissionsFilter)) {
-                            // recursion inside :-)
-                            releaseIds.addAll(getReleaseIdsOfProjectTree(childProject, visitedProjectIds,
-                                    allProjectsIdMap, user, permissionsFilter));
-                        }
-                    }
-                }
-            });
-        }
-
-        // add own releases to result if they are not just "REFERRED"
-        if (project.isSetReleaseIdToUsage()) {
-            project.getReleaseIdToUsage().entrySet().stream().forEach(e -> {
-                if (!ReleaseRelationship.REFERRED.equals(e.getValue().getReleaseRelation())) {
-                    releaseIds.add(e.getKey());
-                }
-            });
-        }
-
-        return releaseIds;
-    }
-
     private Set<String> getCotsComponentIdsFromRelease(Collection<Release> releases) {
         if (CommonUtils.isNullOrEmptyCollection(releases)) {
             return Collections.emptySet();
@@ -1402,6 +1352,7 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
     public List<Map<String, String>> getClearingStateInformationForListView(String projectId, User user)
             throws SW360Exception {
         Project projectById = getProjectById(projectId, user);
+        LinkedDocuments linkedDocuments = prefetchLinkedDocuments(projectById);
         List<Map<String, String>> clearingStatusList = new ArrayList<Map<String, String>>();
         LinkedHashMap<String, String> projectOrigin = new LinkedHashMap<>();
         projectOrigin.put(projectId, SW360Utils.printName(projectById));
@@ -1410,25 +1361,99 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
         Map<String, ProjectReleaseRelationship> releaseIdToUsage = projectById.getReleaseIdToUsage();
         if (linkedProjects != null && !linkedProjects.isEmpty()) {
             flattenClearingStatusForLinkedProject(linkedProjects, projectOrigin, releaseOrigin, clearingStatusList,
-                    user);
+                    user, linkedDocuments);
         }
         if (releaseIdToUsage != null && !releaseIdToUsage.isEmpty()) {
-            flattenClearingStatusForReleases(releaseIdToUsage, projectOrigin, releaseOrigin, clearingStatusList, user);
+            flattenClearingStatusForReleases(releaseIdToUsage, projectOrigin, releaseOrigin, clearingStatusList,
+                    linkedDocuments);
         }
 
         return clearingStatusList;
     }
 
+    /**
+     * Documents of a project tree, fetched level by level with one bulk request per document type and level.
+     */
+    private static class LinkedDocuments {
+        private final Map<String, Project> projectsById = new HashMap<>();
+        private final Map<String, Release> releasesById = new HashMap<>();
+        private final Map<String, Component> componentsById = new HashMap<>();
+
+        private Project getProject(String id, User user) throws SW360Exception {
+            Project project = projectsById.get(id);
+            assertNotNull(project);
+            if (!makePermission(project, user).isActionAllowed(RequestedAction.READ)) {
+                throw fail(403, "User: %s is not allowed to view the requested project: %s", user.getEmail(), project.getId());
+            }
+            return project;
+        }
+
+        private Release getRelease(String id) throws SW360Exception {
+            Release release = releasesById.get(id);
+            if (release == null) {
+                throw fail(404, "Could not fetch release from database! id=" + id);
+            }
+            return release;
+        }
+
+        private Component getComponent(String id) throws SW360Exception {
+            Component component = componentsById.get(id);
+            if (component == null) {
+                throw fail("Could not fetch component from database! id=" + id);
+            }
+            return component;
+        }
+    }
+
+    private LinkedDocuments prefetchLinkedDocuments(Project root) {
+        LinkedDocuments linkedDocuments = new LinkedDocuments();
+        linkedDocuments.projectsById.put(root.getId(), root);
+
+        Set<String> projectIds = new HashSet<>(nullToEmptyMap(root.getLinkedProjects()).keySet());
+        Set<String> releaseIds = new HashSet<>(nullToEmptyMap(root.getReleaseIdToUsage()).keySet());
+        while (!projectIds.isEmpty() || !releaseIds.isEmpty()) {
+            Set<String> nextProjectIds = new HashSet<>();
+            Set<String> nextReleaseIds = new HashSet<>();
+
+            for (Project project : repository.get(projectIds)) {
+                linkedDocuments.projectsById.put(project.getId(), project);
+                nextProjectIds.addAll(nullToEmptyMap(project.getLinkedProjects()).keySet());
+                nextReleaseIds.addAll(nullToEmptyMap(project.getReleaseIdToUsage()).keySet());
+            }
+
+            Set<String> componentIds = new HashSet<>();
+            for (Release release : componentDatabaseHandler.getReleasesForClearingStateSummary(releaseIds)) {
+                linkedDocuments.releasesById.put(release.getId(), release);
+                nextReleaseIds.addAll(nullToEmptyMap(release.getReleaseIdToRelationship()).keySet());
+                if (release.isSetComponentId() && !linkedDocuments.componentsById.containsKey(release.getComponentId())) {
+                    componentIds.add(release.getComponentId());
+                }
+            }
+            for (Component component : componentDatabaseHandler.getComponentsShort(componentIds)) {
+                linkedDocuments.componentsById.put(component.getId(), component);
+            }
+
+            nextProjectIds.removeAll(linkedDocuments.projectsById.keySet());
+            nextReleaseIds.removeAll(linkedDocuments.releasesById.keySet());
+            // ids which could not be fetched must not be requested again
+            nextProjectIds.removeAll(projectIds);
+            nextReleaseIds.removeAll(releaseIds);
+            projectIds = nextProjectIds;
+            releaseIds = nextReleaseIds;
+        }
+        return linkedDocuments;
+    }
+
     private void flattenClearingStatusForLinkedProject(Map<String, ProjectRelationship> linkedProjects,
             LinkedHashMap<String, String> projectOrigin, LinkedHashMap<String, String> releaseOrigin,
-            List<Map<String, String>> clearingStatusList, User user) {
+            List<Map<String, String>> clearingStatusList, User user, LinkedDocuments linkedDocuments) {
 
         linkedProjects.entrySet().stream().forEach(lp -> wrapTException(() -> {
             String projId = lp.getKey();
             String relation = ThriftEnumUtils.enumToString(lp.getValue());
             if (projectOrigin.containsKey(projId))
                 return;
-            Project linkedProjectById = getProjectById(projId, user);
+            Project linkedProjectById = linkedDocuments.getProject(projId, user);
             projectOrigin.put(projId, SW360Utils.printName(linkedProjectById));
             Map<String, String> row = createProjectCSRow(relation, linkedProjectById, clearingStatusList);
             Map<String, ProjectRelationship> subprojects = linkedProjectById.getLinkedProjects();
@@ -1436,12 +1461,12 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
 
             if (linkedReleases != null && !linkedReleases.isEmpty()) {
                 flattenClearingStatusForReleases(linkedReleases, projectOrigin, releaseOrigin, clearingStatusList,
-                        user);
+                        linkedDocuments);
             }
 
             if (subprojects != null && !subprojects.isEmpty()) {
                 flattenClearingStatusForLinkedProject(subprojects, projectOrigin, releaseOrigin, clearingStatusList,
-                        user);
+                        user, linkedDocuments);
             }
 
             projectOrigin.remove(projId);
@@ -1451,7 +1476,7 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
 
     private void flattenClearingStatusForReleases(Map<String, ProjectReleaseRelationship> linkedReleases,
             LinkedHashMap<String, String> projectOrigin, LinkedHashMap<String, String> releaseOrigin,
-            List<Map<String, String>> clearingStatusList, User user) {
+            List<Map<String, String>> clearingStatusList, LinkedDocuments linkedDocuments) {
 
         linkedReleases.entrySet().stream().forEach(rl -> wrapTException(() -> {
             String relation = ThriftEnumUtils.enumToString(rl.getValue().getReleaseRelation());
@@ -1460,13 +1485,14 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
             String releaseId = rl.getKey();
             if (releaseOrigin.containsKey(releaseId))
                 return;
-            Release rel = componentDatabaseHandler.getRelease(releaseId, user);
+            Release rel = linkedDocuments.getRelease(releaseId);
             Map<String, ReleaseRelationship> releaseIdToRelationship = rel.getReleaseIdToRelationship();
             releaseOrigin.put(releaseId, SW360Utils.printName(rel));
-            Map<String, String> row = createReleaseCSRow(relation, projectMailLineState, rel, clearingStatusList, user, comment);
+            Map<String, String> row = createReleaseCSRow(relation, projectMailLineState, rel, clearingStatusList,
+                    linkedDocuments, comment);
             if (releaseIdToRelationship != null && !releaseIdToRelationship.isEmpty()) {
                 flattenlinkedReleaseOfRelease(releaseIdToRelationship, projectOrigin, releaseOrigin, clearingStatusList,
-                        user);
+                        linkedDocuments);
             }
             releaseOrigin.remove(releaseId);
             row.put("projectOrigin", String.join(" -> ", projectOrigin.values()));
@@ -1476,20 +1502,21 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
 
     private void flattenlinkedReleaseOfRelease(Map<String, ReleaseRelationship> releaseIdToRelationship,
             LinkedHashMap<String, String> projectOrigin, LinkedHashMap<String, String> releaseOrigin,
-            List<Map<String, String>> clearingStatusList, User user) {
+            List<Map<String, String>> clearingStatusList, LinkedDocuments linkedDocuments) {
         releaseIdToRelationship.entrySet().stream().forEach(rl -> wrapTException(() -> {
             String relation = ThriftEnumUtils.enumToString(rl.getValue());
             String projectMailLineState = "";
             String releaseId = rl.getKey();
             if (releaseOrigin.containsKey(releaseId))
                 return;
-            Release rel = componentDatabaseHandler.getRelease(releaseId, user);
+            Release rel = linkedDocuments.getRelease(releaseId);
             Map<String, ReleaseRelationship> subReleaseIdToRelationship = rel.getReleaseIdToRelationship();
             releaseOrigin.put(releaseId, SW360Utils.printName(rel));
-            Map<String, String> row = createReleaseCSRow(relation, projectMailLineState, rel, clearingStatusList, user, "");
+            Map<String, String> row = createReleaseCSRow(relation, projectMailLineState, rel, clearingStatusList,
+                    linkedDocuments, "");
             if (subReleaseIdToRelationship != null && !subReleaseIdToRelationship.isEmpty()) {
                 flattenlinkedReleaseOfRelease(subReleaseIdToRelationship, projectOrigin, releaseOrigin,
-                        clearingStatusList, user);
+                        clearingStatusList, linkedDocuments);
             }
             releaseOrigin.remove(releaseId);
             row.put("projectOrigin", String.join(" -> ", projectOrigin.values()));
@@ -1513,9 +1540,10 @@ public class ProjectDatabaseHandler extends AttachmentAwareDatabaseHandler {
     }
 
     private Map<String, String> createReleaseCSRow(String relation, String projectMailLineState, Release rl,
-            List<Map<String, String>> clearingStatusList, User user, String comment) throws SW360Exception {
+            List<Map<String, String>> clearingStatusList, LinkedDocuments linkedDocuments, String comment)
+            throws SW360Exception {
         Map<String, String> row = new HashMap<>();
-        Component component = componentDatabaseHandler.getComponent(rl.getComponentId(), user);
+        Component component = linkedDocuments.getComponent(rl.getComponentId());
         String releaseId = rl.getId();
         row.put("id", releaseId);
         row.put("name", SW360Utils.printName(rl));
@@ -0,0 +1,345 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.db;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.common.SW360Utils;
+import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
+import org.eclipse.sw360.datahandler.thrift.ReleaseRelationship;
+import org.eclipse.sw360.datahandler.thrift.projects.Project;
+import org.eclipse.sw360.datahandler.thrift.projects.ProjectRelationship;
+import org.ektorp.changes.ChangesCommand;
+import org.ektorp.changes.DocumentChange;
+
+import java.util.*;
+
+/**
+ * In-memory adjacency structure of the links between projects and releases (project to projects, project to
+ * releases and release to releases). The graph is loaded and kept up to date from the _changes feed of the database,
+ * so that tree expansion, cycle detection and the collection of transitively linked releases do not need to read
+ * documents.
+ *
+ * Document ids are mapped to int indices; the links of a node are kept as primitive arrays of those indices together
+ * with the thrift value of the relationship. This takes in the order of 200 bytes per project and release, so there is
+ * one graph per database shared by all handlers of a service, see {@link #forDatabase(DatabaseConnector)}.
+ */
+public class ProjectReleaseGraph {
+
+    private static final Logger log = LogManager.getLogger(ProjectReleaseGraph.class);
+
+    private static final String CHANGES_FILTER = "Project/" + ProjectRepository.GRAPH_CHANGES_FILTER;
+    private static final int CHANGES_BATCH_SIZE = 1000;
+    private static final byte NO_RELATION = -1;
+    private static final String NO_SEQUENCE = "0";
+
+    private static final Map<String, ProjectReleaseGraph> graphs = new HashMap<>();
+
+    private final DatabaseConnector db;
+
+    private final Map<String, Integer> indexById = new HashMap<>();
+    private final List<String> idByIndex = new ArrayList<>();
+    private final List<Node> nodeByIndex = new ArrayList<>();
+    private String lastSequence = NO_SEQUENCE;
+
+    private static final class Node {
+        private final boolean project;
+        private final String name;
+        private final String version;
+        private final int[] linkedProjects;
+        private final byte[] projectRelations;
+        private final int[] linkedReleases;
+        private final byte[] releaseRelations;
+
+        private Node(boolean project, String name, String version, int[] linkedProjects, byte[] projectRelations,
+                     int[] linkedReleases, byte[] releaseRelations) {
+            this.project = project;
+            this.name = name;
+            this.version = version;
+            this.linkedProjects = linkedProjects;
+            this.projectRelations = projectRelations;
+            this.linkedReleases = linkedReleases;
+            this.releaseRelations = releaseRelations;
+        }
+    }
+
+    ProjectReleaseGraph(DatabaseConnector db) {
+        this.db = db;
+    }
+
+    /**
+     * Returns the graph of the database, which is loaded once and then only follows the changes
+     */
+    public static synchronized ProjectReleaseGraph forDatabase(DatabaseConnector db) {
+        return graphs.computeIfAbsent(db.getDbName(), dbName -> new ProjectReleaseGraph(db));
+    }
+
+    /**
+     * Returns the given project ids together with the ids of all projects linked to them directly or transitively.
+     */
+    public synchronized Set<String> getProjectIdsOfTrees(Collection<String> rootProjectIds) {
+        refresh();
+        Set<String> result = new HashSet<>(rootProjectIds);
+        Deque<Integer> toVisit = new ArrayDeque<>();
+        BitSet visited = new BitSet();
+        for (String id : rootProjectIds) {
+            Integer index = indexById.get(id);
+            if (index != null && !visited.get(index)) {
+                visited.set(index);
+                toVisit.push(index);
+            }
+        }
+        while (!toVisit.isEmpty()) {
+            Node node = nodeByIndex.get(toVisit.pop());
+            if (node == null || !node.project) {
+                continue;
+            }
+            for (int linked : node.linkedProjects) {
+                if (!visited.get(linked)) {
+                    visited.set(linked);
+                    result.add(idByIndex.get(linked));
+                    toVisit.push(linked);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Collects the release ids of a project tree. Linked projects with relationship REFERRED or DUPLICATE are not
+     * followed and releases linked as REFERRED are not included.
+     */
+    public synchronized Set<String> getReleaseIdsOfProjectTree(String projectId) {
+        refresh();
+        Set<String> result = new HashSet<>();
+        Integer root = indexById.get(projectId);
+        if (root == null) {
+            return result;
+        }
+        BitSet visited = new BitSet();
+        Deque<Integer> toVisit = new ArrayDeque<>();
+        visited.set(root);
+        toVisit.push(root);
+        while (!toVisit.isEmpty()) {
+            Node node = nodeByIndex.get(toVisit.pop());
+            if (node == null || !node.project) {
+                continue;
+            }
+            for (int i = 0; i < node.linkedProjects.length; i++) {
+                int linked = node.linkedProjects[i];
+                if (!visited.get(linked) && isFollowedProjectRelation(node.projectRelations[i])) {
+                    visited.set(linked);
+                    toVisit.push(linked);
+                }
+            }
+            for (int i = 0; i < node.linkedReleases.length; i++) {
+                if (node.releaseRelations[i] != ReleaseRelationship.REFERRED.getValue()) {
+                    result.add(idByIndex.get(node.linkedReleases[i]));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Searches the project tree below the given (possibly not yet stored) project for a cycle. The links of the
+     * given project are taken from the object itself, all further links from the graph.
+     *
+     * @return the ids of the projects on the path from the given project to the project closing the cycle (which is
+     * contained twice), or an empty list if there is no cycle
+     */
+    public synchronized List<String> getCyclicLinkedProjectIdPath(Project project) {
+        refresh();
+        LinkedHashSet<String> path = new LinkedHashSet<>();
+        path.add(project.getId());
+        List<String> linkedIds = new ArrayList<>(project.isSetLinkedProjects() ? project.getLinkedProjects().keySet()
+                : Collections.emptySet());
+        for (String linkedId : linkedIds) {
+            String lastElement = findCycle(linkedId, path);
+            if (lastElement != null) {
+                List<String> result = new ArrayList<>(path);
+                result.add(lastElement);
+                return result;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private String findCycle(String id, LinkedHashSet<String> path) {
+        if (path.contains(id)) {
+            return id;
+        }
+        path.add(id);
+        Integer index = indexById.get(id);
+        Node node = index == null ? null : nodeByIndex.get(index);
+        if (node != null && node.project) {
+            for (int linked : node.linkedProjects) {
+                String lastElement = findCycle(idByIndex.get(linked), path);
+                if (lastElement != null) {
+                    return lastElement;
+                }
+            }
+        }
+        path.remove(id);
+        return null;
+    }
+
+    /**
+     * Returns the printable name of the project known to the graph, as given by {@link SW360Utils#printName(Project)}.
+     */
+    public synchronized String getProjectName(String projectId) {
+        Integer index = indexById.get(projectId);
+        Node node = index == null ? null : nodeByIndex.get(index);
+        if (node == null || !node.project) {
+            return SW360Utils.printName((Project) null);
+        }
+        return SW360Utils.printName(new Project().setName(node.name).setVersion(node.version));
+    }
+
+    /**
+     * Applies all changes of projects and releases since the last refresh.
+     */
+    public synchronized void refresh() {
+        if (!applyChanges() && !NO_SEQUENCE.equals(lastSequence) && isDatabaseRecreated()) {
+            log.info("Database {} was recreated, reloading the project and release graph", db.getDbName());
+            indexById.clear();
+            idByIndex.clear();
+            nodeByIndex.clear();
+            lastSequence = NO_SEQUENCE;
+            applyChanges();
+        }
+    }
+
+    /**
+     * @return whether there were any changes
+     */
+    private boolean applyChanges() {
+        boolean changed = false;
+        List<DocumentChange> changes;
+        do {
+            ChangesCommand command = new ChangesCommand.Builder()
+                    .since(lastSequence)
+                    .filter(CHANGES_FILTER)
+                    .includeDocs(true)
+                    .limit(CHANGES_BATCH_SIZE)
+                    .build();
+            changes = db.changes(command);
+            log.debug("Applying {} project and release changes since sequence {}", changes.size(), lastSequence);
+            for (DocumentChange change : changes) {
+                apply(change);
+                // CouchDB 1.x uses numeric sequences, later versions opaque strings
+                lastSequence = change.getStringSequence() != null ? change.getStringSequence()
+                        : String.valueOf(change.getSequence());
+            }
+            changed |= !changes.isEmpty();
+        } while (changes.size() >= CHANGES_BATCH_SIZE);
+        return changed;
+    }
+
+    /**
+     * A database which has been deleted and created again, e.g. between tests, has a lower update sequence than the
+     * last change applied from the old one. The numeric prefix of the sequence counts the updates in all versions.
+     */
+    private boolean isDatabaseRecreated() {
+        return sequenceNumber(db.getDbInfo().getUpdateSeqAsString()) < sequenceNumber(lastSequence);
+    }
+
+    private static long sequenceNumber(String sequence) {
+        int end = 0;
+        while (end < sequence.length() && Character.isDigit(sequence.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? 0 : Long.parseLong(sequence.substring(0, end));
+    }
+
+    private void apply(DocumentChange change) {
+        int index = indexOf(change.getId());
+        JsonNode doc = change.getDocAsNode();
+        if (change.isDeleted() || doc == null || doc.isMissingNode() || doc.isNull()) {
+            nodeByIndex.set(index, null);
+            return;
+        }
+
+        String type = doc.path("type").asText();
+        if ("project".equals(type)) {
+            JsonNode linkedProjects = doc.path("linkedProjects");
+            JsonNode releaseIdToUsage = doc.path("releaseIdToUsage");
+            int[] projectIndices = new int[linkedProjects.size()];
+            byte[] projectRelations = new byte[linkedProjects.size()];
+            fillLinks(linkedProjects, projectIndices, projectRelations, false);
+            int[] releaseIndices = new int[releaseIdToUsage.size()];
+            byte[] releaseRelations = new byte[releaseIdToUsage.size()];
+            fillLinks(releaseIdToUsage, releaseIndices, releaseRelations, true);
+            nodeByIndex.set(index, new Node(true, textOrNull(doc, "name"), textOrNull(doc, "version"),
+                    projectIndices, projectRelations, releaseIndices, releaseRelations));
+        } else if ("release".equals(type)) {
+            JsonNode releaseIdToRelationship = doc.path("releaseIdToRelationship");
+            int[] releaseIndices = new int[releaseIdToRelationship.size()];
+            byte[] releaseRelations = new byte[releaseIdToRelationship.size()];
+            fillLinks(releaseIdToRelationship, releaseIndices, releaseRelations, true);
+            nodeByIndex.set(index, new Node(false, textOrNull(doc, "name"), textOrNull(doc, "version"),
+                    new int[0], new byte[0], releaseIndices, releaseRelations));
+        } else {
+            nodeByIndex.set(index, null);
+        }
+    }
+
+    private void fillLinks(JsonNode links, int[] indices, byte[] relations, boolean releaseRelation) {
+        Iterator<Map.Entry<String, JsonNode>> fields = links.fields();
+        for (int i = 0; fields.hasNext(); i++) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            indices[i] = indexOf(field.getKey());
+            JsonNode relation = field.getValue();
+            if (relation.isObject()) {
+                // project release relationships are stored as objects
+                relation = relation.path("releaseRelation");
+            }
+            relations[i] = releaseRelation ? toReleaseRelation(relation.asText()) : toProjectRelation(relation.asText());
+        }
+    }
+
+    private static byte toProjectRelation(String name) {
+        try {
+            return (byte) ProjectRelationship.valueOf(name).getValue();
+        } catch (IllegalArgumentException e) {
+            return NO_RELATION;
+        }
+    }
+
+    private static byte toReleaseRelation(String name) {
+        try {
+            return (byte) ReleaseRelationship.valueOf(name).getValue();
+        } catch (IllegalArgumentException e) {
+            return NO_RELATION;
+        }
+    }
+
+    private static boolean isFollowedProjectRelation(byte relation) {
+        return relation != ProjectRelationship.REFERRED.getValue()
+                && relation != ProjectRelationship.DUPLICATE.getValue();
+    }
+
+    private static String textOrNull(JsonNode doc, String field) {
+        JsonNode value = doc.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private int indexOf(String id) {
+        Integer index = indexById.get(id);
+        if (index == null) {
+            index = idByIndex.size();
+            indexById.put(id, index);
+            idByIndex.add(id);
+            nodeByIndex.add(null);
+        }
+        return index;
+    }
+}
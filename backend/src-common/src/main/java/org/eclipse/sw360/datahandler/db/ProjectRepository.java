@@ -10,21 +10,33 @@
  */
 package org.eclipse.sw360.datahandler.db;
 
+import com.google.common.collect.Sets;
 import org.eclipse.sw360.components.summary.ProjectSummary;
 import org.eclipse.sw360.components.summary.SummaryType;
 import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
 import org.eclipse.sw360.datahandler.couchdb.SummaryAwareRepository;
 import org.eclipse.sw360.datahandler.permissions.ProjectPermissions;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
+import org.eclipse.sw360.datahandler.thrift.ThriftUtils;
+import org.eclipse.sw360.datahandler.thrift.Visibility;
 import org.eclipse.sw360.datahandler.thrift.projects.Project;
 import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.datahandler.thrift.users.UserGroup;
+import org.ektorp.ViewQuery;
+import org.ektorp.ViewResult;
+import org.ektorp.support.Filter;
 import org.ektorp.support.View;
+import org.ektorp.support.Views;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static org.eclipse.sw360.datahandler.common.SW360Utils.getBUFromOrganisation;
+import static org.eclipse.sw360.datahandler.permissions.PermissionUtils.isUserAtLeast;
 
 /**
  * CRUD access for the Project class
@@ -34,9 +46,22 @@ import static org.eclipse.sw360.datahandler.common.SW360Utils.getBUFromOrganisat
  * @author thomas.maier@evosoft.com
  * @author ksoranko@verifa.io
  */
-@View(name = "all", map = "function(doc) { if (doc.type == 'project') emit(null, doc._id) }")
+@Views({
+        @View(name = "all", map = "function(doc) { if (doc.type == 'project') emit(null, doc._id) }"),
+        @View(name = PagedViews.BY_NAME, map = ProjectRepository.PAGED_BY_NAME_VIEW, reduce = "_count"),
+        @View(name = PagedViews.BY_CREATED_ON, map = ProjectRepository.PAGED_BY_CREATED_ON_VIEW, reduce = "_count")
+})
+@Filter(name = ProjectRepository.GRAPH_CHANGES_FILTER, function = ProjectRepository.GRAPH_CHANGES_FILTER_FUNCTION)
 public class ProjectRepository extends SummaryAwareRepository<Project> {
 
+    static final String GRAPH_CHANGES_FILTER = "projectgraph";
+    static final String GRAPH_CHANGES_FILTER_FUNCTION =
+            "function(doc, req) {" +
+                    "  return doc._deleted || doc.type == 'project' || doc.type == 'release';" +
+                    "}";
+
+    private static final String HIGH_VALUE_UNICODE_CHARACTER = "\uFFF0";
+
     private static final String MY_PROJECTS_VIEW =
             "function(doc) {" +
                     "  if (doc.type == 'project') {" +
@@ -140,6 +165,55 @@ public class ProjectRepository extends SummaryAwareRepository<Project> {
                     "  }" +
                     "}";
 
+    static final String PAGED_BY_NAME_VIEW =
+            "function(doc) {" +
+                    "  if (doc.type == 'project') {" +
+                    "    emit(['', doc.name, doc.version], null);" +
+                    "  }" +
+                    "}";
+
+    static final String PAGED_BY_CREATED_ON_VIEW =
+            "function(doc) {" +
+                    "  if (doc.type == 'project') {" +
+                    "    emit(['', doc.createdOn], null);" +
+                    "  }" +
+                    "}";
+
+    private static final String BY_VISIBILITY_VIEW =
+            "function(doc) {" +
+                    "  if (doc.type == 'project') {" +
+                    "    emit(doc.visbility ? doc.visbility : 'BUISNESSUNIT_AND_MODERATORS', doc._id);" +
+                    "  }" +
+                    "}";
+
+    private static final String BY_VISIBLE_BU_VIEW =
+            "function(doc) {" +
+                    "  if (doc.type == 'project' && doc.businessUnit" +
+                    "      && (!doc.visbility || doc.visbility == 'BUISNESSUNIT_AND_MODERATORS')) {" +
+                    "    emit(doc.businessUnit, doc._id);" +
+                    "  }" +
+                    "}";
+
+    private static final String BY_VISIBLE_USER_VIEW =
+            "function(doc) {" +
+                    "  if (doc.type == 'project') {" +
+                    "    if(doc.createdBy)" +
+                    "      emit(doc.createdBy, doc._id);" +
+                    "    if(doc.visbility == 'PRIVATE')" +
+                    "      return;" +
+                    "    if(doc.leadArchitect)" +
+                    "      emit(doc.leadArchitect, doc._id);" +
+                    "    if(doc.projectResponsible)" +
+                    "      emit(doc.projectResponsible, doc._id);" +
+                    "    for(var i in doc.moderators) {" +
+                    "      emit(doc.moderators[i], doc._id);" +
+                    "    }" +
+                    "    for(var i in doc.contributors) {" +
+                    "      emit(doc.contributors[i], doc._id);" +
+                    "    }" +
+                    "  }" +
+                    "}";
+
     private static final String BY_EXTERNAL_IDS =
             "function(doc) {" +
                     "  if (doc.type == 'project') {" +
@@ -160,6 +234,21 @@ public class ProjectRepository extends SummaryAwareRepository<Project> {
                     "  }" +
                     "}";
 
+    private static final String VISIBILITY_FIELDS_VIEW =
+            "function(doc) {" +
+                    "  if (doc.type == 'project') {" +
+                    "    emit(doc._id, {" +
+                    "      visbility: doc.visbility," +
+                    "      businessUnit: doc.businessUnit," +
+                    "      createdBy: doc.createdBy," +
+                    "      leadArchitect: doc.leadArchitect," +
+                    "      projectResponsible: doc.projectResponsible," +
+                    "      moderators: doc.moderators," +
+                    "      contributors: doc.contributors" +
+                    "    });" +
+                    "  }" +
+                    "}";
+
     public ProjectRepository(DatabaseConnector db) {
         super(Project.class, db, new ProjectSummary());
         initStandardDesignDocument();
@@ -270,17 +359,91 @@ public class ProjectRepository extends SummaryAwareRepository<Project> {
 
     @NotNull
     public Set<Project> getAccessibleProjects(User user) {
-        /** This implementation requires multiple DB requests and has its logic distributed in multiple places **/
-//        final Set<Project> buProjects = new HashSet<>(getBUProjects(organisation));
-//        final Set<Project> myProjects = getMyProjects(user);
-//        return Sets.union(buProjects, myProjects);
-
-        /** I have only one day left in the project so I try this, but if there is time this should be reviewed
-         *  The ideal solution would be to make a smarter query with a combined key, but I do not know how easy
-         *  this is to refactor if say an enum value gets renamed...
-         * **/
-        final List<Project> all = getAll();
-        return all.stream().filter(ProjectPermissions.isVisible(user)::test).collect(Collectors.toSet());
+        return new HashSet<>(get(getAccessibleProjectIds(user)));
+    }
+
+    /**
+     * Reads one page of the projects visible to the user. The sorted ids are read from the view and filtered by the
+     * accessible ids, so that only the documents of the page have to be fetched.
+     */
+    public Map<PaginationData, List<Project>> getAccessibleProjectsWithPagination(User user, PaginationData pageData) {
+        final Set<String> accessibleIds = getAccessibleProjectIds(user);
+        final List<String> sortedIds = queryForIdListByPrefix(PagedViews.viewName(pageData), PagedViews.NO_PREFIX,
+                PagedViews.descending(pageData)).stream()
+                .filter(accessibleIds::contains)
+                .collect(Collectors.toList());
+        final int offset = Math.min(PagedViews.offset(pageData), sortedIds.size());
+        final int end = Math.min(offset + PagedViews.limit(pageData), sortedIds.size());
+        final Map<String, Project> projectsById = ThriftUtils.getIdMap(get(sortedIds.subList(offset, end)));
+        final List<Project> page = sortedIds.subList(offset, end).stream()
+                .map(projectsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return PagedViews.result(pageData, sortedIds.size(), page);
+    }
+
+    /**
+     * Collects the ids of all projects visible to the user (see {@link ProjectPermissions#isVisible(User)}) from the
+     * visibility views, so that only the matching documents have to be fetched afterwards.
+     */
+    @View(name = "byvisibility", map = BY_VISIBILITY_VIEW)
+    public Set<String> getAccessibleProjectIds(User user) {
+        final Set<String> ids = new HashSet<>(queryForIds("byvisibility", Visibility.EVERYONE.name()));
+        if (isUserAtLeast(UserGroup.CLEARING_ADMIN, user)) {
+            ids.addAll(queryForIds("byvisibility", Visibility.BUISNESSUNIT_AND_MODERATORS.name()));
+        } else {
+            ids.addAll(getVisibleBUProjectIds(user.getDepartment()));
+        }
+        ids.addAll(getVisibleUserProjectIds(user.getEmail()));
+        return ids;
+    }
+
+    @View(name = "byvisiblebu", map = BY_VISIBLE_BU_VIEW)
+    private Set<String> getVisibleBUProjectIds(String department) {
+        // Filter BU to first three blocks
+        String bu = getBUFromOrganisation(department);
+        if (isNullOrEmpty(department) || isNullOrEmpty(bu)) {
+            return Collections.emptySet();
+        }
+        // the view collation is case insensitive, so the prefix range has to be checked exactly
+        ViewQuery query = createQuery("byvisiblebu").startKey(bu).endKey(bu + HIGH_VALUE_UNICODE_CHARACTER);
+        return getConnector().queryView(query.includeDocs(false)).getRows().stream()
+                .filter(row -> row.getKey() != null && row.getKey().startsWith(bu))
+                .map(ViewResult.Row::getId)
+                .collect(Collectors.toSet());
+    }
+
+    @View(name = "byvisibleuser", map = BY_VISIBLE_USER_VIEW)
+    private Set<String> getVisibleUserProjectIds(String email) {
+        if (isNullOrEmpty(email)) {
+            return Collections.emptySet();
+        }
+        return queryForIds("byvisibleuser", email);
+    }
+
+    /**
+     * Filters the given ids down to the projects visible to the user (see {@link ProjectPermissions#isVisible(User)}).
+     * Only the fields needed for the check are read, for all projects in one request.
+     */
+    @View(name = "visibilityfields", map = VISIBILITY_FIELDS_VIEW)
+    public Set<String> filterVisibleProjectIds(Collection<String> ids, User user) {
+        if (ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+        final Predicate<Project> isVisible = ProjectPermissions.isVisible(user);
+        final Set<String> visibleIds = new HashSet<>();
+        ViewQuery query = createQuery("visibilityfields").keys(ids).includeDocs(false);
+        for (ViewResult.Row row : getConnector().queryView(query).getRows()) {
+            try {
+                Project project = getConnector().convert(row.getValueAsNode().toString(), Project.class);
+                if (isVisible.test(project)) {
+                    visibleIds.add(row.getId());
+                }
+            } catch (IOException e) {
+                log.error("Could not read visibility of project " + row.getId(), e);
+            }
+        }
+        return visibleIds;
     }
 
     public List<Project> searchByName(String name, User user) {
@@ -289,14 +452,8 @@ public class ProjectRepository extends SummaryAwareRepository<Project> {
 
     @NotNull
     private Set<Project> filterAccessibleProjectsByIds(User user, Set<String> searchIds) {
-        final Set<Project> accessibleProjects = getAccessibleProjects(user);
-
-        final Set<Project> output = new HashSet<>();
-        for (Project accessibleProject : accessibleProjects) {
-            if (searchIds.contains(accessibleProject.getId())) output.add(accessibleProject);
-        }
-
-        return output;
+        final Set<String> accessibleIds = Sets.intersection(getAccessibleProjectIds(user), searchIds);
+        return new HashSet<>(get(accessibleIds));
     }
 
     private Set<Project> getAccessibleProjectSummary(User user, Set<String> searchIds) {
@@ -74,7 +74,8 @@ public class ProjectSearchHandler {
                     "      ret.add(doc.additionalData[key], {\"field\": \"additionalData\"} );" +
                     "    }" +
                     "    return ret;" +
-                    "}");
+                    "}")
+            .forDocumentType("project");
 
 
     private final LuceneAwareDatabaseConnector connector;
@@ -0,0 +1,74 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.db;
+
+import org.eclipse.sw360.components.summary.SummaryType;
+import org.eclipse.sw360.datahandler.thrift.ThriftUtils;
+import org.eclipse.sw360.datahandler.thrift.components.Component;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.eclipse.sw360.datahandler.thrift.vendors.Vendor;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Strings.isNullOrEmpty;
+
+/**
+ * Request scoped lookup of the components and vendors of a set of releases. Both are read with one bulk request
+ * each when the context is created, so that release links can be built without a point read per release.
+ */
+public class ReleaseLinkContext {
+
+    private final Map<String, Component> componentsById;
+    private final Map<String, Vendor> vendorsById;
+
+    private ReleaseLinkContext(Map<String, Component> componentsById, Map<String, Vendor> vendorsById) {
+        this.componentsById = componentsById;
+        this.vendorsById = vendorsById;
+    }
+
+    static ReleaseLinkContext of(Collection<Release> releases, ComponentRepository componentRepository,
+                                 VendorRepository vendorRepository) {
+        Set<String> componentIds = releases.stream()
+                .map(Release::getComponentId)
+                .filter(id -> !isNullOrEmpty(id))
+                .collect(Collectors.toSet());
+        Set<String> vendorIds = releases.stream()
+                .filter(Release::isSetVendorId)
+                .map(Release::getVendorId)
+                .filter(id -> !isNullOrEmpty(id))
+                .collect(Collectors.toSet());
+
+        return new ReleaseLinkContext(
+                ThriftUtils.getIdMap(componentRepository.makeSummary(SummaryType.SHORT, componentIds)),
+                ThriftUtils.getIdMap(vendorRepository.get(vendorIds)));
+    }
+
+    public Component getComponent(String componentId) {
+        return componentId == null ? null : componentsById.get(componentId);
+    }
+
+    /**
+     * Replaces the vendor id of the release by the vendor, like {@link VendorRepository#fillVendor(Release)}.
+     */
+    public void fillVendor(Release release) {
+        if (release.isSetVendorId()) {
+            final String vendorId = release.getVendorId();
+            if (!isNullOrEmpty(vendorId)) {
+                final Vendor vendor = vendorsById.get(vendorId);
+                if (vendor != null)
+                    release.setVendor(vendor);
+            }
+            release.unsetVendorId();
+        }
+    }
+}
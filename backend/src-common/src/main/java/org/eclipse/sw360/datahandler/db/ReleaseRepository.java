@@ -13,12 +13,18 @@ import org.eclipse.sw360.components.summary.ReleaseSummary;
 import org.eclipse.sw360.components.summary.SummaryType;
 import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
 import org.eclipse.sw360.datahandler.couchdb.SummaryAwareRepository;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
+import org.eclipse.sw360.datahandler.thrift.components.ExternalTool;
+import org.eclipse.sw360.datahandler.thrift.components.ExternalToolProcess;
 import org.eclipse.sw360.datahandler.thrift.components.Release;
 import org.eclipse.sw360.datahandler.thrift.users.User;
 import org.ektorp.ViewQuery;
+import org.ektorp.ViewResult;
 import org.ektorp.support.View;
 import org.ektorp.support.Views;
 
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -95,7 +101,23 @@ import static com.google.common.base.Strings.isNullOrEmpty;
                         "    }" +
                         "  }" +
                         "}"),
-
+        @View(name = "openExternalToolProcesses",
+                map = "function(doc) {" +
+                        "  if (doc.type == 'release' && Array.isArray(doc.externalToolProcesses)) {" +
+                        "    for (var i = 0; i < doc.externalToolProcesses.length; i++) {" +
+                        "      var externalToolProcess = doc.externalToolProcesses[i];" +
+                        "      if (externalToolProcess.processStatus !== 'DONE' && externalToolProcess.processStatus !== 'OUTDATED') {" +
+                        "        emit(externalToolProcess.externalTool, externalToolProcess);" +
+                        "      }" +
+                        "    }" +
+                        "  }" +
+                        "}"),
+        @View(name = PagedViews.BY_NAME,
+                map = "function(doc) { if (doc.type == 'release') { emit(['', doc.name, doc.version], null) } }",
+                reduce = "_count"),
+        @View(name = PagedViews.BY_CREATED_ON,
+                map = "function(doc) { if (doc.type == 'release') { emit(['', doc.createdOn], null) } }",
+                reduce = "_count"),
 })
 public class ReleaseRepository extends SummaryAwareRepository<Release> {
 
@@ -121,6 +143,14 @@ public class ReleaseRepository extends SummaryAwareRepository<Release> {
         return makeSummary(SummaryType.SUMMARY, getAllIds());
     }
 
+    public Map<PaginationData, List<Release>> getReleasesWithPagination(PaginationData pageData) {
+        final String viewName = PagedViews.viewName(pageData);
+        final int totalRowCount = countByPrefix(viewName, PagedViews.NO_PREFIX);
+        final List<Release> releases = queryPageByPrefix(viewName, PagedViews.NO_PREFIX, PagedViews.offset(pageData),
+                PagedViews.limit(pageData), PagedViews.descending(pageData));
+        return PagedViews.result(pageData, totalRowCount, releases);
+    }
+
     public List<Release> getRecentReleases() {
         ViewQuery query = createQuery("byCreatedOn");
         // Get the 5 last documents
@@ -166,4 +196,21 @@ public class ReleaseRepository extends SummaryAwareRepository<Release> {
     public List<Release> getReferencingReleases(String releaseId) {
         return queryView("usedInReleaseRelation", releaseId);
     }
+
+    /**
+     * Reads the processes of the external tool which are neither done nor outdated by the id of their release, without
+     * reading the releases themselves.
+     */
+    public Map<String, ExternalToolProcess> getOpenExternalToolProcesses(ExternalTool externalTool) {
+        ViewQuery query = createQuery("openExternalToolProcesses").key(externalTool.name()).includeDocs(false);
+        Map<String, ExternalToolProcess> processes = new HashMap<>();
+        for (ViewResult.Row row : getConnector().queryView(query).getRows()) {
+            try {
+                processes.put(row.getId(), getConnector().convert(row.getValueAsNode().toString(), ExternalToolProcess.class));
+            } catch (IOException e) {
+                log.error("Could not read external tool process of release " + row.getId(), e);
+            }
+        }
+        return processes;
+    }
 }
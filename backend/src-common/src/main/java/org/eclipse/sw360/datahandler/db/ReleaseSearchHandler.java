@@ -37,7 +37,9 @@ public class ReleaseSearchHandler {
                     "      ret.add(doc._id);  " +
                     "      return ret;" +
                     "  }" +
-                    "}");
+                    "}")
+            .forDocumentType("release")
+            .withDefaultFields("name", "version", "_id");
 
     private final LuceneAwareDatabaseConnector connector;
 
@@ -0,0 +1,47 @@
+/*
+ * Copyright Siemens AG, 2020. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.db;
+
+import org.ektorp.support.CouchDbDocument;
+
+/**
+ * The last value handed out by a {@link DatabaseSequence}, stored under an id derived from the name of the sequence.
+ */
+public class SequenceCounter extends CouchDbDocument {
+
+    public static final String TYPE = "sequenceCounter";
+
+    private String type = TYPE;
+    private long value;
+
+    public SequenceCounter() {
+    }
+
+    public SequenceCounter(String id, long value) {
+        setId(id);
+        this.value = value;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public void setValue(long value) {
+        this.value = value;
+    }
+}
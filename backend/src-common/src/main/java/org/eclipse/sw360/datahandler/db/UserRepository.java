@@ -14,12 +14,16 @@ import org.eclipse.sw360.datahandler.common.CommonUtils;
 import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
 import org.eclipse.sw360.datahandler.couchdb.SummaryAwareRepository;
 import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.datahandler.thrift.users.UserGroup;
+import org.ektorp.ComplexKey;
 import org.ektorp.support.View;
 import org.ektorp.support.Views;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * CRUD access for the User class
@@ -52,6 +56,10 @@ import java.util.Set;
                         "    }" +
                         "  }" +
                         "}"),
+        @View(name = "emailByUserGroup",
+                map = "function(doc) { if (doc.type == 'user' && doc.userGroup) emit(doc.userGroup, doc.email) }"),
+        @View(name = "emailByUserGroupAndDepartment",
+                map = "function(doc) { if (doc.type == 'user' && doc.userGroup) emit([doc.userGroup, doc.department], doc.email) }"),
 })
 public class UserRepository extends SummaryAwareRepository<User> {
     public UserRepository(DatabaseConnector databaseConnector) {
@@ -83,6 +91,24 @@ public class UserRepository extends SummaryAwareRepository<User> {
         return getUserFromIds(userIds);
     }
 
+    /**
+     * Returns the emails of the users in one of the given groups, restricted to the given department unless it is null
+     */
+    public Set<String> getEmailsByUserGroups(Set<UserGroup> userGroups, String department) {
+        if (userGroups.isEmpty()) {
+            return Collections.emptySet();
+        }
+        if (department == null) {
+            return queryForIdsAsValue("emailByUserGroup", userGroups.stream()
+                    .map(UserGroup::name)
+                    .collect(Collectors.toSet()));
+        }
+        Set<ComplexKey> keys = userGroups.stream()
+                .map(userGroup -> ComplexKey.of(userGroup.name(), department))
+                .collect(Collectors.toSet());
+        return queryForIdsAsValue(createQuery("emailByUserGroupAndDepartment").keys(keys));
+    }
+
     private User getUserFromIds(Set<String> userIds) {
         if (userIds != null && !userIds.isEmpty()) {
             return get(CommonUtils.getFirst(userIds));
@@ -31,7 +31,9 @@ public class UserSearchHandler {
                     "      ret.add(doc.email);  " +
                     "      return ret;" +
                     "  }" +
-                    "}");
+                    "}")
+            .forDocumentType("user")
+            .withDefaultFields("givenname", "lastname", "email");
 
     private final LuceneAwareDatabaseConnector connector;
 
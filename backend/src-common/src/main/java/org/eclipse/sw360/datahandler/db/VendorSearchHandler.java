@@ -37,7 +37,9 @@ public class VendorSearchHandler {
                     "      ret.add(doc.fullname);  " +
                     "      return ret;" +
                     "  }" +
-                    "}");
+                    "}")
+            .forDocumentType("vendor")
+            .withDefaultFields("shortname", "fullname");
 
     private final LuceneAwareDatabaseConnector connector;
 
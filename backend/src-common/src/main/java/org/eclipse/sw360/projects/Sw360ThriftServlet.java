@@ -16,9 +16,15 @@ import org.apache.thrift.protocol.TProtocolFactory;
 import org.apache.thrift.server.TServlet;
 
 import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
 import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * @author Andreas.Reichel@tngtech.com
@@ -26,6 +32,8 @@ import java.io.IOException;
 public class Sw360ThriftServlet extends TServlet {
     private static final Logger log = LogManager.getLogger(Sw360ThriftServlet.class);
 
+    private static final String GZIP = "gzip";
+
     public Sw360ThriftServlet(TProcessor processor, TProtocolFactory protocolFactory) {
         super(processor, protocolFactory);
     }
@@ -37,7 +45,14 @@ public class Sw360ThriftServlet extends TServlet {
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
         try {
-            super.doPost(request, response);
+            if (GZIP.equalsIgnoreCase(request.getHeader("Content-Encoding"))) {
+                // clients sending compressed requests also accept compressed responses
+                GzipResponse gzipResponse = new GzipResponse(response);
+                super.doPost(new GzipRequest(request), gzipResponse);
+                gzipResponse.finish();
+            } else {
+                super.doPost(request, response);
+            }
         } catch (Exception e) {
             log.error("uncaught", e);
             throw e;
@@ -53,4 +68,82 @@ public class Sw360ThriftServlet extends TServlet {
             throw e;
         }
     }
+
+    private static class GzipRequest extends HttpServletRequestWrapper {
+        private ServletInputStream inputStream;
+
+        private GzipRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                GZIPInputStream gzip = new GZIPInputStream(super.getInputStream());
+                inputStream = new ServletInputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        return gzip.read();
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        return gzip.read(b, off, len);
+                    }
+                };
+            }
+            return inputStream;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+    }
+
+    private static class GzipResponse extends HttpServletResponseWrapper {
+        private GZIPOutputStream gzip;
+        private ServletOutputStream outputStream;
+
+        private GzipResponse(HttpServletResponse response) {
+            super(response);
+            response.setHeader("Content-Encoding", GZIP);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream original = super.getOutputStream();
+                gzip = new GZIPOutputStream(original);
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        gzip.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        gzip.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        gzip.flush();
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            // the length of the compressed content is not known in advance
+        }
+
+        private void finish() throws IOException {
+            if (gzip != null) {
+                gzip.finish();
+            }
+        }
+    }
 }
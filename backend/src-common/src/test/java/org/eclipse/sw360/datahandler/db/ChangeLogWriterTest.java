@@ -0,0 +1,134 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.db;
+
+import com.google.common.collect.Lists;
+import org.eclipse.sw360.datahandler.thrift.changelogs.ChangeLogs;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ChangeLogWriterTest {
+
+    @Mock
+    private ChangeLogsRepository repository;
+
+    @Test
+    public void testChangeLogsAreWrittenInBatchesOnShutdown() {
+        when(repository.executeBulk(anyCollection())).thenReturn(Collections.emptyList());
+        ChangeLogWriter writer = new ChangeLogWriter(repository, 100, 3, 60000, 1000, 1, 60000);
+
+        for (int i = 0; i < 5; i++) {
+            String documentId = "doc" + i;
+            writer.submit(() -> Collections.singletonList(new ChangeLogs().setDocumentId(documentId)));
+        }
+        writer.shutdown(10000);
+
+        ArgumentCaptor<Collection> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(repository, atLeastOnce()).executeBulk(batches.capture());
+        List<String> written = Lists.newArrayList();
+        for (Collection<?> batch : batches.getAllValues()) {
+            assertThat(batch.size() <= 3, is(true));
+            written.addAll(batch.stream().map(changeLog -> ((ChangeLogs) changeLog).getDocumentId()).collect(Collectors.toList()));
+        }
+        assertThat(written, contains("doc0", "doc1", "doc2", "doc3", "doc4"));
+        assertEquals(5, writer.getWrittenCount());
+        assertEquals(0, writer.getQueueDepth());
+    }
+
+    @Test
+    public void testFailingComputationIsCounted() {
+        when(repository.executeBulk(anyCollection())).thenReturn(Collections.emptyList());
+        ChangeLogWriter writer = new ChangeLogWriter(repository, 100, 3, 60000, 1000, 1, 60000);
+
+        writer.submit(() -> {
+            throw new IllegalStateException("broken document");
+        });
+        writer.submit(() -> Collections.singletonList(new ChangeLogs().setDocumentId("doc")));
+        writer.shutdown(10000);
+
+        assertEquals(1, writer.getFailedCount());
+        assertEquals(1, writer.getWrittenCount());
+    }
+
+    @Test
+    public void testFailedBatchIsRetriedOnce() {
+        when(repository.executeBulk(anyCollection())).thenReturn(null, Collections.emptyList());
+        ChangeLogWriter writer = new ChangeLogWriter(repository, 100, 3, 60000, 1000, 1, 60000);
+
+        writer.submit(() -> Lists.newArrayList(new ChangeLogs().setDocumentId("doc0"), new ChangeLogs().setDocumentId("doc1")));
+        writer.shutdown(10000);
+
+        verify(repository, times(2)).executeBulk(anyCollection());
+        assertEquals(2, writer.getWrittenCount());
+        assertEquals(0, writer.getFailedCount());
+    }
+
+    @Test
+    public void testBatchIsDroppedWhenRetryFails() {
+        when(repository.executeBulk(anyCollection())).thenReturn(null);
+        ChangeLogWriter writer = new ChangeLogWriter(repository, 100, 3, 60000, 1000, 1, 60000);
+
+        writer.submit(() -> Lists.newArrayList(new ChangeLogs().setDocumentId("doc0"), new ChangeLogs().setDocumentId("doc1")));
+        writer.shutdown(10000);
+
+        verify(repository, times(2)).executeBulk(anyCollection());
+        assertEquals(0, writer.getWrittenCount());
+        assertEquals(2, writer.getFailedCount());
+    }
+
+    @Test
+    public void testChangeLogsSubmittedDuringShutdownAreWritten() throws Exception {
+        when(repository.executeBulk(anyCollection())).thenReturn(Collections.emptyList());
+        ChangeLogWriter writer = new ChangeLogWriter(repository, 10000, 10, 60000, 1000, 1, 60000);
+        int threads = 4;
+        int changeLogsPerThread = 500;
+        CountDownLatch started = new CountDownLatch(threads);
+
+        List<Thread> submitters = Lists.newArrayList();
+        for (int t = 0; t < threads; t++) {
+            Thread submitter = new Thread(() -> {
+                started.countDown();
+                for (int i = 0; i < changeLogsPerThread; i++) {
+                    writer.submit(() -> Collections.singletonList(new ChangeLogs().setDocumentId("doc")));
+                }
+            });
+            submitter.start();
+            submitters.add(submitter);
+        }
+        started.await();
+        writer.shutdown(10000);
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        assertEquals(threads * changeLogsPerThread, writer.getWrittenCount());
+        assertEquals(0, writer.getQueueDepth());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.sw360.datahandler.db;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.sw360.datahandler.TestUtils;
+import org.eclipse.sw360.datahandler.common.DatabaseSettings;
+import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
+import org.eclipse.sw360.datahandler.thrift.components.Component;
+import org.eclipse.sw360.datahandler.thrift.components.ComponentType;
+import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.datahandler.thrift.users.UserGroup;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.eclipse.sw360.datahandler.TestUtils.assertTestString;
+import static org.junit.Assert.assertEquals;
+
+public class ComponentRepositoryTest {
+
+    private static final String dbName = DatabaseSettings.COUCH_DB_DATABASE;
+
+    private static final User user = new User().setEmail("user1").setDepartment("AB CD EF").setUserGroup(UserGroup.USER);
+
+    private ComponentRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        assertTestString(dbName);
+
+        List<Component> components = new ArrayList<>();
+        components.add(new Component().setId("C1").setName("Delta").setComponentType(ComponentType.OSS).setCreatedOn("2020-01-04"));
+        components.add(new Component().setId("C2").setName("Alpha").setComponentType(ComponentType.COTS).setCreatedOn("2020-01-02"));
+        components.add(new Component().setId("C3").setName("Echo").setComponentType(ComponentType.OSS).setCreatedOn("2020-01-01"));
+        components.add(new Component().setId("C4").setName("Bravo").setCreatedOn("2020-01-05"));
+        components.add(new Component().setId("C5").setName("Charlie").setComponentType(ComponentType.OSS).setCreatedOn("2020-01-03"));
+
+        TestUtils.createDatabase(DatabaseSettings.getConfiguredHttpClient(), dbName);
+        DatabaseConnector databaseConnector = new DatabaseConnector(DatabaseSettings.getConfiguredHttpClient(), dbName);
+        for (Component component : components) {
+            databaseConnector.add(component);
+        }
+
+        repository = new ComponentRepository(databaseConnector, new ReleaseRepository(databaseConnector,
+                new VendorRepository(databaseConnector)), new VendorRepository(databaseConnector));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TestUtils.deleteDatabase(DatabaseSettings.getConfiguredHttpClient(), dbName);
+    }
+
+    @Test
+    public void testPagesSortedByNameAscending() throws Exception {
+        PaginationData pageData = new PaginationData().setRowsPerPage(2).setSortColumn("name").setAscending(true);
+
+        assertPage(pageData.setPage(0), null, 5, "Alpha", "Bravo");
+        assertPage(pageData.setPage(1), null, 5, "Charlie", "Delta");
+        assertPage(pageData.setPage(2), null, 5, "Echo");
+    }
+
+    @Test
+    public void testPagesSortedByNameDescending() throws Exception {
+        PaginationData pageData = new PaginationData().setRowsPerPage(2).setSortColumn("name").setAscending(false);
+
+        assertPage(pageData.setPage(0), null, 5, "Echo", "Delta");
+        assertPage(pageData.setPage(2), null, 5, "Alpha");
+    }
+
+    @Test
+    public void testPagesSortedByCreatedOn() throws Exception {
+        PaginationData pageData = new PaginationData().setPage(0).setRowsPerPage(3).setSortColumn("createdOn");
+
+        assertPage(pageData.setAscending(true), null, 5, "Echo", "Alpha", "Charlie");
+        assertPage(pageData.setAscending(false), null, 5, "Bravo", "Delta", "Charlie");
+    }
+
+    @Test
+    public void testPagesOfComponentType() throws Exception {
+        PaginationData pageData = new PaginationData().setPage(0).setRowsPerPage(2).setSortColumn("name").setAscending(true);
+
+        assertPage(pageData, ComponentType.OSS, 3, "Charlie", "Delta");
+        assertPage(pageData.setPage(1), ComponentType.OSS, 3, "Echo");
+        assertPage(pageData.setPage(0), ComponentType.INNER_SOURCE, 0);
+    }
+
+    @Test
+    public void testPageBeyondLastPageIsEmpty() throws Exception {
+        PaginationData pageData = new PaginationData().setPage(3).setRowsPerPage(2).setSortColumn("name").setAscending(true);
+
+        assertPage(pageData, null, 5);
+    }
+
+    private void assertPage(PaginationData pageData, ComponentType componentType, int totalRowCount, String... names) {
+        Map<PaginationData, List<Component>> page = repository.getComponentSummaryWithPagination(user, pageData, componentType);
+
+        assertEquals(1, page.size());
+        Map.Entry<PaginationData, List<Component>> pageEntry = page.entrySet().iterator().next();
+        assertEquals(totalRowCount, pageEntry.getKey().getTotalRowCount());
+        assertEquals(ImmutableList.copyOf(names), pageEntry.getValue().stream().map(Component::getName).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright Siemens AG, 2020. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.db;
+
+import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
+import org.ektorp.UpdateConflictException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DatabaseSequenceTest {
+
+    private static final String COUNTER_ID = "sequence-test";
+
+    @Mock
+    private DatabaseConnector db;
+
+    @Test
+    public void testFirstBlockContinuesFromInitialValue() {
+        when(db.get(SequenceCounter.class, COUNTER_ID)).thenReturn(null);
+        when(db.add(any(SequenceCounter.class))).thenReturn(true);
+        DatabaseSequence sequence = new DatabaseSequence(db, "test", 3, () -> 41);
+
+        assertThat(sequence.next(), is(42L));
+        assertThat(sequence.next(), is(43L));
+        assertThat(sequence.next(), is(44L));
+        verify(db, times(1)).add(any(SequenceCounter.class));
+    }
+
+    @Test
+    public void testNextBlockIsReservedWhenBlockIsUsedUp() {
+        when(db.get(SequenceCounter.class, COUNTER_ID))
+                .thenReturn(new SequenceCounter(COUNTER_ID, 10))
+                .thenReturn(new SequenceCounter(COUNTER_ID, 20));
+        DatabaseSequence sequence = new DatabaseSequence(db, "test", 2, () -> 0);
+
+        assertThat(sequence.next(), is(11L));
+        assertThat(sequence.next(), is(12L));
+        assertThat(sequence.next(), is(21L));
+        verify(db, times(2)).update(any(SequenceCounter.class));
+    }
+
+    @Test
+    public void testIncrementIsRetriedOnConflict() {
+        when(db.get(SequenceCounter.class, COUNTER_ID))
+                .thenReturn(new SequenceCounter(COUNTER_ID, 5))
+                .thenReturn(new SequenceCounter(COUNTER_ID, 6));
+        doThrow(new UpdateConflictException()).doNothing().when(db).update(any(SequenceCounter.class));
+        DatabaseSequence sequence = new DatabaseSequence(db, "test", 1, () -> 0);
+
+        assertThat(sequence.next(), is(7L));
+        verify(db, times(2)).update(any(SequenceCounter.class));
+    }
+
+    @Test
+    public void testCounterCreatedConcurrentlyIsIncremented() {
+        when(db.get(SequenceCounter.class, COUNTER_ID))
+                .thenReturn(null)
+                .thenReturn(new SequenceCounter(COUNTER_ID, 1));
+        when(db.add(any(SequenceCounter.class))).thenReturn(false);
+        DatabaseSequence sequence = new DatabaseSequence(db, "test", 1, () -> 0);
+
+        assertThat(sequence.next(), is(2L));
+        verify(db, times(2)).get(eq(SequenceCounter.class), eq(COUNTER_ID));
+    }
+}
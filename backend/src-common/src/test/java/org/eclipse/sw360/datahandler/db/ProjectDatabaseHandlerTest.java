@@ -383,6 +383,23 @@ public class ProjectDatabaseHandlerTest {
         assertThat(projectLinks.get(0).getLinkedReleases().size(), is(2));
     }
 
+    @Test
+    public void testGetClearingStateInformationForListView() throws Exception {
+        List<Map<String, String>> rows = handler.getClearingStateInformationForListView("P4", user1);
+
+        assertThat(rows.size(), is(3));
+        assertEquals("P5", rows.get(0).get("id"));
+        assertEquals("false", rows.get(0).get("isRelease"));
+        assertEquals("Project4", rows.get(0).get("projectOrigin"));
+        Set<String> releaseIds = new HashSet<>();
+        for (Map<String, String> row : rows.subList(1, rows.size())) {
+            assertEquals("true", row.get("isRelease"));
+            assertEquals("Project4", row.get("projectOrigin"));
+            releaseIds.add(row.get("id"));
+        }
+        assertThat(releaseIds, containsInAnyOrder("r1", "r2"));
+    }
+
     private ProjectWithReleaseRelationTuple createTuple(Project p) {
         return new ProjectWithReleaseRelationTuple(p, newDefaultProjectReleaseRelationship());
     }
@@ -0,0 +1,139 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.sw360.datahandler.db;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.eclipse.sw360.datahandler.TestUtils;
+import org.eclipse.sw360.datahandler.common.DatabaseSettings;
+import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
+import org.eclipse.sw360.datahandler.thrift.MainlineState;
+import org.eclipse.sw360.datahandler.thrift.ProjectReleaseRelationship;
+import org.eclipse.sw360.datahandler.thrift.ReleaseRelationship;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.eclipse.sw360.datahandler.thrift.projects.Project;
+import org.eclipse.sw360.datahandler.thrift.projects.ProjectRelationship;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.eclipse.sw360.datahandler.TestUtils.assertTestString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ProjectReleaseGraphTest {
+
+    private static final String dbName = DatabaseSettings.COUCH_DB_DATABASE;
+
+    private DatabaseConnector databaseConnector;
+    private ProjectReleaseGraph graph;
+
+    @Before
+    public void setUp() throws Exception {
+        assertTestString(dbName);
+
+        TestUtils.createDatabase(DatabaseSettings.getConfiguredHttpClient(), dbName);
+        databaseConnector = new DatabaseConnector(DatabaseSettings.getConfiguredHttpClient(), dbName);
+        // creates the design document containing the changes filter
+        new ProjectRepository(databaseConnector);
+
+        databaseConnector.add(new Project().setId("P1").setName("Project1").setVersion("1")
+                .setLinkedProjects(ImmutableMap.of("P2", ProjectRelationship.CONTAINED, "P3", ProjectRelationship.REFERRED))
+                .setReleaseIdToUsage(ImmutableMap.of(
+                        "R1", new ProjectReleaseRelationship(ReleaseRelationship.CONTAINED, MainlineState.MAINLINE),
+                        "R2", new ProjectReleaseRelationship(ReleaseRelationship.REFERRED, MainlineState.MAINLINE))));
+        databaseConnector.add(new Project().setId("P2").setName("Project2")
+                .setLinkedProjects(ImmutableMap.of("P4", ProjectRelationship.CONTAINED))
+                .setReleaseIdToUsage(ImmutableMap.of(
+                        "R3", new ProjectReleaseRelationship(ReleaseRelationship.DYNAMICALLY_LINKED, MainlineState.OPEN))));
+        databaseConnector.add(new Project().setId("P3").setName("Project3")
+                .setReleaseIdToUsage(ImmutableMap.of(
+                        "R4", new ProjectReleaseRelationship(ReleaseRelationship.CONTAINED, MainlineState.OPEN))));
+        databaseConnector.add(new Project().setId("P4").setName("Project4"));
+        databaseConnector.add(new Release().setId("R1").setName("Release1").setVersion("1").setComponentId("C1")
+                .setReleaseIdToRelationship(ImmutableMap.of("R5", ReleaseRelationship.CONTAINED)));
+        databaseConnector.add(new Release().setId("R5").setName("Release5").setVersion("1").setComponentId("C1")
+                .setReleaseIdToRelationship(ImmutableMap.of("R6", ReleaseRelationship.CONTAINED)));
+
+        graph = new ProjectReleaseGraph(databaseConnector);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TestUtils.deleteDatabase(DatabaseSettings.getConfiguredHttpClient(), dbName);
+    }
+
+    @Test
+    public void testProjectIdsOfTrees() throws Exception {
+        assertEquals(ImmutableSet.of("P1", "P2", "P3", "P4"), graph.getProjectIdsOfTrees(ImmutableSet.of("P1")));
+        assertEquals(ImmutableSet.of("P2", "P4"), graph.getProjectIdsOfTrees(ImmutableSet.of("P2")));
+        assertEquals(ImmutableSet.of("unknown"), graph.getProjectIdsOfTrees(ImmutableSet.of("unknown")));
+    }
+
+    @Test
+    public void testReleaseIdsOfProjectTreeSkipReferred() throws Exception {
+        assertEquals(ImmutableSet.of("R1", "R3"), graph.getReleaseIdsOfProjectTree("P1"));
+    }
+
+    @Test
+    public void testNoCycle() throws Exception {
+        Project project = databaseConnector.get(Project.class, "P1");
+        assertTrue(graph.getCyclicLinkedProjectIdPath(project).isEmpty());
+    }
+
+    @Test
+    public void testCycleOfUnsavedLinks() throws Exception {
+        Project project = databaseConnector.get(Project.class, "P4");
+        project.setLinkedProjects(ImmutableMap.of("P1", ProjectRelationship.CONTAINED));
+        assertEquals(ImmutableList.of("P4", "P1", "P2", "P4"), graph.getCyclicLinkedProjectIdPath(project));
+        assertEquals("Project1 (1)", graph.getProjectName("P1"));
+    }
+
+    @Test
+    public void testGraphFollowsChanges() throws Exception {
+        assertEquals(ImmutableSet.of("R1", "R3"), graph.getReleaseIdsOfProjectTree("P1"));
+
+        Project project = databaseConnector.get(Project.class, "P2");
+        project.setReleaseIdToUsage(Collections.emptyMap());
+        databaseConnector.update(project);
+        databaseConnector.add(new Project().setId("P5").setName("Project5")
+                .setLinkedProjects(ImmutableMap.of("P1", ProjectRelationship.CONTAINED)));
+        assertTrue(databaseConnector.deleteById("P4"));
+
+        assertEquals(ImmutableSet.of("R1"), graph.getReleaseIdsOfProjectTree("P1"));
+        assertEquals(ImmutableSet.of("P1", "P2", "P3", "P4", "P5"), graph.getProjectIdsOfTrees(ImmutableSet.of("P5")));
+    }
+
+    @Test
+    public void testGraphIsSharedPerDatabase() throws Exception {
+        DatabaseConnector otherConnector = new DatabaseConnector(DatabaseSettings.getConfiguredHttpClient(), dbName);
+        assertSame(ProjectReleaseGraph.forDatabase(databaseConnector), ProjectReleaseGraph.forDatabase(otherConnector));
+    }
+
+    @Test
+    public void testRecreatedDatabaseIsReloaded() throws Exception {
+        assertEquals(ImmutableSet.of("R1", "R3"), graph.getReleaseIdsOfProjectTree("P1"));
+
+        TestUtils.deleteDatabase(DatabaseSettings.getConfiguredHttpClient(), dbName);
+        TestUtils.createDatabase(DatabaseSettings.getConfiguredHttpClient(), dbName);
+        databaseConnector = new DatabaseConnector(DatabaseSettings.getConfiguredHttpClient(), dbName);
+        new ProjectRepository(databaseConnector);
+        databaseConnector.add(new Project().setId("P1").setName("Project1")
+                .setReleaseIdToUsage(ImmutableMap.of(
+                        "R7", new ProjectReleaseRelationship(ReleaseRelationship.CONTAINED, MainlineState.OPEN))));
+
+        assertEquals(ImmutableSet.of("R7"), graph.getReleaseIdsOfProjectTree("P1"));
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.sw360.datahandler.db;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.eclipse.sw360.datahandler.TestUtils;
+import org.eclipse.sw360.datahandler.common.DatabaseSettings;
+import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
+import org.eclipse.sw360.datahandler.permissions.ProjectPermissions;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
+import org.eclipse.sw360.datahandler.thrift.Visibility;
+import org.eclipse.sw360.datahandler.thrift.projects.Project;
+import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.datahandler.thrift.users.UserGroup;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.eclipse.sw360.datahandler.TestUtils.assertTestString;
+import static org.junit.Assert.assertEquals;
+
+public class ProjectRepositoryTest {
+
+    private static final String dbName = DatabaseSettings.COUCH_DB_DATABASE;
+
+    private static final List<User> users = ImmutableList.of(
+            new User().setEmail("user1").setDepartment("AB CD EF").setUserGroup(UserGroup.USER),
+            new User().setEmail("user2").setDepartment("AB CD FE").setUserGroup(UserGroup.USER),
+            new User().setEmail("user3").setDepartment("XY").setUserGroup(UserGroup.USER),
+            new User().setEmail("user4").setDepartment("").setUserGroup(UserGroup.USER),
+            new User().setEmail("user5").setDepartment("QQ").setUserGroup(UserGroup.CLEARING_ADMIN),
+            new User().setEmail("user6").setDepartment("AB CD EF GH IJ").setUserGroup(UserGroup.USER));
+
+    private ProjectRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        assertTestString(dbName);
+
+        List<Project> projects = new ArrayList<>();
+        projects.add(new Project().setId("P1").setName("Project1").setBusinessUnit("AB CD EF").setCreatedBy("user1"));
+        projects.add(new Project().setId("P2").setName("Project2").setBusinessUnit("AB CD FE").setCreatedBy("user2")
+                .setContributors(ImmutableSet.of("user1")));
+        projects.add(new Project().setId("P3").setName("Project3").setBusinessUnit("AB CD EF GH").setCreatedBy("user3")
+                .setVisbility(Visibility.ME_AND_MODERATORS).setModerators(ImmutableSet.of("user2")));
+        projects.add(new Project().setId("P4").setName("Project4").setBusinessUnit("AB CD EF").setCreatedBy("user1")
+                .setVisbility(Visibility.PRIVATE).setModerators(ImmutableSet.of("user2")));
+        projects.add(new Project().setId("P5").setName("Project5").setBusinessUnit("XY").setCreatedBy("user4")
+                .setVisbility(Visibility.EVERYONE));
+        projects.add(new Project().setId("P6").setName("Project6").setBusinessUnit("ab cd ef").setCreatedBy("user4")
+                .setLeadArchitect("user3"));
+        projects.add(new Project().setId("P7").setName("Project7").setBusinessUnit("XY").setCreatedBy("user4")
+                .setProjectResponsible("user2"));
+
+        TestUtils.createDatabase(DatabaseSettings.getConfiguredHttpClient(), dbName);
+        DatabaseConnector databaseConnector = new DatabaseConnector(DatabaseSettings.getConfiguredHttpClient(), dbName);
+        for (Project project : projects) {
+            databaseConnector.add(project);
+        }
+
+        repository = new ProjectRepository(databaseConnector);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        TestUtils.deleteDatabase(DatabaseSettings.getConfiguredHttpClient(), dbName);
+    }
+
+    @Test
+    public void testAccessibleProjectsMatchVisibilityPermissions() throws Exception {
+        List<Project> all = repository.getAll();
+        for (User user : users) {
+            Set<String> expected = all.stream()
+                    .filter(ProjectPermissions.isVisible(user))
+                    .map(Project::getId)
+                    .collect(Collectors.toSet());
+            Set<String> actual = repository.getAccessibleProjects(user).stream()
+                    .map(Project::getId)
+                    .collect(Collectors.toSet());
+            assertEquals("visible projects of " + user.getEmail(), expected, actual);
+        }
+    }
+
+    @Test
+    public void testAccessibleProjectIds() throws Exception {
+        assertEquals(ImmutableSet.of("P1", "P2", "P4", "P5"), repository.getAccessibleProjectIds(users.get(0)));
+    }
+
+    @Test
+    public void testFilterVisibleProjectIdsMatchesVisibilityPermissions() throws Exception {
+        List<Project> all = repository.getAll();
+        Set<String> ids = all.stream().map(Project::getId).collect(Collectors.toSet());
+        for (User user : users) {
+            Set<String> expected = all.stream()
+                    .filter(ProjectPermissions.isVisible(user))
+                    .map(Project::getId)
+                    .collect(Collectors.toSet());
+            assertEquals("visible projects of " + user.getEmail(), expected, repository.filterVisibleProjectIds(ids, user));
+        }
+    }
+
+    @Test
+    public void testFilterVisibleProjectIdsIgnoresUnknownIds() throws Exception {
+        assertEquals(ImmutableSet.of("P1"), repository.filterVisibleProjectIds(ImmutableSet.of("P1", "P3", "unknown"), users.get(0)));
+    }
+
+    @Test
+    public void testAccessibleProjectsWithPaginationAscending() throws Exception {
+        PaginationData pageData = new PaginationData().setRowsPerPage(2).setSortColumn("name").setAscending(true);
+
+        assertPage(users.get(0), pageData.setPage(0), 4, "P1", "P2");
+        assertPage(users.get(0), pageData.setPage(1), 4, "P4", "P5");
+        assertPage(users.get(0), pageData.setPage(2), 4);
+    }
+
+    @Test
+    public void testAccessibleProjectsWithPaginationDescending() throws Exception {
+        PaginationData pageData = new PaginationData().setPage(0).setRowsPerPage(3).setSortColumn("name").setAscending(false);
+
+        assertPage(users.get(0), pageData, 4, "P5", "P4", "P2");
+    }
+
+    private void assertPage(User user, PaginationData pageData, int totalRowCount, String... ids) {
+        Map<PaginationData, List<Project>> page = repository.getAccessibleProjectsWithPagination(user, pageData);
+
+        assertEquals(1, page.size());
+        Map.Entry<PaginationData, List<Project>> pageEntry = page.entrySet().iterator().next();
+        assertEquals(totalRowCount, pageEntry.getKey().getTotalRowCount());
+        assertEquals(ImmutableList.copyOf(ids), pageEntry.getValue().stream().map(Project::getId).collect(Collectors.toList()));
+    }
+}
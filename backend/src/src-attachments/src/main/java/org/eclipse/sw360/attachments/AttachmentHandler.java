@@ -89,6 +89,12 @@ public class AttachmentHandler implements AttachmentService.Iface {
         return handler.vacuumAttachmentDB(user, usedIds);
     }
 
+    @Override
+    public RequestSummary cleanUpAttachmentContents(User user, boolean dryRun) throws TException {
+        assertUser(user);
+        return handler.cleanUpAttachmentContents(user, dryRun);
+    }
+
     @Override
     public String getSha1FromAttachmentContentId(String attachmentContentId) throws TException {
         assertNotNull(attachmentContentId);
@@ -96,6 +102,11 @@ public class AttachmentHandler implements AttachmentService.Iface {
         return handler.getSha1FromAttachmentContentId(attachmentContentId);
     }
 
+    @Override
+    public RequestStatus updateAttachmentContentHashes() throws TException {
+        return handler.updateAttachmentContentHashes();
+    }
+
     @Override
     public AttachmentUsage makeAttachmentUsage(AttachmentUsage attachmentUsage) throws TException {
         assertNotNull(attachmentUsage);
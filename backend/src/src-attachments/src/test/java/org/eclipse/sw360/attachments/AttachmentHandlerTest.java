@@ -22,12 +22,14 @@ import org.eclipse.sw360.datahandler.thrift.RequestSummary;
 import org.eclipse.sw360.datahandler.thrift.SW360Exception;
 import org.eclipse.sw360.datahandler.thrift.Source;
 import org.eclipse.sw360.datahandler.thrift.attachments.*;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
 import org.eclipse.sw360.datahandler.thrift.users.User;
 import org.eclipse.sw360.datahandler.thrift.users.UserGroup;
 import org.hamcrest.Matchers;
 import org.junit.*;
 import org.junit.rules.ExpectedException;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -112,6 +114,59 @@ public class AttachmentHandlerTest {
 
     }
 
+    @Test
+    public void testCleanUp_OnlyAdminCanRun() throws Exception {
+        final RequestSummary requestSummary = handler.cleanUpAttachmentContents(new User("a", "a").setUserGroup(UserGroup.USER), false);
+        assertThat(requestSummary.requestStatus, is(RequestStatus.FAILURE));
+        assertNotNull(handler.getAttachmentContent("A2"));
+    }
+
+    @Test
+    public void testCleanUp_DryRunDeletesNothing() throws Exception {
+        addReleaseWithAttachment("A1");
+
+        final RequestSummary requestSummary = handler.cleanUpAttachmentContents(new User("a", "a").setUserGroup(UserGroup.ADMIN), true);
+        assertThat(requestSummary.requestStatus, is(RequestStatus.SUCCESS));
+        assertThat(requestSummary.totalElements, is(2));
+        assertThat(requestSummary.totalAffectedElements, is(1));
+
+        assertNotNull(handler.getAttachmentContent("A1"));
+        assertNotNull(handler.getAttachmentContent("A2"));
+    }
+
+    @Test
+    public void testCleanUp_UnusedContentIsDeleted() throws Exception {
+        addReleaseWithAttachment("A1");
+
+        final RequestSummary requestSummary = handler.cleanUpAttachmentContents(new User("a", "a").setUserGroup(UserGroup.ADMIN), false);
+        assertThat(requestSummary.requestStatus, is(RequestStatus.SUCCESS));
+        assertThat(requestSummary.totalElements, is(2));
+        assertThat(requestSummary.totalAffectedElements, is(1));
+
+        assertNotNull(handler.getAttachmentContent("A1"));
+        exception.expect(SW360Exception.class);
+        handler.getAttachmentContent("A2");
+    }
+
+    @Test
+    public void testCleanUp_RecentlyCreatedContentIsKept() throws Exception {
+        DatabaseConnector databaseConnector = new DatabaseConnector(DatabaseSettings.getConfiguredHttpClient(), dbName);
+        databaseConnector.add(new AttachmentContent().setId("A3").setFilename("c.txt").setContentType("text")
+                .setCreatedOn(Instant.now().toString()));
+
+        final RequestSummary requestSummary = handler.cleanUpAttachmentContents(new User("a", "a").setUserGroup(UserGroup.ADMIN), false);
+        assertThat(requestSummary.totalElements, is(3));
+        assertThat(requestSummary.totalAffectedElements, is(2));
+
+        assertNotNull(handler.getAttachmentContent("A3"));
+    }
+
+    private void addReleaseWithAttachment(String attachmentContentId) {
+        DatabaseConnector databaseConnector = new DatabaseConnector(DatabaseSettings.getConfiguredHttpClient(), DatabaseSettings.COUCH_DB_DATABASE);
+        databaseConnector.add(new Release().setId("R1").setName("release").setVersion("1.0").setComponentId("C1")
+                .setAttachments(ImmutableSet.of(new Attachment(attachmentContentId, "a.txt"))));
+    }
+
     @Test
     public void testMakeAndGetAttachmentUsage() throws Exception {
         AttachmentUsage usage1 = new AttachmentUsage();
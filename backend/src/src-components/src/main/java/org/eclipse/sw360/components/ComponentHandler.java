@@ -18,6 +18,9 @@ import org.eclipse.sw360.datahandler.thrift.*;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
 import org.eclipse.sw360.datahandler.thrift.components.Component;
 import org.eclipse.sw360.datahandler.thrift.components.ComponentService;
+import org.eclipse.sw360.datahandler.thrift.components.ComponentType;
+import org.eclipse.sw360.datahandler.thrift.components.ExternalTool;
+import org.eclipse.sw360.datahandler.thrift.components.ExternalToolProcess;
 import org.eclipse.sw360.datahandler.thrift.components.Release;
 import org.eclipse.sw360.datahandler.thrift.components.ReleaseLink;
 import org.eclipse.sw360.datahandler.thrift.users.User;
@@ -79,6 +82,14 @@ public class ComponentHandler implements ComponentService.Iface {
         return handler.getComponentSummary(user);
     }
 
+    @Override
+    public Map<PaginationData, List<Component>> getComponentSummaryWithPagination(User user, PaginationData pageData, ComponentType componentType) throws TException {
+        assertUser(user);
+        assertNotNull(pageData);
+
+        return handler.getComponentSummaryWithPagination(user, pageData, componentType);
+    }
+
     @Override
     public List<Component> getRecentComponentsSummary(int limit, User user) throws TException {
         assertUser(user);
@@ -288,6 +299,12 @@ public class ComponentHandler implements ComponentService.Iface {
         }
     }
 
+    @Override
+    public Map<String, ExternalToolProcess> getOpenExternalToolProcesses(ExternalTool externalTool) throws TException {
+        assertNotNull(externalTool);
+        return handler.getOpenExternalToolProcesses(externalTool);
+    }
+
     @Override
     public RequestStatus updateReleaseFossology(Release release, User user) throws TException {
         assertNotNull(release);
@@ -519,4 +536,11 @@ public class ComponentHandler implements ComponentService.Iface {
         assertUser(user);
         return handler.getAllReleases();
     }
+
+    @Override
+    public Map<PaginationData, List<Release>> getAllReleasesForUserWithPagination(User user, PaginationData pageData) throws TException {
+        assertUser(user);
+        assertNotNull(pageData);
+        return handler.getAllReleasesWithPagination(pageData);
+    }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.datasink;
+
+import org.ektorp.support.CouchDbDocument;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Progress of a running full update: the ids of releases which have been updated successfully
+ */
+public class CveSearchCheckpoint extends CouchDbDocument {
+
+    public static final String TYPE = "cveSearchCheckpoint";
+
+    private String type = TYPE;
+    private long createdOn;
+    private List<String> releaseIds = new ArrayList<>();
+
+    public CveSearchCheckpoint() {
+    }
+
+    public CveSearchCheckpoint(Collection<String> releaseIds) {
+        this.createdOn = System.currentTimeMillis();
+        this.releaseIds = new ArrayList<>(releaseIds);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public long getCreatedOn() {
+        return createdOn;
+    }
+
+    public List<String> getReleaseIds() {
+        return releaseIds;
+    }
+}
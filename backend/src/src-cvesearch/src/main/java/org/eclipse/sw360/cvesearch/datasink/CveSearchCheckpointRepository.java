@@ -0,0 +1,76 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.datasink;
+
+import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
+import org.eclipse.sw360.datahandler.couchdb.DatabaseRepository;
+import org.ektorp.BulkDeleteDocument;
+import org.ektorp.support.View;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.eclipse.sw360.datahandler.common.CommonUtils.nullToEmptyList;
+
+/**
+ * Stores the progress of a full update, so that an interrupted update continues with the releases it has not updated
+ * yet. Every checkpoint holds the releases completed since the previous one, so writing it never conflicts with
+ * concurrent workers and stays small.
+ */
+@View(name = "all", map = "function(doc) { if (doc.type == '" + CveSearchCheckpoint.TYPE + "') emit(null, doc._id) }")
+public class CveSearchCheckpointRepository extends DatabaseRepository<CveSearchCheckpoint> {
+
+    public CveSearchCheckpointRepository(DatabaseConnector db) {
+        super(CveSearchCheckpoint.class, db);
+
+        initStandardDesignDocument();
+    }
+
+    public void addCheckpoint(Collection<String> releaseIds) {
+        if (!releaseIds.isEmpty()) {
+            add(new CveSearchCheckpoint(releaseIds));
+        }
+    }
+
+    /**
+     * Returns the releases completed by the interrupted update, if it started after the given time
+     */
+    public Set<String> getCompletedReleaseIds(long notBefore) {
+        List<CveSearchCheckpoint> checkpoints = nullToEmptyList(getAll());
+        if (checkpoints.stream().anyMatch(checkpoint -> checkpoint.getCreatedOn() < notBefore)) {
+            // the interrupted update is too old to be continued
+            clear(checkpoints);
+            return new HashSet<>();
+        }
+        return checkpoints.stream()
+                .flatMap(checkpoint -> checkpoint.getReleaseIds().stream())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Removes all checkpoints once the full update has finished
+     */
+    public void clear() {
+        clear(nullToEmptyList(getAll()));
+    }
+
+    private void clear(List<CveSearchCheckpoint> checkpoints) {
+        if (checkpoints.isEmpty()) {
+            return;
+        }
+        getConnector().executeBulk(checkpoints.stream()
+                .map(BulkDeleteDocument::of)
+                .collect(Collectors.toList()));
+    }
+}
@@ -11,16 +11,21 @@
 package org.eclipse.sw360.cvesearch.datasink;
 
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.Striped;
 
+import org.eclipse.sw360.cvesearch.helper.VulnerabilityUtils;
+import org.eclipse.sw360.datahandler.common.CommonUtils;
 import org.eclipse.sw360.datahandler.common.DatabaseSettings;
 import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
 import org.eclipse.sw360.datahandler.db.*;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
+import org.eclipse.sw360.datahandler.thrift.ThriftUtils;
 import org.eclipse.sw360.datahandler.thrift.components.Component;
 import org.eclipse.sw360.datahandler.thrift.components.Release;
 import org.eclipse.sw360.datahandler.thrift.cvesearch.UpdateType;
 import org.eclipse.sw360.datahandler.thrift.cvesearch.VulnerabilityUpdateStatus;
 import org.eclipse.sw360.datahandler.thrift.projects.Project;
+import org.eclipse.sw360.datahandler.thrift.vendors.Vendor;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.ReleaseVulnerabilityRelation;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
 import org.eclipse.sw360.vulnerabilities.common.VulnerabilityMapper;
@@ -28,9 +33,14 @@ import org.eclipse.sw360.vulnerabilities.db.VulnerabilityDatabaseHandler;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
 
 public class VulnerabilityConnector {
 
+    // releases are updated concurrently and often share vulnerabilities, which must not be added twice
+    private static final Striped<Lock> EXTERNAL_ID_LOCKS = Striped.lock(64);
+
     VulnerabilityDatabaseHandler vulnerabilityDatabaseHandler;
     ProjectDatabaseHandler projectDatabaseHandler;
     ComponentRepository componentRepository;
@@ -70,7 +80,16 @@ public class VulnerabilityConnector {
 
     public List<Release> getAllReleases() {
         List<Release> allReleases = releaseRepository.getAll();
-        allReleases.forEach(vendorRepository::fillVendor);
+        Map<String, Vendor> vendorsById = ThriftUtils.getIdMap(CommonUtils.nullToEmptyList(vendorRepository.getAll()));
+        for (Release release : allReleases) {
+            if (release.isSetVendorId()) {
+                Vendor vendor = vendorsById.get(release.getVendorId());
+                if (vendor != null) {
+                    release.setVendor(vendor);
+                }
+                release.unsetVendorId();
+            }
+        }
         return allReleases;
     }
 
@@ -82,61 +101,7 @@ public class VulnerabilityConnector {
 
 
     public boolean isMoreRecent(Vulnerability vulnerability, Vulnerability other) {
-        //update if one of the dates is not set
-        if (Strings.isNullOrEmpty(vulnerability.getLastExternalUpdate()) ||
-                Strings.isNullOrEmpty(other.getLastExternalUpdate())) {
-            return true;
-        }
-
-        return vulnerability.getLastExternalUpdate().compareTo(other.getLastExternalUpdate()) > 0;
-    }
-
-    public RequestStatus addOrUpdate(ReleaseVulnerabilityRelation partiallyFilledRelation) {
-        ReleaseVulnerabilityRelation dbRelation = vulnerabilityDatabaseHandler.getRelationByIds(partiallyFilledRelation);
-        if(dbRelation != null) {
-            dbRelation = VulnerabilityMapper.updateFromReleaseVulnerabilityRelation(dbRelation, partiallyFilledRelation);
-            return vulnerabilityDatabaseHandler.update(dbRelation);
-        } else {
-            return vulnerabilityDatabaseHandler.add(partiallyFilledRelation);
-        }
-    }
-
-    public UpdateType addOrUpdate(Vulnerability vulnerability, ReleaseVulnerabilityRelation partiallyFilledRelation){
-        RequestStatus vulRequestStatus = RequestStatus.SUCCESS;
-        UpdateType updateType;
-        Vulnerability dbVulnerability = vulnerabilityDatabaseHandler.getByExternalId(Vulnerability.class, vulnerability.getExternalId());
-        if(dbVulnerability != null) {
-            if(isMoreRecent(vulnerability, dbVulnerability)) {
-                updateType = UpdateType.UPDATED;
-                dbVulnerability = VulnerabilityMapper.updateFromVulnerability(dbVulnerability, vulnerability);
-                vulRequestStatus = vulnerabilityDatabaseHandler.update(dbVulnerability);
-            } else {
-                updateType = UpdateType.OLD;
-            }
-        } else {
-            updateType = UpdateType.NEW;
-            vulRequestStatus = vulnerabilityDatabaseHandler.add(vulnerability);
-            dbVulnerability = vulnerability;
-        }
-        if(RequestStatus.FAILURE.equals(vulRequestStatus)){
-            return UpdateType.FAILED;
-        }
-        partiallyFilledRelation.setVulnerabilityId(dbVulnerability.getId());
-        RequestStatus requestStatus = addOrUpdate(partiallyFilledRelation);
-        if(RequestStatus.FAILURE.equals(requestStatus)){
-            return UpdateType.FAILED;
-        }
-        return updateType;
-    }
-
-    public VulnerabilityUpdateStatus addOrUpdate(Vulnerability vulnerability,
-                                                 ReleaseVulnerabilityRelation partiallyFilledRelation,
-                                                 VulnerabilityUpdateStatus currentVulnerabilityUpdateStatus){
-        UpdateType updateType = addOrUpdate(vulnerability, partiallyFilledRelation);
-        currentVulnerabilityUpdateStatus.getStatusToVulnerabilityIds()
-                .get(updateType)
-                .add(vulnerability.getExternalId());
-        return currentVulnerabilityUpdateStatus;
+        return VulnerabilityMapper.isMoreRecent(vulnerability, other);
     }
 
     public Map<UpdateType, List<Vulnerability>> addOrUpdateVulnerabilityAndSetId(
@@ -180,6 +145,44 @@ public class VulnerabilityConnector {
         return statusToVulnerabilities;
     }
 
+    /**
+     * Adds or updates a batch of vulnerabilities and their relations with a few bulk requests instead of a lookup and
+     * a write per document. The relations are keyed by the external id of their vulnerability.
+     */
+    public VulnerabilityUpdateStatus addOrUpdateInBulk(Collection<Vulnerability> vulnerabilities,
+                                                       Map<String, List<ReleaseVulnerabilityRelation>> relationsByExternalId) {
+        Set<String> externalIds = vulnerabilities.stream()
+                .map(vulnerability -> Strings.nullToEmpty(vulnerability.getExternalId()))
+                .collect(Collectors.toSet());
+        // bulkGet returns the locks in a fixed order, so concurrent batches cannot deadlock
+        Iterable<Lock> locks = EXTERNAL_ID_LOCKS.bulkGet(externalIds);
+        locks.forEach(Lock::lock);
+        try {
+            return addOrUpdateInBulkLocked(vulnerabilities, relationsByExternalId);
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+    }
+
+    private VulnerabilityUpdateStatus addOrUpdateInBulkLocked(Collection<Vulnerability> vulnerabilities,
+                                                              Map<String, List<ReleaseVulnerabilityRelation>> relationsByExternalId) {
+        Map<UpdateType, List<Vulnerability>> statusToVulnerabilities =
+                vulnerabilityDatabaseHandler.upsertVulnerabilities(vulnerabilities);
+        VulnerabilityUpdateStatus updateStatus = VulnerabilityUtils.getUpdateStatusFromUpdateMap(statusToVulnerabilities);
+
+        List<ReleaseVulnerabilityRelation> relations = new ArrayList<>();
+        for (UpdateType updateType : EnumSet.of(UpdateType.NEW, UpdateType.UPDATED, UpdateType.OLD)) {
+            for (Vulnerability dbVulnerability : statusToVulnerabilities.get(updateType)) {
+                relationsByExternalId.getOrDefault(dbVulnerability.getExternalId(), Collections.emptyList())
+                        .forEach(relation -> relations.add(relation.setVulnerabilityId(dbVulnerability.getId())));
+            }
+        }
+        if (RequestStatus.FAILURE.equals(vulnerabilityDatabaseHandler.upsertRelations(relations))) {
+            updateStatus.setRequestStatus(RequestStatus.FAILURE);
+        }
+        return updateStatus;
+    }
+
     public RequestStatus addReleaseVulnerabilityRelationsIfNecessary(String releaseId, List<String> vulnerabilityIds){
         return vulnerabilityDatabaseHandler.addRelationsIfNecessary(releaseId, vulnerabilityIds);
     }
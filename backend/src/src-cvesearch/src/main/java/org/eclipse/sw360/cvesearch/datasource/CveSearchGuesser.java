@@ -17,13 +17,15 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class CveSearchGuesser {
 
     private final CveSearchApi cveSearchApi;
-    private ListMatcher vendorMatcher;
-    private Map<String,ListMatcher> productMatchers;
+    // the matchers are loaded lazily and shared by concurrent searches
+    private volatile ListMatcher vendorMatcher;
+    private final Map<String,ListMatcher> productMatchers;
 
     private int vendorThreshold = 0;
     private int productThreshold = 0;
@@ -34,7 +36,7 @@ public class CveSearchGuesser {
     public CveSearchGuesser(CveSearchApi cveSearchApi) {
         this.cveSearchApi=cveSearchApi;
         vendorMatcher = null;
-        productMatchers = new HashMap<>();
+        productMatchers = new ConcurrentHashMap<>();
     }
 
     public void setVendorThreshold(int vendorThreshold) {
@@ -49,7 +51,7 @@ public class CveSearchGuesser {
         this.cutoff = cutoff;
     }
 
-    public boolean addVendorGuesserIfNeeded() {
+    public synchronized boolean addVendorGuesserIfNeeded() {
         if(vendorMatcher == null) {
             try {
                 vendorMatcher = new ListMatcher(cveSearchApi.allVendorNames());
@@ -62,6 +64,15 @@ public class CveSearchGuesser {
     }
 
     public boolean addProductGuesserIfNeeded(String vendor) {
+        if(productMatchers.containsKey(vendor)) {
+            return true;
+        }
+        synchronized (productMatchers) {
+            return loadProductGuesserIfNeeded(vendor);
+        }
+    }
+
+    private boolean loadProductGuesserIfNeeded(String vendor) {
         if(! productMatchers.containsKey(vendor)) {
             try {
                 productMatchers.put(vendor, new ListMatcher(cveSearchApi.allProductsOfVendor(vendor)));
@@ -94,17 +105,17 @@ public class CveSearchGuesser {
     }
 
     public List<Match> guessVendors(String vendorHaystack) throws IOException {
-        if (!addVendorGuesserIfNeeded()){
+        if (vendorMatcher == null && !addVendorGuesserIfNeeded()){
             throw new IOException("Was not able to instantiate vendor guesser");
         }
-        return getBest(vendorMatcher.getMatches(vendorHaystack), vendorThreshold);
+        return vendorMatcher.getBestMatches(vendorHaystack, vendorThreshold, cutoff);
     }
 
     public List<Match> guessProducts(String vendor, String productHaystack) throws IOException {
         if (!addProductGuesserIfNeeded(vendor)) {
             throw new IOException("Was not able to instantiate product guesser for vendor " + vendor);
         }
-        return getBest(productMatchers.get(vendor).getMatches(productHaystack), productThreshold);
+        return productMatchers.get(vendor).getBestMatches(productHaystack, productThreshold, cutoff);
     }
 
     public List<Match> guessVendorAndProducts(String haystack) throws IOException {
@@ -10,17 +10,24 @@
  */
 package org.eclipse.sw360.cvesearch.datasource.matcher;
 
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
+import static org.eclipse.sw360.cvesearch.datasource.matcher.ModifiedLevenshteinDistance.calculateModifiedLevenshteinDistance;
 import static org.eclipse.sw360.cvesearch.datasource.matcher.ModifiedLevenshteinDistance.levenshteinMatch;
+import static org.eclipse.sw360.datahandler.common.CommonUtils.nullToEmptyString;
 
 public class ListMatcher {
-    private Collection<String> needleList;
+    private static final int GRAM_LENGTH = 3;
+    private static final char SPACE = '_';
+
+    private final List<String> needleList;
+    // needle indexes per trigram, once for every occurrence of the trigram in the needle
+    private final Map<Long, int[]> needlesByTrigram;
 
     public ListMatcher(Collection<String> needleList){
-        this.needleList = needleList;
+        this.needleList = new ArrayList<>(needleList);
+        this.needlesByTrigram = indexTrigrams(this.needleList);
     }
 
     public List<Match> getMatches(String haystack){
@@ -29,4 +36,139 @@ public class ListMatcher {
                 .sorted((sm1,sm2) -> sm1.compareTo(sm2))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Returns the best matches like filtering {@link #getMatches(String)} for the matches with a distance of at most
+     * the best distance plus the threshold and below the cutoff, but without scoring every needle: needles are scored
+     * in the order of a lower bound of their distance, which is derived from the number of trigrams they share with
+     * the haystack, until the bound exceeds the accepted distance.
+     */
+    public List<Match> getBestMatches(String haystack, int threshold, int cutoff){
+        String spacedHaystack = nullToEmptyString(haystack).replace(' ', SPACE);
+        int maxDistance = cutoff == Integer.MAX_VALUE ? Integer.MAX_VALUE - 1 : cutoff - 1;
+        if (maxDistance < 0) {
+            return Collections.emptyList();
+        }
+
+        int[] lowerBounds = lowerBounds(spacedHaystack);
+        List<int[]> needlesByLowerBound = bucketByLowerBound(lowerBounds, maxDistance);
+
+        int best = Integer.MAX_VALUE;
+        List<Match> matches = new ArrayList<>();
+        List<Integer> matchIndexes = new ArrayList<>();
+        for (int lowerBound = 0; lowerBound < needlesByLowerBound.size(); lowerBound++) {
+            if (lowerBound > acceptedDistance(best, threshold, maxDistance)) {
+                break;
+            }
+            for (int index : needlesByLowerBound.get(lowerBound)) {
+                String needle = needleList.get(index);
+                int distance = calculateModifiedLevenshteinDistance(needle, spacedHaystack, SPACE,
+                        acceptedDistance(best, threshold, maxDistance));
+                if (distance != Integer.MAX_VALUE) {
+                    best = Math.min(best, distance);
+                    matches.add(new Match(needle, distance));
+                    matchIndexes.add(index);
+                }
+            }
+        }
+
+        int accepted = acceptedDistance(best, threshold, maxDistance);
+        Integer[] order = new Integer[matches.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        // same order as the stable sort of all needles in getMatches
+        Arrays.sort(order, Comparator.<Integer, Match>comparing(matches::get, Match::compareTo)
+                .thenComparingInt(matchIndexes::get));
+        return Arrays.stream(order)
+                .map(matches::get)
+                .filter(match -> match.getDistance() <= accepted)
+                .collect(Collectors.toList());
+    }
+
+    private static int acceptedDistance(int best, int threshold, int maxDistance) {
+        if (best == Integer.MAX_VALUE) {
+            return maxDistance;
+        }
+        return (int) Math.min((long) best + threshold, maxDistance);
+    }
+
+    /**
+     * The distance of a needle is at least its length minus the length of the haystack, and, as each edit operation
+     * destroys at most three trigrams, at least a third of the needle trigrams which do not occur in the haystack.
+     */
+    private int[] lowerBounds(String haystack) {
+        int[] sharedTrigrams = new int[needleList.size()];
+        for (long trigram : trigrams(haystack)) {
+            int[] needles = needlesByTrigram.get(trigram);
+            if (needles != null) {
+                for (int index : needles) {
+                    sharedTrigrams[index]++;
+                }
+            }
+        }
+
+        int[] lowerBounds = new int[needleList.size()];
+        for (int index = 0; index < lowerBounds.length; index++) {
+            int needleLength = needleList.get(index).length();
+            int missingTrigrams = Math.max(needleLength - GRAM_LENGTH + 1, 0) - sharedTrigrams[index];
+            lowerBounds[index] = Math.max(Math.max(needleLength - haystack.length(), 0),
+                    (missingTrigrams + GRAM_LENGTH - 1) / GRAM_LENGTH);
+        }
+        return lowerBounds;
+    }
+
+    private static List<int[]> bucketByLowerBound(int[] lowerBounds, int maxDistance) {
+        int buckets = 0;
+        for (int lowerBound : lowerBounds) {
+            if (lowerBound <= maxDistance) {
+                buckets = Math.max(buckets, lowerBound + 1);
+            }
+        }
+        int[] sizes = new int[buckets];
+        for (int lowerBound : lowerBounds) {
+            if (lowerBound <= maxDistance) {
+                sizes[lowerBound]++;
+            }
+        }
+        List<int[]> needlesByLowerBound = new ArrayList<>(buckets);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            needlesByLowerBound.add(new int[sizes[bucket]]);
+        }
+        int[] filled = new int[buckets];
+        for (int index = 0; index < lowerBounds.length; index++) {
+            int lowerBound = lowerBounds[index];
+            if (lowerBound <= maxDistance) {
+                needlesByLowerBound.get(lowerBound)[filled[lowerBound]++] = index;
+            }
+        }
+        return needlesByLowerBound;
+    }
+
+    private static Map<Long, int[]> indexTrigrams(List<String> needles) {
+        Map<Long, List<Integer>> index = new HashMap<>();
+        for (int i = 0; i < needles.size(); i++) {
+            String needle = nullToEmptyString(needles.get(i));
+            for (int start = 0; start + GRAM_LENGTH <= needle.length(); start++) {
+                index.computeIfAbsent(trigram(needle, start), trigram -> new ArrayList<>()).add(i);
+            }
+        }
+        Map<Long, int[]> needlesByTrigram = new HashMap<>(index.size() * 2);
+        index.forEach((trigram, needleIndexes) ->
+                needlesByTrigram.put(trigram, needleIndexes.stream().mapToInt(Integer::intValue).toArray()));
+        return needlesByTrigram;
+    }
+
+    private static Set<Long> trigrams(String haystack) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int start = 0; start + GRAM_LENGTH <= haystack.length(); start++) {
+            trigrams.add(trigram(haystack, start));
+        }
+        return trigrams;
+    }
+
+    private static long trigram(String s, int start) {
+        // case insensitive like the distance
+        return ((long) Character.toLowerCase(s.charAt(start)) << 32)
+                | ((long) Character.toLowerCase(s.charAt(start + 1)) << 16)
+                | Character.toLowerCase(s.charAt(start + 2));
+    }
 }
@@ -19,52 +19,6 @@ public class ModifiedLevenshteinDistance {
                 calculateModifiedLevenshteinDistance(needle, nullToEmptyString(haystack).replace(' ', '_')));
     }
 
-    public static class LevenshteinCost {
-
-        private final int d;
-        private final boolean matched;
-
-        public LevenshteinCost(int d){
-            this.d = d;
-            this.matched = false;
-        }
-
-        private LevenshteinCost(int d, boolean matched){
-            this.d = d;
-            this.matched = matched;
-        }
-
-        public int getD() {
-            return d;
-        }
-
-        public boolean hasMatched() {
-            return matched;
-        }
-
-        public LevenshteinCost increment() {
-            return new LevenshteinCost(d + 1, matched);
-        }
-
-        public LevenshteinCost incrementOrMatch(boolean hasMatched) {
-            if(hasMatched){
-                return new LevenshteinCost(d, true);
-            }else{
-                return this.increment();
-            }
-        }
-
-        public LevenshteinCost merge(LevenshteinCost le){
-            if(d > le.getD()){
-                return le;
-            }
-            if(d == le.getD()){
-                return new LevenshteinCost(d, matched || le.hasMatched());
-            }
-            return this;
-        }
-    }
-
     /**
      * This is a modified Levenshtein distance in which
      * - allows skipping prefixes and postfixes of the haystack without any cost
@@ -95,6 +49,23 @@ public class ModifiedLevenshteinDistance {
      * @return the modified Levenshtein distance between the needle and the haystack
      */
     public static int calculateModifiedLevenshteinDistance(String needle, String haystack, char space){
+        return calculateModifiedLevenshteinDistance(needle, haystack, space, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #calculateModifiedLevenshteinDistance(String, String, char)}, but gives up as soon as the distance
+     * is known to exceed maxDistance, in which case Integer.MAX_VALUE is returned.
+     *
+     * The costs of the two matrix rows are kept in int arrays as 2 * distance + 1 while no char has matched yet and
+     * 2 * distance after a char matched, so that the minimum of two costs is also the merged cost.
+     *
+     * @param needle
+     * @param haystack
+     * @param space the chosen representation of the separator
+     * @param maxDistance the largest distance of interest
+     * @return the modified Levenshtein distance between the needle and the haystack, if it is at most maxDistance
+     */
+    public static int calculateModifiedLevenshteinDistance(String needle, String haystack, char space, int maxDistance){
 
         if (needle.length() == 0 || haystack.length() == 0){
             return Integer.MAX_VALUE;
@@ -102,50 +73,64 @@ public class ModifiedLevenshteinDistance {
 
         int needleLength = needle.length() + 1;
         int haystackLength = haystack.length() + 1;
+        // after the last space the costs of a row can only grow
+        int lastSpace = haystack.lastIndexOf(space) + 1;
+        long maxCost = 2L * maxDistance + 1;
 
-        LevenshteinCost[] oldcost = new LevenshteinCost[needleLength];
-        LevenshteinCost[] curcost = new LevenshteinCost[needleLength];
+        int[] oldcost = new int[needleLength];
+        int[] curcost = new int[needleLength];
 
-        for (int i = 0; i < needleLength; i++) oldcost[i] = new LevenshteinCost(i);
+        for (int i = 0; i < needleLength; i++) oldcost[i] = unmatched(i);
 
         int savedCostsWhenSkippedSpaceSeparatedPrefix = 0;
-        LevenshteinCost minimalCostsWhenSkippedSpaceSeperatedPostfix = new LevenshteinCost(Integer.MAX_VALUE);
+        int minimalCostsWhenSkippedSpaceSeperatedPostfix = Integer.MAX_VALUE;
         for (int j = 1; j < haystackLength; j++) {
+            char haystackChar = haystack.charAt(j - 1);
+            char lowerHaystackChar = Character.toLowerCase(haystackChar);
             //=========================================================================================================
-            if (j > 0 && haystack.charAt(j - 1) == space) {
+            if (haystackChar == space) {
                 // skipping prefix of haystack does not cost anything, if it ends with a space
                 savedCostsWhenSkippedSpaceSeparatedPrefix = j;
             }
-            curcost[0] = new LevenshteinCost(j - savedCostsWhenSkippedSpaceSeparatedPrefix);
+            curcost[0] = unmatched(j - savedCostsWhenSkippedSpaceSeparatedPrefix);
+            int rowMinimum = curcost[0];
 
             //=========================================================================================================
             for(int i = 1; i < needleLength; i++) {
-                boolean charsMatch = Character.toLowerCase(needle.charAt(i - 1)) == Character.toLowerCase(haystack.charAt(j - 1));
-                LevenshteinCost costReplace = oldcost[i - 1].incrementOrMatch(charsMatch);
-                LevenshteinCost costInsert  = oldcost[i].increment();
-                LevenshteinCost costDelete  = curcost[i - 1].increment();
+                boolean charsMatch = Character.toLowerCase(needle.charAt(i - 1)) == lowerHaystackChar;
+                int costReplace = charsMatch ? oldcost[i - 1] & ~1 : oldcost[i - 1] + 2;
+                int costInsert  = oldcost[i] + 2;
+                int costDelete  = curcost[i - 1] + 2;
 
-                curcost[i] = costReplace.merge(costInsert).merge(costDelete);
+                curcost[i] = Math.min(costReplace, Math.min(costInsert, costDelete));
+                rowMinimum = Math.min(rowMinimum, curcost[i]);
             }
 
             //=========================================================================================================
-            if(haystack.charAt(j - 1) == space) {
+            if(haystackChar == space) {
                 // skipping postfix of haystack does not cost anything, if it starts with a space
                 minimalCostsWhenSkippedSpaceSeperatedPostfix =
-                        minimalCostsWhenSkippedSpaceSeperatedPostfix.merge(oldcost[needleLength - 1]);
+                        Math.min(minimalCostsWhenSkippedSpaceSeperatedPostfix, oldcost[needleLength - 1]);
             }
 
             //=========================================================================================================
-            LevenshteinCost[] swap = oldcost; oldcost = curcost; curcost = swap;
+            int[] swap = oldcost; oldcost = curcost; curcost = swap;
+
+            if (j >= lastSpace && rowMinimum > maxCost && minimalCostsWhenSkippedSpaceSeperatedPostfix > maxCost) {
+                return Integer.MAX_VALUE;
+            }
         }
 
-        LevenshteinCost finalCost = oldcost[needleLength - 1]
-                .merge(minimalCostsWhenSkippedSpaceSeperatedPostfix);
+        int finalCost = Math.min(oldcost[needleLength - 1], minimalCostsWhenSkippedSpaceSeperatedPostfix);
 
-        if(finalCost.hasMatched()){
-            return finalCost.getD();
+        if((finalCost & 1) == 0 && finalCost / 2 <= maxDistance){
+            return finalCost / 2;
         }else{
             return Integer.MAX_VALUE;
         }
     }
+
+    private static int unmatched(int distance) {
+        return 2 * distance + 1;
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.datasource.nvd;
+
+import com.google.common.base.Strings;
+
+import java.math.BigInteger;
+import java.util.Optional;
+
+/**
+ * A CPE of a vulnerable configuration in a NVD feed, optionally with a range of affected versions
+ */
+public class CpeMatch {
+
+    private static final String CPE_23_PREFIX = "cpe:2.3:";
+    private static final String CPE_22_PREFIX = "cpe:/";
+    private static final String ANY = "*";
+    private static final String NOT_APPLICABLE = "-";
+
+    private final String cpe;
+    private final String vendor;
+    private final String product;
+    private final String version;
+    private String versionStartIncluding;
+    private String versionStartExcluding;
+    private String versionEndIncluding;
+    private String versionEndExcluding;
+
+    private CpeMatch(String cpe, String vendor, String product, String version) {
+        this.cpe = cpe;
+        this.vendor = vendor;
+        this.product = product;
+        this.version = version;
+    }
+
+    /**
+     * Parses a CPE 2.3 formatted string or a CPE 2.2 URI
+     */
+    public static Optional<CpeMatch> parse(String cpe) {
+        if (cpe == null) {
+            return Optional.empty();
+        }
+        String[] parts;
+        if (cpe.startsWith(CPE_23_PREFIX)) {
+            parts = cpe.substring(CPE_23_PREFIX.length()).split("(?<!\\\\):");
+        } else if (cpe.startsWith(CPE_22_PREFIX)) {
+            parts = cpe.substring(CPE_22_PREFIX.length()).split(":");
+        } else {
+            return Optional.empty();
+        }
+        if (parts.length < 3 || parts[1].isEmpty() || parts[2].isEmpty()) {
+            return Optional.empty();
+        }
+        String version = parts.length > 3 && !parts[3].isEmpty() ? unescape(parts[3]) : ANY;
+        return Optional.of(new CpeMatch(cpe, unescape(parts[1]), unescape(parts[2]), version));
+    }
+
+    private static String unescape(String part) {
+        return part.replace("\\", "").toLowerCase();
+    }
+
+    public CpeMatch setVersionRange(String startIncluding, String startExcluding, String endIncluding, String endExcluding) {
+        this.versionStartIncluding = Strings.emptyToNull(startIncluding);
+        this.versionStartExcluding = Strings.emptyToNull(startExcluding);
+        this.versionEndIncluding = Strings.emptyToNull(endIncluding);
+        this.versionEndExcluding = Strings.emptyToNull(endExcluding);
+        return this;
+    }
+
+    public String getCpe() {
+        return cpe;
+    }
+
+    public String getVendor() {
+        return vendor;
+    }
+
+    public String getProduct() {
+        return product;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getVendorAndProduct() {
+        return vendor + ":" + product;
+    }
+
+    private boolean hasVersionRange() {
+        return versionStartIncluding != null || versionStartExcluding != null
+                || versionEndIncluding != null || versionEndExcluding != null;
+    }
+
+    /**
+     * Whether the given version of the product is affected. An unknown version is only affected if the CPE matches
+     * all versions.
+     */
+    public boolean matchesVersion(String otherVersion) {
+        boolean anyVersion = ANY.equals(version) || NOT_APPLICABLE.equals(version);
+        if (Strings.isNullOrEmpty(otherVersion)) {
+            return anyVersion && !hasVersionRange();
+        }
+        if (!anyVersion) {
+            return version.equalsIgnoreCase(otherVersion);
+        }
+        return (versionStartIncluding == null || compareVersions(otherVersion, versionStartIncluding) >= 0)
+                && (versionStartExcluding == null || compareVersions(otherVersion, versionStartExcluding) > 0)
+                && (versionEndIncluding == null || compareVersions(otherVersion, versionEndIncluding) <= 0)
+                && (versionEndExcluding == null || compareVersions(otherVersion, versionEndExcluding) < 0);
+    }
+
+    /**
+     * Compares versions part by part, numerically where both parts are numbers
+     */
+    static int compareVersions(String version1, String version2) {
+        String[] parts1 = version1.toLowerCase().split("[._\\-+]");
+        String[] parts2 = version2.toLowerCase().split("[._\\-+]");
+        for (int i = 0; i < Math.max(parts1.length, parts2.length); i++) {
+            String part1 = i < parts1.length ? parts1[i] : "0";
+            String part2 = i < parts2.length ? parts2[i] : "0";
+            int result = isNumber(part1) && isNumber(part2)
+                    ? new BigInteger(part1).compareTo(new BigInteger(part2))
+                    : part1.compareTo(part2);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isNumber(String part) {
+        return !part.isEmpty() && part.chars().allMatch(Character::isDigit);
+    }
+
+    @Override
+    public String toString() {
+        return cpe;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.datasource.nvd;
+
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
+
+import java.util.List;
+
+/**
+ * A CVE read from a NVD feed together with the CPEs of its vulnerable configurations
+ */
+public class NvdFeedItem {
+
+    private final Vulnerability vulnerability;
+    private final List<CpeMatch> cpeMatches;
+
+    public NvdFeedItem(Vulnerability vulnerability, List<CpeMatch> cpeMatches) {
+        this.vulnerability = vulnerability;
+        this.cpeMatches = cpeMatches;
+    }
+
+    public Vulnerability getVulnerability() {
+        return vulnerability;
+    }
+
+    public List<CpeMatch> getCpeMatches() {
+        return cpeMatches;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.datasource.nvd;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.CVEReference;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the CVEs of NVD data feeds in the JSON 1.1 format (CVE_Items) or the JSON 2.0 format (vulnerabilities),
+ * optionally gzipped. The feeds are parsed as a stream, so only one CVE is held in memory at a time.
+ */
+public class NvdFeedReader {
+
+    private static final Logger log = LogManager.getLogger(NvdFeedReader.class);
+
+    private static final String V11_ITEMS = "CVE_Items";
+    private static final String V20_ITEMS = "vulnerabilities";
+    private static final String ENGLISH = "en";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Reads all *.json and *.json.gz files of the directory in the order of their names
+     */
+    public void readDirectory(Path directory, Consumer<NvdFeedItem> consumer) throws IOException {
+        List<Path> feeds;
+        try (Stream<Path> files = Files.list(directory)) {
+            feeds = files.filter(file -> file.getFileName().toString().endsWith(".json")
+                    || file.getFileName().toString().endsWith(".json.gz"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (Path feed : feeds) {
+            log.info("Reading NVD feed " + feed);
+            try (InputStream in = Files.newInputStream(feed)) {
+                read(in, consumer);
+            }
+        }
+    }
+
+    public void read(InputStream feed, Consumer<NvdFeedItem> consumer) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(decompressIfNeeded(feed))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("NVD feed does not start with an object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ((V11_ITEMS.equals(field) || V20_ITEMS.equals(field)) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        JsonNode item = parser.readValueAsTree();
+                        Optional<NvdFeedItem> feedItem = V11_ITEMS.equals(field) ? fromV11(item) : fromV20(item.path("cve"));
+                        feedItem.ifPresent(consumer);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static InputStream decompressIfNeeded(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        buffered.mark(2);
+        int magic = buffered.read() | (buffered.read() << 8);
+        buffered.reset();
+        return magic == GZIPInputStream.GZIP_MAGIC ? new GZIPInputStream(buffered) : buffered;
+    }
+
+    private static Optional<NvdFeedItem> fromV11(JsonNode item) {
+        JsonNode cve = item.path("cve");
+        String id = cve.path("CVE_data_meta").path("ID").asText(null);
+        if (id == null) {
+            return Optional.empty();
+        }
+        Vulnerability vulnerability = newVulnerability(id)
+                .setDescription(englishValue(cve.path("description").path("description_data")))
+                .setPublishDate(item.path("publishedDate").asText(null))
+                .setLastExternalUpdate(item.path("lastModifiedDate").asText(null))
+                .setReferences(values(cve.path("references").path("reference_data"), "url"));
+        firstCwe(cve.path("problemtype").path("problemtype_data")).ifPresent(vulnerability::setCwe);
+
+        JsonNode impact = item.path("impact");
+        JsonNode cvssV3 = impact.path("baseMetricV3").path("cvssV3");
+        JsonNode cvssV2 = impact.path("baseMetricV2").path("cvssV2");
+        setCvss(vulnerability, cvssV3.isMissingNode() ? cvssV2 : cvssV3, cvssV2);
+
+        List<CpeMatch> cpeMatches = new ArrayList<>();
+        collectCpeMatches(item.path("configurations").path("nodes"), "cpe_match", "cpe23Uri", cpeMatches);
+        return Optional.of(withConfiguration(vulnerability, cpeMatches));
+    }
+
+    private static Optional<NvdFeedItem> fromV20(JsonNode cve) {
+        String id = cve.path("id").asText(null);
+        if (id == null) {
+            return Optional.empty();
+        }
+        Vulnerability vulnerability = newVulnerability(id)
+                .setDescription(englishValue(cve.path("descriptions")))
+                .setPublishDate(cve.path("published").asText(null))
+                .setLastExternalUpdate(cve.path("lastModified").asText(null))
+                .setReferences(values(cve.path("references"), "url"));
+        firstCwe(cve.path("weaknesses")).ifPresent(vulnerability::setCwe);
+
+        JsonNode metrics = cve.path("metrics");
+        JsonNode cvssV2 = metrics.path("cvssMetricV2").path(0).path("cvssData");
+        JsonNode cvss = Stream.of("cvssMetricV31", "cvssMetricV30")
+                .map(name -> metrics.path(name).path(0).path("cvssData"))
+                .filter(node -> !node.isMissingNode())
+                .findFirst()
+                .orElse(cvssV2);
+        setCvss(vulnerability, cvss, cvssV2);
+
+        List<CpeMatch> cpeMatches = new ArrayList<>();
+        for (JsonNode configuration : cve.path("configurations")) {
+            collectCpeMatches(configuration.path("nodes"), "cpeMatch", "criteria", cpeMatches);
+        }
+        return Optional.of(withConfiguration(vulnerability, cpeMatches));
+    }
+
+    private static Vulnerability newVulnerability(String id) {
+        Vulnerability vulnerability = new Vulnerability()
+                .setExternalId(id)
+                .setTitle(id);
+        String[] idParts = id.split("-");
+        if (idParts.length >= 3) {
+            vulnerability.setCveReferences(Collections.singleton(new CVEReference().setYear(idParts[1]).setNumber(idParts[2])));
+        }
+        return vulnerability;
+    }
+
+    private static NvdFeedItem withConfiguration(Vulnerability vulnerability, List<CpeMatch> cpeMatches) {
+        Map<String, String> vulnerableConfiguration = new HashMap<>();
+        cpeMatches.forEach(cpeMatch -> vulnerableConfiguration.put(cpeMatch.getCpe(), cpeMatch.getCpe()));
+        vulnerability.setVulnerableConfiguration(vulnerableConfiguration);
+        return new NvdFeedItem(vulnerability, cpeMatches);
+    }
+
+    private static void setCvss(Vulnerability vulnerability, JsonNode cvss, JsonNode cvssV2) {
+        if (cvss.has("baseScore")) {
+            vulnerability.setCvss(cvss.path("baseScore").asDouble());
+            vulnerability.setIsSetCvss(true);
+            vulnerability.setCvssTime(vulnerability.getLastExternalUpdate());
+        }
+        // the impact and access maps follow the CVSS v2 metrics like the data of cve-search
+        if (!cvssV2.isMissingNode()) {
+            Map<String, String> impact = new HashMap<>();
+            putIfPresent(impact, "confidentiality", cvssV2.path("confidentialityImpact"));
+            putIfPresent(impact, "integrity", cvssV2.path("integrityImpact"));
+            putIfPresent(impact, "availability", cvssV2.path("availabilityImpact"));
+            vulnerability.setImpact(impact);
+            Map<String, String> access = new HashMap<>();
+            putIfPresent(access, "vector", cvssV2.path("accessVector"));
+            putIfPresent(access, "complexity", cvssV2.path("accessComplexity"));
+            putIfPresent(access, "authentication", cvssV2.path("authentication"));
+            vulnerability.setAccess(access);
+        }
+    }
+
+    private static void putIfPresent(Map<String, String> map, String key, JsonNode value) {
+        if (value.isValueNode()) {
+            map.put(key, value.asText());
+        }
+    }
+
+    private static void collectCpeMatches(JsonNode nodes, String matchField, String cpeField, List<CpeMatch> cpeMatches) {
+        for (JsonNode node : nodes) {
+            for (JsonNode match : node.path(matchField)) {
+                if (match.path("vulnerable").asBoolean(false)) {
+                    CpeMatch.parse(match.path(cpeField).asText(null))
+                            .map(cpeMatch -> cpeMatch.setVersionRange(
+                                    match.path("versionStartIncluding").asText(null),
+                                    match.path("versionStartExcluding").asText(null),
+                                    match.path("versionEndIncluding").asText(null),
+                                    match.path("versionEndExcluding").asText(null)))
+                            .ifPresent(cpeMatches::add);
+                }
+            }
+            // the 1.1 feeds nest the nodes of combined configurations
+            collectCpeMatches(node.path("children"), matchField, cpeField, cpeMatches);
+        }
+    }
+
+    private static String englishValue(JsonNode descriptions) {
+        for (JsonNode description : descriptions) {
+            if (ENGLISH.equals(description.path("lang").asText())) {
+                return description.path("value").asText(null);
+            }
+        }
+        return null;
+    }
+
+    private static Set<String> values(JsonNode nodes, String field) {
+        Set<String> values = new HashSet<>();
+        for (JsonNode node : nodes) {
+            if (node.has(field)) {
+                values.add(node.path(field).asText());
+            }
+        }
+        return values;
+    }
+
+    private static Optional<String> firstCwe(JsonNode problemTypes) {
+        for (JsonNode problemType : problemTypes) {
+            for (JsonNode description : problemType.path("description")) {
+                String value = description.path("value").asText("");
+                if (value.startsWith("CWE-")) {
+                    return Optional.of(value);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.datasource.nvd;
+
+import com.google.common.base.Strings;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.eclipse.sw360.datahandler.thrift.vendors.Vendor;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.ReleaseVulnerabilityRelation;
+
+import java.util.*;
+
+/**
+ * Index of the releases by the vendor and product part of a CPE, to find the releases affected by the vulnerable
+ * configurations of a NVD feed item without asking a remote service. Releases are indexed by their CPE if they have
+ * one, otherwise by the names of their vendor and their name. Releases without either are not indexed.
+ */
+public class ReleaseCpeIndex {
+
+    static final String MATCHED_BY_CPE = "nvd feed (CPE)";
+    static final String MATCHED_BY_NAME = "nvd feed (vendor and product name)";
+
+    private final Map<String, List<Entry>> entriesByVendorAndProduct = new HashMap<>();
+
+    private static class Entry {
+        private final String releaseId;
+        private final String version;
+        private final String needle;
+        private final String matchedBy;
+
+        private Entry(String releaseId, String version, String needle, String matchedBy) {
+            this.releaseId = releaseId;
+            this.version = version;
+            this.needle = needle;
+            this.matchedBy = matchedBy;
+        }
+    }
+
+    public ReleaseCpeIndex(Collection<Release> releases) {
+        releases.forEach(this::add);
+    }
+
+    private void add(Release release) {
+        Optional<CpeMatch> cpe = CpeMatch.parse(Strings.nullToEmpty(release.getCpeid()).toLowerCase());
+        if (cpe.isPresent()) {
+            String version = cpe.get().matchesVersion(null) ? release.getVersion() : cpe.get().getVersion();
+            add(cpe.get().getVendorAndProduct(), new Entry(release.getId(), version, release.getCpeid(), MATCHED_BY_CPE));
+            return;
+        }
+
+        String product = normalize(release.getName());
+        Vendor vendor = release.getVendor();
+        if (product.isEmpty() || vendor == null) {
+            return;
+        }
+        Set<String> vendorNames = new HashSet<>();
+        vendorNames.add(normalize(vendor.getShortname()));
+        vendorNames.add(normalize(vendor.getFullname()));
+        vendorNames.remove("");
+        for (String vendorName : vendorNames) {
+            String vendorAndProduct = vendorName + ":" + product;
+            add(vendorAndProduct, new Entry(release.getId(), release.getVersion(), vendorAndProduct, MATCHED_BY_NAME));
+        }
+    }
+
+    private void add(String vendorAndProduct, Entry entry) {
+        entriesByVendorAndProduct.computeIfAbsent(vendorAndProduct, key -> new ArrayList<>()).add(entry);
+    }
+
+    private static String normalize(String name) {
+        return Strings.nullToEmpty(name).trim().toLowerCase().replaceAll("\\s+", "_");
+    }
+
+    public boolean isEmpty() {
+        return entriesByVendorAndProduct.isEmpty();
+    }
+
+    /**
+     * Returns a relation for each indexed release in an affected version, without the id of the vulnerability
+     */
+    public List<ReleaseVulnerabilityRelation> findRelations(NvdFeedItem item) {
+        Map<String, ReleaseVulnerabilityRelation> relationsByReleaseId = new LinkedHashMap<>();
+        for (CpeMatch cpeMatch : item.getCpeMatches()) {
+            for (Entry entry : entriesByVendorAndProduct.getOrDefault(cpeMatch.getVendorAndProduct(), Collections.emptyList())) {
+                if (!relationsByReleaseId.containsKey(entry.releaseId) && cpeMatch.matchesVersion(entry.version)) {
+                    relationsByReleaseId.put(entry.releaseId, new ReleaseVulnerabilityRelation()
+                            .setReleaseId(entry.releaseId)
+                            .setMatchedBy(entry.matchedBy)
+                            .setUsedNeedle(entry.needle));
+                }
+            }
+        }
+        return new ArrayList<>(relationsByReleaseId.values());
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.service;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.cvesearch.datasink.CveSearchCheckpointRepository;
+import org.eclipse.sw360.datahandler.thrift.RequestStatus;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.eclipse.sw360.datahandler.thrift.cvesearch.VulnerabilityUpdateStatus;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.eclipse.sw360.cvesearch.helper.VulnerabilityUtils.getEmptyVulnerabilityUpdateStatus;
+import static org.eclipse.sw360.cvesearch.helper.VulnerabilityUtils.reduceVulnerabilityUpdateStatus;
+
+/**
+ * Updates the vulnerabilities of all releases with a bounded pool of workers. Releases updated successfully are
+ * recorded in checkpoints, so that an interrupted update skips them when it is started again. The checkpoints are
+ * removed when the update has gone through all releases.
+ */
+public class CveSearchFullUpdate {
+
+    private static final Logger log = LogManager.getLogger(CveSearchFullUpdate.class);
+
+    private final Function<Release, VulnerabilityUpdateStatus> updater;
+    private final CveSearchCheckpointRepository checkpointRepository;
+    private final int concurrency;
+    private final int checkpointInterval;
+    private final long checkpointMaxAgeMillis;
+
+    private final List<String> uncheckpointedReleaseIds = new ArrayList<>();
+
+    public CveSearchFullUpdate(Function<Release, VulnerabilityUpdateStatus> updater,
+                               CveSearchCheckpointRepository checkpointRepository,
+                               int concurrency, int checkpointInterval, long checkpointMaxAgeMillis) {
+        this.updater = updater;
+        this.checkpointRepository = checkpointRepository;
+        this.concurrency = Math.max(concurrency, 1);
+        this.checkpointInterval = Math.max(checkpointInterval, 1);
+        this.checkpointMaxAgeMillis = checkpointMaxAgeMillis;
+    }
+
+    public VulnerabilityUpdateStatus run(List<Release> releases) {
+        long started = System.currentTimeMillis();
+        Set<String> completedReleaseIds = checkpointRepository.getCompletedReleaseIds(started - checkpointMaxAgeMillis);
+        List<Release> pendingReleases = releases.stream()
+                .filter(release -> !completedReleaseIds.contains(release.getId()))
+                .collect(Collectors.toList());
+        log.info("Starting full update of " + pendingReleases.size() + " releases with " + concurrency + " workers, "
+                + (releases.size() - pendingReleases.size()) + " releases were updated by an interrupted run");
+
+        List<VulnerabilityUpdateStatus> statuses = Collections.synchronizedList(new ArrayList<>());
+        Set<String> failedReleaseIds = Collections.synchronizedSet(new HashSet<>());
+        ExecutorService executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(concurrency * 2),
+                new ThreadFactoryBuilder().setNameFormat("cvesearch-update-%d").setDaemon(true).build(),
+                // the submitting thread helps out instead of queueing all releases at once
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        for (Release release : pendingReleases) {
+            executor.execute(() -> {
+                VulnerabilityUpdateStatus status = update(release);
+                statuses.add(status);
+                if (RequestStatus.FAILURE.equals(status.getRequestStatus())) {
+                    failedReleaseIds.add(release.getId());
+                } else {
+                    completed(release.getId());
+                }
+            });
+        }
+
+        executor.shutdown();
+        boolean finished = awaitTermination(executor);
+        writeCheckpoint();
+        if (finished) {
+            checkpointRepository.clear();
+        }
+
+        long seconds = Math.max(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - started), 1);
+        log.info("Full update " + (finished ? "finished" : "interrupted") + " after " + seconds + "s: "
+                + statuses.size() + " releases processed (" + (statuses.size() / seconds) + " per second), "
+                + failedReleaseIds.size() + " failed");
+        if (!failedReleaseIds.isEmpty()) {
+            log.info("The update failed for the releases " + failedReleaseIds);
+        }
+
+        VulnerabilityUpdateStatus result;
+        synchronized (statuses) {
+            result = reduceVulnerabilityUpdateStatus(statuses.toArray(new VulnerabilityUpdateStatus[0]));
+        }
+        if (!finished) {
+            result.setRequestStatus(RequestStatus.FAILURE);
+        }
+        return result;
+    }
+
+    private VulnerabilityUpdateStatus update(Release release) {
+        try {
+            return updater.apply(release);
+        } catch (RuntimeException e) {
+            log.error("Update failed for release " + release.getId(), e);
+            return getEmptyVulnerabilityUpdateStatus(RequestStatus.FAILURE);
+        }
+    }
+
+    private void completed(String releaseId) {
+        List<String> checkpoint = null;
+        synchronized (uncheckpointedReleaseIds) {
+            uncheckpointedReleaseIds.add(releaseId);
+            if (uncheckpointedReleaseIds.size() >= checkpointInterval) {
+                checkpoint = new ArrayList<>(uncheckpointedReleaseIds);
+                uncheckpointedReleaseIds.clear();
+            }
+        }
+        if (checkpoint != null) {
+            writeCheckpoint(checkpoint);
+        }
+    }
+
+    private void writeCheckpoint() {
+        List<String> checkpoint;
+        synchronized (uncheckpointedReleaseIds) {
+            checkpoint = new ArrayList<>(uncheckpointedReleaseIds);
+            uncheckpointedReleaseIds.clear();
+        }
+        writeCheckpoint(checkpoint);
+    }
+
+    private void writeCheckpoint(List<String> releaseIds) {
+        try {
+            checkpointRepository.addCheckpoint(releaseIds);
+        } catch (RuntimeException e) {
+            // losing a checkpoint only means that the releases are updated again by the next run
+            log.error("Could not write checkpoint of " + releaseIds.size() + " releases", e);
+        }
+    }
+
+    private static boolean awaitTermination(ExecutorService executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.debug("Waiting for the full update to finish");
+            }
+            return true;
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
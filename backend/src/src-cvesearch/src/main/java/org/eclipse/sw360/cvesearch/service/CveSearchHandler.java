@@ -11,12 +11,17 @@
  */
 package org.eclipse.sw360.cvesearch.service;
 
+import org.eclipse.sw360.cvesearch.datasink.CveSearchCheckpointRepository;
 import org.eclipse.sw360.cvesearch.datasink.VulnerabilityConnector;
+import org.eclipse.sw360.cvesearch.datasource.CveSearchApi;
 import org.eclipse.sw360.cvesearch.datasource.CveSearchApiImpl;
 import org.eclipse.sw360.cvesearch.datasource.CveSearchData;
 import org.eclipse.sw360.cvesearch.datasource.CveSearchWrapper;
+import org.eclipse.sw360.cvesearch.datasource.nvd.NvdFeedReader;
 import org.eclipse.sw360.cvesearch.entitytranslation.CveSearchDataTranslator;
 import org.eclipse.sw360.datahandler.common.CommonUtils;
+import org.eclipse.sw360.datahandler.common.DatabaseSettings;
+import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.components.Component;
 import org.eclipse.sw360.datahandler.thrift.components.Release;
@@ -24,12 +29,16 @@ import org.eclipse.sw360.datahandler.thrift.cvesearch.CveSearchService;
 import org.eclipse.sw360.datahandler.thrift.cvesearch.UpdateType;
 import org.eclipse.sw360.datahandler.thrift.cvesearch.VulnerabilityUpdateStatus;
 import org.eclipse.sw360.datahandler.thrift.projects.Project;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.ReleaseVulnerabilityRelation;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.eclipse.sw360.cvesearch.helper.VulnerabilityUtils.*;
@@ -39,23 +48,56 @@ public class CveSearchHandler implements CveSearchService.Iface {
     private static final Logger log = LogManager.getLogger(CveSearchHandler.class);
 
     public static final String CVESEARCH_HOST_PROPERTY = "cvesearch.host";
+    public static final String CVESEARCH_UPDATE_CONCURRENCY_PROPERTY = "cvesearch.update.concurrency";
+    public static final String CVESEARCH_UPDATE_CHECKPOINT_INTERVAL_PROPERTY = "cvesearch.update.checkpoint.interval";
+    public static final String CVESEARCH_UPDATE_CHECKPOINT_MAX_AGE_PROPERTY = "cvesearch.update.checkpoint.max.age.hours";
+    public static final String CVESEARCH_NVD_FEED_DIRECTORY_PROPERTY = "cvesearch.nvd.feed.directory";
+    public static final String CVESEARCH_NVD_FEED_BATCH_SIZE_PROPERTY = "cvesearch.nvd.feed.batch.size";
+    private static final Properties props = CommonUtils.loadProperties(CveSearchHandler.class, "/cvesearch.properties");
+
     private VulnerabilityConnector vulnerabilityConnector;
     private CveSearchWrapper cveSearchWrapper;
+    private CveSearchCheckpointRepository checkpointRepository;
+    private final int updateConcurrency;
+    private final int checkpointInterval;
+    private final long checkpointMaxAgeMillis;
+    private String nvdFeedDirectory;
+    private int nvdFeedBatchSize = 500;
 
 
     public CveSearchHandler() {
         try {
             vulnerabilityConnector = new VulnerabilityConnector();
+            checkpointRepository = new CveSearchCheckpointRepository(new DatabaseConnector(
+                    DatabaseSettings.getConfiguredHttpClient(), DatabaseSettings.COUCH_DB_VM));
         } catch (IOException ioe) {
             log.error("Exception when creating CveSearchHandler", ioe);
         }
 
-        Properties props = CommonUtils.loadProperties(CveSearchHandler.class, "/cvesearch.properties");
         String host = props.getProperty(CVESEARCH_HOST_PROPERTY, "https://localhost:5000");
 
         log.info("Using " + host + " for CVE search...");
 
         cveSearchWrapper = new CveSearchWrapper(new CveSearchApiImpl(host));
+        updateConcurrency = CommonUtils.getIntOrDefault(props.getProperty(CVESEARCH_UPDATE_CONCURRENCY_PROPERTY), 4);
+        checkpointInterval = CommonUtils.getIntOrDefault(props.getProperty(CVESEARCH_UPDATE_CHECKPOINT_INTERVAL_PROPERTY), 100);
+        checkpointMaxAgeMillis = TimeUnit.HOURS.toMillis(
+                CommonUtils.getIntOrDefault(props.getProperty(CVESEARCH_UPDATE_CHECKPOINT_MAX_AGE_PROPERTY), 24));
+        nvdFeedDirectory = props.getProperty(CVESEARCH_NVD_FEED_DIRECTORY_PROPERTY);
+        nvdFeedBatchSize = CommonUtils.getIntOrDefault(props.getProperty(CVESEARCH_NVD_FEED_BATCH_SIZE_PROPERTY), nvdFeedBatchSize);
+        if (!CommonUtils.isNullEmptyOrWhitespace(nvdFeedDirectory)) {
+            log.info("Using the NVD feeds in " + nvdFeedDirectory + " for the update...");
+        }
+    }
+
+    CveSearchHandler(VulnerabilityConnector vulnerabilityConnector, CveSearchApi cveSearchApi,
+                     CveSearchCheckpointRepository checkpointRepository, int updateConcurrency, int checkpointInterval) {
+        this.vulnerabilityConnector = vulnerabilityConnector;
+        this.cveSearchWrapper = new CveSearchWrapper(cveSearchApi);
+        this.checkpointRepository = checkpointRepository;
+        this.updateConcurrency = updateConcurrency;
+        this.checkpointInterval = checkpointInterval;
+        this.checkpointMaxAgeMillis = TimeUnit.HOURS.toMillis(24);
     }
 
     private VulnerabilityUpdateStatus updateForRelease(Release release) {
@@ -73,14 +115,18 @@ public class CveSearchHandler implements CveSearchService.Iface {
                 })
                 .collect(Collectors.toList());
 
-        VulnerabilityUpdateStatus updateStatus = getEmptyVulnerabilityUpdateStatus();
+        if (translated.isEmpty()) {
+            return getEmptyVulnerabilityUpdateStatus();
+        }
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        Map<String, List<ReleaseVulnerabilityRelation>> relationsByExternalId = new HashMap<>();
         for (CveSearchDataTranslator.VulnerabilityWithRelation vulnerabilityWithRelation : translated) {
-            updateStatus = vulnerabilityConnector.addOrUpdate(vulnerabilityWithRelation.vulnerability,
-                    vulnerabilityWithRelation.relation,
-                    updateStatus);
+            vulnerabilities.add(vulnerabilityWithRelation.vulnerability);
+            relationsByExternalId.computeIfAbsent(vulnerabilityWithRelation.vulnerability.getExternalId(), id -> new ArrayList<>())
+                    .add(vulnerabilityWithRelation.relation);
         }
 
-        return updateStatus;
+        return vulnerabilityConnector.addOrUpdateInBulk(vulnerabilities, relationsByExternalId);
     }
 
     @Override
@@ -122,16 +168,21 @@ public class CveSearchHandler implements CveSearchService.Iface {
     public VulnerabilityUpdateStatus fullUpdate() throws TException {
         List<Release> allReleases = vulnerabilityConnector.getAllReleases();
 
-        return allReleases.stream()
-                .map(this::updateForRelease)
-                .reduce(getEmptyVulnerabilityUpdateStatus(),
-                        (r1, r2) -> reduceVulnerabilityUpdateStatus(r1,r2));
+        return new CveSearchFullUpdate(this::updateForRelease, checkpointRepository, updateConcurrency,
+                checkpointInterval, checkpointMaxAgeMillis).run(allReleases);
+    }
+
+    private VulnerabilityUpdateStatus nvdFeedUpdate() {
+        return new NvdFeedImport(vulnerabilityConnector, new NvdFeedReader(), nvdFeedBatchSize)
+                .run(Paths.get(nvdFeedDirectory), vulnerabilityConnector.getAllReleases());
     }
 
     @Override
     public RequestStatus update() throws TException {
         log.info("Starting CveSearch update...");
-        VulnerabilityUpdateStatus vulnerabilityUpdateStatus = fullUpdate();
+        VulnerabilityUpdateStatus vulnerabilityUpdateStatus = CommonUtils.isNullEmptyOrWhitespace(nvdFeedDirectory)
+                ? fullUpdate()
+                : nvdFeedUpdate();
         log.info("CveSearch update finished with status:" + vulnerabilityUpdateStatus.getRequestStatus());
         log.info("The following vulnerability/ies could not be imported:" + vulnerabilityUpdateStatus.getStatusToVulnerabilityIds().get(UpdateType.FAILED) + "\n"+
                         "The following vulnerability/ies were updated:" + vulnerabilityUpdateStatus.getStatusToVulnerabilityIds().get(UpdateType.UPDATED) + "\n"+
@@ -0,0 +1,112 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.cvesearch.datasink.VulnerabilityConnector;
+import org.eclipse.sw360.cvesearch.datasource.nvd.NvdFeedItem;
+import org.eclipse.sw360.cvesearch.datasource.nvd.NvdFeedReader;
+import org.eclipse.sw360.cvesearch.datasource.nvd.ReleaseCpeIndex;
+import org.eclipse.sw360.datahandler.thrift.RequestStatus;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.eclipse.sw360.datahandler.thrift.cvesearch.UpdateType;
+import org.eclipse.sw360.datahandler.thrift.cvesearch.VulnerabilityUpdateStatus;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.ReleaseVulnerabilityRelation;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.sw360.cvesearch.helper.VulnerabilityUtils.getEmptyVulnerabilityUpdateStatus;
+import static org.eclipse.sw360.cvesearch.helper.VulnerabilityUtils.reduceVulnerabilityUpdateStatus;
+
+/**
+ * Imports the vulnerabilities of the releases from NVD feed files in a local directory. Only CVEs affecting at least
+ * one release are kept, and they are written in batches, so the memory needed does not grow with the size of the
+ * feeds.
+ */
+public class NvdFeedImport {
+
+    private static final Logger log = LogManager.getLogger(NvdFeedImport.class);
+
+    private final VulnerabilityConnector vulnerabilityConnector;
+    private final NvdFeedReader feedReader;
+    private final int batchSize;
+
+    private final Map<String, Vulnerability> batch = new LinkedHashMap<>();
+    private final Map<String, List<ReleaseVulnerabilityRelation>> batchRelations = new HashMap<>();
+    private final List<VulnerabilityUpdateStatus> statuses = new ArrayList<>();
+    private int readItems;
+
+    public NvdFeedImport(VulnerabilityConnector vulnerabilityConnector, NvdFeedReader feedReader, int batchSize) {
+        this.vulnerabilityConnector = vulnerabilityConnector;
+        this.feedReader = feedReader;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    public VulnerabilityUpdateStatus run(Path feedDirectory, List<Release> releases) {
+        long started = System.currentTimeMillis();
+        ReleaseCpeIndex index = new ReleaseCpeIndex(releases);
+        if (index.isEmpty()) {
+            log.info("No release has a CPE or a vendor, skipping the import of the NVD feeds");
+            return getEmptyVulnerabilityUpdateStatus();
+        }
+
+        try {
+            feedReader.readDirectory(feedDirectory, item -> add(item, index));
+        } catch (IOException e) {
+            log.error("Could not read the NVD feeds in " + feedDirectory, e);
+            statuses.add(getEmptyVulnerabilityUpdateStatus(RequestStatus.FAILURE));
+        }
+        flush();
+
+        VulnerabilityUpdateStatus result = reduceVulnerabilityUpdateStatus(statuses.toArray(new VulnerabilityUpdateStatus[0]));
+        long seconds = Math.max(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - started), 1);
+        log.info("Import of the NVD feeds finished after " + seconds + "s: " + readItems + " CVEs read ("
+                + (readItems / seconds) + " per second), " + result.getStatusToVulnerabilityIds().values().stream()
+                .mapToInt(List::size).sum() + " affect releases");
+        return result;
+    }
+
+    private void add(NvdFeedItem item, ReleaseCpeIndex index) {
+        readItems++;
+        List<ReleaseVulnerabilityRelation> relations = index.findRelations(item);
+        if (relations.isEmpty()) {
+            return;
+        }
+        String externalId = item.getVulnerability().getExternalId();
+        // a later feed, e.g. the modified feed, replaces the CVE of an earlier one
+        batch.put(externalId, item.getVulnerability());
+        batchRelations.put(externalId, relations);
+        if (batch.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            statuses.add(vulnerabilityConnector.addOrUpdateInBulk(batch.values(), batchRelations));
+        } catch (RuntimeException e) {
+            log.error("Could not write a batch of " + batch.size() + " vulnerabilities", e);
+            VulnerabilityUpdateStatus failed = getEmptyVulnerabilityUpdateStatus(RequestStatus.FAILURE);
+            failed.getStatusToVulnerabilityIds().get(UpdateType.FAILED).addAll(batch.keySet());
+            statuses.add(failed);
+        }
+        batch.clear();
+        batchRelations.clear();
+    }
+}
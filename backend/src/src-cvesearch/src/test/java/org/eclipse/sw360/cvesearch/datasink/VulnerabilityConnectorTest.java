@@ -12,6 +12,8 @@ package org.eclipse.sw360.cvesearch.datasink;
 
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.cvesearch.UpdateType;
+import org.eclipse.sw360.datahandler.thrift.cvesearch.VulnerabilityUpdateStatus;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.ReleaseVulnerabilityRelation;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
 import org.eclipse.sw360.vulnerabilities.db.VulnerabilityDatabaseHandler;
 import org.junit.Before;
@@ -23,8 +25,12 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import java.util.*;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.argThat;
 import static org.mockito.Mockito.*;
 
 
@@ -148,6 +154,35 @@ public class VulnerabilityConnectorTest {
         assertThat(resultMap.get(UpdateType.FAILED), is(Collections.EMPTY_LIST));
     }
 
+    @Test
+    public void testAddOrUpdateInBulkSetsVulnerabilityIdsOnRelations() {
+        Vulnerability v1 = new Vulnerability().setExternalId("eid1");
+        Vulnerability v2 = new Vulnerability().setExternalId("eid2");
+        Vulnerability v3 = new Vulnerability().setExternalId("eid3");
+        ReleaseVulnerabilityRelation r1 = new ReleaseVulnerabilityRelation().setReleaseId("r1");
+        ReleaseVulnerabilityRelation r2 = new ReleaseVulnerabilityRelation().setReleaseId("r1");
+        ReleaseVulnerabilityRelation r3 = new ReleaseVulnerabilityRelation().setReleaseId("r1");
+        statusToVulnerabilityMap.get(UpdateType.NEW).add(v1.deepCopy().setId("idv1"));
+        statusToVulnerabilityMap.get(UpdateType.OLD).add(v2.deepCopy().setId("idv2"));
+        statusToVulnerabilityMap.get(UpdateType.FAILED).add(v3);
+
+        when(vulnerabilityDatabaseHandler.upsertVulnerabilities(anyCollection())).thenReturn(statusToVulnerabilityMap);
+        when(vulnerabilityDatabaseHandler.upsertRelations(anyCollection())).thenReturn(RequestStatus.SUCCESS);
+
+        Map<String, List<ReleaseVulnerabilityRelation>> relations = new HashMap<>();
+        relations.put("eid1", Collections.singletonList(r1));
+        relations.put("eid2", Collections.singletonList(r2));
+        relations.put("eid3", Collections.singletonList(r3));
+        VulnerabilityUpdateStatus updateStatus = vulnerabilityConnector.addOrUpdateInBulk(Arrays.asList(v1, v2, v3), relations);
+
+        assertThat(updateStatus.getRequestStatus(), is(RequestStatus.FAILURE));
+        assertThat(updateStatus.getStatusToVulnerabilityIds().get(UpdateType.NEW), contains("eid1"));
+        assertThat(updateStatus.getStatusToVulnerabilityIds().get(UpdateType.FAILED), contains("eid3"));
+        assertThat(r1.getVulnerabilityId(), is("idv1"));
+        assertThat(r2.getVulnerabilityId(), is("idv2"));
+        verify(vulnerabilityDatabaseHandler).upsertRelations((Collection) argThat(containsInAnyOrder(r1, r2)));
+    }
+
     @Test
     public void testIsMoreRecentEmpty() throws Exception {
         Vulnerability v1 = new Vulnerability();
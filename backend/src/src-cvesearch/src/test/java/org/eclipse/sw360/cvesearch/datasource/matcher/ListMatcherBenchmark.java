@@ -0,0 +1,82 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.datasource.matcher;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the indexed best match search with scoring and sorting all needles, as the guesser did before, on a list
+ * of generated names as large as the CPE vendor list. Run with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListMatcherBenchmark {
+
+    private static final String[] SYLLABLES = {"apa", "che", "ecl", "ipse", "soft", "ware", "net", "sys", "tech",
+            "data", "base", "lab", "io", "open", "source", "micro", "web", "cloud", "secure", "linux", "core", "on",
+            "ix", "tron", "media", "group", "_", "-"};
+
+    @Param({"100000"})
+    private int needles;
+
+    @Param({"apache software foundation", "jackson databind", "unknown vendor gmbh"})
+    private String haystack;
+
+    private ListMatcher listMatcher;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(4711);
+        List<String> names = new ArrayList<>(needles);
+        for (int i = 0; i < needles; i++) {
+            StringBuilder name = new StringBuilder();
+            int syllables = 1 + random.nextInt(4);
+            for (int s = 0; s < syllables; s++) {
+                name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            names.add(name.toString());
+        }
+        names.add("apache");
+        names.add("fasterxml");
+        listMatcher = new ListMatcher(names);
+    }
+
+    @Benchmark
+    public List<Match> scoreAndSortAll() {
+        List<Match> matches = listMatcher.getMatches(haystack);
+        int best = matches.get(0).getDistance();
+        return matches.stream()
+                .filter(match -> match.getDistance() <= best + 1 && match.getDistance() < 6)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Match> bestMatches() {
+        return listMatcher.getBestMatches(haystack, 1, 6);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ListMatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -10,11 +10,16 @@
  */
 package org.eclipse.sw360.cvesearch.datasource.matcher;
 
+import org.eclipse.sw360.cvesearch.datasource.CveSearchGuesser;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 
 public class ListMatcherTest {
 
@@ -43,4 +48,44 @@ public class ListMatcherTest {
         assert(matches.get(1).getDistance() != 0);
         assert(matches.get(2).getDistance() != 0);
     }
+
+    @Test
+    public void getBestMatchesTestFullMatch() {
+        List<Match> matches = listMatcher.getBestMatches(needle2, 0, Integer.MAX_VALUE);
+
+        assertThat(matches.size(), is(1));
+        assertThat(matches.get(0).getNeedle(), is(needle2));
+        assertThat(matches.get(0).getDistance(), is(0));
+    }
+
+    @Test
+    public void getBestMatchesTestSameAsBestOfAllMatches() {
+        Random random = new Random(42);
+        CveSearchGuesser guesser = new CveSearchGuesser(null);
+        for (int run = 0; run < 500; run++) {
+            List<String> needles = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                needles.add(randomWord(random, "abcdefgh_", 1, 12));
+            }
+            String haystack = randomWord(random, "abcdefgh ", 0, 20);
+            int threshold = random.nextInt(3);
+            int cutoff = random.nextBoolean() ? Integer.MAX_VALUE : random.nextInt(8);
+            guesser.setCutoff(cutoff);
+            ListMatcher matcher = new ListMatcher(needles);
+
+            List<Match> expected = guesser.getBest(matcher.getMatches(haystack), threshold);
+            List<Match> actual = matcher.getBestMatches(haystack, threshold, cutoff);
+
+            assertThat(haystack + " in " + needles, actual.toString(), is(expected.toString()));
+        }
+    }
+
+    private static String randomWord(Random random, String alphabet, int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return word.toString();
+    }
 }
@@ -12,6 +12,7 @@ package org.eclipse.sw360.cvesearch.datasource.matcher;
 
 import org.junit.Test;
 
+import static org.eclipse.sw360.cvesearch.datasource.matcher.ModifiedLevenshteinDistance.calculateModifiedLevenshteinDistance;
 import static org.eclipse.sw360.cvesearch.datasource.matcher.ModifiedLevenshteinDistance.levenshteinMatch;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
@@ -156,4 +157,12 @@ public class ModifiedLevenshteinDistanceTest {
 
         assertThat(match.getDistance(), is(noise.length())) ;
     }
+
+    @Test
+    public void getDistanceWithMaxDistance() {
+        assertThat(calculateModifiedLevenshteinDistance("needle", "prefix_needlebla_postfix", '_', 3), is(3));
+        assertThat(calculateModifiedLevenshteinDistance("needle", "prefix_needlebla_postfix", '_', 2), is(Integer.MAX_VALUE));
+        assertThat(calculateModifiedLevenshteinDistance("needle", "haystack", '_', 0), is(Integer.MAX_VALUE));
+        assertThat(calculateModifiedLevenshteinDistance("needle", "needle", '_', 0), is(0));
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.datasource.nvd;
+
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.CVEReference;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class NvdFeedReaderTest {
+
+    private static final String V11_FEED = "{" +
+            "\"CVE_data_type\":\"CVE\",\"CVE_data_format\":\"MITRE\",\"CVE_data_numberOfCVEs\":\"2\"," +
+            "\"CVE_Items\":[" +
+            "{\"cve\":{\"CVE_data_meta\":{\"ID\":\"CVE-2019-12384\"}," +
+            "\"problemtype\":{\"problemtype_data\":[{\"description\":[{\"lang\":\"en\",\"value\":\"CWE-502\"}]}]}," +
+            "\"references\":{\"reference_data\":[{\"url\":\"https://example.com/advisory\"}]}," +
+            "\"description\":{\"description_data\":[{\"lang\":\"en\",\"value\":\"FasterXML jackson-databind issue\"}]}}," +
+            "\"configurations\":{\"nodes\":[{\"operator\":\"AND\",\"children\":[{\"operator\":\"OR\",\"cpe_match\":[" +
+            "{\"vulnerable\":true,\"cpe23Uri\":\"cpe:2.3:a:fasterxml:jackson-databind:*:*:*:*:*:*:*:*\"," +
+            "\"versionStartIncluding\":\"2.9.0\",\"versionEndExcluding\":\"2.9.9.1\"}," +
+            "{\"vulnerable\":false,\"cpe23Uri\":\"cpe:2.3:o:debian:debian_linux:8.0:*:*:*:*:*:*:*\"}]}]}]}," +
+            "\"impact\":{\"baseMetricV3\":{\"cvssV3\":{\"baseScore\":5.9}}," +
+            "\"baseMetricV2\":{\"cvssV2\":{\"accessVector\":\"NETWORK\",\"accessComplexity\":\"HIGH\"," +
+            "\"authentication\":\"NONE\",\"confidentialityImpact\":\"PARTIAL\",\"integrityImpact\":\"PARTIAL\"," +
+            "\"availabilityImpact\":\"NONE\",\"baseScore\":4.3}}}," +
+            "\"publishedDate\":\"2019-06-24T16:15Z\",\"lastModifiedDate\":\"2020-10-20T22:15Z\"}," +
+            "{\"cve\":{\"CVE_data_meta\":{\"ID\":\"CVE-2020-0001\"},\"description\":{\"description_data\":[]}}," +
+            "\"configurations\":{\"nodes\":[]},\"impact\":{}}" +
+            "]}";
+
+    private static final String V20_FEED = "{\"resultsPerPage\":1,\"format\":\"NVD_CVE\",\"version\":\"2.0\"," +
+            "\"vulnerabilities\":[{\"cve\":{\"id\":\"CVE-2021-44228\",\"published\":\"2021-12-10T10:15:09.143\"," +
+            "\"lastModified\":\"2023-04-03T20:15:08.237\"," +
+            "\"descriptions\":[{\"lang\":\"es\",\"value\":\"Log4j2\"},{\"lang\":\"en\",\"value\":\"Apache Log4j2 JNDI\"}]," +
+            "\"metrics\":{\"cvssMetricV31\":[{\"source\":\"nvd@nist.gov\",\"cvssData\":{\"baseScore\":10.0}}]," +
+            "\"cvssMetricV2\":[{\"cvssData\":{\"accessVector\":\"NETWORK\",\"baseScore\":9.3}}]}," +
+            "\"weaknesses\":[{\"description\":[{\"lang\":\"en\",\"value\":\"CWE-917\"}]}]," +
+            "\"configurations\":[{\"nodes\":[{\"operator\":\"OR\",\"cpeMatch\":[{\"vulnerable\":true," +
+            "\"criteria\":\"cpe:2.3:a:apache:log4j:*:*:*:*:*:*:*:*\",\"versionStartIncluding\":\"2.0.1\"," +
+            "\"versionEndExcluding\":\"2.3.1\"}]}]}]," +
+            "\"references\":[{\"url\":\"https://logging.apache.org/log4j/2.x/security.html\"}]}}]}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final NvdFeedReader reader = new NvdFeedReader();
+
+    private List<NvdFeedItem> read(String feed) throws IOException {
+        List<NvdFeedItem> items = new ArrayList<>();
+        reader.read(new ByteArrayInputStream(feed.getBytes(StandardCharsets.UTF_8)), items::add);
+        return items;
+    }
+
+    @Test
+    public void testReadV11Feed() throws IOException {
+        List<NvdFeedItem> items = read(V11_FEED);
+
+        assertThat(items, hasSize(2));
+        Vulnerability vulnerability = items.get(0).getVulnerability();
+        assertThat(vulnerability.getExternalId(), is("CVE-2019-12384"));
+        assertThat(vulnerability.getTitle(), is("CVE-2019-12384"));
+        assertThat(vulnerability.getDescription(), is("FasterXML jackson-databind issue"));
+        assertThat(vulnerability.getPublishDate(), is("2019-06-24T16:15Z"));
+        assertThat(vulnerability.getLastExternalUpdate(), is("2020-10-20T22:15Z"));
+        assertThat(vulnerability.getCwe(), is("CWE-502"));
+        assertThat(vulnerability.getReferences(), contains("https://example.com/advisory"));
+        assertThat(vulnerability.getCveReferences(), contains(new CVEReference("2019", "12384")));
+        assertThat(vulnerability.getCvss(), is(5.9));
+        assertThat(vulnerability.isIsSetCvss(), is(true));
+        assertThat(vulnerability.getAccess(), hasEntry("complexity", "HIGH"));
+        assertThat(vulnerability.getImpact(), hasEntry("availability", "NONE"));
+        assertThat(vulnerability.getVulnerableConfiguration().keySet(),
+                contains("cpe:2.3:a:fasterxml:jackson-databind:*:*:*:*:*:*:*:*"));
+
+        List<CpeMatch> cpeMatches = items.get(0).getCpeMatches();
+        assertThat(cpeMatches, hasSize(1));
+        assertThat(cpeMatches.get(0).getVendorAndProduct(), is("fasterxml:jackson-databind"));
+        assertThat(cpeMatches.get(0).matchesVersion("2.9.8"), is(true));
+        assertThat(cpeMatches.get(0).matchesVersion("2.9.9.1"), is(false));
+
+        assertThat(items.get(1).getVulnerability().isSetCvss(), is(false));
+        assertThat(items.get(1).getCpeMatches(), is(empty()));
+    }
+
+    @Test
+    public void testReadV20Feed() throws IOException {
+        List<NvdFeedItem> items = read(V20_FEED);
+
+        assertThat(items, hasSize(1));
+        Vulnerability vulnerability = items.get(0).getVulnerability();
+        assertThat(vulnerability.getExternalId(), is("CVE-2021-44228"));
+        assertThat(vulnerability.getDescription(), is("Apache Log4j2 JNDI"));
+        assertThat(vulnerability.getLastExternalUpdate(), is("2023-04-03T20:15:08.237"));
+        assertThat(vulnerability.getCwe(), is("CWE-917"));
+        assertThat(vulnerability.getCvss(), is(10.0));
+        assertThat(vulnerability.getAccess(), hasEntry("vector", "NETWORK"));
+        assertThat(items.get(0).getCpeMatches().stream().map(CpeMatch::getVendorAndProduct).collect(Collectors.toList()),
+                contains("apache:log4j"));
+    }
+
+    @Test
+    public void testReadDirectoryWithGzippedFeeds() throws IOException {
+        writeGzipped(folder.getRoot().toPath().resolve("nvdcve-1.1-2019.json.gz"), V11_FEED);
+        writeGzipped(folder.getRoot().toPath().resolve("nvdcve-2.0-2021.json.gz"), V20_FEED);
+        Files.write(folder.getRoot().toPath().resolve("nvdcve-1.1-2019.meta"), "sha256:0".getBytes(StandardCharsets.UTF_8));
+
+        List<String> externalIds = new ArrayList<>();
+        reader.readDirectory(folder.getRoot().toPath(), item -> externalIds.add(item.getVulnerability().getExternalId()));
+
+        assertThat(externalIds, contains("CVE-2019-12384", "CVE-2020-0001", "CVE-2021-44228"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadInvalidFeed() throws IOException {
+        read("[]");
+    }
+
+    private static void writeGzipped(Path file, String content) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.datasource.nvd;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.eclipse.sw360.datahandler.thrift.vendors.Vendor;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.ReleaseVulnerabilityRelation;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class ReleaseCpeIndexTest {
+
+    private ReleaseCpeIndex index;
+
+    @Before
+    public void setUp() {
+        index = new ReleaseCpeIndex(ImmutableList.of(
+                new Release().setId("byCpe").setName("jackson databind").setVersion("2.9.8")
+                        .setCpeid("cpe:2.3:a:fasterxml:jackson-databind:2.9.8:*:*:*:*:*:*:*"),
+                new Release().setId("byCpeWithoutVersion").setName("jackson").setVersion("2.10.0")
+                        .setCpeid("cpe:/a:fasterxml:jackson-databind"),
+                new Release().setId("byName").setName("Jackson-Databind").setVersion("2.9.9")
+                        .setVendor(new Vendor().setShortname("FasterXML").setFullname("FasterXML, LLC")),
+                new Release().setId("withoutVendor").setName("jackson-databind").setVersion("2.9.8")));
+    }
+
+    private static NvdFeedItem item(CpeMatch... cpeMatches) {
+        return new NvdFeedItem(new Vulnerability().setExternalId("CVE-2019-12384"), ImmutableList.copyOf(cpeMatches));
+    }
+
+    private static CpeMatch cpe(String cpe) {
+        return CpeMatch.parse(cpe).orElseThrow(IllegalArgumentException::new);
+    }
+
+    private List<String> releaseIds(NvdFeedItem item) {
+        return index.findRelations(item).stream()
+                .map(ReleaseVulnerabilityRelation::getReleaseId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testFindRelationsByVersionRange() {
+        NvdFeedItem item = item(cpe("cpe:2.3:a:fasterxml:jackson-databind:*:*:*:*:*:*:*:*")
+                .setVersionRange("2.9.0", null, null, "2.9.9.1"));
+
+        assertThat(releaseIds(item), containsInAnyOrder("byCpe", "byName"));
+    }
+
+    @Test
+    public void testFindRelationsByExactVersion() {
+        NvdFeedItem item = item(cpe("cpe:2.3:a:fasterxml:jackson-databind:2.10.0:*:*:*:*:*:*:*"));
+
+        assertThat(releaseIds(item), contains("byCpeWithoutVersion"));
+    }
+
+    @Test
+    public void testFindRelationsForAnyVersion() {
+        NvdFeedItem item = item(cpe("cpe:2.3:a:fasterxml:jackson-databind:*:*:*:*:*:*:*:*"),
+                cpe("cpe:2.3:a:fasterxml:jackson-databind:2.9.8:*:*:*:*:*:*:*"));
+
+        List<ReleaseVulnerabilityRelation> relations = index.findRelations(item);
+
+        assertThat(relations.stream().map(ReleaseVulnerabilityRelation::getReleaseId).collect(Collectors.toList()),
+                containsInAnyOrder("byCpe", "byCpeWithoutVersion", "byName"));
+        ReleaseVulnerabilityRelation byName = relations.stream()
+                .filter(relation -> relation.getReleaseId().equals("byName")).findFirst().get();
+        assertThat(byName.getMatchedBy(), is(ReleaseCpeIndex.MATCHED_BY_NAME));
+        assertThat(byName.getUsedNeedle(), is("fasterxml:jackson-databind"));
+    }
+
+    @Test
+    public void testFindNoRelationsForOtherProducts() {
+        assertThat(releaseIds(item(cpe("cpe:2.3:a:apache:log4j:2.0:*:*:*:*:*:*:*"))), is(empty()));
+    }
+
+    @Test
+    public void testCompareVersions() {
+        assertThat(CpeMatch.compareVersions("2.9.10", "2.9.9"), greaterThan(0));
+        assertThat(CpeMatch.compareVersions("2.9", "2.9.0"), is(0));
+        assertThat(CpeMatch.compareVersions("1.0-beta", "1.0-alpha"), greaterThan(0));
+    }
+
+    @Test
+    public void testParseEscapedCpe() {
+        CpeMatch cpeMatch = cpe("cpe:2.3:a:vendor:product\\:name:1.0:*:*:*:*:*:*:*");
+
+        assertThat(cpeMatch.getProduct(), is("product:name"));
+        assertThat(cpeMatch.getVersion(), is("1.0"));
+    }
+}
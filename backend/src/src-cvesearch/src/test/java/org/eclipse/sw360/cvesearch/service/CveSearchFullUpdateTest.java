@@ -0,0 +1,158 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.cvesearch.service;
+
+import com.google.common.collect.ImmutableSet;
+import org.eclipse.sw360.cvesearch.datasink.CveSearchCheckpointRepository;
+import org.eclipse.sw360.cvesearch.datasink.VulnerabilityConnector;
+import org.eclipse.sw360.cvesearch.datasource.CveSearchApi;
+import org.eclipse.sw360.cvesearch.datasource.CveSearchData;
+import org.eclipse.sw360.cvesearch.datasource.json.SingleCveSearchJsonParser;
+import org.eclipse.sw360.datahandler.thrift.RequestStatus;
+import org.eclipse.sw360.datahandler.thrift.components.Release;
+import org.eclipse.sw360.datahandler.thrift.cvesearch.UpdateType;
+import org.eclipse.sw360.datahandler.thrift.cvesearch.VulnerabilityUpdateStatus;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.ReleaseVulnerabilityRelation;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.eclipse.sw360.cvesearch.helper.VulnerabilityUtils.getEmptyVulnerabilityUpdateStatus;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CveSearchFullUpdateTest {
+
+    @Mock
+    private CveSearchCheckpointRepository checkpointRepository;
+
+    @Mock
+    private VulnerabilityConnector vulnerabilityConnector;
+
+    private List<Release> releases;
+
+    @Before
+    public void setUp() {
+        releases = IntStream.range(0, 25)
+                .mapToObj(i -> new Release().setId("r" + i).setName("release" + i).setVersion("1." + i)
+                        .setCpeid("cpe:2.3:a:vendor:release" + i + ":1." + i))
+                .collect(Collectors.toList());
+        when(checkpointRepository.getCompletedReleaseIds(anyLong())).thenReturn(new HashSet<>());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFullUpdateAgainstStubbedCveSearch() throws Exception {
+        when(vulnerabilityConnector.getAllReleases()).thenReturn(releases);
+        when(vulnerabilityConnector.addOrUpdateInBulk(anyCollection(), anyMap())).thenAnswer(invocation -> {
+            Collection<Vulnerability> vulnerabilities = (Collection<Vulnerability>) invocation.getArguments()[0];
+            Map<String, List<ReleaseVulnerabilityRelation>> relations =
+                    (Map<String, List<ReleaseVulnerabilityRelation>>) invocation.getArguments()[1];
+            assertThat(relations.keySet(), hasSize(vulnerabilities.size()));
+            VulnerabilityUpdateStatus updateStatus = getEmptyVulnerabilityUpdateStatus();
+            vulnerabilities.forEach(vulnerability ->
+                    updateStatus.getStatusToVulnerabilityIds().get(UpdateType.NEW).add(vulnerability.getExternalId()));
+            return updateStatus;
+        });
+
+        CveSearchHandler handler = new CveSearchHandler(vulnerabilityConnector, new StubCveSearchApi(),
+                checkpointRepository, 4, 10);
+        VulnerabilityUpdateStatus status = handler.fullUpdate();
+
+        assertThat(status.getRequestStatus(), is(RequestStatus.SUCCESS));
+        assertThat(status.getStatusToVulnerabilityIds().get(UpdateType.NEW), hasSize(releases.size()));
+        assertThat(status.getStatusToVulnerabilityIds().get(UpdateType.NEW), hasItem("CVE-2020-7"));
+        verify(checkpointRepository).clear();
+    }
+
+    @Test
+    public void testCompletedReleasesAreCheckpointedAndSkipped() throws Exception {
+        when(checkpointRepository.getCompletedReleaseIds(anyLong())).thenReturn(ImmutableSet.of("r0", "r1"));
+        Set<String> updated = Collections.synchronizedSet(new HashSet<>());
+
+        VulnerabilityUpdateStatus status = new CveSearchFullUpdate(release -> {
+            updated.add(release.getId());
+            return "r5".equals(release.getId())
+                    ? new VulnerabilityUpdateStatus().setRequestStatus(RequestStatus.FAILURE)
+                    : new VulnerabilityUpdateStatus().setRequestStatus(RequestStatus.SUCCESS);
+        }, checkpointRepository, 3, 5, 1000).run(releases);
+
+        assertThat(status.getRequestStatus(), is(RequestStatus.FAILURE));
+        assertThat(updated, hasSize(releases.size() - 2));
+        assertThat(updated, not(hasItems("r0", "r1")));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> checkpoints = (ArgumentCaptor) ArgumentCaptor.forClass(Collection.class);
+        verify(checkpointRepository, atLeastOnce()).addCheckpoint(checkpoints.capture());
+        List<String> checkpointed = checkpoints.getAllValues().stream()
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList());
+        assertThat(checkpointed, hasSize(releases.size() - 3));
+        assertThat(checkpointed, not(hasItem("r5")));
+        verify(checkpointRepository).clear();
+    }
+
+    @Test
+    public void testLostCheckpointDoesNotStopTheUpdate() throws Exception {
+        doThrow(new RuntimeException("database unavailable")).when(checkpointRepository).addCheckpoint(anyCollection());
+
+        VulnerabilityUpdateStatus status = new CveSearchFullUpdate(
+                release -> new VulnerabilityUpdateStatus().setRequestStatus(RequestStatus.SUCCESS),
+                checkpointRepository, 2, 1, 1000).run(releases);
+
+        assertThat(status.getRequestStatus(), is(RequestStatus.SUCCESS));
+    }
+
+    private static class StubCveSearchApi implements CveSearchApi {
+
+        @Override
+        public List<CveSearchData> search(String vendor, String product) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<CveSearchData> cvefor(String cpe) {
+            String release = cpe.split(":")[4];
+            return Collections.singletonList(cve("CVE-2020-" + release.substring("release".length())));
+        }
+
+        @Override
+        public CveSearchData cve(String cve) {
+            return new SingleCveSearchJsonParser().apply(new BufferedReader(new StringReader(
+                    "{\"id\":\"" + cve + "\",\"summary\":\"stubbed\",\"Modified\":\"2020-01-01T00:00:00\"}")));
+        }
+
+        @Override
+        public List<String> allVendorNames() {
+            return Collections.singletonList("vendor");
+        }
+
+        @Override
+        public List<String> allProductsOfVendor(String vendorName) {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -12,6 +12,7 @@ package org.eclipse.sw360.fossology;
 import org.eclipse.sw360.datahandler.common.CommonUtils;
 import org.eclipse.sw360.datahandler.common.FossologyUtils;
 import org.eclipse.sw360.datahandler.common.SW360Utils;
+import org.eclipse.sw360.datahandler.common.WrappedException.WrappedTException;
 import org.eclipse.sw360.datahandler.couchdb.AttachmentConnector;
 import org.eclipse.sw360.datahandler.thrift.ConfigContainer;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
@@ -24,6 +25,8 @@ import org.eclipse.sw360.datahandler.thrift.users.User;
 import org.eclipse.sw360.fossology.config.FossologyRestConfig;
 import org.eclipse.sw360.fossology.rest.FossologyRestClient;
 
+import com.google.common.base.Strings;
+import com.google.common.util.concurrent.Striped;
 import org.apache.commons.lang.StringUtils;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
@@ -39,6 +42,9 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+import static org.eclipse.sw360.datahandler.common.WrappedException.wrapTException;
 
 /**
  * Implementation of the Thrift service. Offers a very simple interface where
@@ -59,6 +65,10 @@ public class FossologyHandler implements FossologyService.Iface {
     private final FossologyRestClient fossologyRestClient;
     private final AttachmentConnector attachmentConnector;
 
+    // the pipeline and portlet calls may continue the process of the same release at the same time, which must not
+    // upload, scan or write the release twice
+    private final Striped<Lock> releaseLocks = Striped.lock(64);
+
     private static final String SCAN_RESPONSE_STATUS_VALUE_QUEUED = "Queued";
     private static final String SCAN_RESPONSE_STATUS_VALUE_PROCESSING = "Processing";
     private static final String SCAN_RESPONSE_STATUS_VALUE_COMPLETED = "Completed";
@@ -92,6 +102,16 @@ public class FossologyHandler implements FossologyService.Iface {
 
     @Override
     public RequestStatus markFossologyProcessOutdated(String releaseId, User user) throws TException {
+        Lock lock = releaseLocks.get(Strings.nullToEmpty(releaseId));
+        lock.lock();
+        try {
+            return markFossologyProcessOutdatedLocked(releaseId, user);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private RequestStatus markFossologyProcessOutdatedLocked(String releaseId, User user) throws TException {
         ExternalToolProcess fossologyProcess;
 
         Iface componentClient = thriftClients.makeComponentClient();
@@ -124,8 +144,55 @@ public class FossologyHandler implements FossologyService.Iface {
         }
     }
 
+    @Override
+    public RequestStatus enqueueProcess(String releaseId, User user) throws TException {
+        Lock lock = releaseLocks.get(Strings.nullToEmpty(releaseId));
+        lock.lock();
+        try {
+            return enqueueProcessLocked(releaseId, user);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private RequestStatus enqueueProcessLocked(String releaseId, User user) throws TException {
+        Iface componentClient = thriftClients.makeComponentClient();
+        Release release = componentClient.getReleaseById(releaseId, user);
+
+        Set<ExternalToolProcess> fossologyProcesses = SW360Utils.getNotOutdatedExternalToolProcessesForTool(release,
+                ExternalTool.FOSSOLOGY);
+        if (isIllegalStateFossologyProcesses(releaseId, fossologyProcesses)) {
+            return RequestStatus.FAILURE;
+        }
+        if (fossologyProcesses.size() > 0) {
+            log.info("Release with id {} already has a FOSSology process, so nothing to enqueue.", releaseId);
+            return RequestStatus.SUCCESS;
+        }
+
+        Set<Attachment> sourceAttachments = componentClient.getSourceAttachments(release.getId());
+        if (isIllegalStateSourceAttachments(releaseId, sourceAttachments)) {
+            return RequestStatus.FAILURE;
+        }
+
+        Attachment sourceAttachment = sourceAttachments.iterator().next();
+        ExternalToolProcess fossologyProcess = createFossologyProcess(release, user,
+                sourceAttachment.getAttachmentContentId(), sourceAttachment.getSha1());
+        updateFossologyProcessInRelease(fossologyProcess, release, user, componentClient);
+        return RequestStatus.SUCCESS;
+    }
+
     @Override
     public ExternalToolProcess process(String releaseId, User user) throws TException {
+        Lock lock = releaseLocks.get(Strings.nullToEmpty(releaseId));
+        lock.lock();
+        try {
+            return processLocked(releaseId, user);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ExternalToolProcess processLocked(String releaseId, User user) throws TException {
         ExternalToolProcess fossologyProcess;
 
         Iface componentClient = thriftClients.makeComponentClient();
@@ -180,13 +247,19 @@ public class FossologyHandler implements FossologyService.Iface {
         release = componentClient.getReleaseById(release.getId(), user);
         Iterator<ExternalToolProcess> oldFossologyProcessIterator = SW360Utils
                 .getNotOutdatedExternalToolProcessesForTool(release, ExternalTool.FOSSOLOGY).iterator();
+        ClearingState clearingState = calculateCurrentClearingState(release, fossologyProcess);
         if (oldFossologyProcessIterator.hasNext()) {
             // we might be getting called in an unvalidated situation, so it might be
             // possible that there is no process yet.
-            release.getExternalToolProcesses().remove(oldFossologyProcessIterator.next());
+            ExternalToolProcess oldFossologyProcess = oldFossologyProcessIterator.next();
+            if (oldFossologyProcess.equals(fossologyProcess) && clearingState == release.getClearingState()) {
+                // nothing changed, e.g. the scan is still running, so there is nothing to write
+                return;
+            }
+            release.getExternalToolProcesses().remove(oldFossologyProcess);
         }
         release.addToExternalToolProcesses(fossologyProcess);
-        release.setClearingState(calculateCurrentClearingState(release, fossologyProcess));
+        release.setClearingState(clearingState);
         componentClient.updateReleaseFossology(release, user);
     }
 
@@ -429,9 +502,8 @@ public class FossologyHandler implements FossologyService.Iface {
             updateFossologyProcessInRelease(fossologyProcess, release, user, componentClient);
 
             int reportJobId = Integer.valueOf(furthestStep.getProcessStepIdInTool());
-            InputStream reportStream = fossologyRestClient.getReport(Integer.valueOf(reportJobId));
-            if (reportStream != null) {
-                String attachmentContentId = attachReportToRelease(componentClient, release, user, reportStream);
+            String attachmentContentId = attachReportToRelease(componentClient, release, user, reportJobId);
+            if (attachmentContentId != null) {
                 furthestStep.setFinishedOn(Instant.now().toString());
                 furthestStep.setResult(attachmentContentId);
                 fossologyProcess.setProcessStatus(ExternalToolProcessStatus.DONE);
@@ -447,24 +519,40 @@ public class FossologyHandler implements FossologyService.Iface {
         }
     }
 
-    private String attachReportToRelease(Iface componentClient, Release release, User user, InputStream reportStream)
+    /**
+     * Attaches the report to the release if it is ready for download, otherwise
+     * null is returned instead of the attachment content id.
+     */
+    private String attachReportToRelease(Iface componentClient, Release release, User user, int reportId)
             throws TException {
         AttachmentService.Iface attachmentClient = thriftClients.makeAttachmentClient();
 
         // first create the content metadata object and save it to get an id from couch
-        AttachmentContent attachmentContent = new AttachmentContent(createReportAttachmentName(release));
-        attachmentContent.setContentType("text");
-        attachmentContent = attachmentClient.makeAttachmentContent(attachmentContent);
+        AttachmentContent newAttachmentContent = new AttachmentContent(createReportAttachmentName(release));
+        newAttachmentContent.setContentType("text");
+        AttachmentContent attachmentContent = attachmentClient.makeAttachmentContent(newAttachmentContent);
 
-        // then upload the real attachment content as _attachment to the metadata object
-        attachmentConnector.uploadAttachment(attachmentContent, reportStream);
+        // then stream the report while it is downloaded as _attachment to the metadata
+        // object, the checksums are computed on the way
+        boolean downloaded;
+        try {
+            downloaded = fossologyRestClient.getReport(reportId, reportStream -> wrapTException(
+                    () -> attachmentConnector.uploadAttachment(attachmentContent, reportStream)));
+        } catch (WrappedTException e) {
+            attachmentClient.deleteAttachmentContent(attachmentContent.getId());
+            throw e.getCause();
+        }
+        if (!downloaded) {
+            attachmentClient.deleteAttachmentContent(attachmentContent.getId());
+            return null;
+        }
 
         // finally reference the attachment metadata object in a new attachment object
         // that is added to the release
         Attachment attachment = CommonUtils.getNewAttachment(user, attachmentContent.getId(),
                 attachmentContent.getFilename());
         attachment.setAttachmentType(AttachmentType.COMPONENT_LICENSE_INFO_XML);
-        attachment.setSha1(attachmentConnector.getSha1FromAttachmentContentId(attachmentContent.getId()));
+        attachment.setSha1(attachmentContent.getSha1());
 
         // get release again because it has been updated in the meantime so version
         // changed and update might otherwise result in update conflict
@@ -518,6 +606,14 @@ public class FossologyHandler implements FossologyService.Iface {
         return fossologyRestClient.checkScanStatus(scanJobId);
     }
 
+    /**
+     * The pipeline only invokes the scan step again, once the status of the scan
+     * job tells that it is not in progress any more.
+     */
+    static boolean isScanInProgress(String status) {
+        return SCAN_RESPONSE_STATUS_VALUE_QUEUED.equals(status) || SCAN_RESPONSE_STATUS_VALUE_PROCESSING.equals(status);
+    }
+
     private int scanStatusCode(Map<String, String> responseMap) {
         if (responseMap == null || responseMap.isEmpty())
             return -1;
@@ -0,0 +1,275 @@
+/*
+ * Copyright Siemens AG, 2020. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.fossology;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.sw360.datahandler.common.CommonUtils;
+import org.eclipse.sw360.datahandler.common.FossologyUtils;
+import org.eclipse.sw360.datahandler.thrift.ThriftClients;
+import org.eclipse.sw360.datahandler.thrift.components.ExternalTool;
+import org.eclipse.sw360.datahandler.thrift.components.ExternalToolProcess;
+import org.eclipse.sw360.datahandler.thrift.components.ExternalToolProcessStatus;
+import org.eclipse.sw360.datahandler.thrift.components.ExternalToolProcessStep;
+import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.fossology.rest.FossologyRestClient;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.thrift.TException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Drives the {@link ExternalToolProcess}es for {@link ExternalTool#FOSSOLOGY}
+ * in the background, so that releases are uploaded, scanned and get their
+ * report without anyone polling {@link FossologyHandler#process(String, User)}.
+ * The work queue are the releases themselves: every process that is neither
+ * done nor outdated is continued, also after a restart. Only a bounded number
+ * of processes is started in FOSSology at the same time, the status of all
+ * running scans is queried with one request, and processes which did not move
+ * forward are queried less often until they do.
+ */
+@Component
+public class FossologyPipeline implements InitializingBean, DisposableBean {
+
+    private static final String PROPERTIES_FILE_PATH = "/sw360.properties";
+    private static final String ENABLED_PROPERTY_NAME = "fossology.pipeline.enabled";
+    private static final String MAX_CONCURRENT_JOBS_PROPERTY_NAME = "fossology.pipeline.maxConcurrentJobs";
+    private static final String POLL_INTERVAL_PROPERTY_NAME = "fossology.pipeline.pollInterval.seconds";
+    private static final String MAX_POLL_INTERVAL_PROPERTY_NAME = "fossology.pipeline.maxPollInterval.seconds";
+
+    private final Logger log = LoggerFactory.getLogger(this.getClass());
+
+    private final ThriftClients thriftClients;
+    private final FossologyHandler fossologyHandler;
+    private final FossologyRestClient fossologyRestClient;
+    private final Clock clock;
+
+    private final boolean enabled;
+    private final int maxConcurrentJobs;
+    private final long pollIntervalMillis;
+    private final long maxPollIntervalMillis;
+
+    private final Map<String, Backoff> backoffs = new ConcurrentHashMap<>();
+    private final Set<String> runningReleaseIds = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService workers;
+    // steps are invoked in the polling thread until the pipeline is started
+    private Executor stepExecutor = Runnable::run;
+
+    private static class Backoff {
+        private volatile long nextPollAt;
+        private volatile long interval;
+    }
+
+    @Autowired
+    public FossologyPipeline(ThriftClients thriftClients, FossologyHandler fossologyHandler,
+            FossologyRestClient fossologyRestClient) {
+        this(thriftClients, fossologyHandler, fossologyRestClient, Clock.systemUTC(),
+                CommonUtils.loadProperties(FossologyPipeline.class, PROPERTIES_FILE_PATH));
+    }
+
+    FossologyPipeline(ThriftClients thriftClients, FossologyHandler fossologyHandler,
+            FossologyRestClient fossologyRestClient, Clock clock, Properties props) {
+        this.thriftClients = thriftClients;
+        this.fossologyHandler = fossologyHandler;
+        this.fossologyRestClient = fossologyRestClient;
+        this.clock = clock;
+
+        enabled = Boolean.parseBoolean(props.getProperty(ENABLED_PROPERTY_NAME, "true"));
+        maxConcurrentJobs = Math.max(Integer.parseInt(props.getProperty(MAX_CONCURRENT_JOBS_PROPERTY_NAME, "4")), 1);
+        pollIntervalMillis = TimeUnit.SECONDS
+                .toMillis(Math.max(Long.parseLong(props.getProperty(POLL_INTERVAL_PROPERTY_NAME, "30")), 1));
+        maxPollIntervalMillis = Math.max(pollIntervalMillis, TimeUnit.SECONDS
+                .toMillis(Long.parseLong(props.getProperty(MAX_POLL_INTERVAL_PROPERTY_NAME, "900"))));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            log.info("FOSSology pipeline is disabled, processes are only continued by calls of process().");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("fossology-pipeline-%d")
+                .setDaemon(true)
+                .build());
+        workers = Executors.newFixedThreadPool(maxConcurrentJobs, new ThreadFactoryBuilder()
+                .setNameFormat("fossology-pipeline-worker-%d")
+                .setDaemon(true)
+                .build());
+        stepExecutor = workers;
+        scheduler.scheduleWithFixedDelay(this::pollQuietly, pollIntervalMillis, pollIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            workers.shutdownNow();
+        }
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.error("Could not continue the FOSSology processes.", e);
+        }
+    }
+
+    /**
+     * Invokes the next step of every open process which is due. Steps which have
+     * to wait for FOSSology are only invoked, once FOSSology is done.
+     */
+    void poll() throws TException {
+        Map<String, ExternalToolProcess> openProcesses = thriftClients.makeComponentClient()
+                .getOpenExternalToolProcesses(ExternalTool.FOSSOLOGY);
+        backoffs.keySet().retainAll(openProcesses.keySet());
+        openProcesses.values().forEach(FossologyUtils::ensureOrderOfProcessSteps);
+
+        long now = clock.millis();
+        int startedJobs = (int) openProcesses.values().stream().filter(this::isStartedInFossology).count();
+        Map<Integer, String> releaseIdsByScanJobId = new HashMap<>();
+        List<String> dueReleaseIds = new ArrayList<>();
+
+        for (Map.Entry<String, ExternalToolProcess> entry : sortedByStart(openProcesses)) {
+            String releaseId = entry.getKey();
+            ExternalToolProcess fossologyProcess = entry.getValue();
+            if (runningReleaseIds.contains(releaseId) || !isDue(releaseId, now)) {
+                continue;
+            }
+            if (!isStartedInFossology(fossologyProcess)) {
+                if (startedJobs >= maxConcurrentJobs) {
+                    continue;
+                }
+                startedJobs++;
+                dueReleaseIds.add(releaseId);
+                continue;
+            }
+            ExternalToolProcessStep furthestStep = getFurthestStep(fossologyProcess);
+            Integer scanJobId = getRunningScanJobId(furthestStep);
+            if (scanJobId != null) {
+                releaseIdsByScanJobId.put(scanJobId, releaseId);
+            } else {
+                dueReleaseIds.add(releaseId);
+            }
+        }
+
+        if (!releaseIdsByScanJobId.isEmpty()) {
+            Map<Integer, String> scanStatuses = fossologyRestClient.checkScanStatuses(releaseIdsByScanJobId.keySet());
+            releaseIdsByScanJobId.forEach((scanJobId, releaseId) -> {
+                String status = scanStatuses.get(scanJobId);
+                if (status == null || FossologyHandler.isScanInProgress(status)) {
+                    backOff(releaseId, now);
+                } else {
+                    dueReleaseIds.add(releaseId);
+                }
+            });
+        }
+
+        for (String releaseId : dueReleaseIds) {
+            ExternalToolProcess fossologyProcess = openProcesses.get(releaseId);
+            runningReleaseIds.add(releaseId);
+            try {
+                stepExecutor.execute(() -> invokeNextStep(releaseId, fossologyProcess));
+            } catch (RejectedExecutionException e) {
+                runningReleaseIds.remove(releaseId);
+                log.warn("Could not invoke the next FOSSology step for release with id {}.", releaseId, e);
+            }
+        }
+    }
+
+    private void invokeNextStep(String releaseId, ExternalToolProcess fossologyProcess) {
+        try {
+            String startedBy = fossologyProcess.getProcessSteps().get(0).getStartedBy();
+            User user = thriftClients.makeUserClient().getByEmail(startedBy);
+            if (user == null) {
+                log.error("User {} who started the FOSSology process of release with id {} does not exist.",
+                        startedBy, releaseId);
+                backOff(releaseId, clock.millis());
+                return;
+            }
+            ExternalToolProcess nextFossologyProcess = fossologyHandler.process(releaseId, user);
+            if (nextFossologyProcess == null || nextFossologyProcess.equals(fossologyProcess)) {
+                backOff(releaseId, clock.millis());
+            } else {
+                backoffs.remove(releaseId);
+            }
+        } catch (TException | RuntimeException e) {
+            log.error("Could not invoke the next FOSSology step for release with id {}.", releaseId, e);
+            backOff(releaseId, clock.millis());
+        } finally {
+            runningReleaseIds.remove(releaseId);
+        }
+    }
+
+    private boolean isDue(String releaseId, long now) {
+        Backoff backoff = backoffs.get(releaseId);
+        return backoff == null || backoff.nextPollAt <= now;
+    }
+
+    private void backOff(String releaseId, long now) {
+        Backoff backoff = backoffs.computeIfAbsent(releaseId, id -> new Backoff());
+        backoff.interval = Math.min(Math.max(backoff.interval * 2, pollIntervalMillis), maxPollIntervalMillis);
+        backoff.nextPollAt = now + backoff.interval;
+    }
+
+    /**
+     * A process counts as a job in FOSSology as soon as its upload has been
+     * started.
+     */
+    private boolean isStartedInFossology(ExternalToolProcess fossologyProcess) {
+        ExternalToolProcessStep furthestStep = getFurthestStep(fossologyProcess);
+        return furthestStep != null && !(FossologyUtils.FOSSOLOGY_STEP_NAME_UPLOAD.equals(furthestStep.getStepName())
+                && ExternalToolProcessStatus.NEW.equals(furthestStep.getStepStatus()));
+    }
+
+    private Integer getRunningScanJobId(ExternalToolProcessStep furthestStep) {
+        if (!FossologyUtils.FOSSOLOGY_STEP_NAME_SCAN.equals(furthestStep.getStepName())
+                || !ExternalToolProcessStatus.IN_WORK.equals(furthestStep.getStepStatus())
+                || StringUtils.isEmpty(furthestStep.getProcessStepIdInTool())
+                || !StringUtils.isNumeric(furthestStep.getProcessStepIdInTool())) {
+            return null;
+        }
+        return Integer.valueOf(furthestStep.getProcessStepIdInTool());
+    }
+
+    private static ExternalToolProcessStep getFurthestStep(ExternalToolProcess fossologyProcess) {
+        if (fossologyProcess.getProcessSteps().isEmpty()) {
+            return null;
+        }
+        return fossologyProcess.getProcessSteps().get(fossologyProcess.getProcessSteps().size() - 1);
+    }
+
+    /**
+     * Processes are continued in the order they were started, so that new ones
+     * cannot starve older ones.
+     */
+    private static List<Map.Entry<String, ExternalToolProcess>> sortedByStart(
+            Map<String, ExternalToolProcess> openProcesses) {
+        List<Map.Entry<String, ExternalToolProcess>> entries = new ArrayList<>(openProcesses.entrySet());
+        entries.sort(Comparator.comparing(entry -> {
+            List<ExternalToolProcessStep> steps = entry.getValue().getProcessSteps();
+            return steps.isEmpty() ? "" : StringUtils.defaultString(steps.get(0).getStartedOn());
+        }));
+        return entries;
+    }
+}
@@ -19,7 +19,6 @@ import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
@@ -28,12 +27,13 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -88,6 +88,8 @@ public class FossologyRestClient {
 
     private static final String PARAMETER_VALUE_REPORT_FORMAT_SPDX2 = "spdx2";
 
+    private static final int JOB_STATUS_BATCH_LIMIT = 1000;
+
     private final Logger log = LoggerFactory.getLogger(this.getClass());
 
     private final FossologyRestConfig restConfig;
@@ -296,6 +298,57 @@ public class FossologyRestClient {
         return responseMap;
     }
 
+    /**
+     * Checks the status of several former started scan jobs with a single request
+     * for the most recent jobs. Jobs which are not among them are queried one by
+     * one.
+     *
+     * @param jobIds the ids of the scan jobs whose status should be queried.
+     * @return the status of each job that could be queried, by its jobId.
+     */
+    public Map<Integer, String> checkScanStatuses(Collection<Integer> jobIds) {
+        String baseUrl = restConfig.getBaseUrlWithSlash();
+        String token = restConfig.getAccessToken();
+        Map<Integer, String> statuses = new HashMap<>();
+
+        if (jobIds.isEmpty()) {
+            return statuses;
+        }
+
+        if (StringUtils.isEmpty(baseUrl) || StringUtils.isEmpty(token)) {
+            log.error("Configuration is missing values! Url: <{}>, Token: <{}>", baseUrl, token);
+            return statuses;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + token);
+        headers.set("limit", JOB_STATUS_BATCH_LIMIT + "");
+
+        try {
+            JsonNode[] jobs = restTemplate.exchange(baseUrl + "jobs", HttpMethod.GET, new HttpEntity<>(headers),
+                    JsonNode[].class).getBody();
+            for (JsonNode job : jobs == null ? new JsonNode[0] : jobs) {
+                int jobId = job.path("id").asInt(-1);
+                if (jobIds.contains(jobId) && job.hasNonNull("status")) {
+                    statuses.put(jobId, job.get("status").asText());
+                }
+            }
+        } catch (RestClientException e) {
+            log.error("Error while trying to query status of {} scanning processes.", jobIds.size(), e);
+            return statuses;
+        }
+
+        for (Integer jobId : jobIds) {
+            if (!statuses.containsKey(jobId)) {
+                String status = checkScanStatus(jobId).get("status");
+                if (status != null) {
+                    statuses.put(jobId, status);
+                }
+            }
+        }
+        return statuses;
+    }
+
     /**
      * Triggers a report generatoin of a former upload whose uploadId must be given.
      * The report will have the format
@@ -342,46 +395,44 @@ public class FossologyRestClient {
     }
 
     /**
-     * Tries to get the report identified by the given reportId as an
-     * {@link InputStream}. This one will not be streamed through as
-     * {@link RestTemplate} persists the response first and then offers an
-     * {@link InputStream} of the persisted version. This method will also return
-     * null while the report is still generated. So you might want to retry after a
+     * Streams the report identified by the given reportId to the given consumer
+     * while it is downloaded, so it is neither held in memory nor persisted
+     * first. Fossology answers with an error while the report is still generated,
+     * in this case the consumer is not called and you might want to retry after a
      * certain period of time.
      *
-     * @param reportId the id of the report to download
-     * @return an InputStream containing the report content or null in case of
-     *         errors or if the generation just didn't finish yet.
+     * @param reportId       the id of the report to download
+     * @param reportConsumer reads the report content, the stream is closed
+     *                       afterwards
+     * @return true if the report has been passed to the consumer, false in case
+     *         of errors or if the generation just didn't finish yet.
      */
-    public InputStream getReport(int reportId) {
+    public boolean getReport(int reportId, Consumer<InputStream> reportConsumer) {
         String baseUrl = restConfig.getBaseUrlWithSlash();
         String token = restConfig.getAccessToken();
 
         if (StringUtils.isEmpty(baseUrl) || StringUtils.isEmpty(token)) {
             log.error("Configuration is missing values! Url: <{}>, Token: <{}>", baseUrl, token);
-            return null;
+            return false;
         }
 
         if (reportId < 0) {
             log.error("Invalid arguments, reportId must not be less thann 0!");
-            return null;
+            return false;
         }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + token);
-
         try {
-            ResponseEntity<Resource> responseEntity = restTemplate.exchange(baseUrl + "report/" + reportId,
-                    HttpMethod.GET, new HttpEntity<>(headers), Resource.class);
-
-            return responseEntity.getBody().getInputStream();
-        } catch (RestClientException | IOException e) {
-            // we could distinguish further since fossology would send a 503 with
-            // Retry-After header in seconds if the report isn't ready yet. But since our
-            // workflow is currently completely pull based there would not be a huge
-            // advantage to use this and it would just complicate things right now.
-            log.error("Error while trying to download report with id {}.", e, reportId);
-            return null;
+            return Boolean.TRUE.equals(restTemplate.execute(baseUrl + "report/" + reportId, HttpMethod.GET,
+                    request -> request.getHeaders().set("Authorization", "Bearer " + token),
+                    response -> {
+                        reportConsumer.accept(response.getBody());
+                        return true;
+                    }));
+        } catch (RestClientException e) {
+            // fossology sends a 503 with Retry-After header in seconds if the report
+            // isn't ready yet, the pipeline backs off on its own anyway.
+            log.error("Error while trying to download report with id {}.", reportId, e);
+            return false;
         }
     }
 
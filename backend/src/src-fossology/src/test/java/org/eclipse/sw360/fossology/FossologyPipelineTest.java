@@ -0,0 +1,235 @@
+/*
+ * Copyright Siemens AG, 2020. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.fossology;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.ByteStreams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.eclipse.sw360.datahandler.common.FossologyUtils;
+import org.eclipse.sw360.datahandler.thrift.ThriftClients;
+import org.eclipse.sw360.datahandler.thrift.components.ComponentService;
+import org.eclipse.sw360.datahandler.thrift.components.ExternalTool;
+import org.eclipse.sw360.datahandler.thrift.components.ExternalToolProcess;
+import org.eclipse.sw360.datahandler.thrift.components.ExternalToolProcessStatus;
+import org.eclipse.sw360.datahandler.thrift.components.ExternalToolProcessStep;
+import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.datahandler.thrift.users.UserService;
+import org.eclipse.sw360.fossology.config.FossologyRestConfig;
+import org.eclipse.sw360.fossology.rest.FossologyRestClient;
+
+import org.apache.thrift.TException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the pipeline against a local stub of the FOSSology REST API.
+ */
+public class FossologyPipelineTest {
+
+    private static final String USER_EMAIL = "user@sw360.org";
+
+    private HttpServer fossologyStub;
+    private final AtomicInteger jobListRequests = new AtomicInteger();
+    private final Map<String, ExternalToolProcess> openProcesses = new HashMap<>();
+    private String jobs = "[]";
+
+    private FossologyRestClient fossologyRestClient;
+    private FossologyHandler fossologyHandler;
+    private Clock clock;
+    private User user;
+
+    @Before
+    public void setUp() throws IOException, TException {
+        fossologyStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        fossologyStub.createContext("/repo/api/v1/jobs", exchange -> {
+            jobListRequests.incrementAndGet();
+            respond(exchange, 200, jobs);
+        });
+        fossologyStub.createContext("/repo/api/v1/report/7", exchange -> respond(exchange, 200, "<rdf:RDF/>"));
+        fossologyStub.createContext("/repo/api/v1/report/8",
+                exchange -> respond(exchange, 503, "{\"code\":503,\"message\":\"Report not ready\"}"));
+        fossologyStub.start();
+
+        FossologyRestConfig restConfig = mock(FossologyRestConfig.class);
+        when(restConfig.getBaseUrlWithSlash())
+                .thenReturn("http://localhost:" + fossologyStub.getAddress().getPort() + "/repo/api/v1/");
+        when(restConfig.getAccessToken()).thenReturn("token");
+        fossologyRestClient = new FossologyRestClient(new ObjectMapper(), restConfig, new RestTemplate());
+
+        user = new User().setEmail(USER_EMAIL);
+        fossologyHandler = mock(FossologyHandler.class);
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+    }
+
+    @After
+    public void tearDown() {
+        fossologyStub.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private FossologyPipeline createPipeline(int maxConcurrentJobs) throws TException {
+        ComponentService.Iface componentClient = mock(ComponentService.Iface.class);
+        when(componentClient.getOpenExternalToolProcesses(ExternalTool.FOSSOLOGY)).thenAnswer(invocation -> {
+            Map<String, ExternalToolProcess> copies = new HashMap<>();
+            openProcesses.forEach((releaseId, fossologyProcess) -> copies.put(releaseId, fossologyProcess.deepCopy()));
+            return copies;
+        });
+        UserService.Iface userClient = mock(UserService.Iface.class);
+        when(userClient.getByEmail(USER_EMAIL)).thenReturn(user);
+        ThriftClients thriftClients = mock(ThriftClients.class);
+        when(thriftClients.makeComponentClient()).thenReturn(componentClient);
+        when(thriftClients.makeUserClient()).thenReturn(userClient);
+
+        Properties props = new Properties();
+        props.setProperty("fossology.pipeline.maxConcurrentJobs", maxConcurrentJobs + "");
+        props.setProperty("fossology.pipeline.pollInterval.seconds", "30");
+        props.setProperty("fossology.pipeline.maxPollInterval.seconds", "120");
+        return new FossologyPipeline(thriftClients, fossologyHandler, fossologyRestClient, clock, props);
+    }
+
+    private static ExternalToolProcess fossologyProcess(String startedOn, ExternalToolProcessStep... steps) {
+        ExternalToolProcess fossologyProcess = new ExternalToolProcess()
+                .setExternalTool(ExternalTool.FOSSOLOGY)
+                .setProcessStatus(ExternalToolProcessStatus.IN_WORK)
+                .setProcessSteps(new ArrayList<>(Arrays.asList(steps)));
+        fossologyProcess.getProcessSteps().get(0).setStartedOn(startedOn);
+        return fossologyProcess;
+    }
+
+    private static ExternalToolProcessStep step(String stepName, ExternalToolProcessStatus status, String idInTool) {
+        return new ExternalToolProcessStep()
+                .setStepName(stepName)
+                .setStepStatus(status)
+                .setProcessStepIdInTool(idInTool)
+                .setStartedBy(USER_EMAIL)
+                .setStartedByGroup("DEPARTMENT")
+                .setStartedOn("2020-01-01T00:00:00Z");
+    }
+
+    private static ExternalToolProcess newUpload(String startedOn) {
+        return fossologyProcess(startedOn,
+                step(FossologyUtils.FOSSOLOGY_STEP_NAME_UPLOAD, ExternalToolProcessStatus.NEW, null));
+    }
+
+    private static ExternalToolProcess runningScan(String jobId) {
+        return fossologyProcess("2020-01-01T00:00:00Z",
+                step(FossologyUtils.FOSSOLOGY_STEP_NAME_UPLOAD, ExternalToolProcessStatus.DONE, "1"),
+                step(FossologyUtils.FOSSOLOGY_STEP_NAME_SCAN, ExternalToolProcessStatus.IN_WORK, jobId));
+    }
+
+    @Test
+    public void testPollQueriesRunningScansWithOneRequest() throws TException {
+        openProcesses.put("finished", runningScan("11"));
+        openProcesses.put("running", runningScan("12"));
+        jobs = "[{\"id\":11,\"status\":\"Completed\",\"eta\":0},{\"id\":12,\"status\":\"Processing\",\"eta\":60}]";
+
+        createPipeline(4).poll();
+
+        assertThat(jobListRequests.get(), is(1));
+        verify(fossologyHandler).process("finished", user);
+        verify(fossologyHandler, never()).process("running", user);
+    }
+
+    @Test
+    public void testPollStartsUploadsOnlyUpToMaxConcurrentJobs() throws TException {
+        openProcesses.put("running", runningScan("12"));
+        openProcesses.put("oldest", newUpload("2020-01-01T00:00:00Z"));
+        openProcesses.put("newer", newUpload("2020-01-02T00:00:00Z"));
+        openProcesses.put("newest", newUpload("2020-01-03T00:00:00Z"));
+        jobs = "[{\"id\":12,\"status\":\"Processing\",\"eta\":60}]";
+
+        createPipeline(2).poll();
+
+        verify(fossologyHandler).process("oldest", user);
+        verify(fossologyHandler, never()).process("newer", user);
+        verify(fossologyHandler, never()).process("newest", user);
+    }
+
+    @Test
+    public void testPollBacksOffWhileProcessDoesNotChange() throws TException {
+        ExternalToolProcess waitingForReport = fossologyProcess("2020-01-01T00:00:00Z",
+                step(FossologyUtils.FOSSOLOGY_STEP_NAME_UPLOAD, ExternalToolProcessStatus.DONE, "1"),
+                step(FossologyUtils.FOSSOLOGY_STEP_NAME_REPORT, ExternalToolProcessStatus.IN_WORK, "8"),
+                step(FossologyUtils.FOSSOLOGY_STEP_NAME_SCAN, ExternalToolProcessStatus.DONE, "11"));
+        openProcesses.put("release", waitingForReport);
+        when(fossologyHandler.process("release", user)).thenAnswer(invocation -> {
+            ExternalToolProcess unchanged = waitingForReport.deepCopy();
+            FossologyUtils.ensureOrderOfProcessSteps(unchanged);
+            return unchanged;
+        });
+        FossologyPipeline pipeline = createPipeline(4);
+
+        pipeline.poll();
+        pipeline.poll();
+        verify(fossologyHandler, times(1)).process("release", user);
+
+        when(clock.millis()).thenReturn(30_000L);
+        pipeline.poll();
+        when(clock.millis()).thenReturn(60_000L);
+        pipeline.poll();
+        verify(fossologyHandler, times(2)).process("release", user);
+
+        when(clock.millis()).thenReturn(90_000L);
+        pipeline.poll();
+        verify(fossologyHandler, times(3)).process("release", user);
+    }
+
+    @Test
+    public void testGetReportStreamsToConsumer() {
+        List<String> reports = new ArrayList<>();
+
+        boolean downloaded = fossologyRestClient.getReport(7, report -> {
+            try {
+                reports.add(new String(ByteStreams.toByteArray(report), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        assertThat(downloaded, is(true));
+        assertThat(reports, contains("<rdf:RDF/>"));
+    }
+
+    @Test
+    public void testGetReportWhileItIsGenerated() {
+        List<String> reports = new ArrayList<>();
+
+        boolean downloaded = fossologyRestClient.getReport(8, report -> reports.add("called"));
+
+        assertThat(downloaded, is(false));
+        assertThat(reports, is(empty()));
+    }
+}
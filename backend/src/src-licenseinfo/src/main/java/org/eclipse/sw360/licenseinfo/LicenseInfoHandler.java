@@ -16,6 +16,7 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.sw360.datahandler.common.CommonUtils;
 import org.eclipse.sw360.datahandler.common.DatabaseSettings;
@@ -46,11 +47,16 @@ import org.apache.thrift.TException;
 import java.net.MalformedURLException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.eclipse.sw360.datahandler.common.CommonUtils.nullToEmptySet;
+import static org.eclipse.sw360.datahandler.common.CommonUtils.nullToEmptyString;
 import static org.eclipse.sw360.datahandler.common.SW360Assert.assertNotNull;
 import static org.eclipse.sw360.datahandler.common.WrappedException.wrapTException;
 import static org.eclipse.sw360.datahandler.thrift.licenseinfo.OutputFormatVariant.DISCLOSURE;
@@ -63,17 +69,30 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
     private static final Logger LOGGER = LogManager.getLogger(LicenseInfoHandler.class);
     private static final int CACHE_TIMEOUT_MINUTES = 15;
     private static final int CACHE_MAX_ITEMS = 100;
+    private static final String PROPERTIES_FILE_PATH = "/sw360.properties";
+    // weight of the license info cache in kilobytes of license texts
+    private static final long LICENSE_INFO_CACHE_MAX_WEIGHT;
+    private static final int EXTRACTION_THREADS;
     private static final String DEFAULT_LICENSE_INFO_HEADER_FILE = "/DefaultLicenseInfoHeader.txt";
     private static final String DEFAULT_LICENSE_INFO_TEXT = SW360Utils.dropCommentedLine(LicenseInfoHandler.class, DEFAULT_LICENSE_INFO_HEADER_FILE);
     private static final String DEFAULT_OBLIGATIONS_FILE = "/DefaultObligations.txt";
     private static final String DEFAULT_OBLIGATIONS_TEXT = SW360Utils.dropCommentedLine(LicenseInfoHandler.class, DEFAULT_OBLIGATIONS_FILE);
     private static final String MSG_NO_RELEASE_GIVEN = "No release given";
 
+    private static volatile ExecutorService extractionExecutor;
+
+    static {
+        Properties props = CommonUtils.loadProperties(LicenseInfoHandler.class, PROPERTIES_FILE_PATH);
+        LICENSE_INFO_CACHE_MAX_WEIGHT = Long.parseLong(props.getProperty("licenseinfo.cache.max_weight_kb", "102400"));
+        EXTRACTION_THREADS = Integer.parseInt(props.getProperty("licenseinfo.extraction.threads",
+                String.valueOf(Math.min(8, Runtime.getRuntime().availableProcessors()))));
+    }
+
     protected List<LicenseInfoParser> parsers;
     protected List<OutputGenerator<?>> outputGenerators;
     protected ComponentDatabaseHandler componentDatabaseHandler;
     protected ProjectDatabaseHandler projectDatabaseHandler;
-    protected Cache<Object[], List<LicenseInfoParsingResult>> licenseInfoCache;
+    protected Cache<LicenseInfoCacheKey, List<LicenseInfoParsingResult>> licenseInfoCache;
     protected Cache<String, List<ObligationParsingResult>> obligationCache;
     protected Cache<String, LicenseInfoParsingResult> licenseObligationMappingCache;
 
@@ -89,19 +108,20 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
         this.componentDatabaseHandler = componentDatabaseHandler;
         this.projectDatabaseHandler = projectDatabaseHandler;
         this.licenseInfoCache = CacheBuilder.newBuilder().expireAfterWrite(CACHE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
-                .maximumSize(CACHE_MAX_ITEMS).build();
+                .maximumWeight(LICENSE_INFO_CACHE_MAX_WEIGHT).weigher(LicenseInfoHandler::weighInKilobytes).build();
         this.obligationCache = CacheBuilder.newBuilder().expireAfterWrite(CACHE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
                 .maximumSize(CACHE_MAX_ITEMS).build();
         this.licenseObligationMappingCache = CacheBuilder.newBuilder().expireAfterWrite(CACHE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
                 .maximumSize(CACHE_MAX_ITEMS).build();
 
         AttachmentContentProvider contentProvider = attachment -> attachmentDatabaseHandler.getAttachmentContent(attachment.getAttachmentContentId());
+        CLIFileReader cliFileReader = new CLIFileReader(attachmentDatabaseHandler.getAttachmentConnector());
 
         // @formatter:off
         parsers = Lists.newArrayList(
             new SPDXParser(attachmentDatabaseHandler.getAttachmentConnector(), contentProvider),
-            new CLIParser(attachmentDatabaseHandler.getAttachmentConnector(), contentProvider),
-            new CombinedCLIParser(attachmentDatabaseHandler.getAttachmentConnector(), contentProvider, componentDatabaseHandler)
+            new CLIParser(attachmentDatabaseHandler.getAttachmentConnector(), contentProvider, cliFileReader),
+            new CombinedCLIParser(attachmentDatabaseHandler.getAttachmentConnector(), contentProvider, componentDatabaseHandler, cliFileReader)
         );
 
         outputGenerators = Lists.newArrayList(
@@ -193,15 +213,10 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
             return Collections.singletonList(noSourceParsingResult(MSG_NO_RELEASE_GIVEN));
         }
 
-        if (licenseInfoCache != null) {
-            for (Entry<Object[], List<LicenseInfoParsingResult>> entry : licenseInfoCache.asMap().entrySet()) {
-                Object[] key = entry.getKey();
-                List<LicenseInfoParsingResult> cachedValue = entry.getValue();
-                if (attachmentContentId.equals(key[0].toString()) && includeConcludedLicense == (boolean) key[1]
-                        && cachedValue != null) {
-                    return cachedValue;
-                }
-            }
+        LicenseInfoCacheKey cacheKey = new LicenseInfoCacheKey(attachmentContentId, includeConcludedLicense);
+        List<LicenseInfoParsingResult> cachedResults = licenseInfoCache.getIfPresent(cacheKey);
+        if (cachedResults != null) {
+            return cachedResults;
         }
 
         Attachment attachment = nullToEmptySet(release.getAttachments()).stream()
@@ -239,7 +254,6 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
             results = assignReleaseToLicenseInfoParsingResults(results, release);
             results = assignComponentToLicenseInfoParsingResults(results, release, user);
 
-            Object[] cacheKey = new Object[] { attachmentContentId, includeConcludedLicense };
             licenseInfoCache.put(cacheKey, results);
             return results;
         } catch (WrappedTException exception) {
@@ -488,7 +502,7 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
 
     protected Collection<LicenseInfoParsingResult> getAllReleaseLicenseInfos(Map<Release, Map<String,Boolean>> releaseToSelectedAttachmentIds,
             User user, Map<String, Set<LicenseNameWithText>> excludedLicensesPerAttachment) throws TException {
-        List<LicenseInfoParsingResult> results = Lists.newArrayList();
+        List<ExtractionTask<LicenseInfoParsingResult>> tasks = Lists.newArrayList();
 
         for (Entry<Release, Map<String,Boolean>> entry : releaseToSelectedAttachmentIds.entrySet()) {
             for (Entry<String, Boolean> attachmentIdUseLicenseInfoFromFileEntry : entry.getValue().entrySet()) {
@@ -496,31 +510,115 @@ public class LicenseInfoHandler implements LicenseInfoService.Iface {
                 if (attachmentContentId != null) {
                     Set<LicenseNameWithText> licencesToExclude = excludedLicensesPerAttachment.getOrDefault(attachmentContentId,
                             Sets.newHashSet());
-                    List<LicenseInfoParsingResult> parsedLicenses = getLicenseInfoForAttachment(entry.getKey(),
-                            attachmentContentId, attachmentIdUseLicenseInfoFromFileEntry.getValue(), user);
-
-                    results.addAll(
-                            parsedLicenses.stream().map(result -> filterLicenses(result, licencesToExclude)).collect(Collectors.toList()));
+                    tasks.add(() -> getLicenseInfoForAttachment(entry.getKey(), attachmentContentId,
+                            attachmentIdUseLicenseInfoFromFileEntry.getValue(), user).stream()
+                            .map(result -> filterLicenses(result, licencesToExclude))
+                            .collect(Collectors.toList()));
                 }
             }
         }
 
-        return results;
+        return runExtraction(tasks);
     }
 
     private Collection<ObligationParsingResult> getAllReleaseObligations(Map<Release, Map<String,Boolean>> releaseToSelectedAttachmentIds, User user)
             throws TException {
-        List<ObligationParsingResult> results = Lists.newArrayList();
+        List<ExtractionTask<ObligationParsingResult>> tasks = Lists.newArrayList();
 
         for (Entry<Release, Map<String,Boolean>> entry : releaseToSelectedAttachmentIds.entrySet()) {
             for (String attachmentContentId : entry.getValue().keySet()) {
                 if (attachmentContentId != null) {
-                    results.addAll(getObligationsForAttachment(entry.getKey(), attachmentContentId, user));
+                    tasks.add(() -> getObligationsForAttachment(entry.getKey(), attachmentContentId, user));
+                }
+            }
+        }
+
+        return runExtraction(tasks);
+    }
+
+    /**
+     * Runs the extraction of the selected attachments on the shared extraction executor. The results are returned in
+     * the order of the tasks, the first failure is rethrown.
+     */
+    private <T> List<T> runExtraction(List<ExtractionTask<T>> tasks) throws TException {
+        List<T> results = Lists.newArrayList();
+        if (tasks.size() <= 1 || EXTRACTION_THREADS <= 1) {
+            for (ExtractionTask<T> task : tasks) {
+                results.addAll(task.extract());
+            }
+            return results;
+        }
+
+        ExecutorService executor = getExtractionExecutor();
+        List<CompletableFuture<List<T>>> futures = tasks.stream()
+                .map(task -> CompletableFuture.supplyAsync(() -> wrapTException(() -> task.extract()), executor))
+                .collect(Collectors.toList());
+        try {
+            futures.forEach(future -> results.addAll(future.join()));
+            return results;
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof WrappedTException) {
+                throw ((WrappedTException) e.getCause()).getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static ExecutorService getExtractionExecutor() {
+        if (extractionExecutor == null) {
+            synchronized (LicenseInfoHandler.class) {
+                if (extractionExecutor == null) {
+                    extractionExecutor = Executors.newFixedThreadPool(EXTRACTION_THREADS, new ThreadFactoryBuilder()
+                            .setNameFormat("licenseinfo-extraction-%d")
+                            .setDaemon(true)
+                            .build());
                 }
             }
         }
+        return extractionExecutor;
+    }
+
+    private static int weighInKilobytes(LicenseInfoCacheKey key, List<LicenseInfoParsingResult> results) {
+        long characters = results.stream()
+                .filter(LicenseInfoParsingResult::isSetLicenseInfo)
+                .map(LicenseInfoParsingResult::getLicenseInfo)
+                .flatMap(licenseInfo -> nullToEmptySet(licenseInfo.getLicenseNamesWithTexts()).stream())
+                .mapToLong(license -> nullToEmptyString(license.getLicenseText()).length()
+                        + nullToEmptyString(license.getAcknowledgements()).length())
+                .sum();
+        return (int) Math.min(Integer.MAX_VALUE, characters / 1024 + 1);
+    }
+
+    @FunctionalInterface
+    private interface ExtractionTask<T> {
+        List<T> extract() throws TException;
+    }
+
+    protected static final class LicenseInfoCacheKey {
+        private final String attachmentContentId;
+        private final boolean includeConcludedLicense;
+
+        LicenseInfoCacheKey(String attachmentContentId, boolean includeConcludedLicense) {
+            this.attachmentContentId = attachmentContentId;
+            this.includeConcludedLicense = includeConcludedLicense;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            LicenseInfoCacheKey that = (LicenseInfoCacheKey) o;
+            return includeConcludedLicense == that.includeConcludedLicense
+                    && Objects.equals(attachmentContentId, that.attachmentContentId);
+        }
 
-        return results;
+        @Override
+        public int hashCode() {
+            return Objects.hash(attachmentContentId, includeConcludedLicense);
+        }
     }
 
     protected LicenseInfoParsingResult filterLicenses(LicenseInfoParsingResult result, Set<LicenseNameWithText> licencesToExclude) {
@@ -9,39 +9,22 @@
  */
 package org.eclipse.sw360.licenseinfo.parsers;
 
-import com.google.common.collect.Sets;
 import org.apache.commons.lang.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
 import org.eclipse.sw360.datahandler.couchdb.AttachmentConnector;
 import org.eclipse.sw360.datahandler.thrift.SW360Exception;
+import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
 import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentContent;
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseNameWithText;
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.ObligationAtProject;
 import org.eclipse.sw360.datahandler.thrift.users.User;
-import org.w3c.dom.Document;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.stream.XMLInputFactory;
-import javax.xml.stream.XMLStreamConstants;
+import org.eclipse.sw360.licenseinfo.parsers.CLIStreamReader.CLIElement;
+
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamReader;
-import javax.xml.xpath.*;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.*;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
+import java.util.stream.Collectors;
 
-import static org.eclipse.sw360.datahandler.common.CommonUtils.closeQuietly;
 import static org.eclipse.sw360.datahandler.common.SW360Constants.LICENSE_NAME_UNKNOWN;
 import static org.eclipse.sw360.datahandler.common.SW360Constants.OBLIGATION_TOPIC_UNKNOWN;
 
@@ -50,7 +33,7 @@ import static org.eclipse.sw360.datahandler.common.SW360Constants.OBLIGATION_TOP
  *
  * @author: alex.borodin@evosoft.com
  */
-public abstract class AbstractCLIParser extends LicenseInfoParser {
+public abstract class AbstractCLIParser<C> extends LicenseInfoParser {
     private static final String LICENSE_CONTENT_ELEMENT_NAME = "Content";
     private static final String LICENSE_ACKNOWLEDGEMENTS_ELEMENT_NAME = "Acknowledgements";
     protected static final String XML_FILE_EXTENSION = ".xml";
@@ -61,15 +44,21 @@ public abstract class AbstractCLIParser extends LicenseInfoParser {
     private static final String ID_ATTRIBUTE_NAME = "id";
     private static final String EMPTY = "";
     private static final String OBLIGATION_TEXT_UNKNOWN = "Obligation text unknown";
-    private static final Logger log = LogManager.getLogger(CLIParser.class);
     private static final String SPDX_IDENTIFIER_UNKNOWN = "SPDX identifier unknown";
 
     private static final String OBLIGATION_TOPIC_ELEMENT_NAME = "Topic";
     private static final String OBLIGATION_TEXT_ELEMENT_NAME = "Text";
     private static final String OBLIGATION_LICENSE_ELEMENT_NAME = "Licenses";
 
-    public AbstractCLIParser(AttachmentConnector attachmentConnector, AttachmentContentProvider attachmentContentProvider) {
+    private final CLIFileReader cliFileReader;
+    private final String rootElementName;
+
+    AbstractCLIParser(AttachmentConnector attachmentConnector, AttachmentContentProvider attachmentContentProvider,
+                      CLIFileReader cliFileReader, String rootElementName) {
         super(attachmentConnector, attachmentContentProvider);
+        this.cliFileReader = cliFileReader;
+        this.rootElementName = rootElementName;
+        cliFileReader.register(rootElementName, this);
     }
 
     @Override
@@ -77,149 +66,83 @@ public abstract class AbstractCLIParser extends LicenseInfoParser {
         return Collections.singletonList(XML_FILE_EXTENSION);
     }
 
-    protected static String normalizeEscapedXhtml(Node node) {
-        return StringEscapeUtils.unescapeHtml(StringEscapeUtils.unescapeXml(node.getTextContent().trim()));
-    }
-
-    protected static String normalizeSpace(Node node) {
-        return StringUtils.normalizeSpace(node.getTextContent());
-    }
-
-    protected Optional<Node> findNamedAttribute(Node node, String name) {
-        NamedNodeMap childNodes = node.getAttributes();
-        return Optional.ofNullable(childNodes.getNamedItem(name));
+    protected static String normalizeEscapedXhtml(CLIElement element) {
+        return StringEscapeUtils.unescapeHtml(StringEscapeUtils.unescapeXml(element.getTextContent().trim()));
     }
 
-    protected Optional<Node> findNamedSubelement(Node node, String name) {
-        NodeList childNodes = node.getChildNodes();
-        return streamFromNodeList(childNodes).filter(n -> n.getNodeName().equalsIgnoreCase(name)).findFirst();
+    protected static String normalizeSpace(CLIElement element) {
+        return StringUtils.normalizeSpace(element.getTextContent());
     }
 
-    private Stream<Node> streamFromNodeList(NodeList nodes) {
-        Iterator<Node> iter = new NodeListIterator(nodes);
-        Iterable<Node> iterable = () -> iter;
-        return StreamSupport.stream(iterable.spliterator(), false);
-    }
-
-    protected <T> boolean hasThisXMLRootElement(AttachmentContent content, String rootElementNamespace, String rootElementName, User user, T context) throws TException {
-        XMLInputFactory xmlif = XMLInputFactory.newFactory();
-        XMLStreamReader xmlStreamReader = null;
-        InputStream attachmentStream = null;
+    @Override
+    public <T> boolean isApplicableTo(Attachment attachment, User user, T context) throws TException {
+        AttachmentContent attachmentContent = attachmentContentProvider.getAttachmentContent(attachment);
+        if (!attachmentContent.getFilename().endsWith(XML_FILE_EXTENSION)) {
+            return false;
+        }
         try {
-            attachmentStream = attachmentConnector.getAttachmentStream(content, user, context);
-            xmlStreamReader = xmlif.createXMLStreamReader(attachmentStream);
-
-            //skip to first element
-            while (xmlStreamReader.hasNext() && xmlStreamReader.next() != XMLStreamConstants.START_ELEMENT) ;
-            xmlStreamReader.require(XMLStreamConstants.START_ELEMENT, rootElementNamespace, rootElementName);
-            return true;
-        } catch (XMLStreamException | SW360Exception e) {
+            return rootElementName.equals(cliFileReader.read(attachmentContent, user, context).getRootElementName());
+        } catch (SW360Exception e) {
             return false;
-        } finally {
-            if (null != xmlStreamReader) {
-                try {
-                    xmlStreamReader.close();
-                } catch (XMLStreamException e) {
-                    // ignore it
-                }
-            }
-            closeQuietly(attachmentStream, log);
         }
     }
 
-    protected Document getDocument(InputStream attachmentStream) throws ParserConfigurationException, SAXException, IOException {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        return builder.parse(attachmentStream);
-    }
-
-    protected NodeList getNodeListByXpath(Document doc, String xpathString) throws XPathExpressionException {
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        XPathExpression xpathExpression = xpath.compile(xpathString);
-        return (NodeList) xpathExpression.evaluate(doc, XPathConstants.NODESET);
-    }
-
-    protected Set<String> nodeListToStringSet(NodeList nodes) {
-        Set<String> strings = Sets.newHashSet();
-        for (int i = 0; i < nodes.getLength(); i++) {
-            strings.add(normalizeEscapedXhtml(nodes.item(i)));
+    /**
+     * Reads the children of the root element of a file with this parser's root element
+     */
+    abstract C readContent(CLIStreamReader reader) throws XMLStreamException;
+
+    /**
+     * @return the content of the attachment as read by {@link #readContent(CLIStreamReader)}, downloading the
+     * attachment only if it has not been read by one of the CLI parsers shortly before
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> C getContent(AttachmentContent content, User user, T context) throws TException, XMLStreamException {
+        CLIFileReader.CLIFile file = cliFileReader.read(content, user, context);
+        Object fileContent = file.getContent();
+        if (!rootElementName.equals(file.getRootElementName())) {
+            throw new XMLStreamException("Unexpected root element " + file.getRootElementName() + ", expected " + rootElementName);
         }
-        return strings;
+        return (C) fileContent;
     }
 
-    protected LicenseNameWithText getLicenseNameWithTextFromLicenseNode(Node node) {
+    protected LicenseNameWithText getLicenseNameWithTextFromLicenseElement(CLIElement element) {
         return new LicenseNameWithText()
-                .setLicenseText(findNamedSubelement(node, LICENSE_CONTENT_ELEMENT_NAME)
+                .setLicenseText(element.findChild(LICENSE_CONTENT_ELEMENT_NAME)
                         .map(AbstractCLIParser::normalizeEscapedXhtml)
                         .orElse(null))
-                .setAcknowledgements(findNamedSubelement(node, LICENSE_ACKNOWLEDGEMENTS_ELEMENT_NAME)
+                .setAcknowledgements(element.findChild(LICENSE_ACKNOWLEDGEMENTS_ELEMENT_NAME)
                         .map(AbstractCLIParser::normalizeEscapedXhtml)
                         .orElse(null))
-                .setLicenseName(findNamedAttribute(node, LICENSENAME_ATTRIBUTE_NAME)
-                        .map(Node::getNodeValue)
+                .setLicenseName(element.getAttribute(LICENSENAME_ATTRIBUTE_NAME)
                         .orElse(LICENSE_NAME_UNKNOWN))
-                .setLicenseSpdxId(findNamedAttribute(node, SPDX_IDENTIFIER_ATTRIBUTE_NAME)
-                        .map(AbstractCLIParser::normalizeSpace)
+                .setLicenseSpdxId(element.getAttribute(SPDX_IDENTIFIER_ATTRIBUTE_NAME)
+                        .map(StringUtils::normalizeSpace)
                         .orElse(SPDX_IDENTIFIER_UNKNOWN))
-                .setType(findNamedAttribute(node, TYPE_ATTRIBUTE_NAME)
-                        .map(Node::getNodeValue)
+                .setType(element.getAttribute(TYPE_ATTRIBUTE_NAME)
                         .orElse(TYPE_UNKNOWN));
     }
 
-    protected ObligationAtProject getObligationFromObligationNode(Node node) {
+    protected ObligationAtProject getObligationFromObligationElement(CLIElement element) {
 
         return new ObligationAtProject()
-                .setTopic(findNamedSubelement(node, OBLIGATION_TOPIC_ELEMENT_NAME)
-                    .map(Node::getFirstChild)
+                .setTopic(element.findChild(OBLIGATION_TOPIC_ELEMENT_NAME)
+                    .filter(CLIElement::hasChildNodes)
                     .map(AbstractCLIParser::normalizeSpace)
                     .orElse(OBLIGATION_TOPIC_UNKNOWN))
-                .setText(findNamedSubelement(node, OBLIGATION_TEXT_ELEMENT_NAME)
-                    .map(Node::getFirstChild)
-                    .map(Node::getTextContent)
+                .setText(element.findChild(OBLIGATION_TEXT_ELEMENT_NAME)
+                    .filter(CLIElement::hasChildNodes)
+                    .map(CLIElement::getTextContent)
                     .orElse(OBLIGATION_TEXT_UNKNOWN))
-                .setLicenseIDs(findNamedSubelement(node, OBLIGATION_LICENSE_ELEMENT_NAME)
-                    .map((Node n) -> {
-                        List<String> strings = new ArrayList<String>();
-                        NodeListIterator it = new NodeListIterator(n.getChildNodes());
-                        while (it.hasNext()) {
-                            Node child = it.next();
-                            if(child.getFirstChild() != null) {
-                                strings.add(normalizeSpace(child));
-                            }
-                        }
-                        return strings;
-                    })
+                .setLicenseIDs(element.findChild(OBLIGATION_LICENSE_ELEMENT_NAME)
+                    .map(licenses -> licenses.getChildren().stream()
+                            .filter(CLIElement::hasChildNodes)
+                            .map(AbstractCLIParser::normalizeSpace)
+                            .collect(Collectors.toList()))
                     .orElse(new ArrayList<String>()))
-                .setType(findNamedAttribute(node, TYPE_ATTRIBUTE_NAME)
-                        .map(Node::getNodeValue)
+                .setType(element.getAttribute(TYPE_ATTRIBUTE_NAME)
                         .orElse(EMPTY))
-                .setId(findNamedAttribute(node, ID_ATTRIBUTE_NAME)
-                        .map(Node::getNodeValue)
+                .setId(element.getAttribute(ID_ATTRIBUTE_NAME)
                         .orElse(EMPTY));
     }
-
-    protected class NodeListIterator implements Iterator<Node> {
-        private final NodeList nodes;
-        private int i;
-
-        public NodeListIterator(NodeList nodes) {
-            this.nodes = nodes;
-            this.i = 0;
-        }
-
-        @Override
-        public boolean hasNext() {
-            return i < nodes.getLength();
-        }
-
-        @Override
-        public Node next() {
-            if (hasNext()) {
-                i++;
-                return nodes.item(i - 1);
-            } else {
-                throw new NoSuchElementException();
-            }
-        }
-    }
 }
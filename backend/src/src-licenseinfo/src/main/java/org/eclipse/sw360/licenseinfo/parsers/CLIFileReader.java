@@ -0,0 +1,117 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.licenseinfo.parsers;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.thrift.TException;
+import org.eclipse.sw360.datahandler.couchdb.AttachmentConnector;
+import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentContent;
+import org.eclipse.sw360.datahandler.thrift.users.User;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.sw360.datahandler.common.CommonUtils.closeQuietly;
+
+/**
+ * Reads CLI files for all CLI parsers sharing this reader. Each file is downloaded once: the root element decides
+ * which parser reads the rest of the same stream, and the result is kept for a short time, so that the applicability
+ * checks of all parsers, the license infos and the obligations of a file are served from that single download.
+ */
+public class CLIFileReader {
+    private static final Logger log = LogManager.getLogger(CLIFileReader.class);
+    private static final int CACHE_TIMEOUT_MINUTES = 1;
+    private static final int CACHE_MAX_ITEMS = 100;
+
+    private final AttachmentConnector attachmentConnector;
+    private final Map<String, AbstractCLIParser<?>> parsersByRootElement = new ConcurrentHashMap<>();
+    private final Cache<String, CLIFile> files = CacheBuilder.newBuilder()
+            .expireAfterWrite(CACHE_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+            .maximumSize(CACHE_MAX_ITEMS)
+            .build();
+
+    public CLIFileReader(AttachmentConnector attachmentConnector) {
+        this.attachmentConnector = attachmentConnector;
+    }
+
+    void register(String rootElementName, AbstractCLIParser<?> parser) {
+        parsersByRootElement.put(rootElementName, parser);
+    }
+
+    /**
+     * @throws TException if the attachment cannot be downloaded, failures while reading the xml are kept in the result
+     */
+    <T> CLIFile read(AttachmentContent content, User user, T context) throws TException {
+        CLIFile file = files.getIfPresent(content.getId());
+        if (file == null) {
+            file = download(content, user, context);
+            files.put(content.getId(), file);
+        }
+        return file;
+    }
+
+    private <T> CLIFile download(AttachmentContent content, User user, T context) throws TException {
+        InputStream attachmentStream = null;
+        try {
+            attachmentStream = attachmentConnector.getAttachmentStream(content, user, context);
+            try (CLIStreamReader reader = CLIStreamReader.open(attachmentStream)) {
+                String rootElementName = reader.getRootElementName();
+                AbstractCLIParser<?> parser = parsersByRootElement.get(rootElementName);
+                if (parser == null) {
+                    return new CLIFile(rootElementName, null, null);
+                }
+                try {
+                    return new CLIFile(rootElementName, parser.readContent(reader), null);
+                } catch (XMLStreamException e) {
+                    return new CLIFile(rootElementName, null, e);
+                }
+            }
+        } catch (XMLStreamException e) {
+            return new CLIFile(null, null, e);
+        } finally {
+            closeQuietly(attachmentStream, log);
+        }
+    }
+
+    /**
+     * The content of a CLI file as read by the parser for its root element
+     */
+    static class CLIFile {
+        private final String rootElementName;
+        private final Object content;
+        private final XMLStreamException error;
+
+        private CLIFile(String rootElementName, Object content, XMLStreamException error) {
+            this.rootElementName = rootElementName;
+            this.content = content;
+            this.error = error;
+        }
+
+        /**
+         * @return the name of the root element or null, if the file is no xml
+         */
+        String getRootElementName() {
+            return rootElementName;
+        }
+
+        Object getContent() throws XMLStreamException {
+            if (error != null) {
+                throw error;
+            }
+            return content;
+        }
+    }
+}
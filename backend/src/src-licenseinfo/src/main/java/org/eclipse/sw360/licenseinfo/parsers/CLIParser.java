@@ -26,48 +26,52 @@ import org.eclipse.sw360.datahandler.thrift.licenseinfo.ObligationInfoRequestSta
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoRequestStatus;
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseNameWithText;
 import org.eclipse.sw360.datahandler.thrift.users.User;
-import org.w3c.dom.Document;
-import org.w3c.dom.NodeList;
-import org.w3c.dom.Node;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.XPathExpressionException;
-import java.io.IOException;
-import java.io.InputStream;
+import org.eclipse.sw360.licenseinfo.parsers.CLIStreamReader.CLIElement;
+
+import javax.xml.stream.XMLStreamException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
-
-import static org.eclipse.sw360.datahandler.common.CommonUtils.closeQuietly;
+import java.util.stream.Collectors;
 
 /**
  * Class for extracting copyright and license information from a simple XML file
  * @author: alex.borodin@evosoft.com
  */
-public class CLIParser extends AbstractCLIParser {
+public class CLIParser extends AbstractCLIParser<CLIParser.CLIContent> {
 
     private static final Logger log = LogManager.getLogger(CLIParser.class);
-    private static final String COPYRIGHTS_XPATH = "/ComponentLicenseInformation/Copyright/Content";
-    private static final String LICENSES_XPATH = "/ComponentLicenseInformation/License";
-    private static final String OBLIGATIONS_XPATH = "/ComponentLicenseInformation/Obligation";
+    private static final String COPYRIGHT_ELEMENT_NAME = "Copyright";
+    private static final String COPYRIGHT_CONTENT_ELEMENT_NAME = "Content";
+    private static final String LICENSE_ELEMENT_NAME = "License";
+    private static final String OBLIGATION_ELEMENT_NAME = "Obligation";
+    private static final String SHA1_ATTRIBUTE_NAME = "componentSHA1";
+    private static final String COMPONENT_ATTRIBUTE_NAME = "component";
     private static final String CLI_ROOT_ELEMENT_NAME = "ComponentLicenseInformation";
-    private static final String CLI_ROOT_XPATH = "/ComponentLicenseInformation";
-    private static final String CLI_ROOT_ELEMENT_NAMESPACE = null;
 
     public CLIParser(AttachmentConnector attachmentConnector, AttachmentContentProvider attachmentContentProvider) {
-        super(attachmentConnector, attachmentContentProvider);
+        this(attachmentConnector, attachmentContentProvider, new CLIFileReader(attachmentConnector));
     }
 
-    @Override
-    public <T> boolean isApplicableTo(Attachment attachment, User user, T context) throws TException {
-        AttachmentContent attachmentContent = attachmentContentProvider.getAttachmentContent(attachment);
-        return attachmentContent.getFilename().endsWith(XML_FILE_EXTENSION) && hasCLIRootElement(attachmentContent, user, context);
+    public CLIParser(AttachmentConnector attachmentConnector, AttachmentContentProvider attachmentContentProvider, CLIFileReader cliFileReader) {
+        super(attachmentConnector, attachmentContentProvider, cliFileReader, CLI_ROOT_ELEMENT_NAME);
     }
 
-    private <T> boolean hasCLIRootElement(AttachmentContent content, User user, T context) throws TException {
-        return hasThisXMLRootElement(content, CLI_ROOT_ELEMENT_NAMESPACE, CLI_ROOT_ELEMENT_NAME, user, context);
+    @Override
+    CLIContent readContent(CLIStreamReader reader) throws XMLStreamException {
+        CLIContent content = new CLIContent(reader.getRootAttribute(SHA1_ATTRIBUTE_NAME).orElse(""),
+                reader.getRootAttribute(COMPONENT_ATTRIBUTE_NAME).orElse(""));
+        for (CLIElement element = reader.nextChildElement(); element != null; element = reader.nextChildElement()) {
+            if (LICENSE_ELEMENT_NAME.equals(element.getName())) {
+                content.licenseNamesWithTexts.add(getLicenseNameWithTextFromLicenseElement(element));
+            } else if (COPYRIGHT_ELEMENT_NAME.equals(element.getName())) {
+                content.copyrights.addAll(getCopyrights(element));
+            } else if (OBLIGATION_ELEMENT_NAME.equals(element.getName())) {
+                content.obligations.add(getObligationFromObligationElement(element));
+            }
+        }
+        return content;
     }
 
     @Override
@@ -75,27 +79,22 @@ public class CLIParser extends AbstractCLIParser {
         AttachmentContent attachmentContent = attachmentContentProvider.getAttachmentContent(attachment);
         LicenseInfo licenseInfo = new LicenseInfo().setFilenames(Arrays.asList(attachmentContent.getFilename()));
         LicenseInfoParsingResult result = new LicenseInfoParsingResult().setLicenseInfo(licenseInfo);
-        InputStream attachmentStream = null;
 
         try {
-            attachmentStream = attachmentConnector.getAttachmentStream(attachmentContent, user, context);
-            Document doc = getDocument(attachmentStream);
-
-            Set<String> copyrights = getCopyrights(doc);
-            licenseInfo.setCopyrights(copyrights);
+            CLIContent content = getContent(attachmentContent, user, context);
 
-            licenseInfo.setLicenseNamesWithTexts(getLicenseNameWithTexts(doc));
-
-            licenseInfo.setSha1Hash(getSha1Hash(doc));
-            licenseInfo.setComponentName(getComponent(doc));
+            licenseInfo.setCopyrights(Sets.newHashSet(content.copyrights));
+            licenseInfo.setLicenseNamesWithTexts(content.licenseNamesWithTexts.stream()
+                    .map(LicenseNameWithText::new)
+                    .collect(Collectors.toSet()));
+            licenseInfo.setSha1Hash(content.sha1Hash);
+            licenseInfo.setComponentName(content.componentName);
 
             result.setAttachmentContentId(attachment.getAttachmentContentId());
             result.setStatus(LicenseInfoRequestStatus.SUCCESS);
-        } catch (ParserConfigurationException | IOException | XPathExpressionException | SAXException | SW360Exception e) {
+        } catch (XMLStreamException | SW360Exception e) {
             log.error(e);
             result.setStatus(LicenseInfoRequestStatus.FAILURE).setMessage("Error while parsing CLI file: " + e.toString());
-        } finally {
-            closeQuietly(attachmentStream, log);
         }
         return Collections.singletonList(result);
     }
@@ -105,78 +104,45 @@ public class CLIParser extends AbstractCLIParser {
         AttachmentContent attachmentContent = attachmentContentProvider.getAttachmentContent(attachment);
         ObligationParsingResult result = new ObligationParsingResult();
 
-        InputStream attachmentStream = null;
-
         try {
-            attachmentStream = attachmentConnector.getAttachmentStream(attachmentContent, user, context);
-            Document doc = getDocument(attachmentStream);
+            CLIContent content = getContent(attachmentContent, user, context);
 
-            result.setObligationsAtProject(getObligations(doc));
+            result.setObligationsAtProject(content.obligations.stream()
+                    .map(ObligationAtProject::new)
+                    .collect(Collectors.toList()));
             result.setAttachmentContentId(attachment.getAttachmentContentId());
             result.setStatus(ObligationInfoRequestStatus.SUCCESS);
-        } catch (ParserConfigurationException | IOException | XPathExpressionException | SAXException | SW360Exception e) {
+        } catch (XMLStreamException | SW360Exception e) {
             log.error(e);
             result.setStatus(ObligationInfoRequestStatus.FAILURE).setMessage("Error while parsing CLI file: " + e.toString());
-        } finally {
-            closeQuietly(attachmentStream, log);
         }
         return result;
     }
 
-    private List<ObligationAtProject> getObligations(Document doc) throws XPathExpressionException {
-        NodeList obligationNodes = getNodeListByXpath(doc, OBLIGATIONS_XPATH);
-        return nodeListToObligationList(obligationNodes);
-    }
-
-    private Set<LicenseNameWithText> getLicenseNameWithTexts(Document doc) throws XPathExpressionException {
-        NodeList licenseNodes = getNodeListByXpath(doc, LICENSES_XPATH);
-        return nodeListToLicenseNamesWithTextsSet(licenseNodes);
-    }
-
-    private Set<String> getCopyrights(Document doc) throws XPathExpressionException {
-        NodeList copyrightNodes = getNodeListByXpath(doc, COPYRIGHTS_XPATH);
-        return nodeListToStringSet(copyrightNodes);
-    }
-
-    private String getSha1Hash(Document doc) throws XPathExpressionException {
-        NodeList copyrightNodes = getNodeListByXpath(doc, CLI_ROOT_XPATH);
-
-        if(copyrightNodes.getLength() < 1) {
-            return "";
-        }
-
-        String result = findNamedAttribute(copyrightNodes.item(0), "componentSHA1")
-                        .map(Node::getNodeValue)
-                        .orElse("");
-        return result;
-    }
-
-    private String getComponent(Document doc) throws XPathExpressionException {
-        NodeList copyrightNodes = getNodeListByXpath(doc, CLI_ROOT_XPATH);
-
-        if(copyrightNodes.getLength() < 1) {
-            return "";
-        }
-
-        String result = findNamedAttribute(copyrightNodes.item(0), "component")
-                        .map(Node::getNodeValue)
-                        .orElse("");
-        return result;
-    }
-
-    private Set<LicenseNameWithText> nodeListToLicenseNamesWithTextsSet(NodeList nodes){
-        Set<LicenseNameWithText> licenseNamesWithTexts= Sets.newHashSet();
-        for (int i = 0; i < nodes.getLength(); i++){
-            licenseNamesWithTexts.add(getLicenseNameWithTextFromLicenseNode(nodes.item(i)));
+    private Set<String> getCopyrights(CLIElement copyrightElement) {
+        Set<String> copyrights = Sets.newHashSet();
+        for (CLIElement child : copyrightElement.getChildren()) {
+            if (COPYRIGHT_CONTENT_ELEMENT_NAME.equals(child.getName())) {
+                copyrights.add(normalizeEscapedXhtml(child));
+            }
         }
-        return licenseNamesWithTexts;
+        return copyrights;
     }
 
-    private List<ObligationAtProject> nodeListToObligationList(NodeList nodes) {
-        List<ObligationAtProject> obligations = Lists.newArrayList();
-        for (int i = 0; i < nodes.getLength(); i++) {
-            obligations.add(getObligationFromObligationNode(nodes.item(i)));
+    /**
+     * Licenses, copyrights and obligations of a CLI file, read in one pass. Results are built from copies, as the
+     * content may be shared by several requests for the same file.
+     */
+    static class CLIContent {
+        private final String sha1Hash;
+        private final String componentName;
+        private final Set<String> copyrights = Sets.newHashSet();
+        private final Set<LicenseNameWithText> licenseNamesWithTexts = Sets.newHashSet();
+        private final List<ObligationAtProject> obligations = Lists.newArrayList();
+
+        private CLIContent(String sha1Hash, String componentName) {
+            this.sha1Hash = sha1Hash;
+            this.componentName = componentName;
         }
-        return obligations;
     }
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.licenseinfo.parsers;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Streaming reader for CLI files. The root element is read when the reader is opened, afterwards the children of
+ * the root element are read one after another, so that only a single license, copyright or obligation element is kept
+ * in memory at a time.
+ */
+class CLIStreamReader implements AutoCloseable {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private final XMLStreamReader reader;
+    private final String rootElementName;
+    private final Map<String, String> rootAttributes;
+
+    private CLIStreamReader(XMLStreamReader reader) {
+        this.reader = reader;
+        this.rootElementName = reader.getLocalName();
+        this.rootAttributes = readAttributes(reader);
+    }
+
+    /**
+     * Opens the reader on the stream and moves it to the root element
+     *
+     * @throws XMLStreamException if the stream is no xml
+     */
+    static CLIStreamReader open(InputStream stream) throws XMLStreamException {
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(stream);
+        try {
+            //skip to first element
+            while (reader.hasNext() && reader.next() != XMLStreamConstants.START_ELEMENT) ;
+            reader.require(XMLStreamConstants.START_ELEMENT, null, null);
+        } catch (XMLStreamException e) {
+            reader.close();
+            throw e;
+        }
+        return new CLIStreamReader(reader);
+    }
+
+    String getRootElementName() {
+        return rootElementName;
+    }
+
+    Optional<String> getRootAttribute(String name) {
+        return Optional.ofNullable(rootAttributes.get(name));
+    }
+
+    /**
+     * Reads the next child element of the root element including all its content.
+     *
+     * @return the element or null, if the end of the root element has been reached
+     */
+    CLIElement nextChildElement() throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return readElement();
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private CLIElement readElement() throws XMLStreamException {
+        CLIElement element = new CLIElement(reader.getLocalName(), readAttributes(reader));
+        while (true) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    element.addChild(readElement());
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    element.appendText(reader.getText());
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    return element;
+                default:
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        reader.close();
+    }
+
+    private static Map<String, String> readAttributes(XMLStreamReader reader) {
+        if (reader.getAttributeCount() == 0) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> attributes = Maps.newHashMapWithExpectedSize(reader.getAttributeCount());
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            attributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+        return attributes;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * A fully read child element of the CLI root element
+     */
+    static class CLIElement {
+        private final String name;
+        private final Map<String, String> attributes;
+        private final List<CLIElement> children = Lists.newArrayList();
+        private final StringBuilder textContent = new StringBuilder();
+        private boolean hasChildNodes = false;
+
+        private CLIElement(String name, Map<String, String> attributes) {
+            this.name = name;
+            this.attributes = attributes;
+        }
+
+        private void addChild(CLIElement child) {
+            children.add(child);
+            textContent.append(child.textContent);
+            hasChildNodes = true;
+        }
+
+        private void appendText(String text) {
+            textContent.append(text);
+            hasChildNodes = true;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Optional<String> getAttribute(String attributeName) {
+            return Optional.ofNullable(attributes.get(attributeName));
+        }
+
+        /**
+         * Concatenated text of the element and all its descendants, like {@link org.w3c.dom.Node#getTextContent()}
+         */
+        String getTextContent() {
+            return textContent.toString();
+        }
+
+        boolean hasChildNodes() {
+            return hasChildNodes;
+        }
+
+        List<CLIElement> getChildren() {
+            return children;
+        }
+
+        Optional<CLIElement> findChild(String childName) {
+            return children.stream().filter(child -> child.getName().equalsIgnoreCase(childName)).findFirst();
+        }
+    }
+}
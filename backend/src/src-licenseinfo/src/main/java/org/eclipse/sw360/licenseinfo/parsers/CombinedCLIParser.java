@@ -27,35 +27,28 @@ import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoParsingResult
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoRequestStatus;
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseNameWithText;
 import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.licenseinfo.parsers.CLIStreamReader.CLIElement;
 import org.jetbrains.annotations.NotNull;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.XPathExpressionException;
-import java.io.IOException;
-import java.io.InputStream;
+
+import javax.xml.stream.XMLStreamException;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
-import static org.eclipse.sw360.datahandler.common.CommonUtils.closeQuietly;
 
 /**
  * Class for extracting copyright and license information from a simple XML file
  * @author: alex.borodin@evosoft.com
  */
-public class CombinedCLIParser extends AbstractCLIParser{
+public class CombinedCLIParser extends AbstractCLIParser<CombinedCLIParser.CombinedCLIContent> {
 
     private static final Logger log = LogManager.getLogger(CombinedCLIParser.class);
-    private static final String COPYRIGHTS_XPATH = "/CombinedCLI/Copyright";
-    private static final String LICENSES_XPATH = "/CombinedCLI/License";
+    private static final String COPYRIGHT_ELEMENT_NAME = "Copyright";
+    private static final String LICENSE_ELEMENT_NAME = "License";
     private static final String COPYRIGHT_CONTENT_ELEMENT_NAME = "Content";
     private static final String EXTERNAL_ID_ATTRIBUTE_NAME = "srcComponent";
     private static final String COMBINED_CLI_ROOT_ELEMENT_NAME = "CombinedCLI";
-    private static final String COMBINED_CLI_ROOT_ELEMENT_NAMESPACE = null;
 
     private static final String PROPERTIES_FILE_PATH = "/sw360.properties";
     public static final String EXTERNAL_ID_CORRELATION_KEY = "combined.cli.parser.external.id.correlation.key";
@@ -63,7 +56,11 @@ public class CombinedCLIParser extends AbstractCLIParser{
     private ComponentDatabaseHandler componentDatabaseHandler;
 
     public CombinedCLIParser(AttachmentConnector attachmentConnector, AttachmentContentProvider attachmentContentProvider, ComponentDatabaseHandler componentDatabaseHandler) {
-        super(attachmentConnector, attachmentContentProvider);
+        this(attachmentConnector, attachmentContentProvider, componentDatabaseHandler, new CLIFileReader(attachmentConnector));
+    }
+
+    public CombinedCLIParser(AttachmentConnector attachmentConnector, AttachmentContentProvider attachmentContentProvider, ComponentDatabaseHandler componentDatabaseHandler, CLIFileReader cliFileReader) {
+        super(attachmentConnector, attachmentContentProvider, cliFileReader, COMBINED_CLI_ROOT_ELEMENT_NAME);
         this.componentDatabaseHandler = componentDatabaseHandler;
     }
 
@@ -77,60 +74,55 @@ public class CombinedCLIParser extends AbstractCLIParser{
     }
 
     @Override
-    public <T> boolean isApplicableTo(Attachment attachment, User user, T context) throws TException {
-        AttachmentContent attachmentContent = attachmentContentProvider.getAttachmentContent(attachment);
-        return attachmentContent.getFilename().endsWith(XML_FILE_EXTENSION) && hasCombinedCLIRootElement(attachmentContent, user, context);
-    }
-
-    private <T> boolean hasCombinedCLIRootElement(AttachmentContent content, User user, T context) throws TException {
-        return hasThisXMLRootElement(content, COMBINED_CLI_ROOT_ELEMENT_NAMESPACE, COMBINED_CLI_ROOT_ELEMENT_NAME, user, context);
+    CombinedCLIContent readContent(CLIStreamReader reader) throws XMLStreamException {
+        CombinedCLIContent content = new CombinedCLIContent();
+        for (CLIElement element = reader.nextChildElement(); element != null; element = reader.nextChildElement()) {
+            String externalId = element.getAttribute(EXTERNAL_ID_ATTRIBUTE_NAME).orElse(null);
+            if (LICENSE_ELEMENT_NAME.equals(element.getName())) {
+                content.licenseNamesWithTextsByExternalId.computeIfAbsent(externalId, id -> Sets.newHashSet())
+                        .add(getLicenseNameWithTextFromLicenseElement(element));
+            } else if (COPYRIGHT_ELEMENT_NAME.equals(element.getName())) {
+                content.copyrightSetsByExternalId.computeIfAbsent(externalId, id -> Sets.newHashSet())
+                        .add(element.findChild(COPYRIGHT_CONTENT_ELEMENT_NAME)
+                                .map(AbstractCLIParser::normalizeEscapedXhtml)
+                                .orElse(null));
+            }
+        }
+        return content;
     }
 
     @Override
     public <T> List<LicenseInfoParsingResult> getLicenseInfos(Attachment attachment, User user, T context) throws TException {
         AttachmentContent attachmentContent = attachmentContentProvider.getAttachmentContent(attachment);
-        InputStream attachmentStream = null;
         List<LicenseInfoParsingResult> parsingResults = new ArrayList<>();
         Map<String, Release> releasesByExternalId = prepareReleasesByExternalId(getCorrelationKey());
 
         try {
-            attachmentStream = attachmentConnector.getAttachmentStream(attachmentContent, user, context);
-            Document doc = getDocument(attachmentStream);
-
-            Map<String, Set<String>> copyrightSetsByExternalId = getCopyrightSetsByExternalIdsMap(doc);
-            Map<String, Set<LicenseNameWithText>> licenseNamesWithTextsByExternalId = getLicenseNamesWithTextsByExternalIdsMap(doc);
+            CombinedCLIContent content = getContent(attachmentContent, user, context);
+            Map<String, Set<String>> copyrightSetsByExternalId = content.copyrightSetsByExternalId;
+            Map<String, Set<LicenseNameWithText>> licenseNamesWithTextsByExternalId = content.licenseNamesWithTextsByExternalId;
 
             Set<String> allExternalIds = Sets.union(copyrightSetsByExternalId.keySet(), licenseNamesWithTextsByExternalId.keySet());
             allExternalIds.forEach(extId -> {
                 LicenseInfoParsingResult parsingResult = getLicenseInfoParsingResultForExternalId(attachmentContent, releasesByExternalId, copyrightSetsByExternalId, licenseNamesWithTextsByExternalId, extId);
                 parsingResults.add(parsingResult);
             });
-        } catch (ParserConfigurationException | IOException | XPathExpressionException | SAXException | SW360Exception e) {
+        } catch (XMLStreamException | SW360Exception e) {
             log.error(e);
             parsingResults.add(new LicenseInfoParsingResult()
                     .setStatus(LicenseInfoRequestStatus.FAILURE)
                     .setMessage("Error while parsing combined CLI file: " + e.toString()));
-        } finally {
-            closeQuietly(attachmentStream, log);
         }
         return parsingResults;
     }
 
-    private Map<String, Set<LicenseNameWithText>> getLicenseNamesWithTextsByExternalIdsMap(Document doc) throws XPathExpressionException {
-        NodeList licenseNodes = getNodeListByXpath(doc, LICENSES_XPATH);
-        return nodeListToLicenseNamesWithTextsSetsByExternalId(licenseNodes, EXTERNAL_ID_ATTRIBUTE_NAME);
-    }
-
-    private Map<String, Set<String>> getCopyrightSetsByExternalIdsMap(Document doc) throws XPathExpressionException {
-        NodeList copyrightNodes = getNodeListByXpath(doc, COPYRIGHTS_XPATH);
-        return nodeListToStringSetsByExternalId(copyrightNodes, EXTERNAL_ID_ATTRIBUTE_NAME, COPYRIGHT_CONTENT_ELEMENT_NAME);
-    }
-
     @NotNull
     private LicenseInfoParsingResult getLicenseInfoParsingResultForExternalId(AttachmentContent attachmentContent, Map<String, Release> releasesByExternalId, Map<String, Set<String>> copyrightSetsByExternalId, Map<String, Set<LicenseNameWithText>> licenseNamesWithTextsByExternalId, String extId) {
         LicenseInfo licenseInfo = new LicenseInfo().setFilenames(Arrays.asList(attachmentContent.getFilename()));
-        licenseInfo.setCopyrights(copyrightSetsByExternalId.get(extId));
-        licenseInfo.setLicenseNamesWithTexts(licenseNamesWithTextsByExternalId.get(extId));
+        licenseInfo.setCopyrights(copyOrNull(copyrightSetsByExternalId.get(extId), Sets::newHashSet));
+        licenseInfo.setLicenseNamesWithTexts(copyOrNull(licenseNamesWithTextsByExternalId.get(extId), licenses -> licenses.stream()
+                .map(LicenseNameWithText::new)
+                .collect(Collectors.toSet())));
         LicenseInfoParsingResult parsingResult = new LicenseInfoParsingResult().setLicenseInfo(licenseInfo);
         Release release = releasesByExternalId.get(extId);
         if (release != null) {
@@ -155,37 +147,16 @@ public class CombinedCLIParser extends AbstractCLIParser{
         return releasesByExternalId;
     }
 
-    private Map<String, Set<String>> nodeListToStringSetsByExternalId(NodeList nodes, String externalIdAttributeName, String contentElementName){
-        Map<String, Set<String>> result = Maps.newHashMap();
-        for (int i = 0; i < nodes.getLength(); i++){
-            Optional<Node> externalIdOptional = findNamedAttribute(nodes.item(i), externalIdAttributeName);
-            String externalId = externalIdOptional.map(Node::getNodeValue).orElse(null);
-            String contentText = findNamedSubelement(nodes.item(i), contentElementName)
-                    .map(AbstractCLIParser::normalizeEscapedXhtml)
-                    .orElse(null);
-            if (!result.containsKey(externalId)){
-                result.put(externalId, Sets.newHashSet());
-            }
-            result.get(externalId).add(contentText);
-        }
-        return result;
+    private static <S> S copyOrNull(S source, Function<S, S> copy) {
+        return source == null ? null : copy.apply(source);
     }
 
-    private Map<String, Set<LicenseNameWithText>> nodeListToLicenseNamesWithTextsSetsByExternalId(NodeList nodes, String externalIdAttributeName){
-        Map<String, Set<LicenseNameWithText>> result = Maps.newHashMap();
-        for (int i = 0; i < nodes.getLength(); i++){
-            Node node = nodes.item(i);
-            Optional<Node> externalIdOptional = findNamedAttribute(node, externalIdAttributeName);
-            String externalId = externalIdOptional.map(Node::getNodeValue).orElse(null);
-
-            LicenseNameWithText licenseNameWithText = getLicenseNameWithTextFromLicenseNode(node);
-
-            if (!result.containsKey(externalId)) {
-                result.put(externalId, Sets.newHashSet());
-            }
-            result.get(externalId).add(licenseNameWithText);
-
-        }
-        return result;
+    /**
+     * Licenses and copyrights of a combined CLI file by external id of the release, read in one pass. Results are
+     * built from copies, as the content may be shared by several requests for the same file.
+     */
+    static class CombinedCLIContent {
+        private final Map<String, Set<String>> copyrightSetsByExternalId = Maps.newHashMap();
+        private final Map<String, Set<LicenseNameWithText>> licenseNamesWithTextsByExternalId = Maps.newHashMap();
     }
 }
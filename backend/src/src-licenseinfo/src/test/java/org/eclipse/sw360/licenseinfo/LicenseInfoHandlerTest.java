@@ -31,6 +31,8 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.List;
+
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -62,6 +64,15 @@ public class LicenseInfoHandlerTest {
         handler.getLicenseInfoForAttachment(release, "123", true, user);
     }
 
+    @Test
+    public void testThatCachedLicenseInfoIsFoundByKey() throws TException {
+        List<LicenseInfoParsingResult> cachedResults = ImmutableList.of(new LicenseInfoParsingResult());
+        handler.licenseInfoCache.put(new LicenseInfoHandler.LicenseInfoCacheKey("123", true), cachedResults);
+
+        Release release = Mockito.mock(Release.class);
+        Assert.assertSame(cachedResults, handler.getLicenseInfoForAttachment(release, "123", true, user));
+    }
+
     @Test
     public void testThatEmptyLicensesAreFiltered() {
         LicenseInfoParsingResult emptyResult = new LicenseInfoParsingResult();
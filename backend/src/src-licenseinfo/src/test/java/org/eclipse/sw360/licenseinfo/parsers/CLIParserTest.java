@@ -39,6 +39,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -141,6 +143,20 @@ public class CLIParserTest {
 
     }
 
+    @Test
+    public void testGetCLIReadsAttributes() throws Exception {
+        Attachment cliAttachment = new Attachment("A1", "a.xml");
+        when(connector.getAttachmentStream(anyObject(), anyObject(), anyObject())).thenReturn(new ReaderInputStream(new StringReader(CLI_TESTFILE)));
+        LicenseInfoParsingResult res = parser.getLicenseInfos(cliAttachment, new User(), new Project()).stream().findFirst().orElseThrow(()->new RuntimeException("Parser returned empty LisenceInfoParsingResult list"));
+        assertThat(res.getStatus(), is(LicenseInfoRequestStatus.SUCCESS));
+        assertThat(res.getLicenseInfo().getComponentName(), is("Clearing_Report_jquery-1_12_1"));
+        assertThat(res.getLicenseInfo().getSha1Hash(), is(""));
+        LicenseNameWithText license = res.getLicenseInfo().getLicenseNamesWithTexts().iterator().next();
+        assertThat(license.getLicenseName(), is("MIT License"));
+        assertThat(license.getLicenseSpdxId(), is("n/a"));
+        assertThat(license.getType(), is("global"));
+    }
+
     @Test
     public void testGetCLIObligations() throws Exception {
         Attachment cliAttachment = new Attachment("A1", "a.xml");
@@ -154,6 +170,20 @@ public class CLIParserTest {
         assertThat(oblRes.getObligationsAtProject().get(1).getLicenseIDs(), containsInAnyOrder("GPL-1.0+", "GPL-2.0", "GPL-2.0+", "LGPL-2.1+"));
     }
 
+    @Test
+    public void testCLIFileIsDownloadedOnceForAllCLIParsers() throws Exception {
+        CLIFileReader cliFileReader = new CLIFileReader(connector);
+        CLIParser cliParser = new CLIParser(connector, attachment -> content, cliFileReader);
+        CombinedCLIParser combinedCLIParser = new CombinedCLIParser(connector, attachment -> content, null, cliFileReader);
+        when(connector.getAttachmentStream(anyObject(), anyObject(), anyObject())).thenReturn(new ReaderInputStream(new StringReader(CLI_TESTFILE)));
+
+        assertFalse(combinedCLIParser.isApplicableTo(attachment, new User(), new Project()));
+        assertTrue(cliParser.isApplicableTo(attachment, new User(), new Project()));
+        assertThat(cliParser.getLicenseInfos(attachment, new User(), new Project()).get(0).getStatus(), is(LicenseInfoRequestStatus.SUCCESS));
+        assertThat(cliParser.getObligations(attachment, new User(), new Project()).getObligationsAtProjectSize(), is(2));
+        verify(connector, times(1)).getAttachmentStream(anyObject(), anyObject(), anyObject());
+    }
+
     @Test
     public void testGetCLIFailsOnMalformedXML() throws Exception {
         Attachment cliAttachment = new Attachment("A1", "a.xml");
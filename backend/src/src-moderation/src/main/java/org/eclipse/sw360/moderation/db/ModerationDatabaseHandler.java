@@ -20,6 +20,7 @@ import org.eclipse.sw360.datahandler.common.ThriftEnumUtils;
 import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
 import org.eclipse.sw360.datahandler.db.ComponentDatabaseHandler;
 import org.eclipse.sw360.datahandler.db.DatabaseHandlerUtil;
+import org.eclipse.sw360.datahandler.db.DatabaseSequence;
 import org.eclipse.sw360.datahandler.db.ProjectDatabaseHandler;
 import org.eclipse.sw360.datahandler.permissions.PermissionUtils;
 import org.eclipse.sw360.datahandler.thrift.ClearingRequestEmailTemplate;
@@ -49,6 +50,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
+import org.ektorp.UpdateConflictException;
 import org.ektorp.http.HttpClient;
 import org.jetbrains.annotations.NotNull;
 
@@ -56,7 +58,6 @@ import java.net.MalformedURLException;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import static org.eclipse.sw360.datahandler.common.CommonUtils.notEmptyOrNull;
 import static org.eclipse.sw360.datahandler.common.SW360Assert.fail;
@@ -73,6 +74,8 @@ public class ModerationDatabaseHandler {
 
     private static final Logger log = LogManager.getLogger(ModerationDatabaseHandler.class);
     private static final String CR = "CR-";
+    private static final String CLEARING_REQUEST_SEQUENCE = "clearingRequest";
+    private static final int MAX_CLEARING_REQUEST_ID_ATTEMPTS = 10;
 
     /**
      * Connection to the couchDB database
@@ -83,6 +86,7 @@ public class ModerationDatabaseHandler {
     private final ProjectDatabaseHandler projectDatabaseHandler;
     private final ComponentDatabaseHandler componentDatabaseHandler;
     private final DatabaseConnector db;
+    private final DatabaseSequence clearingRequestIds;
 
     private final MailUtil mailUtil = new MailUtil();
 
@@ -92,6 +96,8 @@ public class ModerationDatabaseHandler {
         // Create the repository
         repository = new ModerationRequestRepository(db);
         clearingRequestRepository = new ClearingRequestRepository(db);
+        // clearing requests are rare and their ids are shown to the users, so no values are reserved in advance
+        clearingRequestIds = new DatabaseSequence(db, CLEARING_REQUEST_SEQUENCE, 1, this::getMaxClearingRequestId);
 
         licenseDatabaseHandler = new LicenseDatabaseHandler(httpClient, dbName);
         projectDatabaseHandler = new ProjectDatabaseHandler(httpClient, dbName, attachmentDbName);
@@ -133,18 +139,27 @@ public class ModerationDatabaseHandler {
 
     public String createClearingRequest(ClearingRequest request, User user) {
         request.setTimestamp(System.currentTimeMillis());
-        long id = 1;
-        synchronized (ModerationDatabaseHandler.class) {
-            Set<String> allIds = clearingRequestRepository.getAllIds();
-            String maxId = allIds.stream().max(Comparator.comparingInt(SW360Utils::parseStringToNumber)).orElse("");
-            if (CommonUtils.isNotNullEmptyOrWhitespace(maxId)) {
-                maxId = maxId.split("-")[1];
-                id = Long.valueOf(maxId) + 1;
+        for (int attempt = 0; attempt < MAX_CLEARING_REQUEST_ID_ATTEMPTS; attempt++) {
+            request.setId(new StringBuilder(CR).append(clearingRequestIds.next()).toString());
+            try {
+                clearingRequestRepository.add(request);
+                return request.getId();
+            } catch (UpdateConflictException e) {
+                log.warn("Clearing request id " + request.getId() + " is already in use, taking the next one");
             }
-            request.setId(new StringBuilder(CR).append(id).toString());
-            clearingRequestRepository.add(request);
         }
-        return request.getId();
+        throw new IllegalStateException("Could not find an unused clearing request id");
+    }
+
+    /**
+     * Used once to initialize the sequence with the ids created before it was introduced
+     */
+    private long getMaxClearingRequestId() {
+        return clearingRequestRepository.getAllIds().stream()
+                .filter(id -> id.startsWith(CR))
+                .mapToLong(SW360Utils::parseStringToNumber)
+                .max()
+                .orElse(0);
     }
 
     public ClearingRequest getClearingRequestById(String id, User user) throws SW360Exception {
@@ -507,23 +522,8 @@ public class ModerationDatabaseHandler {
     }
 
     private Set<String> getLicenseModerators(String department) {
-        List<User> sw360users = getAllSW360Users();
-        //try first clearing admins or admins from same department
-        Set<String> moderators = sw360users
-                .stream()
-                .filter(user1 -> PermissionUtils.isUserAtLeast(UserGroup.CLEARING_ADMIN, user1))
-                .filter(user1 -> user1.getDepartment().equals(department))
-                .map(User::getEmail)
-                .collect(Collectors.toSet());
-        //second choice are all clearing admins or admins in SW360
-        if (moderators.size() == 0) {
-            moderators = sw360users
-                    .stream()
-                    .filter(user1 -> PermissionUtils.isUserAtLeast(UserGroup.CLEARING_ADMIN, user1))
-                    .map(User::getEmail)
-                    .collect(Collectors.toSet());
-        }
-        return moderators;
+        //try first clearing admins or admins from same department, second choice are all clearing admins or admins in SW360
+        return getUsersAtLeast(UserGroup.CLEARING_ADMIN, department);
     }
 
     private Set<String> getUsersAtLeast(UserGroup userGroup, String department) {
@@ -531,42 +531,24 @@ public class ModerationDatabaseHandler {
     }
 
     private Set<String> getUsersAtLeast(UserGroup userGroup, String department, boolean defaultToAllUsersInGroup) {
-        List<User> sw360users = getAllSW360Users();
-        List<User> allRelevantUsers = sw360users
-                    .stream()
-                    .filter(user1 -> PermissionUtils.isUserAtLeast(userGroup, user1))
-                    .collect(Collectors.toList());
-
-        List<User> relevantUsersOfDepartment = Collections.emptyList();
-        if(department != null) {
-            relevantUsersOfDepartment = allRelevantUsers.stream()
-                    .filter(user -> user.getDepartment().equals(department))
-                    .collect(Collectors.toList());
-        }
-
-        List<User> defaultUsersList = defaultToAllUsersInGroup ? allRelevantUsers : Collections.emptyList();
-        List<User> resultingUsers = relevantUsersOfDepartment.isEmpty() ? defaultUsersList : relevantUsersOfDepartment;
-
-        Set<String> resultingUserEmails = resultingUsers.stream()
-                    .map(User::getEmail)
-                    .collect(Collectors.toSet());
-
-        return resultingUserEmails;
-    }
-
-    private Set<String> getUsersAtLeast(UserGroup userGroup){
-        return getUsersAtLeast(userGroup, null);
-    }
-
-    private List<User> getAllSW360Users() {
-        List<User> sw360users = Collections.emptyList();
         try {
             UserService.Iface client = (new ThriftClients()).makeUserClient();
-            sw360users = CommonUtils.nullToEmptyList(client.getAllUsers());
+            Set<String> relevantUsersOfDepartment = Collections.emptySet();
+            if (department != null) {
+                relevantUsersOfDepartment = CommonUtils.nullToEmptySet(client.getUserEmailsAtLeast(userGroup, department));
+            }
+            if (!relevantUsersOfDepartment.isEmpty() || !defaultToAllUsersInGroup) {
+                return relevantUsersOfDepartment;
+            }
+            return CommonUtils.nullToEmptySet(client.getUserEmailsAtLeast(userGroup, null));
         } catch (TException e) {
             log.error("Problem with user client", e);
+            return Collections.emptySet();
         }
-        return sw360users;
+    }
+
+    private Set<String> getUsersAtLeast(UserGroup userGroup){
+        return getUsersAtLeast(userGroup, null);
     }
 
     public void addOrUpdate(ModerationRequest request, User user) {
@@ -16,6 +16,7 @@ import org.eclipse.sw360.datahandler.common.DatabaseSettings;
 import org.eclipse.sw360.datahandler.db.ProjectDatabaseHandler;
 import org.eclipse.sw360.datahandler.db.ProjectSearchHandler;
 import org.eclipse.sw360.datahandler.thrift.AddDocumentRequestSummary;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.SW360Exception;
 import org.eclipse.sw360.datahandler.thrift.RequestSummary;
@@ -95,6 +96,14 @@ public class ProjectHandler implements ProjectService.Iface {
         return handler.getAccessibleProjects(user);
     }
 
+    @Override
+    public Map<PaginationData, List<Project>> getAccessibleProjectsWithPagination(User user, PaginationData pageData) throws TException {
+        assertUser(user);
+        assertNotNull(pageData);
+
+        return handler.getAccessibleProjectsWithPagination(user, pageData);
+    }
+
     @Override
     public List<Project> searchByName(String name, User user) throws TException {
         assertNotEmpty(name);
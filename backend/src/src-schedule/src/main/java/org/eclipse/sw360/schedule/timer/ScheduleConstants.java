@@ -36,6 +36,10 @@ public class ScheduleConstants {
     public static final String AUTOSTART_PROPERTY_NAME = "autostart";
     public static final String CVESEARCH_OFFSET_DEFAULT  = 0 + "" ; // default 00:00 am, in seconds
     public static final String CVESEARCH_INTERVAL_DEFAULT  = (24*60*60)+"" ; // default 24h, in seconds
+    public static final String ATTACHMENT_HASHES_OFFSET_PROPERTY_NAME = "schedule.attachmenthashes.firstOffset.seconds";
+    public static final String ATTACHMENT_HASHES_INTERVAL_PROPERTY_NAME = "schedule.attachmenthashes.interval.seconds";
+    public static final String ATTACHMENT_HASHES_OFFSET_DEFAULT  = (2*60*60) + "" ; // default 02:00 am, in seconds
+    public static final String ATTACHMENT_HASHES_INTERVAL_DEFAULT  = (24*60*60)+"" ; // default 24h, in seconds
 
 
     // scheduler properties
@@ -47,30 +51,41 @@ public class ScheduleConstants {
     static {
         Properties props = CommonUtils.loadProperties(ScheduleConstants.class, PROPERTIES_FILE_PATH);
 
-        if(! props.containsKey(CVESEARCH_OFFSET_PROPERTY_NAME)){
-            log.info("Property "+ CVESEARCH_OFFSET_PROPERTY_NAME + " not set. Using default value.");
+        loadScheduleProperties(props, ThriftClients.CVESEARCH_SERVICE,
+                CVESEARCH_OFFSET_PROPERTY_NAME, CVESEARCH_OFFSET_DEFAULT,
+                CVESEARCH_INTERVAL_PROPERTY_NAME, CVESEARCH_INTERVAL_DEFAULT);
+        loadScheduleProperties(props, ThriftClients.ATTACHMENT_HASHES_SERVICE,
+                ATTACHMENT_HASHES_OFFSET_PROPERTY_NAME, ATTACHMENT_HASHES_OFFSET_DEFAULT,
+                ATTACHMENT_HASHES_INTERVAL_PROPERTY_NAME, ATTACHMENT_HASHES_INTERVAL_DEFAULT);
+
+        String autostartServicesString = props.getProperty(AUTOSTART_PROPERTY_NAME, "");
+        autostartServices = autostartServicesString.split(",");
+    }
+
+    private static void loadScheduleProperties(Properties props, String serviceName,
+                                               String offsetPropertyName, String offsetDefault,
+                                               String intervalPropertyName, String intervalDefault) {
+        if(! props.containsKey(offsetPropertyName)){
+            log.info("Property "+ offsetPropertyName + " not set. Using default value.");
         }
-        String cveSearchOffset  = props.getProperty(CVESEARCH_OFFSET_PROPERTY_NAME, CVESEARCH_OFFSET_DEFAULT);
+        String offset  = props.getProperty(offsetPropertyName, offsetDefault);
         try {
-            SYNC_FIRST_RUN_OFFSET_SEC.put(ThriftClients.CVESEARCH_SERVICE, Integer.parseInt(cveSearchOffset));
+            SYNC_FIRST_RUN_OFFSET_SEC.put(serviceName, Integer.parseInt(offset));
         } catch (NumberFormatException nfe){
-            log.error("Property " + CVESEARCH_OFFSET_PROPERTY_NAME + " is not an integer.");
-            invalidConfiguredServices.add(ThriftClients.CVESEARCH_SERVICE);
+            log.error("Property " + offsetPropertyName + " is not an integer.");
+            invalidConfiguredServices.add(serviceName);
         }
 
-        if(! props.containsKey(CVESEARCH_INTERVAL_PROPERTY_NAME)){
-            log.info("Property "+ CVESEARCH_INTERVAL_PROPERTY_NAME + " not set. Using default value.");
+        if(! props.containsKey(intervalPropertyName)){
+            log.info("Property "+ intervalPropertyName + " not set. Using default value.");
         }
-        String cveSearchInterval  = props.getProperty(CVESEARCH_INTERVAL_PROPERTY_NAME, CVESEARCH_INTERVAL_DEFAULT);
+        String interval  = props.getProperty(intervalPropertyName, intervalDefault);
         try {
-            SYNC_INTERVAL_SEC.put(ThriftClients.CVESEARCH_SERVICE, Integer.parseInt(cveSearchInterval));
+            SYNC_INTERVAL_SEC.put(serviceName, Integer.parseInt(interval));
         } catch (NumberFormatException nfe){
-            log.error("Property " + CVESEARCH_INTERVAL_PROPERTY_NAME + " is not an integer.");
-            invalidConfiguredServices.add(ThriftClients.CVESEARCH_SERVICE);
+            log.error("Property " + intervalPropertyName + " is not an integer.");
+            invalidConfiguredServices.add(serviceName);
         }
-
-        String autostartServicesString = props.getProperty(AUTOSTART_PROPERTY_NAME, "");
-        autostartServices = autostartServicesString.split(",");
     }
 
 }
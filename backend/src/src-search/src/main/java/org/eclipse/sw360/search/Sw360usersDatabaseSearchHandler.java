@@ -15,6 +15,7 @@ import org.eclipse.sw360.datahandler.thrift.users.User;
 import org.eclipse.sw360.search.db.AbstractDatabaseSearchHandler;
 
 import java.io.IOException;
+import java.util.List;
 
 public class Sw360usersDatabaseSearchHandler extends AbstractDatabaseSearchHandler {
 
@@ -23,8 +24,8 @@ public class Sw360usersDatabaseSearchHandler extends AbstractDatabaseSearchHandl
     }
 
     @Override
-    protected boolean isVisibleToUser(SearchResult result, User user) {
-        return true;
+    protected List<SearchResult> filterVisibleToUser(List<SearchResult> results, User user) {
+        return results;
     }
 
 }
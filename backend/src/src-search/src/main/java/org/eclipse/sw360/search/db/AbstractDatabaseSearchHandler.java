@@ -10,12 +10,12 @@
  */
 package org.eclipse.sw360.search.db;
 
-import com.github.ldriscoll.ektorplucene.LuceneResult;
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.collect.FluentIterable;
 import org.eclipse.sw360.datahandler.common.DatabaseSettings;
 import org.eclipse.sw360.datahandler.couchdb.lucene.LuceneAwareDatabaseConnector;
+import org.eclipse.sw360.datahandler.couchdb.lucene.LuceneSearchHit;
 import org.eclipse.sw360.datahandler.couchdb.lucene.LuceneSearchView;
 import org.eclipse.sw360.datahandler.thrift.search.SearchResult;
 import org.eclipse.sw360.datahandler.thrift.users.User;
@@ -54,7 +54,9 @@ public abstract class AbstractDatabaseSearchHandler {
                     "    idx(doc);" +
                     "    ret.add(doc.type, {\"field\": \"type\"} );" +
                     "    return ret;" +
-                    "}");
+                    "}")
+            // only the fields needed for the search results, see SearchDocument
+            .storingOnly("type", "name", "version", "fullname", "text", "email");
 
     private final LuceneAwareDatabaseConnector connector;
 
@@ -88,37 +90,39 @@ public abstract class AbstractDatabaseSearchHandler {
     }
 
     private List<SearchResult> getSearchResults(String queryString, User user) {
-        LuceneResult queryLucene = connector.searchView(luceneSearchView, queryString);
-        return convertLuceneResultAndFilterForVisibility(queryLucene, user);
+        List<LuceneSearchHit> hits = connector.searchHits(luceneSearchView, queryString);
+        return convertHitsAndFilterForVisibility(hits, user);
     }
 
-    private List<SearchResult> convertLuceneResultAndFilterForVisibility(LuceneResult queryLucene, User user) {
+    private List<SearchResult> convertHitsAndFilterForVisibility(List<LuceneSearchHit> hits, User user) {
         List<SearchResult> results = new ArrayList<>();
-        if (queryLucene != null) {
-            for (LuceneResult.Row row : queryLucene.getRows()) {
-                SearchResult result = makeSearchResult(row);
-                if (result != null && !result.getName().isEmpty() && isVisibleToUser(result, user)) {
-                    results.add(result);
-                }
+        for (LuceneSearchHit hit : hits) {
+            SearchResult result = makeSearchResult(hit);
+            if (result != null && !result.getName().isEmpty()) {
+                results.add(result);
             }
         }
-        return results;
+        return filterVisibleToUser(results, user);
     }
 
-    abstract protected boolean isVisibleToUser(SearchResult result, User user);
+    /**
+     * Removes the results the user may not see. Called once with all results of a search, so that implementations
+     * can check the visibility in bulk.
+     */
+    abstract protected List<SearchResult> filterVisibleToUser(List<SearchResult> results, User user);
 
     /**
-     * Transforms a LuceneResult row into a Thrift SearchResult object
+     * Transforms a lucene search hit into a Thrift SearchResult object
      */
-    private static SearchResult makeSearchResult(LuceneResult.Row row) {
+    private static SearchResult makeSearchResult(LuceneSearchHit hit) {
         SearchResult result = new SearchResult();
 
         // Set row properties
-        result.id = row.getId();
-        result.score = row.getScore();
+        result.id = hit.getId();
+        result.score = hit.getScore();
 
         // Get document and
-        SearchDocument parser = new SearchDocument(row.getDoc());
+        SearchDocument parser = new SearchDocument(hit.getDoc());
 
         // Get basic search results information
         result.type = parser.getType();
@@ -13,12 +13,13 @@ import org.eclipse.sw360.datahandler.common.DatabaseSettings;
 import org.eclipse.sw360.datahandler.common.SW360Constants;
 import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
 import org.eclipse.sw360.datahandler.db.ProjectRepository;
-import org.eclipse.sw360.datahandler.permissions.ProjectPermissions;
-import org.eclipse.sw360.datahandler.thrift.projects.Project;
 import org.eclipse.sw360.datahandler.thrift.search.SearchResult;
 import org.eclipse.sw360.datahandler.thrift.users.User;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class Sw360dbDatabaseSearchHandler extends AbstractDatabaseSearchHandler {
 
@@ -30,11 +31,22 @@ public class Sw360dbDatabaseSearchHandler extends AbstractDatabaseSearchHandler
                 new DatabaseConnector(DatabaseSettings.getConfiguredHttpClient(), DatabaseSettings.COUCH_DB_DATABASE));
     }
 
-    protected boolean isVisibleToUser(SearchResult result, User user) {
-        if (!result.type.equals(SW360Constants.TYPE_PROJECT)) {
-            return true;
+    @Override
+    protected List<SearchResult> filterVisibleToUser(List<SearchResult> results, User user) {
+        Set<String> projectIds = results.stream()
+                .filter(Sw360dbDatabaseSearchHandler::isProject)
+                .map(SearchResult::getId)
+                .collect(Collectors.toSet());
+        if (projectIds.isEmpty()) {
+            return results;
         }
-        Project project = projectRepository.get(result.id);
-        return ProjectPermissions.isVisible(user).test(project);
+        Set<String> visibleProjectIds = projectRepository.filterVisibleProjectIds(projectIds, user);
+        return results.stream()
+                .filter(result -> !isProject(result) || visibleProjectIds.contains(result.getId()))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isProject(SearchResult result) {
+        return SW360Constants.TYPE_PROJECT.equals(result.getType());
     }
 }
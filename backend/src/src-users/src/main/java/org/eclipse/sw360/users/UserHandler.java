@@ -15,11 +15,13 @@ import org.apache.thrift.TException;
 import org.eclipse.sw360.datahandler.common.DatabaseSettings;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.datahandler.thrift.users.UserGroup;
 import org.eclipse.sw360.datahandler.thrift.users.UserService;
 import org.eclipse.sw360.users.db.UserDatabaseHandler;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 import static org.eclipse.sw360.datahandler.common.SW360Assert.assertNotEmpty;
 import static org.eclipse.sw360.datahandler.common.SW360Assert.assertNotNull;
@@ -79,6 +81,12 @@ public class UserHandler implements UserService.Iface {
         return db.getAll();
     }
 
+    @Override
+    public Set<String> getUserEmailsAtLeast(UserGroup userGroup, String department) throws TException {
+        assertNotNull(userGroup);
+        return db.getUserEmailsAtLeast(userGroup, department);
+    }
+
     @Override
     public RequestStatus addUser(User user) throws TException {
         assertNotNull(user);
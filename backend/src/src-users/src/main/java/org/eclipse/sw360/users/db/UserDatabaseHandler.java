@@ -12,15 +12,18 @@ package org.eclipse.sw360.users.db;
 import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
 import org.eclipse.sw360.datahandler.db.UserRepository;
 import org.eclipse.sw360.datahandler.db.UserSearchHandler;
+import org.eclipse.sw360.datahandler.permissions.PermissionUtils;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.SW360Exception;
 import org.eclipse.sw360.datahandler.thrift.ThriftValidate;
 import org.eclipse.sw360.datahandler.thrift.users.RequestedAction;
 import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.datahandler.thrift.users.UserGroup;
 import org.ektorp.http.HttpClient;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import static org.eclipse.sw360.datahandler.permissions.PermissionUtils.makePermission;
@@ -90,6 +93,10 @@ public class UserDatabaseHandler {
         return userSearchHandler.searchByNameAndEmail(searchText);
     }
 
+    public Set<String> getUserEmailsAtLeast(UserGroup userGroup, String department) {
+        return repository.getEmailsByUserGroups(PermissionUtils.getUserGroupsAtLeast(userGroup), department);
+    }
+
     public User getByExternalId(String externalId) {
         return repository.getByExternalId(externalId);
     }
@@ -12,12 +12,17 @@ package org.eclipse.sw360.users;
 import org.eclipse.sw360.datahandler.TestUtils;
 import org.eclipse.sw360.datahandler.common.DatabaseSettings;
 import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.datahandler.thrift.users.UserGroup;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
 
 
 public class UserHandlerTest {
@@ -72,4 +77,18 @@ public class UserHandlerTest {
         assertEquals(DUMMY_DEPARTMENT, userFromDatabase.getDepartment());
         assertFalse(userFromDatabase.isSetCommentMadeDuringModerationRequest());
     }
+
+    @Test
+    public void testGetUserEmailsAtLeast() throws Exception {
+        handler.addUser(new User().setEmail("admin@dummy.domain.tld").setDepartment(DUMMY_DEPARTMENT).setUserGroup(UserGroup.ADMIN));
+        handler.addUser(new User().setEmail("clearing@dummy.domain.tld").setDepartment(DUMMY_DEPARTMENT).setUserGroup(UserGroup.CLEARING_ADMIN));
+        handler.addUser(new User().setEmail("expert@other.domain.tld").setDepartment("OtherDepartment").setUserGroup(UserGroup.CLEARING_EXPERT));
+        handler.addUser(new User().setEmail("user@dummy.domain.tld").setDepartment(DUMMY_DEPARTMENT).setUserGroup(UserGroup.USER));
+
+        assertThat(handler.getUserEmailsAtLeast(UserGroup.CLEARING_ADMIN, DUMMY_DEPARTMENT),
+                containsInAnyOrder("admin@dummy.domain.tld", "clearing@dummy.domain.tld"));
+        assertThat(handler.getUserEmailsAtLeast(UserGroup.CLEARING_ADMIN, null),
+                containsInAnyOrder("admin@dummy.domain.tld", "clearing@dummy.domain.tld", "expert@other.domain.tld"));
+        assertThat(handler.getUserEmailsAtLeast(UserGroup.ECC_ADMIN, "OtherDepartment"), is(empty()));
+    }
 }
@@ -12,9 +12,6 @@
 package org.eclipse.sw360.vulnerabilities;
 
 import com.google.common.base.MoreObjects;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 
 import org.eclipse.sw360.datahandler.common.DatabaseSettings;
 import org.eclipse.sw360.datahandler.db.ComponentDatabaseHandler;
@@ -38,7 +35,6 @@ import org.apache.thrift.TException;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 /**
@@ -50,6 +46,7 @@ public class VulnerabilityHandler implements VulnerabilityService.Iface {
 
     private final static Logger log = LogManager.getLogger(VulnerabilityHandler.class);
 
+    private static final int DEFAULT_ROWS_PER_PAGE = 10;
 
     private final VulnerabilityDatabaseHandler dbHandler;
     private final ComponentDatabaseHandler compHandler;
@@ -93,6 +90,29 @@ public class VulnerabilityHandler implements VulnerabilityService.Iface {
         return getVulsByReleaseIds(releaseIds, user);
     }
 
+    @Override
+    public Map<PaginationData, List<VulnerabilityDTO>> getVulnerabilitiesByProjectIdWithPagination(String projectId, PaginationData pageData, User user) throws TException {
+        if (!PermissionUtils.isUserAtLeast(UserGroup.USER, user)) {
+            return Collections.singletonMap(pageData.deepCopy().setTotalRowCount(0), Collections.emptyList());
+        }
+        Project project = projectDatabaseHandler.getProjectById(projectId, user);
+        List<ReleaseVulnerabilityRelation> relations = project.isSetReleaseIdToUsage()
+                ? getReleaseVulnerabilityRelationByReleaseIds(project.getReleaseIdToUsage().keySet())
+                : Collections.emptyList();
+        // a stable order, so that the pages of a client reading all of them neither overlap nor leave gaps
+        List<ReleaseVulnerabilityRelation> sortedRelations = relations.stream()
+                .sorted(Comparator.comparing(ReleaseVulnerabilityRelation::getReleaseId, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(ReleaseVulnerabilityRelation::getVulnerabilityId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+
+        int rowsPerPage = pageData.isSetRowsPerPage() && pageData.getRowsPerPage() > 0 ? pageData.getRowsPerPage() : DEFAULT_ROWS_PER_PAGE;
+        int offset = pageData.isSetPage() && pageData.getPage() > 0 ? pageData.getPage() * rowsPerPage : 0;
+        int start = Math.min(offset, sortedRelations.size());
+        int end = Math.min(start + rowsPerPage, sortedRelations.size());
+        List<VulnerabilityDTO> page = getDtosFromRelations(sortedRelations.subList(start, end));
+        return Collections.singletonMap(pageData.deepCopy().setTotalRowCount(sortedRelations.size()), page);
+    }
+
     @Override
     public List<VulnerabilityDTO> getVulnerabilitiesByReleaseIdWithoutIncorrect(String releaseId, User user) throws TException {
         if (!PermissionUtils.isUserAtLeast(UserGroup.USER, user)) {
@@ -128,7 +148,7 @@ public class VulnerabilityHandler implements VulnerabilityService.Iface {
 
     private List<VulnerabilityDTO> getVulsByReleaseIds(Collection<String> releaseIds, User user) {
         List<ReleaseVulnerabilityRelation> relations = getReleaseVulnerabilityRelationByReleaseIds(releaseIds);
-        return getDtosFromRelations(relations, user);
+        return getDtosFromRelations(relations);
     }
 
     private List<VulnerabilityDTO> getVulsByReleaseIdsWithoutIncorrect(Collection<String> releaseIds, User user) {
@@ -136,7 +156,7 @@ public class VulnerabilityHandler implements VulnerabilityService.Iface {
         List<ReleaseVulnerabilityRelation> filteredRelations = relations.stream()
                 .filter(VulnerabilityHandler::releaseVulnerabilityRelationIsNotIncorrect)
                 .collect(Collectors.toList());
-        return getDtosFromRelations(filteredRelations, user);
+        return getDtosFromRelations(filteredRelations);
     }
 
     private List<ReleaseVulnerabilityRelation> getReleaseVulnerabilityRelationByReleaseIds(Collection<String> releaseIds) {
@@ -153,20 +173,34 @@ public class VulnerabilityHandler implements VulnerabilityService.Iface {
         return !VerificationState.INCORRECT.equals(currentState.getVerificationState());
     }
 
-    private List<VulnerabilityDTO> getDtosFromRelations(List<ReleaseVulnerabilityRelation> relations, User user) {
+    /**
+     * Builds the DTOs with one bulk read each for the vulnerabilities, the releases and the components (the latter only
+     * for releases without a name) referenced by the relations
+     */
+    private List<VulnerabilityDTO> getDtosFromRelations(List<ReleaseVulnerabilityRelation> relations) {
         Set<String> vulnerabilityIds = relations.stream()
                 .map(ReleaseVulnerabilityRelation::getVulnerabilityId)
                 .collect(Collectors.toSet());
+        Set<String> releaseIds = relations.stream()
+                .map(ReleaseVulnerabilityRelation::getReleaseId)
+                .collect(Collectors.toSet());
 
-        List<Vulnerability> vulnerabilities = dbHandler.getByIds(Vulnerability.class, vulnerabilityIds);
-        Map<String, Vulnerability> vulnerabilityMap= ThriftUtils.getIdMap(vulnerabilities);
-
-        LoadingCache<String, Release> releaseCache = makeReleaseCache(user);
-        LoadingCache<String, Component> componentCache = makeComponentCache(user);
+        Map<String, Vulnerability> vulnerabilityMap = ThriftUtils.getIdMap(dbHandler.getByIds(Vulnerability.class, vulnerabilityIds));
+        Map<String, Release> releaseMap = releaseIds.isEmpty()
+                ? Collections.emptyMap()
+                : ThriftUtils.getIdMap(compHandler.getReleases(releaseIds));
+        Set<String> componentIds = releaseMap.values().stream()
+                .filter(release -> StringUtils.isEmpty(release.getName()))
+                .map(Release::getComponentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Component> componentMap = componentIds.isEmpty()
+                ? Collections.emptyMap()
+                : ThriftUtils.getIdMap(compHandler.getComponentsShort(componentIds));
 
         return relations.stream()
                 .map(relation -> getDtoFromRelation(relation, vulnerabilityMap.get(relation.getVulnerabilityId())))
-                .map(dto -> enrichVulnerabilityDTO(dto, componentCache, releaseCache))
+                .map(dto -> enrichVulnerabilityDTO(dto, releaseMap, componentMap))
                 .collect(Collectors.toList());
     }
 
@@ -183,52 +217,27 @@ public class VulnerabilityHandler implements VulnerabilityService.Iface {
         return dto;
     }
 
-    private VulnerabilityDTO enrichVulnerabilityDTO(VulnerabilityDTO dto, LoadingCache<String, Component> componentCache, LoadingCache<String, Release> releaseCache) {
-        String releaseId = dto.getIntReleaseId();
-        try {
-            Release release = releaseCache.get(releaseId);
-            if (release != null) {
-                dto.setIntComponentId(release.getComponentId());
-
-                String releaseName = "";
-                if (!StringUtils.isEmpty(release.getName())) {
-                    releaseName = release.getName() + " ";
-                    dto.setIntComponentName(release.getName());
-                } else {
-                    Component component = componentCache.get(release.getComponentId());
-                    if (component != null) {
-                        releaseName = component.getName() + " ";
-                        dto.setIntComponentName(component.getName());
-                    }
+    private VulnerabilityDTO enrichVulnerabilityDTO(VulnerabilityDTO dto, Map<String, Release> releaseMap, Map<String, Component> componentMap) {
+        Release release = releaseMap.get(dto.getIntReleaseId());
+        if (release != null) {
+            dto.setIntComponentId(release.getComponentId());
+
+            String releaseName = "";
+            if (!StringUtils.isEmpty(release.getName())) {
+                releaseName = release.getName() + " ";
+                dto.setIntComponentName(release.getName());
+            } else {
+                Component component = componentMap.get(release.getComponentId());
+                if (component != null) {
+                    releaseName = component.getName() + " ";
+                    dto.setIntComponentName(component.getName());
                 }
-                dto.setIntReleaseName(releaseName + release.getVersion());
             }
-        } catch (ExecutionException e) {
-            log.error(e);
+            dto.setIntReleaseName(releaseName + release.getVersion());
         }
         return dto;
     }
 
-    private LoadingCache<String, Release> makeReleaseCache(User user) {
-        return CacheBuilder.newBuilder()
-                .build(new CacheLoader<String, Release>() {
-                    public Release load(String key) throws SW360Exception {
-                        log.error("loading " + key + " release from db.");
-                        return compHandler.getRelease(key, user);
-                    }
-                });
-    }
-
-    private LoadingCache<String, Component> makeComponentCache(User user) {
-        return CacheBuilder.newBuilder()
-                .build(new CacheLoader<String, Component>() {
-                    public Component load(String key) throws SW360Exception {
-                        log.error("loading " + key + " component from db.");
-                        return compHandler.getComponent(key, user);
-                    }
-                });
-    }
-
     @Override
     public List<ProjectVulnerabilityRating> getProjectVulnerabilityRatingByProjectId(String projectId, User user) {
         if (!PermissionUtils.isUserAtLeast(UserGroup.USER, user)) {
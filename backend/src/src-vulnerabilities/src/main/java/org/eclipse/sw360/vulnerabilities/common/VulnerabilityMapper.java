@@ -9,6 +9,7 @@
  */
 package org.eclipse.sw360.vulnerabilities.common;
 
+import com.google.common.base.Strings;
 import org.eclipse.sw360.datahandler.common.SW360Utils;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.ReleaseVulnerabilityRelation;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
@@ -75,6 +76,16 @@ public class VulnerabilityMapper {
 
     }
 
+    public static boolean isMoreRecent(Vulnerability vulnerability, Vulnerability other) {
+        //update if one of the dates is not set
+        if (Strings.isNullOrEmpty(vulnerability.getLastExternalUpdate()) ||
+                Strings.isNullOrEmpty(other.getLastExternalUpdate())) {
+            return true;
+        }
+
+        return vulnerability.getLastExternalUpdate().compareTo(other.getLastExternalUpdate()) > 0;
+    }
+
     public static Vulnerability updateFromVulnerability(Vulnerability destination, Vulnerability source){
         for(Vulnerability._Fields field: Vulnerability._Fields.values()){
             if(field.equals(Vulnerability._Fields.REVISION) || field.equals(Vulnerability._Fields.ID)){
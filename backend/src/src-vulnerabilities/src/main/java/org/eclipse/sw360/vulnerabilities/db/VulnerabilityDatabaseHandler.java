@@ -15,6 +15,7 @@ import com.google.common.collect.Sets;
 import org.eclipse.sw360.datahandler.common.DatabaseSettings;
 import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
+import org.eclipse.sw360.datahandler.thrift.cvesearch.UpdateType;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.ReleaseVulnerabilityRelation;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.VulnerabilityWithReleaseRelations;
@@ -24,6 +25,7 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TBase;
+import org.ektorp.DocumentOperationResult;
 
 import java.net.MalformedURLException;
 import java.util.*;
@@ -77,13 +79,18 @@ public class VulnerabilityDatabaseHandler {
         }
         try {
             log.debug("adding " + elements.size() + " elements via bulk");
+            List<DocumentOperationResult> errors;
             if (Vulnerability.class.isAssignableFrom(type)) {
-                vulRepo.executeBulk(elements);
+                errors = vulRepo.executeBulk(elements);
             } else if (ReleaseVulnerabilityRelation.class.isAssignableFrom(type)) {
-                relationRepo.executeBulk(elements);
+                errors = relationRepo.executeBulk(elements);
             } else {
                 throw new IllegalArgumentException("unknown type " + type.getSimpleName());
             }
+            if (errors == null || !errors.isEmpty()) {
+                log.error("error on bulk updating " + type.getSimpleName() + ": " + errors);
+                return RequestStatus.FAILURE;
+            }
 
             log.debug("adding " + elements.size() + " elements via bulk finished");
             return RequestStatus.SUCCESS;
@@ -93,6 +100,91 @@ public class VulnerabilityDatabaseHandler {
         }
     }
 
+    /**
+     * Adds or updates vulnerabilities by their external id with a single view query and a single bulk write. An
+     * existing vulnerability is only written if the given one is more recent and differs from it. The returned
+     * vulnerabilities are the stored ones, so they carry the ids of the documents.
+     */
+    public Map<UpdateType, List<Vulnerability>> upsertVulnerabilities(Collection<Vulnerability> vulnerabilities) {
+        Map<UpdateType, List<Vulnerability>> statusToVulnerabilities = new EnumMap<>(UpdateType.class);
+        for (UpdateType updateType : UpdateType.values()) {
+            statusToVulnerabilities.put(updateType, new ArrayList<>());
+        }
+        Map<String, Vulnerability> byExternalId = new LinkedHashMap<>();
+        vulnerabilities.forEach(vulnerability -> byExternalId.put(vulnerability.getExternalId(), vulnerability));
+        if (byExternalId.isEmpty()) {
+            return statusToVulnerabilities;
+        }
+
+        Map<String, Vulnerability> dbVulnerabilities = new HashMap<>();
+        getByExternalIds(byExternalId.keySet())
+                .forEach(dbVulnerability -> dbVulnerabilities.put(dbVulnerability.getExternalId(), dbVulnerability));
+
+        for (Vulnerability vulnerability : byExternalId.values()) {
+            Vulnerability dbVulnerability = dbVulnerabilities.get(vulnerability.getExternalId());
+            if (dbVulnerability == null) {
+                // the id is needed for the relations before the bulk write returns
+                vulnerability.setId(UUID.randomUUID().toString().replace("-", ""));
+                statusToVulnerabilities.get(UpdateType.NEW).add(vulnerability);
+            } else if (VulnerabilityMapper.isMoreRecent(vulnerability, dbVulnerability)) {
+                Vulnerability updated = VulnerabilityMapper.updateFromVulnerability(dbVulnerability.deepCopy(), vulnerability)
+                        .setLastUpdateDate(dbVulnerability.getLastUpdateDate());
+                if (updated.equals(dbVulnerability)) {
+                    statusToVulnerabilities.get(UpdateType.OLD).add(dbVulnerability);
+                } else {
+                    statusToVulnerabilities.get(UpdateType.UPDATED).add(VulnerabilityMapper.setLastUpdate(updated));
+                }
+            } else {
+                statusToVulnerabilities.get(UpdateType.OLD).add(dbVulnerability);
+            }
+        }
+
+        List<Vulnerability> changed = new ArrayList<>(statusToVulnerabilities.get(UpdateType.NEW));
+        changed.addAll(statusToVulnerabilities.get(UpdateType.UPDATED));
+        if (!changed.isEmpty() && RequestStatus.FAILURE.equals(add(Vulnerability.class, changed))) {
+            statusToVulnerabilities.get(UpdateType.NEW).clear();
+            statusToVulnerabilities.get(UpdateType.UPDATED).clear();
+            statusToVulnerabilities.get(UpdateType.FAILED).addAll(changed);
+        }
+        return statusToVulnerabilities;
+    }
+
+    /**
+     * Adds the relations which do not exist yet and updates the matching information of the existing ones, with a
+     * single view query and a single bulk write. Unchanged relations are not written.
+     */
+    public RequestStatus upsertRelations(Collection<ReleaseVulnerabilityRelation> relations) {
+        Map<String, ReleaseVulnerabilityRelation> byIds = new LinkedHashMap<>();
+        relations.forEach(relation -> byIds.put(relationKey(relation), relation));
+        if (byIds.isEmpty()) {
+            return RequestStatus.SUCCESS;
+        }
+
+        Map<String, ReleaseVulnerabilityRelation> dbRelations = new HashMap<>();
+        relationRepo.getRelationsByIds(byIds.values())
+                .forEach(dbRelation -> dbRelations.put(relationKey(dbRelation), dbRelation));
+
+        List<ReleaseVulnerabilityRelation> changed = new ArrayList<>();
+        for (Map.Entry<String, ReleaseVulnerabilityRelation> relation : byIds.entrySet()) {
+            ReleaseVulnerabilityRelation dbRelation = dbRelations.get(relation.getKey());
+            if (dbRelation == null) {
+                changed.add(relation.getValue());
+            } else {
+                ReleaseVulnerabilityRelation updated = VulnerabilityMapper.updateFromReleaseVulnerabilityRelation(
+                        dbRelation.deepCopy(), relation.getValue());
+                if (!updated.equals(dbRelation)) {
+                    changed.add(updated);
+                }
+            }
+        }
+        log.debug(changed.size() + " of " + byIds.size() + " relations are new or changed");
+        return changed.isEmpty() ? RequestStatus.SUCCESS : add(ReleaseVulnerabilityRelation.class, changed);
+    }
+
+    private static String relationKey(ReleaseVulnerabilityRelation relation) {
+        return relation.getReleaseId() + "/" + relation.getVulnerabilityId();
+    }
+
     public RequestStatus addRelationIfNecessary(String releaseId, String vulnerabilityId, Optional<String> usedNeedle) {
         ReleaseVulnerabilityRelation relation = getRelationByIds(releaseId, vulnerabilityId);
         if (relation != null) {
@@ -259,6 +351,13 @@ public class VulnerabilityDatabaseHandler {
         }
     }
 
+    public List<Vulnerability> getByExternalIds(Collection<String> externalIds) {
+        if (externalIds == null || externalIds.isEmpty()) {
+            return ImmutableList.of();
+        }
+        return vulRepo.getVulnerabilitiesByExternalIds(externalIds);
+    }
+
     public <T extends TBase> List<T> getLastUpdated(Class<T> type, int limit) {
         if (type == null) {
             log.error("type cannot be null");
@@ -15,6 +15,7 @@ import org.eclipse.sw360.datahandler.couchdb.DatabaseRepository;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
 import org.ektorp.support.View;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -63,6 +64,11 @@ public class VulnerabilityRepository extends DatabaseRepository<Vulnerability> {
         return null;
     }
 
+    @View(name = "byexternalid", map = BY_EXTERNALID_VIEW)
+    public List<Vulnerability> getVulnerabilitiesByExternalIds(Collection<String> externalIds) {
+        return queryByIds("byexternalid", externalIds);
+    }
+
     @View(name = "bylastupdate", map = BY_LAST_UPDATE_VIEW)
     public List<Vulnerability> getVulnerabilitiesByLastUpdate(int limit) {
         List<String> ids = getIdListByView("bylastupdate", true, limit);
@@ -11,6 +11,7 @@
 package org.eclipse.sw360;
 
 import org.eclipse.sw360.datahandler.couchdb.DatabaseInstanceTracker;
+import org.eclipse.sw360.datahandler.db.DatabaseHandlerUtil;
 import org.ektorp.http.IdleConnectionMonitor;
 
 import javax.servlet.ServletContextEvent;
@@ -26,6 +27,8 @@ public class SW360ServiceContextListener implements ServletContextListener {
 
     @Override
     public void contextDestroyed(ServletContextEvent sce) {
+        // change logs are written before the database connections are closed
+        DatabaseHandlerUtil.shutdownChangeLogWriter();
         DatabaseInstanceTracker.destroy();
         IdleConnectionMonitor.shutdown();
     }
@@ -11,7 +11,6 @@ package org.eclipse.sw360.portal.portlets.admin;
 
 import org.eclipse.sw360.datahandler.thrift.RequestSummary;
 import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentService;
-import org.eclipse.sw360.datahandler.thrift.components.ComponentService;
 import org.eclipse.sw360.datahandler.thrift.users.User;
 import org.eclipse.sw360.portal.common.PortalConstants;
 import org.eclipse.sw360.portal.portlets.Sw360Portlet;
@@ -23,7 +22,6 @@ import org.apache.thrift.TException;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
 
 import java.io.IOException;
-import java.util.Set;
 
 import javax.portlet.*;
 
@@ -72,12 +70,10 @@ public class AttachmentCleanupPortlet extends Sw360Portlet {
     }
 
     private RequestSummary cleanUpAttachments(ResourceRequest request) throws TException {
-        final ComponentService.Iface componentClient = thriftClients.makeComponentClient();
         final AttachmentService.Iface attachmentClient = thriftClients.makeAttachmentClient();
 
-        final Set<String> usedAttachmentIds = componentClient.getUsedAttachmentContentIds();
         final User userFromRequest = UserCacheHolder.getUserFromRequest(request);
-        return attachmentClient.vacuumAttachmentDB(userFromRequest, usedAttachmentIds);
+        return attachmentClient.cleanUpAttachmentContents(userFromRequest, false);
     }
 
 }
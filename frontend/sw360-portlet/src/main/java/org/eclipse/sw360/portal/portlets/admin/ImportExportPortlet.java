@@ -154,8 +154,9 @@ public class ImportExportPortlet extends Sw360Portlet {
             }
         }
 
-        ByteArrayInputStream byteArrayInputStream = CSVExport.createCSV(ReleaseLinkCSVRecord.getCSVHeaderIterable(), csvRows);
-        PortletResponseUtil.sendFile(request, response, "ReleaseLinkInfo.csv", byteArrayInputStream, "text/csv");
+        try (InputStream csvStream = CSVExport.streamCSV(ReleaseLinkCSVRecord.getCSVHeaderIterable(), csvRows)) {
+            PortletResponseUtil.sendFile(request, response, "ReleaseLinkInfo.csv", csvStream, "text/csv");
+        }
     }
 
     private void dealWithReleaseLinksContainedInComponent(Map<String, Component> componentsById,
@@ -206,8 +207,9 @@ public class ImportExportPortlet extends Sw360Portlet {
             }
         }
 
-        ByteArrayInputStream byteArrayInputStream = CSVExport.createCSV(ComponentAttachmentCSVRecord.getCSVHeaderIterable(), csvRows);
-        PortletResponseUtil.sendFile(request, response, "AttachmentInfo.csv", byteArrayInputStream, "text/csv");
+        try (InputStream csvStream = CSVExport.streamCSV(ComponentAttachmentCSVRecord.getCSVHeaderIterable(), csvRows)) {
+            PortletResponseUtil.sendFile(request, response, "AttachmentInfo.csv", csvStream, "text/csv");
+        }
     }
 
     private void printReleasesAttachments(Component component, List<Iterable<String>> csvRows) throws IOException {
@@ -279,8 +281,9 @@ public class ImportExportPortlet extends Sw360Portlet {
         final List<Component> componentDetailedSummaryForExport = getComponentDetailedSummaryForExport();
         List<Iterable<String>> csvRows = getFlattenedView(componentDetailedSummaryForExport);
 
-        ByteArrayInputStream byteArrayInputStream = CSVExport.createCSV(csvHeaderIterable, csvRows);
-        PortletResponseUtil.sendFile(request, response, "ComponentsReleasesVendors.csv", byteArrayInputStream, "text/csv");
+        try (InputStream csvStream = CSVExport.streamCSV(csvHeaderIterable, csvRows)) {
+            PortletResponseUtil.sendFile(request, response, "ComponentsReleasesVendors.csv", csvStream, "text/csv");
+        }
     }
 
     @UsedAsLiferayAction
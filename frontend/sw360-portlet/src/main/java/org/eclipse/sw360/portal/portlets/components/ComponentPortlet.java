@@ -134,6 +134,8 @@ public class ComponentPortlet extends FossologyAwarePortlet {
 
     private static final int MAX_RESULT_LIMIT_CHECK_COMPONENT_NAME = 15;
 
+    private static final int EXCEL_EXPORT_PAGE_SIZE = 500;
+
     private static final String CYCLIC_LINKED_RELEASE = "Release cannot be created/updated due to cyclic linked release present. Cyclic Hierarchy : ";
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
@@ -436,12 +438,28 @@ public class ComponentPortlet extends FossologyAwarePortlet {
 
         try {
             boolean extendedByReleases = Boolean.valueOf(request.getParameter(PortalConstants.EXTENDED_EXCEL_EXPORT));
-            List<Component> components = getFilteredComponentList(request);
-            ComponentExporter exporter = new ComponentExporter(thriftClients.makeComponentClient(), components, user,
-                    extendedByReleases);
+            ComponentService.Iface componentClient = thriftClients.makeComponentClient();
+            InputStream export;
+            if (getComponentFilterMap(request).isEmpty()) {
+                // all components in the order of getRecentComponentsSummary, read page by page
+                ComponentExporter exporter = new ComponentExporter(componentClient, user, extendedByReleases);
+                PaginationData firstPage = new PaginationData()
+                        .setPage(0)
+                        .setRowsPerPage(EXCEL_EXPORT_PAGE_SIZE)
+                        .setSortColumn(Component._Fields.CREATED_ON.getFieldName())
+                        .setAscending(false);
+                export = exporter.makeExcelExport(firstPage,
+                        pageData -> componentClient.getComponentSummaryWithPagination(user, pageData, null));
+            } else {
+                List<Component> components = getFilteredComponentList(request);
+                ComponentExporter exporter = new ComponentExporter(componentClient, components, user,
+                        extendedByReleases);
+                export = exporter.makeExcelExport(components);
+            }
             String filename = String.format("components-%s.xlsx", SW360Utils.getCreatedOn());
-            PortletResponseUtil.sendFile(request, response, filename, exporter.makeExcelExport(components),
-                    CONTENT_TYPE_OPENXML_SPREADSHEET);
+            try (InputStream exportStream = export) {
+                PortletResponseUtil.sendFile(request, response, filename, exportStream, CONTENT_TYPE_OPENXML_SPREADSHEET);
+            }
         } catch (IOException | SW360Exception e) {
             log.error("An error occurred while generating the Excel export", e);
             response.setProperty(ResourceResponse.HTTP_STATUS_CODE,
@@ -121,7 +121,8 @@ public class AttachmentFrontendUtils {
         if (attachmentContent != null) {
             try {
                 attachmentStreamConnector.uploadAttachment(attachmentContent, fileStream);
-                return CommonUtils.getNewAttachment(sw360User, attachmentContent.getId(), attachmentContent.getFilename());
+                return CommonUtils.getNewAttachment(sw360User, attachmentContent.getId(), attachmentContent.getFilename())
+                        .setSha1(attachmentContent.getSha1());
             } catch (TException e) {
                 log.error("Error saving attachment part", e);
             }
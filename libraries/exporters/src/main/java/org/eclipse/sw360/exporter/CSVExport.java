@@ -15,32 +15,36 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.*;
 
+import static org.eclipse.sw360.exporter.utils.TemporaryFiles.streamTemporaryFile;
+
 /**
  * @author johannes.najjar@tngtech.com
  */
 public class CSVExport {
     @NotNull
     public static ByteArrayInputStream createCSV(Iterable<String> csvHeaderIterable, Iterable<Iterable<String>> inputIterable) throws IOException {
-        final ByteArrayOutputStream outB = getCSVOutputStream(csvHeaderIterable, inputIterable);
+        final ByteArrayOutputStream outB = new ByteArrayOutputStream();
+        writeCSV(csvHeaderIterable, inputIterable, outB);
 
         return new ByteArrayInputStream(outB.toByteArray());
     }
 
+    /**
+     * Writes the CSV into a temporary file, which is deleted when the returned stream is closed
+     */
     @NotNull
-    private static ByteArrayOutputStream getCSVOutputStream(Iterable<String> csvHeaderIterable, Iterable<Iterable<String>> inputIterable) throws IOException {
-        final ByteArrayOutputStream outB = new ByteArrayOutputStream();
-        try(Writer out = new BufferedWriter(new OutputStreamWriter(outB));) {
-            CSVPrinter csvPrinter = new CSVPrinter(out, CommonUtils.sw360CsvFormat);
-            csvPrinter.printRecord(csvHeaderIterable);
-            csvPrinter.printRecords(inputIterable);
-            csvPrinter.flush();
-            csvPrinter.close();
-        } catch (Exception e) {
-            outB.close();
-            throw e;
-        }
-
-            return outB;
+    public static InputStream streamCSV(Iterable<String> csvHeaderIterable, Iterable<Iterable<String>> inputIterable) throws IOException {
+        return streamTemporaryFile(out -> writeCSV(csvHeaderIterable, inputIterable, out));
+    }
 
+    /**
+     * Writes the CSV to out, the rows are printed while they are iterated
+     */
+    public static void writeCSV(Iterable<String> csvHeaderIterable, Iterable<Iterable<String>> inputIterable, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out));
+        CSVPrinter csvPrinter = new CSVPrinter(writer, CommonUtils.sw360CsvFormat);
+        csvPrinter.printRecord(csvHeaderIterable);
+        csvPrinter.printRecords(inputIterable);
+        csvPrinter.flush();
     }
 }
@@ -12,10 +12,8 @@ package org.eclipse.sw360.exporter;
 import com.google.common.collect.ImmutableList;
 import org.eclipse.sw360.datahandler.common.SW360Utils;
 import org.eclipse.sw360.datahandler.thrift.SW360Exception;
-import org.eclipse.sw360.datahandler.thrift.ThriftUtils;
 import org.eclipse.sw360.datahandler.thrift.components.Component;
 import org.eclipse.sw360.datahandler.thrift.components.ComponentService;
-import org.eclipse.sw360.datahandler.thrift.components.Release;
 import org.eclipse.sw360.datahandler.thrift.users.User;
 import org.eclipse.sw360.exporter.helper.ComponentHelper;
 import org.eclipse.sw360.exporter.helper.ExporterHelper;
@@ -70,20 +68,15 @@ public class ComponentExporter extends ExcelExporter<Component, ComponentHelper>
 
     public ComponentExporter(ComponentService.Iface componentClient, List<Component> components, User user,
             boolean extendedByReleases) throws SW360Exception {
-        super(new ComponentHelper(extendedByReleases, new ReleaseHelper(componentClient, user)));
-        preloadLinkedReleasesFor(components, extendedByReleases);
+        this(componentClient, user, extendedByReleases);
+        helper.preloadRelatedDataFor(components);
     }
 
-    private void preloadLinkedReleasesFor(List<Component> components, boolean extendedByReleases)
+    /**
+     * For paged exports, which preload the linked releases page by page
+     */
+    public ComponentExporter(ComponentService.Iface componentClient, User user, boolean extendedByReleases)
             throws SW360Exception {
-        Set<String> linkedReleaseIds = components
-                .stream()
-                .map(Component::getReleaseIds)
-                .filter(Objects::nonNull)
-                .flatMap(Set::stream)
-                .collect(Collectors.toSet());
-
-        Map<String, Release> releasesById = ThriftUtils.getIdMap(helper.getReleases(linkedReleaseIds));
-        helper.setPreloadedLinkedReleases(releasesById, extendedByReleases);
+        super(new ComponentHelper(extendedByReleases, new ReleaseHelper(componentClient, user)));
     }
 }
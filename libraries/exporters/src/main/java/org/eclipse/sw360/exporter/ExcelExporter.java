@@ -14,16 +14,23 @@ import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.eclipse.sw360.datahandler.common.WrappedException.WrappedSW360Exception;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.SW360Exception;
 import org.eclipse.sw360.exporter.helper.ExporterHelper;
+import org.eclipse.sw360.exporter.utils.PageIterator;
+import org.eclipse.sw360.exporter.utils.PageSource;
 import org.eclipse.sw360.exporter.utils.SubTable;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
+import static org.eclipse.sw360.exporter.utils.TemporaryFiles.streamTemporaryFile;
+
 /**
  * Created on 06/02/15.
  *
@@ -37,9 +44,31 @@ public class ExcelExporter<T, U extends ExporterHelper<T>> {
         this.helper = helper;
     }
 
+    /**
+     * Writes the export into a temporary file, which is deleted when the returned stream is closed
+     */
     public InputStream makeExcelExport(List<T> documents) throws IOException, SW360Exception {
+        return streamTemporaryFile(out -> writeWorkbook(Collections.singletonList(documents).iterator(), false, out));
+    }
+
+    /**
+     * Same as {@link #makeExcelExport(List)}, but the documents are read page by page, see
+     * {@link #writeExcelExport(PaginationData, PageSource, OutputStream)}
+     */
+    public InputStream makeExcelExport(PaginationData firstPage, PageSource<T> pageSource) throws IOException, SW360Exception {
+        return streamTemporaryFile(out -> writeExcelExport(firstPage, pageSource, out));
+    }
+
+    /**
+     * Writes the export of all pages starting at firstPage to out. The data linked by the documents is preloaded by
+     * the helper for each page, and only the rows of the current page are held in memory.
+     */
+    public void writeExcelExport(PaginationData firstPage, PageSource<T> pageSource, OutputStream out) throws IOException, SW360Exception {
+        writeWorkbook(new PageIterator<>(firstPage, pageSource), true, out);
+    }
+
+    private void writeWorkbook(Iterator<List<T>> pages, boolean preloadPages, OutputStream out) throws IOException, SW360Exception {
         final SXSSFWorkbook workbook = new SXSSFWorkbook();
-        final ByteArrayInputStream stream;
         try {
             SXSSFSheet sheet = workbook.createSheet("Data");
 
@@ -53,28 +82,31 @@ public class ExcelExporter<T, U extends ExporterHelper<T>> {
             fillRow(headerRow, headerNames, headerStyle);
 
             /** Create data rows */
-            fillValues(sheet, documents, cellStyle);
+            int nextExcelSheetRow = 1;
+            while (pages.hasNext()) {
+                List<T> documents = pages.next();
+                if (preloadPages) {
+                    helper.preloadRelatedDataFor(documents);
+                }
+                nextExcelSheetRow = fillValues(sheet, documents, cellStyle, nextExcelSheetRow);
+            }
 
             // removed autosizing of spreadsheet columns for performance reasons
 
-            /** Copy the streams */
-            final ByteArrayOutputStream out = new ByteArrayOutputStream();
             workbook.write(out);
-            stream = new ByteArrayInputStream(out.toByteArray());
-        }finally{
+        } catch (WrappedSW360Exception e) {
+            throw e.getCause();
+        } finally {
             workbook.dispose();
         }
-        return stream;
     }
 
     /**
-     * Convert all documents to
+     * Convert all documents to rows, starting at the given row, and return the next free row
      */
-    private void fillValues(Sheet sheet, List<T> documents, CellStyle style) throws SW360Exception {
-        int numberoOfDocuments = documents.size();
-        int nextExcelSheetRow = 1;
-        for (int currentDocNumber = 0; currentDocNumber < numberoOfDocuments; currentDocNumber++) {
-            T document = documents.get(currentDocNumber);
+    private int fillValues(Sheet sheet, List<T> documents, CellStyle style, int firstExcelSheetRow) throws SW360Exception {
+        int nextExcelSheetRow = firstExcelSheetRow;
+        for (T document : documents) {
             SubTable table = helper.makeRows(document);
             for(int currentTableRow = 0; currentTableRow < table.getnRows(); currentTableRow ++){
                 List<String> rowValues = table.getRow(currentTableRow);
@@ -83,6 +115,7 @@ public class ExcelExporter<T, U extends ExporterHelper<T>> {
                 fillRow(row, rowValues, style);
             }
         }
+        return nextExcelSheetRow;
     }
 
     /**
@@ -15,6 +15,7 @@ import org.eclipse.sw360.datahandler.thrift.components.Release;
 import org.eclipse.sw360.exporter.utils.SubTable;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.eclipse.sw360.datahandler.common.CommonUtils.nullToEmptySet;
 import static org.eclipse.sw360.datahandler.common.SW360Utils.fieldValueAsString;
@@ -48,6 +49,17 @@ public class ComponentHelper implements ExporterHelper<Component> {
         return extendedByReleases ? makeRowsWithReleases(component) : makeRowForComponentOnly(component);
     }
 
+    @Override
+    public void preloadRelatedDataFor(List<Component> components) throws SW360Exception {
+        Set<String> linkedReleaseIds = components
+                .stream()
+                .map(Component::getReleaseIds)
+                .filter(Objects::nonNull)
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet());
+        releaseHelper.preloadLinkedReleases(linkedReleaseIds, extendedByReleases);
+    }
+
     private SubTable makeRowsWithReleases(Component component) throws SW360Exception {
         List<Release> releases = getReleases(component);
         SubTable table = new SubTable();
@@ -40,4 +40,11 @@ public interface ExporterHelper<T> {
 
     SubTable makeRows(T document) throws SW360Exception;
 
+    /**
+     * Called by paged exports before the rows of a page are made, so that the data linked by the documents of the
+     * page can be read in bulk
+     */
+    default void preloadRelatedDataFor(List<T> documents) throws SW360Exception {
+    }
+
 }
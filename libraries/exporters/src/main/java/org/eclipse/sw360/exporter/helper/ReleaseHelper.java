@@ -268,6 +268,23 @@ public class ReleaseHelper implements ExporterHelper<Release> {
         }
     }
 
+    /**
+     * Replaces the preloaded releases, and the components unless they belong to the release clearing statuses, by the
+     * ones linked by the next page of a paged export, so that the caches do not grow with the size of the export
+     */
+    public void preloadLinkedReleases(Set<String> ids, boolean componentsNeeded) throws SW360Exception {
+        List<Release> releasesByIdsForExport;
+        try {
+            releasesByIdsForExport = cClient.getReleasesByIdsForExport(nullToEmptySet(ids));
+        } catch (TException e) {
+            throw new SW360Exception("Error fetching release information");
+        }
+        if (!addAdditionalData()) {
+            preloadedComponents.clear();
+        }
+        setPreloadedLinkedReleases(ThriftUtils.getIdMap(releasesByIdsForExport), componentsNeeded);
+    }
+
     private void batchloadComponents(Set<String> cIds) throws SW360Exception {
         try {
             List<Component> componentsShort = cClient.getComponentsShort(cIds);
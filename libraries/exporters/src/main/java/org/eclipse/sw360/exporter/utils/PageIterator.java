@@ -0,0 +1,83 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.exporter.utils;
+
+import org.apache.thrift.TException;
+import org.eclipse.sw360.datahandler.common.WrappedException.WrappedSW360Exception;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
+import org.eclipse.sw360.datahandler.thrift.SW360Exception;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the pages of a {@link PageSource}, starting at a first page and reading the next page only when it is
+ * requested. Errors of the page source are thrown as {@link WrappedSW360Exception}.
+ */
+public class PageIterator<T> implements Iterator<List<T>> {
+
+    private final PageSource<T> pageSource;
+    private PaginationData nextPageData;
+    private List<T> nextPage;
+
+    public PageIterator(PaginationData firstPage, PageSource<T> pageSource) {
+        if (!firstPage.isSetRowsPerPage() || firstPage.getRowsPerPage() <= 0) {
+            throw new IllegalArgumentException("The number of rows per page has to be positive");
+        }
+        this.nextPageData = firstPage;
+        this.pageSource = pageSource;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextPage == null && nextPageData != null) {
+            nextPage = readPage();
+        }
+        return nextPage != null;
+    }
+
+    @Override
+    public List<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<T> page = nextPage;
+        nextPage = null;
+        return page;
+    }
+
+    private List<T> readPage() {
+        Map<PaginationData, List<T>> result;
+        try {
+            result = pageSource.getPage(nextPageData);
+        } catch (SW360Exception e) {
+            throw new WrappedSW360Exception(e);
+        } catch (TException e) {
+            throw new WrappedSW360Exception(new SW360Exception("Could not read page " + nextPageData.getPage() + " because of: " + e.getMessage()));
+        }
+        if (result == null || result.isEmpty()) {
+            nextPageData = null;
+            return null;
+        }
+
+        Map.Entry<PaginationData, List<T>> entry = result.entrySet().iterator().next();
+        List<T> page = entry.getValue();
+        int followingPage = nextPageData.getPage() + 1;
+        if (page == null || page.isEmpty() || followingPage * nextPageData.getRowsPerPage() >= entry.getKey().getTotalRowCount()) {
+            nextPageData = null;
+        } else {
+            nextPageData = nextPageData.deepCopy().setPage(followingPage);
+        }
+        return page == null || page.isEmpty() ? null : page;
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.exporter.utils;
+
+import org.apache.thrift.TException;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads one page of documents, like the paged summary methods of the thrift services. The returned map has a single
+ * entry whose key carries the total row count.
+ */
+@FunctionalInterface
+public interface PageSource<T> {
+
+    Map<PaginationData, List<T>> getPage(PaginationData pageData) throws TException;
+}
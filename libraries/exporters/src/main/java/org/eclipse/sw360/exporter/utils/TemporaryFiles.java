@@ -0,0 +1,52 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.exporter.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Buffers generated exports in temporary files instead of byte arrays, so that large exports can be served as a
+ * stream without being held in memory.
+ */
+public class TemporaryFiles {
+
+    @FunctionalInterface
+    public interface ContentWriter<E extends Exception> {
+        void write(OutputStream out) throws IOException, E;
+    }
+
+    private TemporaryFiles() {
+        // only static helpers
+    }
+
+    /**
+     * Writes the content into a new temporary file and returns a stream of it. The file is deleted when the stream
+     * is closed, or right away if the content could not be written.
+     */
+    public static <E extends Exception> InputStream streamTemporaryFile(ContentWriter<E> writer) throws IOException, E {
+        Path file = Files.createTempFile("sw360-export-", ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                writer.write(out);
+            }
+            return Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (Exception e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.exporter.utils;
+
+import org.apache.thrift.TException;
+import org.eclipse.sw360.datahandler.common.WrappedException.WrappedSW360Exception;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class PageIteratorTest {
+
+    private final List<Integer> documents = IntStream.range(0, 23).boxed().collect(Collectors.toList());
+    private final List<Integer> requestedPages = new ArrayList<>();
+
+    private Map<PaginationData, List<Integer>> getPage(PaginationData pageData) {
+        requestedPages.add(pageData.getPage());
+        int from = Math.min(pageData.getPage() * pageData.getRowsPerPage(), documents.size());
+        int to = Math.min(from + pageData.getRowsPerPage(), documents.size());
+        return Collections.singletonMap(pageData.deepCopy().setTotalRowCount(documents.size()), documents.subList(from, to));
+    }
+
+    private static PaginationData firstPage(int rowsPerPage) {
+        return new PaginationData().setPage(0).setRowsPerPage(rowsPerPage);
+    }
+
+    @Test
+    public void testIteratesOverAllPages() {
+        List<List<Integer>> pages = new ArrayList<>();
+        new PageIterator<>(firstPage(10), this::getPage).forEachRemaining(pages::add);
+
+        assertThat(pages, hasSize(3));
+        assertThat(pages.stream().flatMap(List::stream).collect(Collectors.toList()), is(documents));
+        assertThat(requestedPages, contains(0, 1, 2));
+    }
+
+    @Test
+    public void testReadsPagesOnlyWhenRequested() {
+        PageIterator<Integer> pages = new PageIterator<>(firstPage(10), this::getPage);
+        assertThat(requestedPages, is(empty()));
+
+        pages.next();
+        assertThat(requestedPages, contains(0));
+    }
+
+    @Test
+    public void testStopsAtLastFullPage() {
+        documents.subList(20, 23).clear();
+        List<List<Integer>> pages = new ArrayList<>();
+        new PageIterator<>(firstPage(10), this::getPage).forEachRemaining(pages::add);
+
+        assertThat(pages, hasSize(2));
+        assertThat(requestedPages, contains(0, 1));
+    }
+
+    @Test
+    public void testHasNoPagesWithoutDocuments() {
+        documents.clear();
+
+        assertThat(new PageIterator<>(firstPage(10), this::getPage).hasNext(), is(false));
+    }
+
+    @Test(expected = WrappedSW360Exception.class)
+    public void testWrapsErrorsOfPageSource() {
+        new PageIterator<Integer>(firstPage(10), pageData -> {
+            throw new TException("unreachable");
+        }).hasNext();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRequiresRowsPerPage() {
+        new PageIterator<>(new PaginationData().setPage(0), this::getPage);
+    }
+}
@@ -9,10 +9,13 @@
  */
 package org.eclipse.sw360.datahandler.common;
 
+import org.eclipse.sw360.datahandler.couchdb.DatabaseClientRegistry;
+
 import org.ektorp.http.HttpClient;
 import org.ektorp.http.StdHttpClient;
 
 import java.net.MalformedURLException;
+import java.nio.file.Paths;
 import java.util.Properties;
 import java.util.function.Supplier;
 
@@ -37,6 +40,17 @@ public class DatabaseSettings {
 
     public static final int LUCENE_SEARCH_LIMIT;
     public static final boolean LUCENE_LEADING_WILDCARD;
+    public static final boolean LUCENE_EMBEDDED;
+    public static final String LUCENE_EMBEDDED_DIRECTORY;
+    public static final long LUCENE_EMBEDDED_REFRESH_MILLIS;
+
+    public static final int COUCH_DB_BULK_FETCH_CHUNK_SIZE;
+    public static final int COUCH_DB_BULK_FETCH_PARALLELISM;
+
+    public static final int COUCH_DB_MAX_CONNECTIONS;
+    public static final int COUCH_DB_CONNECTION_TIMEOUT_MILLIS;
+    public static final int COUCH_DB_SOCKET_TIMEOUT_MILLIS;
+    public static final boolean COUCH_DB_COMPRESSION;
 
     private static final String COUCH_DB_USERNAME;
     private static final String COUCH_DB_PASSWORD;
@@ -57,17 +71,37 @@ public class DatabaseSettings {
 
         LUCENE_SEARCH_LIMIT = Integer.parseInt(props.getProperty("lucenesearch.limit", "25"));
         LUCENE_LEADING_WILDCARD = Boolean.parseBoolean(props.getProperty("lucenesearch.leading.wildcard", "false"));
+        LUCENE_EMBEDDED = "embedded".equals(props.getProperty("lucenesearch.backend", "couchdb-lucene"));
+        LUCENE_EMBEDDED_DIRECTORY = props.getProperty("lucenesearch.embedded.directory",
+                Paths.get(System.getProperty("java.io.tmpdir"), "sw360-lucene").toString());
+        LUCENE_EMBEDDED_REFRESH_MILLIS = Long.parseLong(props.getProperty("lucenesearch.embedded.refresh.ms", "1000"));
+
+        COUCH_DB_BULK_FETCH_CHUNK_SIZE = Integer.parseInt(props.getProperty("couchdb.bulk.fetch.chunk_size", "500"));
+        COUCH_DB_BULK_FETCH_PARALLELISM = Integer.parseInt(props.getProperty("couchdb.bulk.fetch.parallelism", "1"));
+
+        COUCH_DB_MAX_CONNECTIONS = Integer.parseInt(props.getProperty("couchdb.http.max_connections", "100"));
+        COUCH_DB_CONNECTION_TIMEOUT_MILLIS = Integer.parseInt(props.getProperty("couchdb.http.connection_timeout.ms", "1000"));
+        COUCH_DB_SOCKET_TIMEOUT_MILLIS = Integer.parseInt(props.getProperty("couchdb.http.socket_timeout.ms", "10000"));
+        COUCH_DB_COMPRESSION = Boolean.parseBoolean(props.getProperty("couchdb.http.compression", "false"));
     }
 
+    /**
+     * All clients returned by the supplier share one connection pool per CouchDB server and user
+     */
     public static Supplier<HttpClient> getConfiguredHttpClient() throws MalformedURLException {
-        StdHttpClient.Builder httpClientBuilder = new StdHttpClient.Builder().url(COUCH_DB_URL);
+        StdHttpClient.Builder httpClientBuilder = new StdHttpClient.Builder().url(COUCH_DB_URL)
+                .maxConnections(COUCH_DB_MAX_CONNECTIONS)
+                .connectionTimeout(COUCH_DB_CONNECTION_TIMEOUT_MILLIS)
+                .socketTimeout(COUCH_DB_SOCKET_TIMEOUT_MILLIS)
+                .compression(COUCH_DB_COMPRESSION);
         if(! "".equals(COUCH_DB_USERNAME)) {
             httpClientBuilder.username(COUCH_DB_USERNAME);
         }
         if (! "".equals(COUCH_DB_PASSWORD)) {
             httpClientBuilder.password(COUCH_DB_PASSWORD);
         }
-        return httpClientBuilder::build;
+        String key = ("".equals(COUCH_DB_USERNAME) ? "" : COUCH_DB_USERNAME + "@") + COUCH_DB_URL;
+        return () -> DatabaseClientRegistry.getHttpClient(key, () -> httpClientBuilder);
     }
 
 
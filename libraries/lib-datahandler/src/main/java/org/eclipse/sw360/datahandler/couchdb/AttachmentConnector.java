@@ -18,7 +18,6 @@ import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
 import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentContent;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.util.Collection;
 import java.util.HashSet;
@@ -27,11 +26,9 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
-import static org.eclipse.sw360.datahandler.common.CommonUtils.closeQuietly;
 import static org.eclipse.sw360.datahandler.common.CommonUtils.nullToEmptyCollection;
 import static org.eclipse.sw360.datahandler.common.CommonUtils.nullToEmptySet;
 import static org.eclipse.sw360.datahandler.common.SW360Assert.assertNotEmpty;
-import static org.apache.commons.codec.digest.DigestUtils.sha1Hex;
 
 import org.eclipse.sw360.datahandler.thrift.attachments.CheckStatus;
 import org.ektorp.http.HttpClient;
@@ -109,22 +106,31 @@ public class AttachmentConnector extends AttachmentStreamConnector {
     }
 
     public String getSha1FromAttachmentContentId(String attachmentContentId) {
-        InputStream attachmentStream = null;
         try {
             AttachmentContent attachmentContent = getAttachmentContent(attachmentContentId);
-            attachmentStream = readAttachmentStream(attachmentContent);
-            return sha1Hex(attachmentStream);
+            if (!isNullOrEmpty(attachmentContent.getSha1())) {
+                return attachmentContent.getSha1();
+            }
+            return computeAndStoreHashes(attachmentContent).getSha1();
         } catch (SW360Exception e) {
             log.error("Problem retrieving content of attachment", e);
             return "";
         } catch (IOException e) {
             log.error("Problem computing the sha1 checksum", e);
             return "";
-        } finally {
-            closeQuietly(attachmentStream, log);
         }
     }
 
+    /**
+     * Reads the content of an attachment which has been uploaded without checksums once to compute them, and stores
+     * them on the attachment content.
+     */
+    public AttachmentContent computeAndStoreHashes(AttachmentContent attachmentContent) throws IOException {
+        AttachmentDigests digests = new AttachmentDigests().consume(readAttachmentStream(attachmentContent));
+        storeHashes(attachmentContent, digests);
+        return attachmentContent;
+    }
+
     public void setSha1ForAttachments(Set<Attachment> attachments){
         for(Attachment attachment : attachments){
             if(isNullOrEmpty(attachment.getSha1())){
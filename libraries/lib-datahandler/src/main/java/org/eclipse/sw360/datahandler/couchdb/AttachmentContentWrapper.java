@@ -29,6 +29,9 @@ public class AttachmentContentWrapper extends DocumentWrapper<AttachmentContent>
     public String filename; // required
     public String contentType; // required
     public String partsCount; // optional
+    public String sha1; // optional
+    public String sha256; // optional
+    public String createdOn; // optional
 
 
     @Override
@@ -40,5 +43,8 @@ public class AttachmentContentWrapper extends DocumentWrapper<AttachmentContent>
         partsCount = source.getPartsCount();
         remoteUrl = source.getRemoteUrl();
         onlyRemote = source.isOnlyRemote();
+        sha1 = source.getSha1();
+        sha256 = source.getSha256();
+        createdOn = source.getCreatedOn();
     }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.couchdb;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentContent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+
+/**
+ * Computes the checksums of an attachment while its content is streamed, so that the content does not have to be
+ * read a second time only to hash it.
+ */
+class AttachmentDigests {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final MessageDigest sha1 = DigestUtils.getSha1Digest();
+    private final MessageDigest sha256 = DigestUtils.getSha256Digest();
+    private String sha1Hex;
+    private String sha256Hex;
+
+    /**
+     * Wraps the stream, all bytes read from the returned stream are added to the digests
+     */
+    InputStream digesting(InputStream stream) {
+        return new DigestInputStream(new DigestInputStream(stream, sha1), sha256);
+    }
+
+    /**
+     * Reads the stream to its end and adds all bytes to the digests
+     */
+    AttachmentDigests consume(InputStream stream) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream digestingStream = digesting(stream)) {
+            while (digestingStream.read(buffer) >= 0) {
+                // only digesting
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Sets the checksums of all bytes read so far on the attachment content. The stream must not be read any further
+     * afterwards.
+     */
+    void applyTo(AttachmentContent attachmentContent) {
+        if (sha1Hex == null) {
+            sha1Hex = Hex.encodeHexString(sha1.digest());
+            sha256Hex = Hex.encodeHexString(sha256.digest());
+        }
+        attachmentContent.setSha1(sha1Hex);
+        attachmentContent.setSha256(sha256Hex);
+    }
+}
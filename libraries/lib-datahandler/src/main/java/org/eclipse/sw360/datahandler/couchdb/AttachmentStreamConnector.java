@@ -232,14 +232,29 @@ public class AttachmentStreamConnector {
     }
 
     /**
-     * Upload a single part attachment using the provided metadata
+     * Upload a single part attachment using the provided metadata. The checksums of the content are computed while
+     * it is uploaded and stored on the attachment content, they are also set on the given object.
      */
     public void uploadAttachment(AttachmentContent attachment, InputStream stream) throws SW360Exception {
-        addAttachmentTo(attachment.getId(), attachment.getFilename(), stream);
+        AttachmentDigests digests = new AttachmentDigests();
+        addAttachmentTo(attachment.getId(), attachment.getFilename(), digests.digesting(stream));
+        storeHashes(attachment, digests);
     }
 
     /**
-     * Upload a part of an attachment using the provided metadata
+     * Stores the checksums of the digests on the attachment content document and on the given object
+     */
+    void storeHashes(AttachmentContent attachment, AttachmentDigests digests) {
+        digests.applyTo(attachment);
+        AttachmentContent stored = connector.get(AttachmentContent.class, attachment.getId());
+        digests.applyTo(stored);
+        connector.update(stored);
+        attachment.setRevision(stored.getRevision());
+    }
+
+    /**
+     * Upload a part of an attachment using the provided metadata. The checksums of multi part attachments are not
+     * known before all parts are uploaded, they are computed on first request or by the scheduled hash update.
      */
     public void uploadAttachmentPart(AttachmentContent attachmentContent, int part, InputStream stream) throws SW360Exception {
         // Extract required data
@@ -0,0 +1,124 @@
+/*
+ * Copyright Siemens AG, 2020. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.couchdb;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.ektorp.http.HttpClient;
+import org.ektorp.http.IdleConnectionMonitor;
+import org.ektorp.http.StdHttpClient;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps one http client per CouchDB server and user, so that all connectors of
+ * the process share a single connection pool instead of opening their own.
+ * Pools with requests waiting for a connection are logged periodically.
+ *
+ * @see org.eclipse.sw360.datahandler.common.DatabaseSettings#getConfiguredHttpClient()
+ */
+public class DatabaseClientRegistry {
+
+    private static final Logger log = LogManager.getLogger(DatabaseClientRegistry.class);
+
+    private static final long POOL_STATS_INTERVAL_SECONDS = 30;
+
+    private static final ConcurrentMap<String, PooledHttpClient> clients = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService poolStatsExecutor;
+
+    private static class PooledHttpClient {
+        private final HttpClient httpClient;
+        private final PoolingClientConnectionManager connectionManager;
+
+        private PooledHttpClient(StdHttpClient.Builder builder) {
+            // the pool is created here to keep a reference for its statistics, the builder then uses it for the client
+            builder.cleanupIdleConnections(false);
+            connectionManager = (PoolingClientConnectionManager) builder.configureConnectionManager(new BasicHttpParams());
+            httpClient = builder.build();
+            IdleConnectionMonitor.monitor(connectionManager);
+        }
+    }
+
+    private DatabaseClientRegistry() {
+        // Utility class with only static functions
+    }
+
+    /**
+     * Returns the shared client for the given key, the builder is only used if
+     * there is none yet
+     *
+     * @param key     identifies the server and the credentials, must not contain the password
+     * @param builder configuration of the client
+     */
+    public static HttpClient getHttpClient(String key, Supplier<StdHttpClient.Builder> builder) {
+        return clients.computeIfAbsent(key, k -> {
+            log.info("Creating connection pool for CouchDB " + k);
+            startPoolStatsLogging();
+            return new PooledHttpClient(builder.get());
+        }).httpClient;
+    }
+
+    private static synchronized void startPoolStatsLogging() {
+        if (poolStatsExecutor == null) {
+            poolStatsExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("couchdb-pool-stats-%d")
+                    .setDaemon(true)
+                    .build());
+            poolStatsExecutor.scheduleWithFixedDelay(DatabaseClientRegistry::logPendingConnections,
+                    POOL_STATS_INTERVAL_SECONDS, POOL_STATS_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void logPendingConnections() {
+        getPoolStats().forEach((key, stats) -> {
+            if (stats.getPending() > 0) {
+                log.warn("Requests are waiting for a connection to CouchDB " + key + ", the pool may be too small: " + stats);
+            }
+        });
+    }
+
+    /**
+     * Statistics of the connections leased, available and pending for each pool.
+     * Pending connections show that requests wait for the pool, not for the database.
+     */
+    public static Map<String, PoolStats> getPoolStats() {
+        return clients.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().connectionManager.getTotalStats()));
+    }
+
+    /**
+     * Closes all pools, clients requested afterwards get new ones
+     */
+    public static void shutdown() {
+        synchronized (DatabaseClientRegistry.class) {
+            if (poolStatsExecutor != null) {
+                poolStatsExecutor.shutdownNow();
+                poolStatsExecutor = null;
+            }
+        }
+        clients.keySet().forEach(key -> {
+            PooledHttpClient client = clients.remove(key);
+            if (client != null) {
+                client.httpClient.shutdown();
+            }
+        });
+    }
+}
@@ -9,21 +9,30 @@
  */
 package org.eclipse.sw360.datahandler.couchdb;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.eclipse.sw360.datahandler.common.DatabaseSettings;
 import org.eclipse.sw360.datahandler.thrift.ThriftUtils;
 import org.ektorp.BulkDeleteDocument;
 import org.ektorp.DbAccessException;
@@ -53,6 +62,11 @@ public class DatabaseConnector extends StdCouchDbConnector {
 
     private String adminRole = "_admin";
 
+    private int bulkFetchChunkSize = DatabaseSettings.COUCH_DB_BULK_FETCH_CHUNK_SIZE;
+
+    // shared by all connectors, sized by couchdb.bulk.fetch.parallelism
+    private static volatile ExecutorService bulkFetchExecutor;
+
     /**
      * Create a connection to the database
      *
@@ -159,28 +173,90 @@ public class DatabaseConnector extends StdCouchDbConnector {
 
     /**
      * Get a list of documents from their IDs. All documents should be of the same type.
+     * The documents are read directly from the included docs of an _all_docs query, which is issued in chunks of
+     * {@link #getBulkFetchChunkSize()} ids, in parallel if {@link DatabaseSettings#COUCH_DB_BULK_FETCH_PARALLELISM} is
+     * greater than one. Deleted documents and documents that cannot be converted are skipped.
      */
     public <T> List<T> get(Class<T> type, Collection<String> ids, boolean ignoreNotFound) {
         if (ids == null) return Collections.emptyList();
 
         // Copy to set in order to avoid duplicates
-        Set<String> idSet = ImmutableSet.copyOf(ids);
+        List<String> idList = ImmutableSet.copyOf(ids).asList();
+        if (idList.isEmpty()) return Collections.emptyList();
+
+        List<List<String>> chunks = Lists.partition(idList, Math.max(1, bulkFetchChunkSize));
+        if (chunks.size() == 1 || DatabaseSettings.COUCH_DB_BULK_FETCH_PARALLELISM <= 1) {
+            List<T> results = Lists.newArrayListWithCapacity(idList.size());
+            for (List<String> chunk : chunks) {
+                results.addAll(getChunk(type, chunk, ignoreNotFound));
+            }
+            return results;
+        }
+
+        ExecutorService executor = getBulkFetchExecutor();
+        List<CompletableFuture<List<T>>> futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> getChunk(type, chunk, ignoreNotFound), executor))
+                .collect(Collectors.toList());
+        try {
+            return futures.stream()
+                    .map(CompletableFuture::join)
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList());
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
 
+    private <T> List<T> getChunk(Class<T> type, List<String> ids, boolean ignoreNotFound) {
         ViewQuery q = new ViewQuery()
                 .allDocs()
                 .includeDocs(true)
-                .keys(idSet);
+                .keys(ids);
         q.setIgnoreNotFound(ignoreNotFound);
 
-        List<T> results = Lists.newArrayList();
         ViewResult result = queryView(q);
+        List<T> results = Lists.newArrayListWithCapacity(result.getSize());
         for (ViewResult.Row row : result.getRows()) {
-            String id = row.getId();
-            results.add(get(type, id));
+            JsonNode doc = row.getDocAsNode();
+            if (doc == null || doc.isMissingNode() || doc.isNull()) {
+                log.info("Document not found for ID: {}", row.getId());
+                continue;
+            }
+            try {
+                results.add(objectMapper.treeToValue(doc, type));
+            } catch (JsonProcessingException e) {
+                log.error("Document ID {} could not be successfully converted to {}", row.getId(), type.getName(), e);
+            }
         }
         return results;
     }
 
+    private static ExecutorService getBulkFetchExecutor() {
+        if (bulkFetchExecutor == null) {
+            synchronized (DatabaseConnector.class) {
+                if (bulkFetchExecutor == null) {
+                    bulkFetchExecutor = Executors.newFixedThreadPool(DatabaseSettings.COUCH_DB_BULK_FETCH_PARALLELISM, new ThreadFactoryBuilder()
+                            .setNameFormat("couchdb-bulk-fetch-%d")
+                            .setDaemon(true)
+                            .build());
+                }
+            }
+        }
+        return bulkFetchExecutor;
+    }
+
+    public int getBulkFetchChunkSize() {
+        return bulkFetchChunkSize;
+    }
+
+    public void setBulkFetchChunkSize(int bulkFetchChunkSize) {
+        this.bulkFetchChunkSize = bulkFetchChunkSize;
+    }
+
     public <T> List<T> get(Class<T> type, Collection<String> ids) {
         return get(type, ids, false);
     }
@@ -253,6 +329,13 @@ public class DatabaseConnector extends StdCouchDbConnector {
         return instance;
     }
 
+    /**
+     * Converts a document read from this database in another way, e.g. from a search index, like {@link #get} does
+     */
+    public <T> T convert(String json, Class<T> type) throws IOException {
+        return objectMapper.readValue(json, type);
+    }
+
     /**
      * Deletes all objects in the supplied collection.
      *
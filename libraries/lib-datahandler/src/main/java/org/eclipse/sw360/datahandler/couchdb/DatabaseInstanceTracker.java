@@ -27,5 +27,6 @@ public class DatabaseInstanceTracker {
         while ((trackedInstance = trackedInstances.poll()) != null) {
             trackedInstance.destroy();
         }
+        DatabaseClientRegistry.shutdown();
     }
 }
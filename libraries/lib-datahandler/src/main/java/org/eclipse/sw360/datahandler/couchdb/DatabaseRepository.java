@@ -171,6 +171,45 @@ public class DatabaseRepository<T> extends CouchDbRepositorySupport<T> {
         return db.queryView(query, type);
     }
 
+    /**
+     * Reads one page of the documents of a view with complex keys [prefix, sortKey, ...] and a _count reduce
+     * function. Only the rows with the given prefix are read, sorted by the remaining key elements.
+     */
+    public List<T> queryPageByPrefix(String viewName, String prefix, int skip, int limit, boolean descending) {
+        ViewQuery query = createPrefixRangeQuery(viewName, prefix, descending)
+                .reduce(false)
+                .skip(skip)
+                .limit(limit)
+                .includeDocs(true);
+        return queryView(query);
+    }
+
+    /**
+     * Counts the rows with the given prefix of a view as used by {@link #queryPageByPrefix}.
+     */
+    public int countByPrefix(String viewName, String prefix) {
+        ViewQuery query = createPrefixRangeQuery(viewName, prefix, false).reduce(true);
+        List<ViewResult.Row> rows = connector.queryView(query).getRows();
+        return rows.isEmpty() ? 0 : rows.get(0).getValueAsInt();
+    }
+
+    /**
+     * Returns the ids of all rows with the given prefix of a view as used by {@link #queryPageByPrefix} in key order,
+     * for pages which have to be filtered before they can be cut.
+     */
+    public List<String> queryForIdListByPrefix(String viewName, String prefix, boolean descending) {
+        return queryForIdList(createPrefixRangeQuery(viewName, prefix, descending).reduce(false));
+    }
+
+    private ViewQuery createPrefixRangeQuery(String viewName, String prefix, boolean descending) {
+        ComplexKey first = ComplexKey.of(prefix);
+        ComplexKey last = ComplexKey.of(prefix, ComplexKey.emptyObject());
+        return createQuery(viewName)
+                .descending(descending)
+                .startKey(descending ? last : first)
+                .endKey(descending ? first : last);
+    }
+
     @Override
     public T get(String id) {
         try {
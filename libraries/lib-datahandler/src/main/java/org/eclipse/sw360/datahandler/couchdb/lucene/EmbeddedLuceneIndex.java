@@ -0,0 +1,388 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.couchdb.lucene;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.core.KeywordAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.eclipse.sw360.datahandler.common.DatabaseSettings;
+import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
+import org.ektorp.changes.ChangesCommand;
+import org.ektorp.changes.DocumentChange;
+import org.ektorp.support.DesignDocument;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Lucene index of a search view kept on the local disk, as an alternative to couchdb-lucene. The indexes of a database
+ * are updated together from one reader of the _changes feed of the database, in the background and before each
+ * search, so that searches see all changes made before; the sequence of the last indexed change is stored with each
+ * commit, so that an index continues where it stopped after a restart. The documents, or the fields of the view
+ * needed for search results, are stored in the index, so that searches do not have to read them from the database.
+ * This is the only class using lucene itself, which is an optional import of the bundle, so that the couchdb-lucene
+ * backend works without it.
+ */
+class EmbeddedLuceneIndex {
+
+    private static final Logger log = LogManager.getLogger(EmbeddedLuceneIndex.class);
+
+    private static final String ID_FIELD = "_id";
+    private static final String SOURCE_FIELD = "_source";
+    private static final String DEFAULT_FIELD = "default";
+    private static final String SEQUENCE_KEY = "sequence";
+    private static final String DEFINITION_KEY = "definition";
+    private static final String NO_SEQUENCE = "0";
+    private static final int CHANGES_BATCH_SIZE = 1000;
+    // couchdb-lucene syntax for typed fields, e.g. createdOn<date>:[2020-01-01 TO 2020-12-31]
+    private static final Pattern FIELD_TYPE = Pattern.compile("(\\w+)<\\w+>:");
+
+    private static final Map<String, EmbeddedLuceneIndex> indexes = Maps.newHashMap();
+    private static final Map<String, ChangesReader> changesReaders = Maps.newHashMap();
+    private static ScheduledExecutorService updateExecutor;
+
+    private final DatabaseConnector connector;
+    private final ChangesReader changesReader;
+    private final LuceneSearchView view;
+    private final Analyzer analyzer;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private String lastSequence;
+
+    private EmbeddedLuceneIndex(DatabaseConnector connector, ChangesReader changesReader, LuceneSearchView view) throws IOException {
+        this.connector = connector;
+        this.changesReader = changesReader;
+        this.view = view;
+        Map<String, Analyzer> fieldAnalyzers = Maps.newHashMap();
+        fieldAnalyzers.put(ID_FIELD, new KeywordAnalyzer());
+        view.dateFields.forEach(field -> fieldAnalyzers.put(field, new KeywordAnalyzer()));
+        this.analyzer = new PerFieldAnalyzerWrapper(new StandardAnalyzer(), fieldAnalyzers);
+
+        Directory directory = FSDirectory.open(getIndexPath(connector, view));
+        Map<String, String> commitData = DirectoryReader.indexExists(directory)
+                ? SegmentInfos.readLatestCommit(directory).getUserData()
+                : ImmutableMap.of();
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        if (view.getEmbeddedDefinition().equals(commitData.get(DEFINITION_KEY))) {
+            lastSequence = commitData.getOrDefault(SEQUENCE_KEY, NO_SEQUENCE);
+        } else {
+            log.info("Building lucene index " + view.searchFunction + " of database " + connector.getDbName());
+            writer.deleteAll();
+            lastSequence = NO_SEQUENCE;
+        }
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Returns the index of the view in the database, which is opened and kept up to date from then on
+     */
+    static synchronized EmbeddedLuceneIndex forView(DatabaseConnector connector, LuceneSearchView view) throws IOException {
+        String key = connector.getDbName() + "/" + view.searchView + "/" + view.searchFunction;
+        EmbeddedLuceneIndex index = indexes.get(key);
+        if (index == null) {
+            ChangesReader changesReader = changesReaders.get(connector.getDbName());
+            if (changesReader == null) {
+                changesReader = new ChangesReader(connector);
+                changesReaders.put(connector.getDbName(), changesReader);
+                getUpdateExecutor().scheduleWithFixedDelay(changesReader::updateQuietly, DatabaseSettings.LUCENE_EMBEDDED_REFRESH_MILLIS,
+                        DatabaseSettings.LUCENE_EMBEDDED_REFRESH_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            index = new EmbeddedLuceneIndex(connector, changesReader, view);
+            changesReader.add(index);
+            indexes.put(key, index);
+        }
+        return index;
+    }
+
+    private static ScheduledExecutorService getUpdateExecutor() {
+        if (updateExecutor == null) {
+            updateExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("lucene-index-update-%d")
+                    .setDaemon(true)
+                    .build());
+        }
+        return updateExecutor;
+    }
+
+    /**
+     * Each application gets its own directory, as several applications in one servlet container may use the same
+     * view but cannot write the same index.
+     */
+    private static Path getIndexPath(DatabaseConnector connector, LuceneSearchView view) {
+        CodeSource codeSource = EmbeddedLuceneIndex.class.getProtectionDomain().getCodeSource();
+        String location = codeSource == null ? "" : String.valueOf(codeSource.getLocation());
+        String application = Hashing.murmur3_32().hashString(location, StandardCharsets.UTF_8).toString();
+        return Paths.get(DatabaseSettings.LUCENE_EMBEDDED_DIRECTORY, application, connector.getDbName(),
+                view.searchView + "-" + view.searchFunction);
+    }
+
+    /**
+     * Indexes all changes of the database since the last update, together with the other indexes of the database
+     */
+    void update() throws IOException {
+        changesReader.update();
+    }
+
+    /**
+     * Indexes a batch of changes of the database ending with the given sequence
+     */
+    private void applyChanges(List<DocumentChange> changes, String sequence) throws IOException {
+        for (DocumentChange change : changes) {
+            apply(change);
+        }
+        lastSequence = sequence;
+        writer.setLiveCommitData(ImmutableMap.of(SEQUENCE_KEY, lastSequence,
+                DEFINITION_KEY, view.getEmbeddedDefinition()).entrySet());
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    private void apply(DocumentChange change) throws IOException {
+        if (change.getId().startsWith(DesignDocument.ID_PREFIX)) {
+            return;
+        }
+        Term idTerm = new Term(ID_FIELD, change.getId());
+        JsonNode doc = change.getDocAsNode();
+        if (change.isDeleted() || doc == null || doc.isMissingNode() || doc.isNull() || !isIndexed(doc)) {
+            writer.deleteDocuments(idTerm);
+        } else {
+            writer.updateDocument(idTerm, toDocument(change.getId(), doc));
+        }
+    }
+
+    private boolean isIndexed(JsonNode doc) {
+        String type = doc.path("type").asText("");
+        return view.documentType == null ? !type.isEmpty() : view.documentType.equals(type);
+    }
+
+    private Document toDocument(String id, JsonNode doc) {
+        Document document = new Document();
+        document.add(new StringField(ID_FIELD, id, Field.Store.YES));
+        Iterator<Map.Entry<String, JsonNode>> fields = doc.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            boolean isDefault = view.defaultFields == null || view.defaultFields.contains(name);
+            if (name.equals(ID_FIELD)) {
+                if (isDefault) {
+                    document.add(new TextField(DEFAULT_FIELD, id, Field.Store.NO));
+                }
+                continue;
+            } else if (name.equals("_rev") || name.equals("_attachments")) {
+                continue;
+            }
+            addValues(document, name, field.getValue(), isDefault);
+            if (view.storedFields != null && view.storedFields.contains(name) && field.getValue().isValueNode()) {
+                document.add(new StoredField(name, field.getValue().asText()));
+            }
+        }
+        if (view.storedFields == null) {
+            document.add(new StoredField(SOURCE_FIELD, doc.toString()));
+        }
+        return document;
+    }
+
+    private void addValues(Document document, String name, JsonNode value, boolean isDefault) {
+        if (value.isContainerNode()) {
+            for (JsonNode element : value) {
+                addValues(document, name, element, isDefault);
+            }
+        } else if (!value.isNull()) {
+            String text = value.asText();
+            if (view.dateFields.contains(name)) {
+                document.add(new StringField(name, text, Field.Store.NO));
+            } else {
+                document.add(new TextField(name, text, Field.Store.NO));
+            }
+            if (isDefault) {
+                document.add(new TextField(DEFAULT_FIELD, text, Field.Store.NO));
+            }
+        }
+    }
+
+    /**
+     * Searches the index with a query in the syntax of couchdb-lucene, after indexing the changes made since the
+     * last update
+     *
+     * @param limit maximum number of hits, all hits if not positive
+     * @throws IllegalArgumentException if the query cannot be parsed
+     */
+    List<Hit> search(String queryString, int limit) throws IOException {
+        update();
+
+        QueryParser parser = new QueryParser(DEFAULT_FIELD, analyzer);
+        parser.setAllowLeadingWildcard(DatabaseSettings.LUCENE_LEADING_WILDCARD);
+        Query query;
+        try {
+            query = parser.parse(FIELD_TYPE.matcher(queryString).replaceAll("$1:"));
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid lucene query " + queryString, e);
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            int maxHits = limit > 0 ? limit : Math.max(1, searcher.getIndexReader().maxDoc());
+            TopDocs topDocs = searcher.search(query, maxHits);
+            List<Hit> hits = Lists.newArrayListWithCapacity(topDocs.scoreDocs.length);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                hits.add(new Hit(searcher.doc(scoreDoc.doc), scoreDoc.score));
+            }
+            return hits;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * Reads the _changes feed of a database once for all of its indexes. Indexes that are behind, e.g. after being
+     * rebuilt, make the reader start at their sequence; the other indexes then get changes again which they already
+     * contain, which is harmless, as each change replaces the indexed document by its current revision.
+     */
+    private static class ChangesReader {
+        private final DatabaseConnector connector;
+        private final List<EmbeddedLuceneIndex> indexes = Lists.newArrayList();
+
+        private ChangesReader(DatabaseConnector connector) {
+            this.connector = connector;
+        }
+
+        /**
+         * Adds an index between updates, so that it cannot miss the first batches of a running update
+         */
+        private synchronized void add(EmbeddedLuceneIndex index) {
+            indexes.add(index);
+        }
+
+        private void updateQuietly() {
+            try {
+                update();
+            } catch (Exception e) {
+                log.error("Could not update lucene indexes of database " + connector.getDbName(), e);
+            }
+        }
+
+        /**
+         * Indexes all changes of the database since the update of the index that is furthest behind
+         */
+        private synchronized void update() throws IOException {
+            String since = indexes.stream()
+                    .map(index -> index.lastSequence)
+                    .min(Comparator.comparingLong(ChangesReader::sequenceNumber))
+                    .orElse(null);
+            if (since == null) {
+                return;
+            }
+            List<DocumentChange> changes;
+            do {
+                ChangesCommand command = new ChangesCommand.Builder()
+                        .since(since)
+                        .includeDocs(true)
+                        .limit(CHANGES_BATCH_SIZE)
+                        .build();
+                changes = connector.changes(command);
+                if (!changes.isEmpty()) {
+                    DocumentChange lastChange = changes.get(changes.size() - 1);
+                    // CouchDB 1.x uses numeric sequences, later versions opaque strings starting with a number
+                    since = lastChange.getStringSequence() != null ? lastChange.getStringSequence()
+                            : String.valueOf(lastChange.getSequence());
+                    for (EmbeddedLuceneIndex index : indexes) {
+                        index.applyChanges(changes, since);
+                    }
+                }
+            } while (changes.size() >= CHANGES_BATCH_SIZE);
+        }
+
+        private static long sequenceNumber(String sequence) {
+            int end = 0;
+            while (end < sequence.length() && Character.isDigit(sequence.charAt(end))) {
+                end++;
+            }
+            return end == 0 ? 0 : Long.parseLong(sequence.substring(0, end));
+        }
+    }
+
+    /**
+     * A hit with the stored fields of the document
+     */
+    static class Hit {
+        private final Document document;
+        private final double score;
+
+        private Hit(Document document, double score) {
+            this.document = document;
+            this.score = score;
+        }
+
+        String getId() {
+            return document.get(ID_FIELD);
+        }
+
+        double getScore() {
+            return score;
+        }
+
+        /**
+         * The stored document as json, or null if the view stores only some fields
+         */
+        String getSource() {
+            return document.get(SOURCE_FIELD);
+        }
+
+        Map<String, Object> getStoredFields() {
+            Map<String, Object> fields = Maps.newHashMap();
+            for (IndexableField field : document.getFields()) {
+                if (!field.name().equals(SOURCE_FIELD)) {
+                    fields.put(field.name(), field.stringValue());
+                }
+            }
+            return fields;
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.ektorp.http.URI;
 import org.ektorp.support.DesignDocument;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -55,6 +56,7 @@ public class LuceneAwareDatabaseConnector extends LuceneAwareCouchDbConnector {
     private static final Joiner OR = Joiner.on(" OR ");
 
     private final DatabaseConnector connector;
+    private final Map<LuceneSearchView, EmbeddedLuceneIndex> embeddedIndexes = new ConcurrentHashMap<>();
 
     private static final List<String> LUCENE_SPECIAL_CHARACTERS = Arrays.asList("[\\\\\\+\\-\\!\\~\\*\\?\\\"\\^\\:\\(\\)\\{\\}\\[\\]]", "\\&\\&", "\\|\\|");
     private String dbNameForLuceneSearch;
@@ -81,6 +83,16 @@ public class LuceneAwareDatabaseConnector extends LuceneAwareCouchDbConnector {
     }
 
     public boolean addView(LuceneSearchView function) {
+        if (DatabaseSettings.LUCENE_EMBEDDED) {
+            try {
+                embeddedIndexes.put(function, EmbeddedLuceneIndex.forView(connector, function));
+                return true;
+            } catch (IOException | LinkageError e) {
+                // a LinkageError means that lucene is not available in the runtime
+                log.error("Could not open embedded lucene index " + function.searchFunction
+                        + ", falling back to couchdb-lucene", e);
+            }
+        }
         // make sure that the indexer is up-to-date
         IndexUploader uploader = new IndexUploader();
         return uploader.updateSearchFunctionIfNecessary(this, function.searchView,
@@ -91,13 +103,32 @@ public class LuceneAwareDatabaseConnector extends LuceneAwareCouchDbConnector {
      * Search with lucene using the previously declared search function
      */
     public <T> List<T> searchView(Class<T> type, LuceneSearchView function, String queryString) {
-        return connector.get(type, searchIds(type,function, queryString));
+        EmbeddedLuceneIndex embeddedIndex = embeddedIndexes.get(function);
+        if (embeddedIndex == null) {
+            return connector.get(type, searchIds(type, function, queryString));
+        }
+
+        List<EmbeddedLuceneIndex.Hit> hits = searchEmbedded(embeddedIndex, queryString);
+        List<T> results = new ArrayList<>(hits.size());
+        for (EmbeddedLuceneIndex.Hit hit : hits) {
+            T document = convertSource(hit, type);
+            if (document == null) {
+                // the view does not store whole documents
+                return connector.get(type, getIds(hits));
+            }
+            results.add(document);
+        }
+        return results;
     }
 
     /**
      * Search with lucene using the previously declared search function only for ids
      */
     public <T> List<String> searchIds(Class<T> type, LuceneSearchView function, String queryString) {
+        EmbeddedLuceneIndex embeddedIndex = embeddedIndexes.get(function);
+        if (embeddedIndex != null) {
+            return getIds(searchEmbedded(embeddedIndex, queryString));
+        }
         LuceneResult queryLuceneResult = searchView(function, queryString, false);
         return getIdsFromResult(queryLuceneResult);
     }
@@ -109,6 +140,57 @@ public class LuceneAwareDatabaseConnector extends LuceneAwareCouchDbConnector {
         return searchView(function, queryString, true);
     }
 
+    /**
+     * Search with lucene using the previously declared search function, independent of the search backend
+     */
+    @SuppressWarnings("unchecked")
+    public List<LuceneSearchHit> searchHits(LuceneSearchView function, String queryString) {
+        List<LuceneSearchHit> hits = new ArrayList<>();
+        EmbeddedLuceneIndex embeddedIndex = embeddedIndexes.get(function);
+        if (embeddedIndex != null) {
+            for (EmbeddedLuceneIndex.Hit hit : searchEmbedded(embeddedIndex, queryString)) {
+                Map<String, Object> doc = hit.getSource() != null ? convertSource(hit, Map.class) : hit.getStoredFields();
+                hits.add(new LuceneSearchHit(hit.getId(), hit.getScore(), doc));
+            }
+        } else {
+            LuceneResult result = searchView(function, queryString, true);
+            if (result != null) {
+                for (LuceneResult.Row row : result.getRows()) {
+                    hits.add(new LuceneSearchHit(row.getId(), row.getScore(), row.getDoc()));
+                }
+            }
+        }
+        return hits;
+    }
+
+    private List<EmbeddedLuceneIndex.Hit> searchEmbedded(EmbeddedLuceneIndex embeddedIndex, String queryString) {
+        if (isNullOrEmpty(queryString)) {
+            return Collections.emptyList();
+        }
+        try {
+            return embeddedIndex.search(queryString, resultLimit);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Error querying embedded lucene index with " + queryString, e);
+            return Collections.emptyList();
+        }
+    }
+
+    private <T> T convertSource(EmbeddedLuceneIndex.Hit hit, Class<T> type) {
+        if (hit.getSource() == null) {
+            return null;
+        }
+        try {
+            return connector.convert(hit.getSource(), type);
+        } catch (IOException e) {
+            log.error("Document ID " + hit.getId() + " of lucene index could not be converted to " + type.getName(), e);
+            return null;
+        }
+    }
+
+    private static List<String> getIds(List<EmbeddedLuceneIndex.Hit> hits) {
+        return hits.stream().map(EmbeddedLuceneIndex.Hit::getId).collect(Collectors.toList());
+    }
+
     /**
      * Search with lucene using the previously declared search function
      */
@@ -0,0 +1,43 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.couchdb.lucene;
+
+import java.util.Map;
+
+/**
+ * A single result of a search, independent of the search backend
+ */
+public class LuceneSearchHit {
+
+    private final String id;
+    private final double score;
+    private final Map<String, Object> doc;
+
+    LuceneSearchHit(String id, double score, Map<String, Object> doc) {
+        this.id = id;
+        this.score = score;
+        this.doc = doc;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * The document or, if the search view stores only some fields, the stored fields of the document
+     */
+    public Map<String, Object> getDoc() {
+        return doc;
+    }
+}
@@ -9,9 +9,18 @@
  */
 package org.eclipse.sw360.datahandler.couchdb.lucene;
 
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+
 import static com.google.common.base.Strings.isNullOrEmpty;
 
 /**
+ * Search function of couchdb-lucene. The search body is the javascript index function used by couchdb-lucene; for
+ * the embedded index the same index is described by the document type, the fields added to the default field and
+ * the fields stored for the search results.
  *
  * @author cedric.bodet@tngtech.com
  */
@@ -21,6 +30,23 @@ public class LuceneSearchView {
     final String searchFunction;
     final String searchBody;
 
+    /**
+     * Type of the indexed documents, or null if all documents with a type are indexed
+     */
+    String documentType;
+    /**
+     * Fields whose values are searchable without a field name, or null if all values are
+     */
+    Set<String> defaultFields;
+    /**
+     * Fields indexed as a whole, which are queried with ranges like {@code createdOn<date>:[2020-01-01 TO 2020-12-31]}
+     */
+    Set<String> dateFields = Collections.emptySet();
+    /**
+     * Fields stored for the search results, or null if the whole document is stored
+     */
+    Set<String> storedFields;
+
     public LuceneSearchView(String searchView, String searchFunction, String searchBody) {
         if (isNullOrEmpty(searchView) || isNullOrEmpty(searchFunction) || isNullOrEmpty(searchBody)) {
             throw new IllegalArgumentException("Invalid search functions, provided strings cannot be empty!");
@@ -31,4 +57,27 @@ public class LuceneSearchView {
         this.searchBody = searchBody;
     }
 
+    public LuceneSearchView forDocumentType(String documentType) {
+        this.documentType = documentType;
+        return this;
+    }
+
+    public LuceneSearchView withDefaultFields(String... fields) {
+        this.defaultFields = ImmutableSet.copyOf(fields);
+        return this;
+    }
+
+    public LuceneSearchView withDateFields(String... fields) {
+        this.dateFields = ImmutableSet.copyOf(fields);
+        return this;
+    }
+
+    public LuceneSearchView storingOnly(String... fields) {
+        this.storedFields = ImmutableSet.copyOf(fields);
+        return this;
+    }
+
+    String getEmbeddedDefinition() {
+        return Integer.toHexString(Objects.hash(searchBody, documentType, defaultFields, dateFields, storedFields));
+    }
 }
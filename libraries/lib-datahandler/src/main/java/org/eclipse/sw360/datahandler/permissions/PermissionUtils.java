@@ -18,6 +18,10 @@ import org.eclipse.sw360.datahandler.thrift.users.UserGroup;
 import org.eclipse.sw360.datahandler.thrift.vendors.Vendor;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
 
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * Created by bodet on 16/02/15.
  *
@@ -77,6 +81,15 @@ public class PermissionUtils {
         }
     }
 
+    /**
+     * Returns the groups of all users for which {@link #isUserAtLeast(UserGroup, User)} holds
+     */
+    public static Set<UserGroup> getUserGroupsAtLeast(UserGroup group) {
+        return Arrays.stream(UserGroup.values())
+                .filter(userGroup -> isUserAtLeast(group, new User().setUserGroup(userGroup)))
+                .collect(Collectors.toSet());
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> DocumentPermissions<T> makePermission(T document, User user) {
         if (document instanceof License) {
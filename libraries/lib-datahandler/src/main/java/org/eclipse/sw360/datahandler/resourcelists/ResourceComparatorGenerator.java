@@ -19,6 +19,7 @@ import org.eclipse.sw360.datahandler.thrift.components.Component;
 import org.eclipse.sw360.datahandler.thrift.components.Release;
 import org.eclipse.sw360.datahandler.thrift.projects.Project;
 import org.eclipse.sw360.datahandler.thrift.search.SearchResult;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.VulnerabilityDTO;
 
 import java.util.*;
 
@@ -29,6 +30,7 @@ public class ResourceComparatorGenerator<T> {
     private static final Map<Release._Fields, Comparator<Release>> releaseMap = generateReleaseMap();
     private static final Map<SearchResult._Fields, Comparator<SearchResult>> searchResultMap = generateSearchResultMap();
     private static final Map<ChangeLogs._Fields, Comparator<ChangeLogs>> changeLogMap = generateChangeLogMap();
+    private static final Map<VulnerabilityDTO._Fields, Comparator<VulnerabilityDTO>> vulnerabilityDTOMap = generateVulnerabilityDTOMap();
 
     private static Map<Component._Fields, Comparator<Component>> generateComponentMap() {
         Map<Component._Fields, Comparator<Component>> componentMap = new HashMap<>();
@@ -70,6 +72,14 @@ public class ResourceComparatorGenerator<T> {
         return Collections.unmodifiableMap(changeLogMap);
     }
 
+    private static Map<VulnerabilityDTO._Fields, Comparator<VulnerabilityDTO>> generateVulnerabilityDTOMap() {
+        Map<VulnerabilityDTO._Fields, Comparator<VulnerabilityDTO>> vulnerabilityDTOMap = new HashMap<>();
+        vulnerabilityDTOMap.put(VulnerabilityDTO._Fields.EXTERNAL_ID, Comparator.comparing(VulnerabilityDTO::getExternalId, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)));
+        vulnerabilityDTOMap.put(VulnerabilityDTO._Fields.PRIORITY, Comparator.comparing(VulnerabilityDTO::getPriority, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)));
+        vulnerabilityDTOMap.put(VulnerabilityDTO._Fields.INT_RELEASE_NAME, Comparator.comparing(VulnerabilityDTO::getIntReleaseName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)));
+        return Collections.unmodifiableMap(vulnerabilityDTOMap);
+    }
+
     public Comparator<T> generateComparator(String type) throws ResourceClassNotFoundException {
         switch (type) {
             case SW360Constants.TYPE_COMPONENT:
@@ -82,6 +92,8 @@ public class ResourceComparatorGenerator<T> {
                 return (Comparator<T>)defaultSearchResultComparator();
             case SW360Constants.TYPE_CHANGELOG:
                 return (Comparator<T>)defaultChangeLogComparator();
+            case SW360Constants.TYPE_VULNERABILITYDTO:
+                return (Comparator<T>)defaultVulnerabilityDTOComparator();
             default:
                 throw new ResourceClassNotFoundException("No default comparator for resource class with name " + type);
         }
@@ -138,6 +150,15 @@ public class ResourceComparatorGenerator<T> {
                     }
                 }
                 return generateChangeLogComparatorWithFields(type, changeLogs);
+            case SW360Constants.TYPE_VULNERABILITYDTO:
+                List<VulnerabilityDTO._Fields> vulnerabilityDTOFields = new ArrayList<>();
+                for(String property : properties) {
+                    VulnerabilityDTO._Fields field = VulnerabilityDTO._Fields.findByName(property);
+                    if (field != null) {
+                        vulnerabilityDTOFields.add(field);
+                    }
+                }
+                return generateVulnerabilityDTOComparatorWithFields(type, vulnerabilityDTOFields);
             default:
                 throw new ResourceClassNotFoundException("No comparator for resource class with name " + type);
         }
@@ -188,6 +209,15 @@ public class ResourceComparatorGenerator<T> {
         }
     }
 
+    public Comparator<T> generateVulnerabilityDTOComparatorWithFields(String type, List<VulnerabilityDTO._Fields> fields) throws ResourceClassNotFoundException {
+        switch (type) {
+            case SW360Constants.TYPE_VULNERABILITYDTO:
+                return (Comparator<T>)vulnerabilityDTOComparator(fields);
+            default:
+                throw new ResourceClassNotFoundException("No comparator for resource class with name " + type);
+        }
+    }
+
     private Comparator<Component> componentComparator(List<Component._Fields> fields) {
         Comparator<Component> comparator = Comparator.comparing(x -> true);
         for (Component._Fields field:fields) {
@@ -248,6 +278,18 @@ public class ResourceComparatorGenerator<T> {
         return comparator;
     }
 
+    private Comparator<VulnerabilityDTO> vulnerabilityDTOComparator(List<VulnerabilityDTO._Fields> fields) {
+        Comparator<VulnerabilityDTO> comparator = Comparator.comparing(x -> true);
+        for (VulnerabilityDTO._Fields field : fields) {
+            Comparator<VulnerabilityDTO> fieldComparator = vulnerabilityDTOMap.get(field);
+            if(fieldComparator != null) {
+                comparator = comparator.thenComparing(fieldComparator);
+            }
+        }
+        comparator = comparator.thenComparing(defaultVulnerabilityDTOComparator());
+        return comparator;
+    }
+
     private Comparator<Component> defaultComponentComparator() {
         return componentMap.get(Component._Fields.NAME);
     }
@@ -267,4 +309,8 @@ public class ResourceComparatorGenerator<T> {
     private Comparator<ChangeLogs> defaultChangeLogComparator() {
         return changeLogMap.get(ChangeLogs._Fields.CHANGE_TIMESTAMP);
     }
+
+    private Comparator<VulnerabilityDTO> defaultVulnerabilityDTOComparator() {
+        return vulnerabilityDTOMap.get(VulnerabilityDTO._Fields.EXTERNAL_ID);
+    }
 }
@@ -40,6 +40,16 @@ public class ResourceListController<T> {
         return new PaginationResult<>(sortedResources.subList(fromIndex, toIndex), sortedResources.size(), paginationOptions);
     }
 
+    /**
+     * Wraps a page that has already been sorted and cut by the database.
+     */
+    public PaginationResult<T> createPaginationResultFromPage(List<T> page, int totalCount, PaginationOptions<T> paginationOptions) throws PaginationParameterException {
+        if (paginationOptions.getOffset() >= totalCount && paginationOptions.getPageNumber() != 0) {
+            throw new PaginationParameterException(PAGINATION_PARAMETER_EXCEPTION_MESSAGE);
+        }
+        return new PaginationResult<>(page, totalCount, paginationOptions);
+    }
+
     private List<T> sortList(List<T> resources, Comparator<T> comparator) {
         if(comparator == null) {
             return resources;
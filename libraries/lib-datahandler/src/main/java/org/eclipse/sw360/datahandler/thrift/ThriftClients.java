@@ -12,10 +12,19 @@
  */
 package org.eclipse.sw360.datahandler.thrift;
 
+import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.GzipCompressingEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.thrift.protocol.TCompactProtocol;
@@ -43,7 +52,12 @@ import org.eclipse.sw360.datahandler.thrift.vulnerabilities.VulnerabilityService
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Created by bodet on 11/02/15.
@@ -61,6 +75,10 @@ public class ThriftClients {
     public static final String BACKEND_PROXY_URL;
     public static final int THRIFT_CONNECTION_TIMEOUT;
     public static final int THRIFT_READ_TIMEOUT;
+    public static final int THRIFT_MAX_CONNECTIONS;
+    public static final int THRIFT_MAX_CONNECTIONS_PER_ROUTE;
+    public static final int THRIFT_KEEP_ALIVE;
+    public static final boolean THRIFT_COMPRESSION;
 
     //! Service addresses
     private static final String ATTACHMENT_SERVICE_URL = "/attachments/thrift";
@@ -84,6 +102,7 @@ public class ThriftClients {
     // A service which has to be scheduled by the scheduler should be registered here!
     // names of services that can be scheduled by the schedule service, i.e. that have an "update" method
     public static final String CVESEARCH_SERVICE = "cvesearchService";
+    public static final String ATTACHMENT_HASHES_SERVICE = "attachmentHashesService";
 
     static {
         Properties props = CommonUtils.loadProperties(ThriftClients.class, PROPERTIES_FILE_PATH);
@@ -94,42 +113,175 @@ public class ThriftClients {
         // maximum timeout for connecting and reading
         THRIFT_CONNECTION_TIMEOUT = Integer.valueOf(props.getProperty("backend.timeout.connection", "5000"));
         THRIFT_READ_TIMEOUT = Integer.valueOf(props.getProperty("backend.timeout.read", "600000"));
+        // size of the connection pool shared by all thrift clients of this JVM
+        THRIFT_MAX_CONNECTIONS = Integer.valueOf(props.getProperty("backend.connections.max", "200"));
+        THRIFT_MAX_CONNECTIONS_PER_ROUTE = Integer.valueOf(props.getProperty("backend.connections.max_per_route", "50"));
+        // idle time after which pooled connections are closed if the backend does not send a keep-alive timeout
+        THRIFT_KEEP_ALIVE = Integer.valueOf(props.getProperty("backend.connections.keep_alive", "30000"));
+        // gzip the thrift payloads, the backend answers compressed requests with compressed responses
+        THRIFT_COMPRESSION = Boolean.parseBoolean(props.getProperty("backend.compression", "false"));
 
         log.info("The following configuration will be used for connections to the backend:\n" +
             "\tURL                      : " + BACKEND_URL + "\n" +
             "\tProxy                    : " + BACKEND_PROXY_URL + "\n" +
             "\tTimeout Connecting (ms)  : " + THRIFT_CONNECTION_TIMEOUT + "\n" +
-            "\tTimeout Read (ms)        : " + THRIFT_READ_TIMEOUT + "\n");
+            "\tTimeout Read (ms)        : " + THRIFT_READ_TIMEOUT + "\n" +
+            "\tMax connections          : " + THRIFT_MAX_CONNECTIONS + "\n" +
+            "\tMax connections per route: " + THRIFT_MAX_CONNECTIONS_PER_ROUTE + "\n" +
+            "\tKeep-alive (ms)          : " + THRIFT_KEEP_ALIVE + "\n" +
+            "\tCompression              : " + THRIFT_COMPRESSION + "\n");
+    }
+
+    private static volatile PoolingHttpClientConnectionManager connectionManager;
+    private static volatile CloseableHttpClient httpClient;
+    private static final Map<String, ServiceMetrics> serviceMetrics = new ConcurrentHashMap<>();
+
+    /**
+     * Call statistics of the thrift calls to one backend service.
+     */
+    public static class ServiceMetrics {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalTimeNanos = new LongAdder();
+
+        private void record(long nanos, boolean failed) {
+            calls.increment();
+            totalTimeNanos.add(nanos);
+            if (failed) {
+                failures.increment();
+            }
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getTotalTimeMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(totalTimeNanos.sum());
+        }
+
+        @Override
+        public String toString() {
+            return "calls=" + getCalls() + ", failures=" + getFailures() + ", totalTimeMillis=" + getTotalTimeMillis();
+        }
+    }
+
+    /**
+     * THttpClient recording the time of every request/response round trip to the service.
+     */
+    private static class MeteredHttpClient extends THttpClient {
+        private final ServiceMetrics metrics;
+
+        private MeteredHttpClient(String url, HttpClient client, ServiceMetrics metrics) throws TTransportException {
+            super(url, client);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void flush() throws TTransportException {
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                super.flush();
+                failed = false;
+            } finally {
+                metrics.record(System.nanoTime() - start, failed);
+            }
+        }
     }
     public ThriftClients() {
     }
 
     /**
-     * Creates a Thrift Compact Protocol object linked to the given address
+     * Creates a Thrift Compact Protocol object linked to the given address. All protocols share one pooled
+     * keep-alive http client, so the transport objects are cheap and may be created per call.
      */
-    private static TProtocol makeProtocol(String url, String service) {
+    public static TProtocol makeProtocol(String url, String service) {
         THttpClient thriftClient = null;
         final String destinationAddress = url + service;
         try {
-            if (BACKEND_PROXY_URL != null) {
-                URL proxyUrl = new URL(BACKEND_PROXY_URL);
-                HttpHost proxy = new HttpHost(proxyUrl.getHost(), proxyUrl.getPort(), proxyUrl.getProtocol());
-                DefaultProxyRoutePlanner routePlanner = new DefaultProxyRoutePlanner(proxy);
-                CloseableHttpClient httpClient = HttpClients.custom().setRoutePlanner(routePlanner).build();
-                thriftClient = new THttpClient(destinationAddress, httpClient);
-            } else {
-                thriftClient = new THttpClient(destinationAddress);
-            }
-            thriftClient.setConnectTimeout(THRIFT_CONNECTION_TIMEOUT);
-            thriftClient.setReadTimeout(THRIFT_READ_TIMEOUT);
+            thriftClient = new MeteredHttpClient(destinationAddress, getHttpClient(),
+                    serviceMetrics.computeIfAbsent(service, s -> new ServiceMetrics()));
         } catch (TTransportException e) {
             log.error("cannot connect to backend on " + destinationAddress, e);
-        } catch (MalformedURLException e) {
-            log.error("cannot connect via http proxy (REASON:MalformedURLException) to thrift backend", e);
         }
         return new TCompactProtocol(thriftClient);
     }
 
+    private static CloseableHttpClient getHttpClient() {
+        if (httpClient == null) {
+            synchronized (ThriftClients.class) {
+                if (httpClient == null) {
+                    httpClient = createHttpClient();
+                }
+            }
+        }
+        return httpClient;
+    }
+
+    private static CloseableHttpClient createHttpClient() {
+        PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager();
+        manager.setMaxTotal(THRIFT_MAX_CONNECTIONS);
+        manager.setDefaultMaxPerRoute(THRIFT_MAX_CONNECTIONS_PER_ROUTE);
+        // the timeouts are set here, as THttpClient cannot set them on a client built by HttpClientBuilder
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(THRIFT_CONNECTION_TIMEOUT)
+                .setConnectionRequestTimeout(THRIFT_CONNECTION_TIMEOUT)
+                .setSocketTimeout(THRIFT_READ_TIMEOUT)
+                .build();
+
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(manager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return keepAlive > 0 ? keepAlive : THRIFT_KEEP_ALIVE;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(THRIFT_KEEP_ALIVE, TimeUnit.MILLISECONDS);
+        if (THRIFT_COMPRESSION) {
+            HttpRequestInterceptor gzipRequest = (request, context) -> {
+                if (request instanceof HttpEntityEnclosingRequest) {
+                    HttpEntityEnclosingRequest entityRequest = (HttpEntityEnclosingRequest) request;
+                    if (entityRequest.getEntity() != null) {
+                        entityRequest.setEntity(new GzipCompressingEntity(entityRequest.getEntity()));
+                    }
+                }
+            };
+            builder.addInterceptorFirst(gzipRequest);
+        }
+        if (BACKEND_PROXY_URL != null) {
+            try {
+                URL proxyUrl = new URL(BACKEND_PROXY_URL);
+                HttpHost proxy = new HttpHost(proxyUrl.getHost(), proxyUrl.getPort(), proxyUrl.getProtocol());
+                builder.setRoutePlanner(new DefaultProxyRoutePlanner(proxy));
+            } catch (MalformedURLException e) {
+                log.error("cannot connect via http proxy (REASON:MalformedURLException) to thrift backend", e);
+            }
+        }
+        connectionManager = manager;
+        return builder.build();
+    }
+
+    /**
+     * Returns the call statistics per service address, e.g. "/projects/thrift".
+     */
+    public static Map<String, ServiceMetrics> getServiceMetrics() {
+        return Collections.unmodifiableMap(serviceMetrics);
+    }
+
+    /**
+     * Returns the statistics of the shared connection pool, or null if no client has been created yet.
+     */
+    public static PoolStats getConnectionPoolStats() {
+        PoolingHttpClientConnectionManager manager = connectionManager;
+        return manager == null ? null : manager.getTotalStats();
+    }
+
     public AttachmentService.Iface makeAttachmentClient() {
         return new AttachmentService.Client(makeProtocol(BACKEND_URL, ATTACHMENT_SERVICE_URL));
     }
@@ -79,6 +79,11 @@ struct AttachmentContent {
     20: required string filename,
     21: optional string contentType,
     22: optional string partsCount,
+    // checksums of the content, computed while it is uploaded
+    23: optional string sha1,
+    24: optional string sha256,
+    // unused contents are only deleted some time after they were created
+    25: optional string createdOn,
 }
 
 /**
@@ -192,11 +197,25 @@ service AttachmentService {
      **/
     RequestSummary vacuumAttachmentDB(1: User user, 2: set<string > usedIds);
 
+    /**
+     * if user is not admin, FAILURE is returned
+     * checks the attachmentContents in db batch by batch and deletes the ones which are not linked to any document
+     * and were created more than a day ago, an interrupted cleanup continues where it stopped
+     * if dryRun is set, nothing is deleted
+     * return RequestStatus together with the total number of checked elements and the number of (to be) removed elements
+     **/
+    RequestSummary cleanUpAttachmentContents(1: User user, 2: bool dryRun);
+
      /**
       * returns sha1 checksum of file associated with the attachmentContent specified by attachmentContentId
       **/
     string getSha1FromAttachmentContentId(1: string attachmentContentId);
 
+     /**
+      * computes and stores the checksums of all attachment contents which have been uploaded without them
+      **/
+    RequestStatus updateAttachmentContentHashes();
+
     /**
      * Creates a new attachment usage object. The given usage object must not exist in the database, yet.
      */
@@ -25,6 +25,7 @@ typedef sw360.ReleaseRelationship ReleaseRelationship
 typedef sw360.MainlineState MainlineState
 typedef sw360.ProjectReleaseRelationship ProjectReleaseRelationship
 typedef sw360.SW360Exception SW360Exception
+typedef sw360.PaginationData PaginationData
 typedef attachments.Attachment Attachment
 typedef attachments.FilledAttachment FilledAttachment
 typedef users.User User
@@ -381,6 +382,12 @@ service ComponentService {
      **/
     list<Component> getComponentSummary(1: User user);
 
+    /**
+     * one page of the summary of all components visible to user, sorted by `name` or `createdOn`. If
+     * `componentType` is set, only components of this type are returned
+     **/
+    map<PaginationData, list<Component>> getComponentSummaryWithPagination(1: User user, 2: PaginationData pageData, 3: ComponentType componentType);
+
     /**
      * summary of up to `limit` components reverse ordered by `createdOn`. Negative `limit` will result in
      * all components being returned
@@ -534,6 +541,11 @@ service ComponentService {
       */
     set<Release> getReleasesByVendorId(1: string vendorId);
 
+    /**
+     * get the processes of the external tool which are neither done nor outdated by the id of their release
+     **/
+    map<string, ExternalToolProcess> getOpenExternalToolProcesses(1: ExternalTool externalTool);
+
     /**
      * update release in database if user has permissions
      * otherwise create moderation request
@@ -727,4 +739,9 @@ service ComponentService {
      * Gets all releases with complete details
      */
     list<Release> getAllReleasesForUser(1: User user);
+
+    /**
+     * one page of all releases, sorted by `name` or `createdOn`
+     **/
+    map<PaginationData, list<Release>> getAllReleasesForUserWithPagination(1: User user, 2: PaginationData pageData);
 }
@@ -45,6 +45,15 @@ service FossologyService {
      **/
     ExternalToolProcess process(1: string releaseId, 2: User user);
 
+    /**
+     * Creates the Fossology process for the given release and saves it in the release
+     * without invoking any step. All steps are then invoked in the background by the
+     * pipeline of the Fossology service, which also continues processes started by
+     * process(). If the release already has an active Fossology process or if the
+     * process could be created, SUCCESS is returned.
+     **/
+    RequestStatus enqueueProcess(1: string releaseId, 2: User user);
+
     /**
      * Since there should only be one actice Fossology process at most for a release
      * no extra identification needed. The active one, if there is one, will be marked
@@ -27,6 +27,7 @@ typedef sw360.MainlineState MainlineState
 typedef sw360.ProjectReleaseRelationship ProjectReleaseRelationship
 typedef sw360.ObligationStatus ObligationStatus
 typedef sw360.SW360Exception SW360Exception
+typedef sw360.PaginationData PaginationData
 typedef sw360.ClearingRequestState ClearingState
 typedef sw360.Comment Comment
 typedef components.Release Release
@@ -241,6 +242,11 @@ service ProjectService {
      */
     set<Project> getAccessibleProjects(1: User user);
 
+    /**
+     * one page of the projects visible to user, sorted by `name` or `createdOn`
+     */
+    map<PaginationData, list<Project>> getAccessibleProjectsWithPagination(1: User user, 2: PaginationData pageData);
+
     // Search functions
 
     /**
@@ -185,6 +185,18 @@ struct RequestStatusWithBoolean {
   2: optional bool answerPositive;
 }
 
+/**
+ * Page of a sorted list: the zero based page index, its size and the field the list is sorted by.
+ * Paged results are returned with a copy of the request data carrying the total number of rows.
+ **/
+struct PaginationData {
+    1: optional i32 page,
+    2: optional i32 rowsPerPage,
+    3: optional string sortColumn,
+    4: optional bool ascending,
+    5: optional i32 totalRowCount,
+}
+
 struct Comment {
     1: required string text,
     2: required string commentedBy,
@@ -100,6 +100,11 @@ service UserService {
      **/
     list<User> getAllUsers();
 
+    /**
+     * get emails of all SW360-users whose group is at least userGroup, only of the given department if it is set
+     **/
+    set<string> getUserEmailsAtLeast(1: UserGroup userGroup, 2: string department);
+
     /**
      * add SW360-user to database, user.email is used as id
      **/
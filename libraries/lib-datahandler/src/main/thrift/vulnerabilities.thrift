@@ -17,6 +17,7 @@ typedef sw360.RequestSummary RequestSummary
 typedef users.User User
 typedef sw360.RequestStatus RequestStatus
 typedef sw360.VerificationStateInfo VerificationStateInfo
+typedef sw360.PaginationData PaginationData
 
 struct ReleaseVulnerabilityRelation{
     // Basic information
@@ -194,6 +195,12 @@ service VulnerabilityService {
        **/
     list<VulnerabilityDTO> getVulnerabilitiesByProjectId(1: string projectId, 2: User user);
 
+     /**
+       * see getVulnerabilitiesByProjectId, but only the page of pageData in a stable order,
+       * the total number of vulnerabilities is set as totalRowCount of the returned pageData
+       **/
+    map<PaginationData, list<VulnerabilityDTO>> getVulnerabilitiesByProjectIdWithPagination(1: string projectId, 2: PaginationData pageData, 3: User user);
+
      /**
        * see getVulnerabilitiesByReleaseId, but except vulnerabilities marked as incorrect for that release
        **/
@@ -22,6 +22,9 @@ public class AttachmentContentWrapperTest extends DocumentWrapperTest<Attachment
         source.setContentType("v");
         source.setPartsCount("1");
         source.setRemoteUrl("uskt"); //TODO this is not required !
+        source.setSha1("s1");
+        source.setSha256("s256");
+        source.setCreatedOn("2020-01-01T00:00:00Z");
 
         AttachmentContentWrapper attachmentContentWrapper = new AttachmentContentWrapper();
         attachmentContentWrapper.updateNonMetadata(source);
@@ -10,6 +10,7 @@
 package org.eclipse.sw360.datahandler.couchdb;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import org.apache.commons.io.IOUtils;
 import org.eclipse.sw360.datahandler.common.Duration;
 import org.eclipse.sw360.datahandler.thrift.Visibility;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
@@ -25,8 +26,10 @@ import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -92,8 +95,31 @@ public class AttachmentStreamConnectorTest {
         verify(attachmentStreamConnector).uploadAttachment(attachment, downloadUrlStream);
         verify(attachmentStreamConnector).readAttachmentStream(rereadAttachment);
 
+        verify(attachment).setSha1(anyString());
+        verify(rereadAttachment).setSha1(anyString());
         verify(rereadAttachment).setOnlyRemote(false);
-        verify(connector).update(rereadAttachment);
+        // once for the checksums of the downloaded content, once for the onlyRemote flag
+        verify(connector, times(2)).update(rereadAttachment);
+    }
+
+    @Test
+    public void testUploadAttachmentStoresChecksums() throws Exception {
+        AttachmentContent attachment = new AttachmentContent().setId("id").setFilename("fil");
+        AttachmentContent stored = new AttachmentContent().setId("id").setFilename("fil").setRevision("2");
+        when(connector.get(AttachmentContent.class, "id")).thenReturn(stored);
+        doAnswer(invocation -> {
+            // the database reads the whole stream while storing it
+            IOUtils.toByteArray((InputStream) invocation.getArguments()[2]);
+            return "2";
+        }).when(connector).createAttachment(eq("id"), anyString(), any(AttachmentInputStream.class));
+
+        attachmentStreamConnector.uploadAttachment(attachment, new ByteArrayInputStream("abc".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(attachment.getSha1(), is("a9993e364706816aba3e25717850c26c9cd0d89d"));
+        assertThat(attachment.getSha256(), is("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"));
+        assertThat(stored.getSha1(), is(attachment.getSha1()));
+        assertThat(attachment.getRevision(), is("2"));
+        verify(connector).update(stored);
     }
 
     @Test
@@ -0,0 +1,66 @@
+/*
+ * Copyright Siemens AG, 2020. Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.sw360.datahandler.couchdb;
+
+import org.apache.http.pool.PoolStats;
+import org.ektorp.http.HttpClient;
+import org.ektorp.http.StdHttpClient;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.function.Supplier;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class DatabaseClientRegistryTest {
+
+    private static final String KEY = "http://localhost:5984";
+
+    private final Supplier<StdHttpClient.Builder> builder = () -> new StdHttpClient.Builder()
+            .host("localhost")
+            .port(5984)
+            .maxConnections(7);
+
+    @After
+    public void tearDown() {
+        DatabaseClientRegistry.shutdown();
+    }
+
+    @Test
+    public void testClientIsSharedForSameKey() {
+        HttpClient first = DatabaseClientRegistry.getHttpClient(KEY, builder);
+        HttpClient second = DatabaseClientRegistry.getHttpClient(KEY, builder);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(DatabaseClientRegistry.getHttpClient("user@" + KEY, builder), is(not(sameInstance(first))));
+    }
+
+    @Test
+    public void testPoolStatsOfIdlePool() {
+        DatabaseClientRegistry.getHttpClient(KEY, builder);
+
+        PoolStats poolStats = DatabaseClientRegistry.getPoolStats().get(KEY);
+        assertThat(poolStats.getMax(), is(7));
+        assertThat(poolStats.getLeased(), is(0));
+        assertThat(poolStats.getPending(), is(0));
+    }
+
+    @Test
+    public void testShutdownReplacesClient() {
+        HttpClient first = DatabaseClientRegistry.getHttpClient(KEY, builder);
+
+        DatabaseClientRegistry.shutdown();
+
+        assertThat(DatabaseClientRegistry.getPoolStats().keySet(), is(empty()));
+        assertThat(DatabaseClientRegistry.getHttpClient(KEY, builder), is(not(sameInstance(first))));
+    }
+}
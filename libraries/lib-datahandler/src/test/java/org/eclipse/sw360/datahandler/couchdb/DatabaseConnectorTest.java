@@ -24,6 +24,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Collections;
+import java.util.List;
 
 import static org.eclipse.sw360.datahandler.couchdb.DatabaseTestProperties.COUCH_DB_DATABASE;
 import static org.junit.Assert.assertEquals;
@@ -114,6 +115,47 @@ public class DatabaseConnectorTest {
         assertEquals(object, object1);
     }
 
+    @Test
+    public void testGetDocuments() throws Exception {
+        TestObject object1 = new TestObject();
+        object1.setName("SecondObject");
+        object1.setText("This is also some nice text...");
+        assertTrue(connector.add(object1));
+
+        List<TestObject> objects = connector.get(TestObject.class, ImmutableList.of(id, object1.getId(), id));
+        assertEquals(2, objects.size());
+        assertTrue(objects.contains(object));
+        assertTrue(objects.contains(object1));
+    }
+
+    @Test
+    public void testGetDocumentsInChunks() throws Exception {
+        TestObject object1 = new TestObject();
+        object1.setName("SecondObject");
+        object1.setText("This is also some nice text...");
+        assertTrue(connector.add(object1));
+        TestObject object2 = new TestObject();
+        object2.setName("ThirdObject");
+        object2.setText("This is even more nice text...");
+        assertTrue(connector.add(object2));
+
+        connector.setBulkFetchChunkSize(1);
+        List<TestObject> objects = connector.get(TestObject.class, ImmutableList.of(id, object1.getId(), object2.getId()));
+        assertEquals(ImmutableList.of(object, object1, object2), objects);
+    }
+
+    @Test
+    public void testGetDocumentsIgnoresDeleted() throws Exception {
+        TestObject object1 = new TestObject();
+        object1.setName("SecondObject");
+        object1.setText("This is also some nice text...");
+        assertTrue(connector.add(object1));
+        assertTrue(connector.deleteById(object1.getId()));
+
+        List<TestObject> objects = connector.get(TestObject.class, ImmutableList.of(id, object1.getId()), true);
+        assertEquals(ImmutableList.of(object), objects);
+    }
+
     @Test
     public void testUpdateDocument() throws Exception {
         // Change something in the object
@@ -0,0 +1,124 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.datahandler.couchdb.lucene;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.sw360.datahandler.couchdb.DatabaseConnector;
+import org.ektorp.changes.ChangesCommand;
+import org.ektorp.changes.DocumentChange;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EmbeddedLuceneIndexTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final LuceneSearchView componentView = new LuceneSearchView("lucene", "components", "function(doc) {}")
+            .forDocumentType("component")
+            .withDateFields("createdOn");
+
+    @Mock
+    private DatabaseConnector connector;
+
+    private EmbeddedLuceneIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        when(connector.getDbName()).thenReturn("lucenetest-" + UUID.randomUUID());
+        whenChangesSince("0", Arrays.asList(
+                change("1", "{\"_id\":\"1\",\"type\":\"component\",\"name\":\"Apache Commons IO\",\"createdOn\":\"2020-03-01\"}"),
+                change("2", "{\"_id\":\"2\",\"type\":\"component\",\"name\":\"Jackson Databind\",\"createdOn\":\"2020-06-15\"}"),
+                change("3", "{\"_id\":\"3\",\"type\":\"release\",\"name\":\"Jackson Databind\"}")
+        ));
+        index = EmbeddedLuceneIndex.forView(connector, componentView);
+        index.update();
+    }
+
+    @Test
+    public void testSearchDefaultField() throws Exception {
+        List<EmbeddedLuceneIndex.Hit> hits = index.search("jackson*", 0);
+
+        assertThat(ids(hits), contains("2"));
+        assertThat(MAPPER.readTree(hits.get(0).getSource()).path("name").asText(), is("Jackson Databind"));
+    }
+
+    @Test
+    public void testSearchNamedAndDateFields() throws Exception {
+        assertThat(ids(index.search("name:commons", 0)), contains("1"));
+        assertThat(ids(index.search("createdOn<date>:[2020-01-01 TO 2020-12-31]", 0)), containsInAnyOrder("1", "2"));
+        assertThat(ids(index.search("createdOn<date>:2020-06-15", 0)), contains("2"));
+    }
+
+    @Test
+    public void testDeletedDocumentsAreRemoved() throws Exception {
+        DocumentChange deletion = change("2", null);
+        when(deletion.isDeleted()).thenReturn(true);
+        whenChangesSince("3-seq", Collections.singletonList(deletion));
+        index.update();
+
+        assertThat(index.search("jackson*", 0), is(empty()));
+    }
+
+    @Test
+    public void testSearchIncludesChangesMadeBefore() throws Exception {
+        whenChangesSince("3-seq", Collections.singletonList(
+                change("4", "{\"_id\":\"4\",\"type\":\"component\",\"name\":\"Google Guava\"}")));
+
+        assertThat(ids(index.search("guava", 0)), contains("4"));
+    }
+
+    @Test
+    public void testNewIndexOfDatabaseIsBuiltFromSharedChanges() throws Exception {
+        LuceneSearchView releaseView = new LuceneSearchView("lucene", "releases", "function(doc) {}")
+                .forDocumentType("release");
+        EmbeddedLuceneIndex releaseIndex = EmbeddedLuceneIndex.forView(connector, releaseView);
+
+        assertThat(ids(releaseIndex.search("jackson*", 0)), contains("3"));
+        assertThat(ids(index.search("jackson*", 0)), contains("2"));
+    }
+
+    private void whenChangesSince(String since, List<DocumentChange> changes) {
+        when(connector.changes(any(ChangesCommand.class))).thenAnswer(invocation -> {
+            ChangesCommand command = (ChangesCommand) invocation.getArguments()[0];
+            return since.equals(command.since) ? changes : Collections.emptyList();
+        });
+    }
+
+    private static DocumentChange change(String id, String doc) throws Exception {
+        DocumentChange change = mock(DocumentChange.class);
+        when(change.getId()).thenReturn(id);
+        when(change.getStringSequence()).thenReturn(id + "-seq");
+        when(change.getDocAsNode()).thenReturn(doc == null ? null : MAPPER.readTree(doc));
+        return change;
+    }
+
+    private static List<String> ids(List<EmbeddedLuceneIndex.Hit> hits) {
+        return hits.stream().map(EmbeddedLuceneIndex.Hit::getId).collect(Collectors.toList());
+    }
+}
@@ -20,6 +20,7 @@ import org.eclipse.sw360.datahandler.thrift.projects.Project;
 import org.eclipse.sw360.datahandler.thrift.projects.ProjectClearingState;
 import org.eclipse.sw360.datahandler.thrift.projects.ProjectType;
 import org.eclipse.sw360.datahandler.thrift.search.SearchResult;
+import org.eclipse.sw360.datahandler.thrift.vulnerabilities.VulnerabilityDTO;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -157,4 +158,13 @@ public class ResourceComparatorGeneratorTest {
         assertTrue(nameComparator.compare(new SearchResult().setType("release"), new SearchResult().setType("project")) > 0);
         assertEquals(nameComparator.compare(new SearchResult().setType("project"), new SearchResult().setType("project")), 0);
     }
+
+    @Test
+    public void checkVulnerabilityDTOComparatorExternalId() throws ResourceClassNotFoundException {
+        Comparator<VulnerabilityDTO> externalIdComparator = resourceComparatorGenerator.generateComparator(SW360Constants.TYPE_VULNERABILITYDTO);
+        assertNotNull(externalIdComparator);
+        assertTrue(externalIdComparator.compare(new VulnerabilityDTO().setExternalId("CVE-2019-1"), new VulnerabilityDTO().setExternalId("CVE-2020-1")) < 0);
+        assertTrue(externalIdComparator.compare(new VulnerabilityDTO().setExternalId("CVE-2020-1"), new VulnerabilityDTO().setExternalId("CVE-2019-1")) > 0);
+        assertEquals(externalIdComparator.compare(new VulnerabilityDTO().setExternalId("CVE-2019-1"), new VulnerabilityDTO().setExternalId("CVE-2019-1")), 0);
+    }
 }
@@ -45,6 +45,8 @@ public class Sw360ResourceServer extends SpringBootServletInitializer {
     public static final String API_TOKEN_HASH_SALT;
     public static final String API_TOKEN_MAX_VALIDITY_READ_IN_DAYS;
     public static final String API_TOKEN_MAX_VALIDITY_WRITE_IN_DAYS;
+    public static final String API_TOKEN_CACHE_TTL_SECONDS;
+    public static final String API_TOKEN_CACHE_MAX_ENTRIES;
     public static final Set<String> DOMAIN;
 
     static {
@@ -52,6 +54,8 @@ public class Sw360ResourceServer extends SpringBootServletInitializer {
         API_TOKEN_MAX_VALIDITY_READ_IN_DAYS = props.getProperty("rest.apitoken.read.validity.days", "90");
         API_TOKEN_MAX_VALIDITY_WRITE_IN_DAYS = props.getProperty("rest.apitoken.write.validity.days", "30");
         API_TOKEN_HASH_SALT = props.getProperty("rest.apitoken.hash.salt", "$2a$04$Software360RestApiSalt");
+        API_TOKEN_CACHE_TTL_SECONDS = props.getProperty("rest.apitoken.cache.ttl.seconds", "60");
+        API_TOKEN_CACHE_MAX_ENTRIES = props.getProperty("rest.apitoken.cache.max.entries", "1000");
         DOMAIN = CommonUtils.splitToSet(props.getProperty("domain",
                 "Application Software, Documentation, Embedded Software, Hardware, Test and Diagnostics"));
     }
@@ -20,9 +20,6 @@ import org.apache.logging.log4j.Logger;
 import org.apache.thrift.TException;
 import org.apache.thrift.transport.TTransportException;
 import org.eclipse.sw360.commonIO.AttachmentFrontendUtils;
-import org.eclipse.sw360.datahandler.common.DatabaseSettings;
-import org.eclipse.sw360.datahandler.common.Duration;
-import org.eclipse.sw360.datahandler.couchdb.AttachmentConnector;
 import org.eclipse.sw360.datahandler.thrift.Source;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
 import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentContent;
@@ -47,7 +44,6 @@ import org.springframework.web.multipart.MultipartFile;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -55,7 +51,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -75,8 +70,6 @@ public class Sw360AttachmentService {
     @NonNull
     private final ThriftServiceProvider<AttachmentService.Iface> thriftAttachmentServiceProvider;
 
-    private final Duration downloadTimeout = Duration.durationOf(30, TimeUnit.SECONDS);
-    private AttachmentConnector attachmentConnector;
 
     public List<AttachmentUsage> getAttachemntUsages(String projectId) throws TException {
         AttachmentService.Iface attachmentClient = getThriftAttachmentClient();
@@ -188,9 +181,8 @@ public class Sw360AttachmentService {
         String contentType = file.getContentType();
         final AttachmentContent attachmentContent = makeAttachmentContent(fileName, contentType);
 
-        final AttachmentConnector attachmentConnector = getConnector();
+        // the sha1 checksum is computed while the content is uploaded
         Attachment attachment = new AttachmentFrontendUtils().uploadAttachmentContent(attachmentContent, file.getInputStream(), sw360User);
-        attachment.setSha1(attachmentConnector.getSha1FromAttachmentContentId(attachmentContent.getId()));
 
         AttachmentType attachmentType = newAttachment.getAttachmentType();
         if (attachmentType != null) {
@@ -249,22 +241,6 @@ public class Sw360AttachmentService {
         return attachmentClient.getUsedAttachments(Source.projectId(projectId), null);
     }
 
-    private AttachmentConnector getConnector() throws TException {
-        if (attachmentConnector == null) makeConnector();
-        return attachmentConnector;
-    }
-
-    private synchronized void makeConnector() throws TException {
-        if (attachmentConnector == null) {
-            try {
-                attachmentConnector = new AttachmentConnector(DatabaseSettings.getConfiguredHttpClient(), DatabaseSettings.COUCH_DB_ATTACHMENTS, downloadTimeout);
-            } catch (MalformedURLException e) {
-                log.error("Invalid database address received...", e);
-                throw new TException(e);
-            }
-        }
-    }
-
     private AttachmentService.Iface getThriftAttachmentClient() throws TTransportException {
         return thriftAttachmentServiceProvider.getService(thriftServerUrl);
     }
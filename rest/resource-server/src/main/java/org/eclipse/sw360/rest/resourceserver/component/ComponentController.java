@@ -13,13 +13,16 @@
 package org.eclipse.sw360.rest.resourceserver.component;
 
 import org.eclipse.sw360.datahandler.common.SW360Constants;
+import org.eclipse.sw360.datahandler.common.ThriftEnumUtils;
 import org.eclipse.sw360.datahandler.resourcelists.PaginationParameterException;
 import org.eclipse.sw360.datahandler.resourcelists.PaginationResult;
 import org.eclipse.sw360.datahandler.resourcelists.ResourceClassNotFoundException;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.Source;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
 import org.eclipse.sw360.datahandler.thrift.components.Component;
+import org.eclipse.sw360.datahandler.thrift.components.ComponentType;
 import org.eclipse.sw360.datahandler.thrift.components.Release;
 import org.eclipse.sw360.datahandler.thrift.projects.Project;
 import org.eclipse.sw360.datahandler.thrift.users.User;
@@ -63,6 +66,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
 
@@ -100,18 +104,30 @@ public class ComponentController implements ResourceProcessor<RepositoryLinksRes
 
         User sw360User = restControllerHelper.getSw360UserFromAuthentication();
 
-        List<Component> allComponents = new ArrayList<>();
-        if (name != null && !name.isEmpty()) {
-            allComponents.addAll(componentService.searchComponentByName(name));
+        boolean isSearchByName = name != null && !name.isEmpty();
+        ComponentType type = componentType == null ? null : ThriftEnumUtils.stringToEnum(componentType, ComponentType.class);
+        boolean isValidType = componentType == null || type != null;
+
+        PaginationResult<Component> paginationResult;
+        if (!isSearchByName && isValidType && restControllerHelper.isDatabasePagingApplicable(request, pageable)) {
+            Map<PaginationData, List<Component>> page = componentService.getComponentsForUserWithPagination(sw360User,
+                    restControllerHelper.paginationDataFromPageable(pageable), type);
+            paginationResult = restControllerHelper.createPaginationResult(pageable, page, SW360Constants.TYPE_COMPONENT);
         } else {
-            allComponents.addAll(componentService.getComponentsForUser(sw360User));
+            List<Component> allComponents = new ArrayList<>();
+            if (isSearchByName) {
+                allComponents.addAll(componentService.searchComponentByName(name));
+            } else {
+                allComponents.addAll(componentService.getComponentsForUser(sw360User));
+            }
+            allComponents = allComponents.stream()
+                    .filter(component -> componentType == null || (component.isSetComponentType() && componentType.equals(component.componentType.name())))
+                    .collect(Collectors.toList());
+            paginationResult = restControllerHelper.createPaginationResult(request, pageable, allComponents, SW360Constants.TYPE_COMPONENT);
         }
 
-        PaginationResult<Component> paginationResult = restControllerHelper.createPaginationResult(request, pageable, allComponents, SW360Constants.TYPE_COMPONENT);
-
         List<Resource<Component>> componentResources = new ArrayList<>();
-        paginationResult.getResources().stream()
-                .filter(component -> componentType == null || (component.isSetComponentType() && componentType.equals(component.componentType.name())))
+        paginationResult.getResources()
                 .forEach(c -> {
                     Component embeddedComponent = restControllerHelper.convertToEmbeddedComponent(c, fields);
                     componentResources.add(new Resource<>(embeddedComponent));
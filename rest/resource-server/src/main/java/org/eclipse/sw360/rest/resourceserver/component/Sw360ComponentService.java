@@ -15,16 +15,17 @@ package org.eclipse.sw360.rest.resourceserver.component;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.thrift.TException;
-import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.protocol.TProtocol;
-import org.apache.thrift.transport.THttpClient;
 import org.apache.thrift.transport.TTransportException;
 import org.eclipse.sw360.datahandler.common.SW360Utils;
 import org.eclipse.sw360.datahandler.thrift.AddDocumentRequestStatus;
 import org.eclipse.sw360.datahandler.thrift.AddDocumentRequestSummary;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
+import org.eclipse.sw360.datahandler.thrift.ThriftClients;
 import org.eclipse.sw360.datahandler.thrift.components.Component;
 import org.eclipse.sw360.datahandler.thrift.components.ComponentService;
+import org.eclipse.sw360.datahandler.thrift.components.ComponentType;
 import org.eclipse.sw360.datahandler.thrift.projects.Project;
 import org.eclipse.sw360.datahandler.thrift.projects.ProjectService;
 import org.eclipse.sw360.datahandler.thrift.components.Release;
@@ -59,6 +60,11 @@ public class Sw360ComponentService implements AwareOfRestServices<Component> {
         return sw360ComponentClient.getComponentSummary(sw360User);
     }
 
+    public Map<PaginationData, List<Component>> getComponentsForUserWithPagination(User sw360User, PaginationData pageData, ComponentType componentType) throws TException {
+        ComponentService.Iface sw360ComponentClient = getThriftComponentClient();
+        return sw360ComponentClient.getComponentSummaryWithPagination(sw360User, pageData, componentType);
+    }
+
     public Release getReleaseById(String id, User sw360User) {
         try {
             ComponentService.Iface sw360ComponentClient = getThriftComponentClient();
@@ -140,14 +146,12 @@ public class Sw360ComponentService implements AwareOfRestServices<Component> {
     }
 
     private ComponentService.Iface getThriftComponentClient() throws TTransportException {
-        THttpClient thriftClient = new THttpClient(thriftServerUrl + "/components/thrift");
-        TProtocol protocol = new TCompactProtocol(thriftClient);
+        TProtocol protocol = ThriftClients.makeProtocol(thriftServerUrl, "/components/thrift");
         return new ComponentService.Client(protocol);
     }
 
     private ProjectService.Iface getThriftProjectClient() throws TTransportException {
-        THttpClient thriftClient = new THttpClient(thriftServerUrl + "/projects/thrift");
-        TProtocol protocol = new TCompactProtocol(thriftClient);
+        TProtocol protocol = ThriftClients.makeProtocol(thriftServerUrl, "/projects/thrift");
         return new ProjectService.Client(protocol);
     }
 }
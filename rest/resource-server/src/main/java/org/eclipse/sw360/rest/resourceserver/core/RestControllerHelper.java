@@ -31,6 +31,7 @@ import org.eclipse.sw360.rest.resourceserver.project.ProjectController;
 import org.eclipse.sw360.datahandler.thrift.components.ComponentService;
 import org.eclipse.sw360.datahandler.thrift.projects.ProjectService;
 import org.eclipse.sw360.datahandler.thrift.MainlineState;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.SW360Exception;
 import org.eclipse.sw360.rest.resourceserver.project.Sw360ProjectService;
 import org.eclipse.sw360.rest.resourceserver.release.ReleaseController;
@@ -54,12 +55,14 @@ import org.springframework.hateoas.core.EmbeddedWrappers;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -102,10 +105,17 @@ public class RestControllerHelper<T> {
     private static final String PAGINATION_KEY_LAST = "last";
     private static final String PAGINATION_PARAM_PAGE = "page";
     public static final String PAGINATION_PARAM_PAGE_ENTRIES = "page_entries";
+    // sort orders provided by the paged database views
+    private static final Set<String> DATABASE_SORT_COLUMNS = ImmutableSet.of("name", "createdOn");
 
     public User getSw360UserFromAuthentication() {
         try {
-            String userId = (String) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication.getDetails() instanceof User) {
+                // already loaded while authenticating an API token
+                return ((User) authentication.getDetails()).deepCopy();
+            }
+            String userId = (String) authentication.getPrincipal();
             return userService.getUserByEmailOrExternalId(userId);
         } catch (RuntimeException e) {
             throw new AuthenticationServiceException("Could not load user from authentication.");
@@ -123,6 +133,44 @@ public class RestControllerHelper<T> {
         return paginationResult;
     }
 
+    /**
+     * Creates the pagination result for a page which has been sorted and cut by the backend. A missing page is
+     * treated as an empty list, so only a page index beyond the first one is an error.
+     */
+    public PaginationResult<T> createPaginationResult(Pageable pageable, Map<PaginationData, List<T>> page, String resourceType) throws ResourceClassNotFoundException, PaginationParameterException {
+        PaginationOptions<T> paginationOptions = paginationOptionsFromPageable(pageable, resourceType);
+        if (page == null || page.isEmpty()) {
+            return resourceListController.createPaginationResultFromPage(new ArrayList<>(), 0, paginationOptions);
+        }
+        Map.Entry<PaginationData, List<T>> pageEntry = page.entrySet().iterator().next();
+        List<T> resources = pageEntry.getValue() == null ? new ArrayList<>() : pageEntry.getValue();
+        return resourceListController.createPaginationResultFromPage(resources, pageEntry.getKey().getTotalRowCount(), paginationOptions);
+    }
+
+    /**
+     * Pages can be read from the backend, if paging is requested and the list is sorted by a column the database
+     * views provide.
+     */
+    public boolean isDatabasePagingApplicable(HttpServletRequest request, Pageable pageable) {
+        if (!requestContainsPaging(request)) {
+            return false;
+        }
+        Sort.Order order = firstOrderFromPageable(pageable);
+        return order == null || DATABASE_SORT_COLUMNS.contains(order.getProperty());
+    }
+
+    public PaginationData paginationDataFromPageable(Pageable pageable) {
+        PaginationData pageData = new PaginationData()
+                .setPage(pageable.getPageNumber())
+                .setRowsPerPage(pageable.getPageSize())
+                .setAscending(true);
+        Sort.Order order = firstOrderFromPageable(pageable);
+        if (order != null) {
+            pageData.setSortColumn(order.getProperty()).setAscending(order.isAscending());
+        }
+        return pageData;
+    }
+
     private boolean requestContainsPaging(HttpServletRequest request) {
         return request.getParameterMap().containsKey(PAGINATION_PARAM_PAGE) || request.getParameterMap().containsKey(PAGINATION_PARAM_PAGE_ENTRIES);
     }
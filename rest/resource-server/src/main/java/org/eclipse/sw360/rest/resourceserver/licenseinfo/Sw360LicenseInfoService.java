@@ -15,10 +15,9 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.thrift.TException;
-import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.protocol.TProtocol;
-import org.apache.thrift.transport.THttpClient;
 import org.apache.thrift.transport.TTransportException;
+import org.eclipse.sw360.datahandler.thrift.ThriftClients;
 import org.eclipse.sw360.datahandler.thrift.components.Release;
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoFile;
 import org.eclipse.sw360.datahandler.thrift.licenseinfo.LicenseInfoParsingResult;
@@ -69,8 +68,7 @@ public class Sw360LicenseInfoService {
     }
 
     private LicenseInfoService.Iface getThriftLicenseInfoClient() throws TTransportException {
-        THttpClient thriftClient = new THttpClient(thriftServerUrl + "/licenseinfo/thrift");
-        TProtocol protocol = new TCompactProtocol(thriftClient);
+        TProtocol protocol = ThriftClients.makeProtocol(thriftServerUrl, "/licenseinfo/thrift");
         return new LicenseInfoService.Client(protocol);
     }
 }
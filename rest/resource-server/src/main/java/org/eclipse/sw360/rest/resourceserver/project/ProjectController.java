@@ -27,6 +27,7 @@ import org.eclipse.sw360.datahandler.resourcelists.PaginationResult;
 import org.eclipse.sw360.datahandler.common.SW360Utils;
 import org.eclipse.sw360.datahandler.common.ThriftEnumUtils;
 import org.eclipse.sw360.datahandler.thrift.MainlineState;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.ProjectReleaseRelationship;
 import org.eclipse.sw360.datahandler.thrift.ReleaseRelationship;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
@@ -177,21 +178,36 @@ public class ProjectController implements ResourceProcessor<RepositoryLinksResou
         User sw360User = restControllerHelper.getSw360UserFromAuthentication();
         Map<String, Project> mapOfProjects = new HashMap<>();
         boolean isSearchByName = name != null && !name.isEmpty();
-        List<Project> sw360Projects = new ArrayList<>();
-        if (isSearchByName) {
-            sw360Projects.addAll(projectService.searchProjectByName(name, sw360User));
+        boolean isFiltered = projectType != null || (group != null && !group.isEmpty())
+                || (tag != null && !tag.isEmpty());
+        boolean isDatabasePaging = !isSearchByName && !isFiltered
+                && restControllerHelper.isDatabasePagingApplicable(request, pageable);
+        PaginationResult<Project> paginationResult;
+        if (isDatabasePaging) {
+            PaginationData pageData = restControllerHelper.paginationDataFromPageable(pageable);
+            Map<PaginationData, List<Project>> page = projectService.getProjectsForUserWithPagination(sw360User, pageData);
+            paginationResult = restControllerHelper.createPaginationResult(pageable, page, SW360Constants.TYPE_PROJECT);
+            paginationResult.getResources().forEach(prj -> mapOfProjects.put(prj.getId(), prj));
         } else {
-            sw360Projects.addAll(projectService.getProjectsForUser(sw360User));
-        }
+            List<Project> sw360Projects = new ArrayList<>();
+            if (isSearchByName) {
+                sw360Projects.addAll(projectService.searchProjectByName(name, sw360User));
+            } else {
+                sw360Projects.addAll(projectService.getProjectsForUser(sw360User));
+            }
 
-        sw360Projects.stream().forEach(prj -> mapOfProjects.put(prj.getId(), prj));
-        PaginationResult<Project> paginationResult = restControllerHelper.createPaginationResult(request, pageable, sw360Projects, SW360Constants.TYPE_PROJECT);
+            sw360Projects.stream().forEach(prj -> mapOfProjects.put(prj.getId(), prj));
+            sw360Projects = sw360Projects.stream()
+                    .filter(project -> projectType == null || projectType.equals(project.projectType.name()))
+                    .filter(project -> group == null || group.isEmpty() || group.equals(project.getBusinessUnit()))
+                    .filter(project -> tag == null || tag.isEmpty() || tag.equals(project.getTag()))
+                    .collect(Collectors.toList());
+            paginationResult = restControllerHelper.createPaginationResult(request, pageable, sw360Projects, SW360Constants.TYPE_PROJECT);
+        }
+        boolean isAllAccessibleProjectFetched = !isSearchByName && !isDatabasePaging;
 
         List<Resource<Project>> projectResources = new ArrayList<>();
         paginationResult.getResources().stream()
-                .filter(project -> projectType == null || projectType.equals(project.projectType.name()))
-                .filter(project -> group == null || group.isEmpty() || group.equals(project.getBusinessUnit()))
-                .filter(project -> tag == null || tag.isEmpty() || tag.equals(project.getTag()))
                 .forEach(p -> {
                     Resource<Project> embeddedProjectResource = null;
                     if (!allDetails) {
@@ -199,7 +215,7 @@ public class ProjectController implements ResourceProcessor<RepositoryLinksResou
                         embeddedProjectResource = new Resource<>(embeddedProject);
                     } else {
                         embeddedProjectResource = createHalProjectResourceWithAllDetails(p, sw360User, mapOfProjects,
-                                !isSearchByName);
+                                isAllAccessibleProjectFetched);
                         if (embeddedProjectResource == null) {
                             return;
                         }
@@ -377,17 +393,49 @@ public class ProjectController implements ResourceProcessor<RepositoryLinksResou
 
     @RequestMapping(value = PROJECTS_URL + "/{id}/vulnerabilities", method = RequestMethod.GET)
     public ResponseEntity<Resources<Resource<VulnerabilityDTO>>> getVulnerabilitiesOfReleases(
+            Pageable pageable,
             @PathVariable("id") String id, @RequestParam(value = "priority") Optional<String> priority,
-            @RequestParam(value = "projectRelevance") Optional<String> projectRelevance) {
+            @RequestParam(value = "projectRelevance") Optional<String> projectRelevance,
+            HttpServletRequest request) throws URISyntaxException, PaginationParameterException, ResourceClassNotFoundException {
         final User sw360User = restControllerHelper.getSw360UserFromAuthentication();
+
+        // the backend returns the pages in a fixed order, so it can only cut the pages of unfiltered and unsorted lists
+        boolean isFiltered = priority.isPresent() || projectRelevance.isPresent();
+        PaginationData pageData = restControllerHelper.paginationDataFromPageable(pageable);
+        boolean isDatabasePaging = !isFiltered && !pageData.isSetSortColumn()
+                && restControllerHelper.isDatabasePagingApplicable(request, pageable);
+        if (isDatabasePaging) {
+            Map<PaginationData, List<VulnerabilityDTO>> page = vulnerabilityService.getVulnerabilitiesByProjectIdWithPagination(id, pageData, sw360User);
+            PaginationResult<VulnerabilityDTO> paginationResult = restControllerHelper.createPaginationResult(pageable, page, SW360Constants.TYPE_VULNERABILITYDTO);
+            final List<Resource<VulnerabilityDTO>> vulnerabilityResources = createVulnerabilityResources(id, paginationResult.getResources(), sw360User);
+            if (vulnerabilityResources.isEmpty()) {
+                // like the unpaged list, a project without vulnerabilities has no content, pages beyond the last are not found
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            }
+            Resources resources = restControllerHelper.generatePagesResource(paginationResult, vulnerabilityResources);
+            return new ResponseEntity<>(resources, HttpStatus.OK);
+        }
+
         final List<VulnerabilityDTO> allVulnerabilityDTOs = vulnerabilityService.getVulnerabilitiesByProjectId(id, sw360User);
+        final List<Resource<VulnerabilityDTO>> vulnerabilityResources = createVulnerabilityResources(id, allVulnerabilityDTOs, sw360User);
 
-        Optional<ProjectVulnerabilityRating> projectVulnerabilityRating = wrapThriftOptionalReplacement(vulnerabilityService.getProjectVulnerabilityRatingByProjectId(id, sw360User));
+        List<String> priorityList = priority.isPresent() ? Lists.newArrayList(priority.get().split(",")) : Lists.newArrayList();
+        final List<Resource<VulnerabilityDTO>> vulnResources = vulnerabilityResources.stream()
+                .filter(vulRes -> projectRelevance.isEmpty() || vulRes.getContent().getProjectRelevance().equals(projectRelevance.get()))
+                .filter(vulRes -> priority.isEmpty() || priorityList.contains(vulRes.getContent().getPriority()))
+                .collect(Collectors.toList());
+        final Resources<Resource<VulnerabilityDTO>> resources = restControllerHelper.createResources(vulnResources);
+        HttpStatus status = resources == null ? HttpStatus.NO_CONTENT : HttpStatus.OK;
+        return new ResponseEntity<>(resources, status);
+    }
+
+    private List<Resource<VulnerabilityDTO>> createVulnerabilityResources(String projectId, List<VulnerabilityDTO> vulnerabilityDTOs, User sw360User) {
+        Optional<ProjectVulnerabilityRating> projectVulnerabilityRating = wrapThriftOptionalReplacement(vulnerabilityService.getProjectVulnerabilityRatingByProjectId(projectId, sw360User));
         Map<String, Map<String, List<VulnerabilityCheckStatus>>> vulnerabilityIdToStatusHistory = projectVulnerabilityRating
                 .map(ProjectVulnerabilityRating::getVulnerabilityIdToReleaseIdToStatus).orElseGet(HashMap::new);
 
         final List<Resource<VulnerabilityDTO>> vulnerabilityResources = new ArrayList<>();
-        for (final VulnerabilityDTO vulnerabilityDTO : allVulnerabilityDTOs) {
+        for (final VulnerabilityDTO vulnerabilityDTO : vulnerabilityDTOs) {
             String comment = "";
             Map<String, Map<String, VulnerabilityRatingForProject>> vulRatingProj = vulnerabilityService.fillVulnerabilityMetadata(vulnerabilityDTO, projectVulnerabilityRating);
             vulnerabilityDTO.setProjectRelevance(vulRatingProj.get(vulnerabilityDTO.externalId).get(vulnerabilityDTO.intReleaseId).toString());
@@ -400,15 +448,7 @@ public class ProjectController implements ResourceProcessor<RepositoryLinksResou
             final Resource<VulnerabilityDTO> vulnerabilityDTOResource = new Resource<>(vulnerabilityDTO);
             vulnerabilityResources.add(vulnerabilityDTOResource);
         }
-
-        List<String> priorityList = priority.isPresent() ? Lists.newArrayList(priority.get().split(",")) : Lists.newArrayList();
-        final List<Resource<VulnerabilityDTO>> vulnResources = vulnerabilityResources.stream()
-                .filter(vulRes -> projectRelevance.isEmpty() || vulRes.getContent().getProjectRelevance().equals(projectRelevance.get()))
-                .filter(vulRes -> priority.isEmpty() || priorityList.contains(vulRes.getContent().getPriority()))
-                .collect(Collectors.toList());
-        final Resources<Resource<VulnerabilityDTO>> resources = restControllerHelper.createResources(vulnResources);
-        HttpStatus status = resources == null ? HttpStatus.NO_CONTENT : HttpStatus.OK;
-        return new ResponseEntity<>(resources, status);
+        return vulnerabilityResources;
     }
 
     @RequestMapping(value = PROJECTS_URL + "/{id}/vulnerabilities", method = RequestMethod.PATCH, consumes = MediaType.APPLICATION_JSON_VALUE)
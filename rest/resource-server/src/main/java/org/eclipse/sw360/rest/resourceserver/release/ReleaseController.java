@@ -21,6 +21,7 @@ import org.eclipse.sw360.datahandler.common.SW360Constants;
 import org.eclipse.sw360.datahandler.resourcelists.PaginationParameterException;
 import org.eclipse.sw360.datahandler.resourcelists.PaginationResult;
 import org.eclipse.sw360.datahandler.resourcelists.ResourceClassNotFoundException;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.ReleaseRelationship;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.Source;
@@ -115,19 +116,28 @@ public class ReleaseController implements ResourceProcessor<RepositoryLinksResou
             @RequestParam(value = "allDetails", required = false) boolean allDetails, HttpServletRequest request) throws TException, URISyntaxException, PaginationParameterException, ResourceClassNotFoundException {
 
         User sw360User = restControllerHelper.getSw360UserFromAuthentication();
-        List<Release> sw360Releases = new ArrayList<>();
-
-        if (sha1 != null && !sha1.isEmpty()) {
-            sw360Releases.addAll(searchReleasesBySha1(sha1, sw360User));
+        boolean isSearchBySha1 = sha1 != null && !sha1.isEmpty();
+        boolean isSearchByName = name != null && !name.isEmpty();
+
+        PaginationResult<Release> paginationResult;
+        if (!isSearchBySha1 && !isSearchByName && restControllerHelper.isDatabasePagingApplicable(request, pageable)) {
+            Map<PaginationData, List<Release>> page = releaseService.getReleasesForUserWithPagination(sw360User,
+                    restControllerHelper.paginationDataFromPageable(pageable));
+            paginationResult = restControllerHelper.createPaginationResult(pageable, page, SW360Constants.TYPE_RELEASE);
         } else {
-            sw360Releases.addAll(releaseService.getReleasesForUser(sw360User));
-        }
+            List<Release> sw360Releases = new ArrayList<>();
+            if (isSearchBySha1) {
+                sw360Releases.addAll(searchReleasesBySha1(sha1, sw360User));
+            } else {
+                sw360Releases.addAll(releaseService.getReleasesForUser(sw360User));
+            }
 
-        sw360Releases = sw360Releases.stream()
-                .filter(release -> name == null || name.isEmpty() || release.getName().equals(name))
-                .collect(Collectors.toList());
+            sw360Releases = sw360Releases.stream()
+                    .filter(release -> !isSearchByName || release.getName().equals(name))
+                    .collect(Collectors.toList());
 
-        PaginationResult<Release> paginationResult = restControllerHelper.createPaginationResult(request, pageable, sw360Releases, SW360Constants.TYPE_RELEASE);
+            paginationResult = restControllerHelper.createPaginationResult(request, pageable, sw360Releases, SW360Constants.TYPE_RELEASE);
+        }
 
         List<Resource> releaseResources = new ArrayList<>();
         for (Release sw360Release : paginationResult.getResources()) {
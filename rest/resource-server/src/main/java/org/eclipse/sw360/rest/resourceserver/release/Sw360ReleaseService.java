@@ -16,16 +16,16 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.thrift.TException;
-import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.protocol.TProtocol;
-import org.apache.thrift.transport.THttpClient;
 import org.apache.thrift.transport.TTransportException;
 import org.eclipse.sw360.datahandler.common.CommonUtils;
 import org.eclipse.sw360.datahandler.common.SW360Utils;
 import org.eclipse.sw360.datahandler.thrift.AddDocumentRequestStatus;
 import org.eclipse.sw360.datahandler.thrift.AddDocumentRequestSummary;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.SW360Exception;
+import org.eclipse.sw360.datahandler.thrift.ThriftClients;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
 import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentType;
 import org.eclipse.sw360.datahandler.thrift.components.Component;
@@ -93,6 +93,11 @@ public class Sw360ReleaseService implements AwareOfRestServices<Release> {
         return sw360ComponentClient.getAllReleasesForUser(sw360User);
     }
 
+    public Map<PaginationData, List<Release>> getReleasesForUserWithPagination(User sw360User, PaginationData pageData) throws TException {
+        ComponentService.Iface sw360ComponentClient = getThriftComponentClient();
+        return sw360ComponentClient.getAllReleasesForUserWithPagination(sw360User, pageData);
+    }
+
     public Release getReleaseForUserById(String releaseId, User sw360User) throws TException {
         ComponentService.Iface sw360ComponentClient = getThriftComponentClient();
         Release releaseById = null;
@@ -588,15 +593,13 @@ public class Sw360ReleaseService implements AwareOfRestServices<Release> {
     }
 
     private ComponentService.Iface getThriftComponentClient() throws TTransportException {
-        THttpClient thriftClient = new THttpClient(thriftServerUrl + "/components/thrift");
-        TProtocol protocol = new TCompactProtocol(thriftClient);
+        TProtocol protocol = ThriftClients.makeProtocol(thriftServerUrl, "/components/thrift");
         return new ComponentService.Client(protocol);
     }
 
     private FossologyService.Iface getThriftFossologyClient() throws TTransportException {
         if (fossologyClient == null) {
-            THttpClient thriftClient = new THttpClient(thriftServerUrl + "/fossology/thrift");
-            TProtocol protocol = new TCompactProtocol(thriftClient);
+            TProtocol protocol = ThriftClients.makeProtocol(thriftServerUrl, "/fossology/thrift");
             fossologyClient = new FossologyService.Client(protocol);
         }
 
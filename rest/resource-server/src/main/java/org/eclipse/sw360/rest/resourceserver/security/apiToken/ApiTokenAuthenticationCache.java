@@ -0,0 +1,91 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package org.eclipse.sw360.rest.resourceserver.security.apiToken;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import org.eclipse.sw360.datahandler.thrift.users.RestApiToken;
+import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.sw360.rest.resourceserver.Sw360ResourceServer.API_TOKEN_CACHE_MAX_ENTRIES;
+import static org.eclipse.sw360.rest.resourceserver.Sw360ResourceServer.API_TOKEN_CACHE_TTL_SECONDS;
+
+/**
+ * Caches successfully authenticated API tokens, so that neither the BCrypt hash of the token has to be computed nor
+ * the user has to be loaded from the backend for every request. The entries are keyed by a SHA-256 digest of the
+ * token and expire after the configured time. Tokens are revoked and users are changed by the portal, so this time is
+ * also the longest time a revoked token or an outdated user is still accepted by this REST server.
+ */
+@Profile("!SECURITY_MOCK")
+@Component
+public class ApiTokenAuthenticationCache {
+
+    private final Cache<String, Entry> entries;
+
+    public ApiTokenAuthenticationCache() {
+        this(Integer.parseInt(API_TOKEN_CACHE_MAX_ENTRIES), Integer.parseInt(API_TOKEN_CACHE_TTL_SECONDS));
+    }
+
+    ApiTokenAuthenticationCache(int maxEntries, int ttlSeconds) {
+        entries = CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    Optional<Entry> get(String token) {
+        return Optional.ofNullable(entries.getIfPresent(keyOf(token)));
+    }
+
+    void put(String token, User user, RestApiToken restApiToken, Date expiresOn) {
+        entries.put(keyOf(token), new Entry(user, restApiToken, expiresOn));
+    }
+
+    void invalidate(String token) {
+        entries.invalidate(keyOf(token));
+    }
+
+    private static String keyOf(String token) {
+        return Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+    }
+
+    static class Entry {
+        private final User user;
+        private final RestApiToken restApiToken;
+        private final Date expiresOn;
+
+        private Entry(User user, RestApiToken restApiToken, Date expiresOn) {
+            this.user = user;
+            this.restApiToken = restApiToken;
+            this.expiresOn = expiresOn;
+        }
+
+        User getUser() {
+            return user;
+        }
+
+        RestApiToken getRestApiToken() {
+            return restApiToken;
+        }
+
+        boolean isExpired() {
+            return expiresOn.before(new Date());
+        }
+    }
+}
@@ -50,6 +50,9 @@ public class ApiTokenAuthenticationProvider implements AuthenticationProvider {
     @NotNull
     private final Sw360UserService userService;
 
+    @NotNull
+    private final ApiTokenAuthenticationCache authenticationCache;
+
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
         if (authentication.isAuthenticated()) {
@@ -57,16 +60,29 @@ public class ApiTokenAuthenticationProvider implements AuthenticationProvider {
             return authentication;
         }
 
-        // Get the corresponding sw360 user and restApiToken based on entered token
         String tokenFromAuthentication = (String) authentication.getCredentials();
+        Optional<ApiTokenAuthenticationCache.Entry> cachedEntry = authenticationCache.get(tokenFromAuthentication);
+        if (cachedEntry.isPresent()) {
+            ApiTokenAuthenticationCache.Entry entry = cachedEntry.get();
+            if (entry.isExpired()) {
+                authenticationCache.invalidate(tokenFromAuthentication);
+                throw new CredentialsExpiredException("Your entered API token is expired.");
+            }
+            log.trace("Valid cached token authentication for user: " + entry.getUser().getEmail());
+            return authenticatedApiUser(entry.getUser(), tokenFromAuthentication, entry.getRestApiToken());
+        }
+
+        // Get the corresponding sw360 user and restApiToken based on entered token
         String tokenHash = BCrypt.hashpw(tokenFromAuthentication, API_TOKEN_HASH_SALT);
         User sw360User = getUserFromTokenHash(tokenHash);
         Optional<RestApiToken> restApiToken = getApiTokenFromUser(tokenHash, sw360User);
 
         if (restApiToken.isPresent()) {
-            if (!isApiTokenExpired(restApiToken.get())) {
+            Date tokenExpireDate = getApiTokenExpireDate(restApiToken.get());
+            if (!tokenExpireDate.before(new Date())) {
                 // User authenticated successfully
                 log.trace("Valid token authentication for user: " + sw360User.getEmail());
+                authenticationCache.put(tokenFromAuthentication, sw360User, restApiToken.get(), tokenExpireDate);
                 return authenticatedApiUser(sw360User, tokenFromAuthentication, restApiToken.get());
             } else {
                 throw new CredentialsExpiredException("Your entered API token is expired.");
@@ -93,13 +109,12 @@ public class ApiTokenAuthenticationProvider implements AuthenticationProvider {
                 .findFirst();
     }
 
-    private boolean isApiTokenExpired(RestApiToken restApiToken) {
+    private Date getApiTokenExpireDate(RestApiToken restApiToken) {
         String configExpireDays = restApiToken.getAuthorities().contains("WRITE") ?
                 API_TOKEN_MAX_VALIDITY_WRITE_IN_DAYS : API_TOKEN_MAX_VALIDITY_READ_IN_DAYS;
         Date createdOn = SW360Utils.getDateFromTimeString(restApiToken.createdOn);
-        Date tokenExpireDate = DateUtils.addDays(createdOn,
+        return DateUtils.addDays(createdOn,
                 min(restApiToken.getNumberOfDaysValid(), Integer.parseInt(configExpireDays)));
-        return tokenExpireDate.before(new Date());
     }
 
     private Set<GrantedAuthority> getGrantedAuthoritiesFromApiToken(RestApiToken restApiToken) {
@@ -113,6 +128,8 @@ public class ApiTokenAuthenticationProvider implements AuthenticationProvider {
         Set<GrantedAuthority> grantedAuthorities = getGrantedAuthoritiesFromApiToken(restApiToken);
         PreAuthenticatedAuthenticationToken preAuthenticatedAuthenticationToken =
                 new PreAuthenticatedAuthenticationToken(user.getEmail(), credentials, grantedAuthorities);
+        // the user is kept as details, so that it does not have to be loaded again for the request
+        preAuthenticatedAuthenticationToken.setDetails(user);
         preAuthenticatedAuthenticationToken.setAuthenticated(true);
         return preAuthenticatedAuthenticationToken;
     }
@@ -16,13 +16,13 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.apache.thrift.TException;
-import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.protocol.TProtocol;
-import org.apache.thrift.transport.THttpClient;
 import org.apache.thrift.transport.TTransportException;
 import org.eclipse.sw360.datahandler.common.CommonUtils;
 import org.eclipse.sw360.datahandler.permissions.VulnerabilityPermissions;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
+import org.eclipse.sw360.datahandler.thrift.ThriftClients;
 import org.eclipse.sw360.datahandler.thrift.users.User;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.ProjectVulnerabilityRating;
 import org.eclipse.sw360.datahandler.thrift.vulnerabilities.Vulnerability;
@@ -91,9 +91,17 @@ public class Sw360VulnerabilityService {
         }
     }
 
+    public Map<PaginationData, List<VulnerabilityDTO>> getVulnerabilitiesByProjectIdWithPagination(String projectId, PaginationData pageData, User sw360User) {
+        try {
+            VulnerabilityService.Iface sw360VulnerabilityClient = getThriftVulnerabilityClient();
+            return sw360VulnerabilityClient.getVulnerabilitiesByProjectIdWithPagination(projectId, pageData, sw360User);
+        } catch (TException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private VulnerabilityService.Iface getThriftVulnerabilityClient() throws TTransportException {
-        THttpClient thriftClient = new THttpClient(thriftServerUrl + "/vulnerabilities/thrift");
-        TProtocol protocol = new TCompactProtocol(thriftClient);
+        TProtocol protocol = ThriftClients.makeProtocol(thriftServerUrl, "/vulnerabilities/thrift");
         return new VulnerabilityService.Client(protocol);
     }
 
@@ -14,6 +14,7 @@ package org.eclipse.sw360.rest.resourceserver.integration;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.thrift.TException;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.Source;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
@@ -27,6 +28,7 @@ import org.eclipse.sw360.rest.resourceserver.user.Sw360UserService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.client.TestRestTemplate;
@@ -132,6 +134,7 @@ public class ComponentTest extends TestIntegrationBase {
     @Test
     public void should_get_all_components_wrong_page() throws IOException, TException {
         when(this.componentServiceMock.getComponentsForUser(anyObject())).thenThrow(ResourceNotFoundException.class);
+        when(this.componentServiceMock.getComponentsForUserWithPagination(anyObject(), anyObject(), anyObject())).thenThrow(ResourceNotFoundException.class);
         HttpHeaders headers = getHeaders(port);
         ResponseEntity<String> response =
                 new TestRestTemplate().exchange("http://localhost:" + port + "/api/components?page=5&page_entries=10",
@@ -141,6 +144,73 @@ public class ComponentTest extends TestIntegrationBase {
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 
+    @Test
+    public void should_get_components_page_from_database() throws IOException, TException {
+        given(this.componentServiceMock.getComponentsForUserWithPagination(anyObject(), anyObject(), anyObject()))
+                .willReturn(Collections.singletonMap(new PaginationData().setTotalRowCount(11), Collections.singletonList(component)));
+        HttpHeaders headers = getHeaders(port);
+        ResponseEntity<String> response =
+                new TestRestTemplate().exchange("http://localhost:" + port + "/api/components?page=1&page_entries=10&sort=name,desc",
+                        HttpMethod.GET,
+                        new HttpEntity<>(null, headers),
+                        String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        TestHelper.checkResponse(response.getBody(), "components", 1);
+        JsonNode page = new ObjectMapper().readTree(response.getBody()).get("page");
+        assertEquals(11, page.get("totalElements").intValue());
+        assertEquals(2, page.get("totalPages").intValue());
+        ArgumentCaptor<PaginationData> pageData = ArgumentCaptor.forClass(PaginationData.class);
+        then(this.componentServiceMock).should().getComponentsForUserWithPagination(anyObject(), pageData.capture(), anyObject());
+        assertEquals(1, pageData.getValue().getPage());
+        assertEquals(10, pageData.getValue().getRowsPerPage());
+        assertEquals("name", pageData.getValue().getSortColumn());
+        assertEquals(false, pageData.getValue().isAscending());
+        then(this.componentServiceMock).should(never()).getComponentsForUser(anyObject());
+    }
+
+    @Test
+    public void should_get_components_empty_page_from_database() throws IOException, TException {
+        given(this.componentServiceMock.getComponentsForUserWithPagination(anyObject(), anyObject(), anyObject()))
+                .willReturn(Collections.emptyMap());
+        HttpHeaders headers = getHeaders(port);
+        ResponseEntity<String> response =
+                new TestRestTemplate().exchange("http://localhost:" + port + "/api/components?page=0&page_entries=10",
+                        HttpMethod.GET,
+                        new HttpEntity<>(null, headers),
+                        String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        TestHelper.checkResponse(response.getBody(), "components", 0);
+    }
+
+    @Test
+    public void should_get_components_page_out_of_range_from_database() throws IOException, TException {
+        given(this.componentServiceMock.getComponentsForUserWithPagination(anyObject(), anyObject(), anyObject()))
+                .willReturn(Collections.singletonMap(new PaginationData().setTotalRowCount(1), new ArrayList<>()));
+        HttpHeaders headers = getHeaders(port);
+        ResponseEntity<String> response =
+                new TestRestTemplate().exchange("http://localhost:" + port + "/api/components?page=5&page_entries=10",
+                        HttpMethod.GET,
+                        new HttpEntity<>(null, headers),
+                        String.class);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    public void should_get_components_page_sorted_by_other_column_in_memory() throws IOException, TException {
+        HttpHeaders headers = getHeaders(port);
+        ResponseEntity<String> response =
+                new TestRestTemplate().exchange("http://localhost:" + port + "/api/components?page=0&page_entries=10&sort=homepage,asc",
+                        HttpMethod.GET,
+                        new HttpEntity<>(null, headers),
+                        String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        TestHelper.checkResponse(response.getBody(), "components", 1);
+        then(this.componentServiceMock).should(never()).getComponentsForUserWithPagination(anyObject(), anyObject(), anyObject());
+    }
+
     @Test
     public void should_get_all_components_with_field() throws IOException {
         String extraField = "ownerGroup";
@@ -11,11 +11,13 @@
 package org.eclipse.sw360.rest.resourceserver.integration;
 
 import org.apache.thrift.TException;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.projects.Project;
 import org.eclipse.sw360.datahandler.thrift.users.User;
 import org.eclipse.sw360.rest.resourceserver.TestHelper;
 import org.eclipse.sw360.rest.resourceserver.project.Sw360ProjectService;
 import org.eclipse.sw360.rest.resourceserver.user.Sw360UserService;
+import org.eclipse.sw360.rest.resourceserver.vulnerability.Sw360VulnerabilityService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -27,6 +29,7 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -47,6 +50,9 @@ public class ProjectTest extends TestIntegrationBase {
     @MockBean
     private Sw360ProjectService projectServiceMock;
 
+    @MockBean
+    private Sw360VulnerabilityService vulnerabilityServiceMock;
+
     @Before
     public void before() throws TException {
         Set<Project> projectList = new HashSet<>();
@@ -78,4 +84,30 @@ public class ProjectTest extends TestIntegrationBase {
         TestHelper.checkResponse(response.getBody(), "projects", 1);
     }
 
+    @Test
+    public void should_get_no_content_for_project_without_vulnerabilities() throws IOException, TException {
+        given(this.vulnerabilityServiceMock.getVulnerabilitiesByProjectId(anyObject(), anyObject())).willReturn(Collections.emptyList());
+
+        HttpHeaders headers = getHeaders(port);
+        ResponseEntity<String> response =
+                new TestRestTemplate().exchange("http://localhost:" + port + "/api/projects/123/vulnerabilities",
+                        HttpMethod.GET,
+                        new HttpEntity<>(null, headers),
+                        String.class);
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+    }
+
+    @Test
+    public void should_get_no_content_for_page_of_project_without_vulnerabilities() throws IOException, TException {
+        given(this.vulnerabilityServiceMock.getVulnerabilitiesByProjectIdWithPagination(anyObject(), anyObject(), anyObject()))
+                .willReturn(Collections.singletonMap(new PaginationData().setTotalRowCount(0), Collections.emptyList()));
+
+        HttpHeaders headers = getHeaders(port);
+        ResponseEntity<String> response =
+                new TestRestTemplate().exchange("http://localhost:" + port + "/api/projects/123/vulnerabilities?page=0&page_entries=10",
+                        HttpMethod.GET,
+                        new HttpEntity<>(null, headers),
+                        String.class);
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+    }
 }
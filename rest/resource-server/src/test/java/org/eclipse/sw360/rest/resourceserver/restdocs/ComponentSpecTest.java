@@ -14,6 +14,7 @@ package org.eclipse.sw360.rest.resourceserver.restdocs;
 import com.google.common.collect.ImmutableSet;
 import org.apache.thrift.TException;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
 import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentContent;
 import org.eclipse.sw360.datahandler.thrift.components.Component;
@@ -173,6 +174,8 @@ public class ComponentSpecTest extends TestRestDocsSpecBase {
                         .setCreatedOn(new SimpleDateFormat("yyyy-MM-dd").format(new Date())));
 
         given(this.componentServiceMock.getComponentsForUser(anyObject())).willReturn(componentList);
+        given(this.componentServiceMock.getComponentsForUserWithPagination(anyObject(), anyObject(), anyObject())).willReturn(
+                Collections.singletonMap(new PaginationData().setTotalRowCount(componentList.size()), componentList));
         given(this.componentServiceMock.getComponentForUserById(eq("17653524"), anyObject())).willReturn(angularComponent);
         given(this.componentServiceMock.getProjectsByComponentId(eq("17653524"), anyObject())).willReturn(projectList);
         given(this.componentServiceMock.getUsingComponentsForComponent(eq("17653524"), anyObject())).willReturn(usedByComponent);
@@ -15,6 +15,7 @@ import org.eclipse.sw360.datahandler.thrift.attachments.AttachmentType;
 import org.eclipse.sw360.datahandler.thrift.attachments.CheckStatus;
 import org.eclipse.sw360.rest.resourceserver.attachment.AttachmentInfo;
 import org.eclipse.sw360.datahandler.thrift.MainlineState;
+import org.eclipse.sw360.datahandler.thrift.PaginationData;
 import org.eclipse.sw360.datahandler.thrift.ReleaseRelationship;
 import org.eclipse.sw360.datahandler.thrift.RequestStatus;
 import org.eclipse.sw360.datahandler.thrift.attachments.Attachment;
@@ -235,6 +236,8 @@ public class ReleaseSpecTest extends TestRestDocsSpecBase {
         projectList.add(project);
 
         given(this.releaseServiceMock.getReleasesForUser(anyObject())).willReturn(releaseList);
+        given(this.releaseServiceMock.getReleasesForUserWithPagination(anyObject(), anyObject())).willReturn(
+                Collections.singletonMap(new PaginationData().setTotalRowCount(releaseList.size()), releaseList));
         given(this.releaseServiceMock.getReleaseForUserById(eq(release.getId()), anyObject())).willReturn(release);
         given(this.releaseServiceMock.getProjectsByRelease(eq(release.getId()), anyObject())).willReturn(projectList);
         given(this.releaseServiceMock.getUsingComponentsForRelease(eq(release.getId()), anyObject())).willReturn(usedByComponent);
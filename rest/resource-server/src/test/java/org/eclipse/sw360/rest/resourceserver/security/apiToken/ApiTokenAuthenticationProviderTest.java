@@ -0,0 +1,75 @@
+/*
+ * Copyright Bosch.IO GmbH 2020.
+ * Part of the SW360 Portal Project.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.sw360.rest.resourceserver.security.apiToken;
+
+import com.google.common.collect.Sets;
+import org.eclipse.sw360.datahandler.common.SW360Utils;
+import org.eclipse.sw360.datahandler.thrift.users.RestApiToken;
+import org.eclipse.sw360.datahandler.thrift.users.User;
+import org.eclipse.sw360.rest.resourceserver.user.Sw360UserService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.sw360.rest.resourceserver.Sw360ResourceServer.API_TOKEN_HASH_SALT;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ApiTokenAuthenticationProviderTest {
+    private static final String TOKEN = "1234567890abcdef";
+
+    @Mock
+    private Sw360UserService userService;
+
+    private ApiTokenAuthenticationProvider provider;
+
+    @Mock
+    private Authentication tokenAuthentication;
+
+    private User user;
+
+    @Before
+    public void setUp() {
+        RestApiToken restApiToken = new RestApiToken()
+                .setToken(BCrypt.hashpw(TOKEN, API_TOKEN_HASH_SALT))
+                .setName("ci")
+                .setCreatedOn(SW360Utils.getCreatedOnTime())
+                .setNumberOfDaysValid(10)
+                .setAuthorities(Sets.newHashSet("READ"));
+        user = new User().setEmail("admin@sw360.org").setRestApiTokens(Collections.singletonList(restApiToken));
+        when(userService.getUserByApiToken(anyString())).thenReturn(user);
+        when(tokenAuthentication.getCredentials()).thenReturn(TOKEN);
+
+        provider = new ApiTokenAuthenticationProvider(userService, new ApiTokenAuthenticationCache(10, 60));
+    }
+
+    @Test
+    public void testAuthenticatedTokenIsCached() {
+        Authentication first = provider.authenticate(tokenAuthentication);
+        Authentication second = provider.authenticate(tokenAuthentication);
+
+        assertThat(first.isAuthenticated()).isTrue();
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getPrincipal()).isEqualTo(user.getEmail());
+        assertThat(second.getDetails()).isEqualTo(user);
+        verify(userService, times(1)).getUserByApiToken(anyString());
+    }
+}